@@ -0,0 +1,228 @@
+/*
+ * Copyright 2014-2016 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.kotcrab.vis.benchmarks;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.Affine2;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.NumberUtils;
+
+/**
+ * {@link Batch} that doesn't render anything and doesn't require OpenGL context. Batch state (color, matrices, shader)
+ * is still stored so it behaves like real batch for code using it. Counts draw calls so benchmarks can consume result.
+ * @author Kotcrab
+ */
+public class NoOpBatch implements Batch {
+	private final Color color = new Color(1, 1, 1, 1);
+	private final Matrix4 projectionMatrix = new Matrix4();
+	private final Matrix4 transformMatrix = new Matrix4();
+	private ShaderProgram shader;
+	private boolean blending = true;
+	private int blendSrcFunc, blendDstFunc;
+	private boolean drawing;
+
+	private int drawCount;
+
+	@Override
+	public void begin () {
+		if (drawing) throw new IllegalStateException("NoOpBatch.end must be called before begin.");
+		drawing = true;
+	}
+
+	@Override
+	public void end () {
+		if (drawing == false) throw new IllegalStateException("NoOpBatch.begin must be called before end.");
+		drawing = false;
+	}
+
+	@Override
+	public void setColor (Color tint) {
+		color.set(tint);
+	}
+
+	@Override
+	public void setColor (float r, float g, float b, float a) {
+		color.set(r, g, b, a);
+	}
+
+	@Override
+	public void setColor (float color) {
+		int intBits = NumberUtils.floatToIntColor(color);
+		this.color.r = (intBits & 0xff) / 255f;
+		this.color.g = ((intBits >>> 8) & 0xff) / 255f;
+		this.color.b = ((intBits >>> 16) & 0xff) / 255f;
+		this.color.a = ((intBits >>> 24) & 0xff) / 255f;
+	}
+
+	@Override
+	public Color getColor () {
+		return color;
+	}
+
+	@Override
+	public float getPackedColor () {
+		return color.toFloatBits();
+	}
+
+	@Override
+	public void draw (Texture texture, float x, float y, float originX, float originY, float width, float height, float scaleX,
+			float scaleY, float rotation, int srcX, int srcY, int srcWidth, int srcHeight, boolean flipX, boolean flipY) {
+		drawCount++;
+	}
+
+	@Override
+	public void draw (Texture texture, float x, float y, float width, float height, int srcX, int srcY, int srcWidth,
+			int srcHeight, boolean flipX, boolean flipY) {
+		drawCount++;
+	}
+
+	@Override
+	public void draw (Texture texture, float x, float y, int srcX, int srcY, int srcWidth, int srcHeight) {
+		drawCount++;
+	}
+
+	@Override
+	public void draw (Texture texture, float x, float y, float width, float height, float u, float v, float u2, float v2) {
+		drawCount++;
+	}
+
+	@Override
+	public void draw (Texture texture, float x, float y) {
+		drawCount++;
+	}
+
+	@Override
+	public void draw (Texture texture, float x, float y, float width, float height) {
+		drawCount++;
+	}
+
+	@Override
+	public void draw (Texture texture, float[] spriteVertices, int offset, int count) {
+		drawCount++;
+	}
+
+	@Override
+	public void draw (TextureRegion region, float x, float y) {
+		drawCount++;
+	}
+
+	@Override
+	public void draw (TextureRegion region, float x, float y, float width, float height) {
+		drawCount++;
+	}
+
+	@Override
+	public void draw (TextureRegion region, float x, float y, float originX, float originY, float width, float height,
+			float scaleX, float scaleY, float rotation) {
+		drawCount++;
+	}
+
+	@Override
+	public void draw (TextureRegion region, float x, float y, float originX, float originY, float width, float height,
+			float scaleX, float scaleY, float rotation, boolean clockwise) {
+		drawCount++;
+	}
+
+	@Override
+	public void draw (TextureRegion region, float width, float height, Affine2 transform) {
+		drawCount++;
+	}
+
+	@Override
+	public void flush () {
+	}
+
+	@Override
+	public void disableBlending () {
+		blending = false;
+	}
+
+	@Override
+	public void enableBlending () {
+		blending = true;
+	}
+
+	@Override
+	public void setBlendFunction (int srcFunc, int dstFunc) {
+		blendSrcFunc = srcFunc;
+		blendDstFunc = dstFunc;
+	}
+
+	@Override
+	public int getBlendSrcFunc () {
+		return blendSrcFunc;
+	}
+
+	@Override
+	public int getBlendDstFunc () {
+		return blendDstFunc;
+	}
+
+	@Override
+	public Matrix4 getProjectionMatrix () {
+		return projectionMatrix;
+	}
+
+	@Override
+	public Matrix4 getTransformMatrix () {
+		return transformMatrix;
+	}
+
+	@Override
+	public void setProjectionMatrix (Matrix4 projection) {
+		projectionMatrix.set(projection);
+	}
+
+	@Override
+	public void setTransformMatrix (Matrix4 transform) {
+		transformMatrix.set(transform);
+	}
+
+	@Override
+	public void setShader (ShaderProgram shader) {
+		this.shader = shader;
+	}
+
+	@Override
+	public ShaderProgram getShader () {
+		return shader;
+	}
+
+	@Override
+	public boolean isBlendingEnabled () {
+		return blending;
+	}
+
+	@Override
+	public boolean isDrawing () {
+		return drawing;
+	}
+
+	/** @return amount of draw calls made since batch was created */
+	public int getDrawCount () {
+		return drawCount;
+	}
+
+	@Override
+	public void dispose () {
+	}
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2014-2016 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.kotcrab.vis.benchmarks;
+
+import com.artemis.Aspect;
+import com.artemis.ComponentMapper;
+import com.artemis.EntityEdit;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.GdxNativesLoader;
+import com.kotcrab.vis.runtime.component.*;
+import com.kotcrab.vis.runtime.data.SceneData;
+import com.kotcrab.vis.runtime.scene.SceneViewport;
+import com.kotcrab.vis.runtime.system.CameraManager;
+import com.kotcrab.vis.runtime.system.LayerManager;
+import com.kotcrab.vis.runtime.system.delegate.DeferredEntityProcessingSystem;
+import com.kotcrab.vis.runtime.system.delegate.EntityProcessPrincipal;
+import com.kotcrab.vis.runtime.system.render.RenderBatchingSystem;
+import com.kotcrab.vis.runtime.util.EntityEngine;
+import com.kotcrab.vis.runtime.util.EntityEngineConfiguration;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of {@link RenderBatchingSystem} sorting and dispatching entities to render systems. Entities are drawn to
+ * {@link NoOpBatch} by render system which does the same work as sprite render system without requiring textures.
+ * All scene layers use world coordinates, switching coordinates system requires OpenGL context.
+ * <p>
+ * {@link #dispatch()} measures frame without any changes, {@link #resort()} measures frame after
+ * {@link RenderBatchingSystem#markDirty()} and {@link #zIndexChanges()} measures frame in which z index of one percent
+ * of entities was changed.
+ * @author Kotcrab
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RenderBatchingBenchmark {
+	@Param({"1000", "10000", "100000"})
+	public int entityCount;
+
+	private EntityEngine engine;
+	private RenderBatchingSystem renderBatchingSystem;
+	private NoOpBatch batch;
+
+	private int[] entities;
+	private ComponentMapper<Renderable> renderableCm;
+	private Random random;
+
+	@Setup
+	public void setup () {
+		GdxNativesLoader.load();
+
+		SceneData data = SyntheticScenes.createScene(0);
+		batch = new NoOpBatch();
+
+		EntityEngineConfiguration config = new EntityEngineConfiguration();
+		config.setSystem(new CameraManager(SceneViewport.STRETCH, data.width, data.height, data.pixelsPerUnit));
+		config.setSystem(new LayerManager(data.layers));
+		config.setSystem(renderBatchingSystem = new RenderBatchingSystem(batch, false));
+		config.setSystem(new NoOpRenderSystem(renderBatchingSystem));
+		engine = new EntityEngine(config);
+
+		renderableCm = engine.getMapper(Renderable.class);
+		random = new Random(42);
+
+		entities = new int[entityCount];
+		for (int i = 0; i < entityCount; i++) {
+			int entityId = engine.create();
+			EntityEdit edit = engine.edit(entityId);
+			edit.add(new Transform(random.nextFloat() * SyntheticScenes.SCENE_SIZE, random.nextFloat() * SyntheticScenes.SCENE_SIZE));
+			edit.add(new Origin(0.5f, 0.5f));
+			edit.add(new Renderable(random.nextInt(100)));
+			edit.add(new Layer(random.nextInt(SyntheticScenes.LAYER_COUNT)));
+			if (i % 2 == 0) edit.add(new Tint());
+			entities[i] = entityId;
+		}
+
+		engine.process();
+	}
+
+	@TearDown
+	public void tearDown () {
+		engine.dispose();
+	}
+
+	@Benchmark
+	public int dispatch () {
+		engine.process();
+		return batch.getDrawCount();
+	}
+
+	@Benchmark
+	public int resort () {
+		renderBatchingSystem.markDirty();
+		engine.process();
+		return batch.getDrawCount();
+	}
+
+	@Benchmark
+	public int zIndexChanges () {
+		for (int i = 0, changes = Math.max(1, entityCount / 100); i < changes; i++) {
+			int entityId = entities[random.nextInt(entityCount)];
+			renderableCm.get(entityId).setZIndex(random.nextInt(100));
+		}
+
+		engine.process();
+		return batch.getDrawCount();
+	}
+
+	/** Does the same work as sprite render system, textures are not needed because nothing is rendered */
+	private static class NoOpRenderSystem extends DeferredEntityProcessingSystem {
+		private ComponentMapper<Transform> transformCm;
+		private ComponentMapper<Origin> originCm;
+
+		private RenderBatchingSystem renderBatchingSystem;
+
+		public NoOpRenderSystem (EntityProcessPrincipal principal) {
+			super(Aspect.all(Transform.class, Origin.class, Renderable.class, Layer.class).exclude(Invisible.class), principal);
+		}
+
+		@Override
+		protected void process (int entityId) {
+			Transform transform = transformCm.get(entityId);
+			Origin origin = originCm.get(entityId);
+
+			renderBatchingSystem.getBatch().draw((TextureRegion) null, transform.getX(), transform.getY(), origin.getOriginX(), origin.getOriginY(),
+					1, 1, transform.getScaleX(), transform.getScaleY(), transform.getRotation());
+		}
+	}
+}
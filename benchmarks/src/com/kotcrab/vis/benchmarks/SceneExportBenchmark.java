@@ -0,0 +1,112 @@
+/*
+ * Copyright 2014-2016 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.kotcrab.vis.benchmarks;
+
+import com.badlogic.gdx.utils.Json;
+import com.kotcrab.vis.runtime.data.SceneData;
+import com.kotcrab.vis.runtime.scene.SceneLoader;
+import com.kotcrab.vis.runtime.util.binary.BinarySceneWriter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of scene serialization done by VisEditor default exporter. Exporter writes scenes using {@link Json} created
+ * by {@link SceneLoader#getJson()} or using {@link BinarySceneWriter} when binary scene format is enabled, the same
+ * serializers are used here. Output is discarded so only serialization is measured.
+ * @author Kotcrab
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SceneExportBenchmark {
+	@Param({"1000", "10000", "100000"})
+	public int entityCount;
+
+	private SceneData data;
+	private Json json;
+	private BinarySceneWriter binaryWriter;
+
+	private final CountingWriter writer = new CountingWriter();
+	private final CountingOutputStream outputStream = new CountingOutputStream();
+
+	@Setup
+	public void setup () {
+		data = SyntheticScenes.createScene(entityCount);
+		json = SceneLoader.getJson();
+		binaryWriter = new BinarySceneWriter();
+	}
+
+	@Benchmark
+	public long exportJson () {
+		json.toJson(data, SceneData.class, writer);
+		return writer.count;
+	}
+
+	@Benchmark
+	public long exportBinary () {
+		binaryWriter.write(data, outputStream);
+		return outputStream.count;
+	}
+
+	private static class CountingWriter extends Writer {
+		long count;
+
+		@Override
+		public void write (int c) {
+			count++;
+		}
+
+		@Override
+		public void write (char[] buffer, int offset, int length) {
+			count += length;
+		}
+
+		@Override
+		public void write (String str, int offset, int length) {
+			count += length;
+		}
+
+		@Override
+		public void flush () {
+		}
+
+		@Override
+		public void close () {
+		}
+	}
+
+	private static class CountingOutputStream extends OutputStream {
+		long count;
+
+		@Override
+		public void write (int b) {
+			count++;
+		}
+
+		@Override
+		public void write (byte[] buffer, int offset, int length) {
+			count += length;
+		}
+	}
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2014-2016 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.kotcrab.vis.benchmarks;
+
+import com.badlogic.gdx.utils.Json;
+import com.kotcrab.vis.runtime.data.EntityData;
+import com.kotcrab.vis.runtime.data.SceneData;
+import com.kotcrab.vis.runtime.scene.SceneLoader;
+import com.kotcrab.vis.runtime.system.LayerManager;
+import com.kotcrab.vis.runtime.system.VisGroupManager;
+import com.kotcrab.vis.runtime.system.VisIDManager;
+import com.kotcrab.vis.runtime.util.EntityEngine;
+import com.kotcrab.vis.runtime.util.EntityEngineConfiguration;
+import com.kotcrab.vis.runtime.util.binary.BinarySceneReader;
+import com.kotcrab.vis.runtime.util.binary.BinarySceneWriter;
+import com.kotcrab.vis.runtime.util.binary.ByteBufferBinaryInput;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of scene loading done by {@link SceneLoader}: parsing JSON and binary scene files into {@link SceneData} and
+ * building entities of parsed scene. Assets are not loaded and entities are not inflated, inflating requires OpenGL
+ * context. Build benchmark uses entity engine with the same managers that are created for scene by default.
+ * @author Kotcrab
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SceneLoaderBenchmark {
+	@Param({"1000", "10000", "100000"})
+	public int entityCount;
+
+	private Json json;
+	private String jsonScene;
+	private byte[] binaryScene;
+
+	@Setup
+	public void setup () {
+		SceneData data = SyntheticScenes.createScene(entityCount);
+
+		json = SceneLoader.getJson();
+		jsonScene = json.toJson(data);
+
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		new BinarySceneWriter().write(data, output);
+		binaryScene = output.toByteArray();
+	}
+
+	@Benchmark
+	public SceneData parseJson () {
+		return json.fromJson(SceneData.class, jsonScene);
+	}
+
+	@Benchmark
+	public SceneData parseBinary () {
+		return new BinarySceneReader().read(new ByteBufferBinaryInput(ByteBuffer.wrap(binaryScene)));
+	}
+
+	@Benchmark
+	public EntityEngine build (BuildState state) {
+		EntityEngine engine = state.engine;
+		for (EntityData entityData : state.data.entities)
+			entityData.build(engine);
+		engine.process();
+		return engine;
+	}
+
+	/** Entities are built using components of scene data, each build needs freshly parsed scene and new engine */
+	@State(Scope.Thread)
+	public static class BuildState {
+		private SceneData data;
+		private EntityEngine engine;
+
+		@Setup(Level.Invocation)
+		public void setup (SceneLoaderBenchmark benchmark) {
+			data = benchmark.parseBinary();
+
+			EntityEngineConfiguration config = new EntityEngineConfiguration();
+			config.setSystem(new VisIDManager());
+			config.setSystem(new VisGroupManager(data.groupIds));
+			config.setSystem(new LayerManager(data.layers));
+			engine = new EntityEngine(config);
+		}
+
+		@TearDown(Level.Invocation)
+		public void tearDown () {
+			engine.dispose();
+		}
+	}
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2014-2016 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.kotcrab.vis.benchmarks;
+
+import com.kotcrab.vis.runtime.spriter.Data;
+import com.kotcrab.vis.runtime.spriter.Player;
+import com.kotcrab.vis.runtime.spriter.PoseCache;
+import com.kotcrab.vis.runtime.spriter.SCMLReader;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of Spriter {@link Player#update()}. Players animate synthetic entity made of chain of bones with single sprite
+ * attached to every bone, players start at different animation times and use different speeds. When pose cache time step
+ * is greater than 0 all players share single {@link PoseCache}.
+ * @author Kotcrab
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SpriterPlayerBenchmark {
+	@Param({"100"})
+	public int playerCount;
+
+	@Param({"4", "32"})
+	public int boneCount;
+
+	@Param({"0", "16"})
+	public int poseCacheTimeStep;
+
+	private Player[] players;
+
+	@Setup
+	public void setup () {
+		Data data = new SCMLReader(createScml(boneCount)).getData();
+		PoseCache poseCache = poseCacheTimeStep > 0 ? new PoseCache(poseCacheTimeStep) : null;
+
+		players = new Player[playerCount];
+		for (int i = 0; i < playerCount; i++) {
+			Player player = new Player(data.getEntity(0));
+			player.setPosition(i, i);
+			player.setTime(i * 37 % 1000);
+			player.speed = 15 + i % 5;
+			if (poseCache != null) player.setPoseCache(poseCache);
+			players[i] = player;
+		}
+	}
+
+	@Benchmark
+	public Player[] update () {
+		for (Player player : players)
+			player.update();
+		return players;
+	}
+
+	private static String createScml (int boneCount) {
+		StringBuilder builder = new StringBuilder();
+		builder.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+		builder.append("<spriter_data scml_version=\"1.0\" generator=\"BrashMonkey Spriter\" generator_version=\"r5\">\n");
+		builder.append("<folder id=\"0\"><file id=\"0\" name=\"part.png\" width=\"32\" height=\"16\" pivot_x=\"0\" pivot_y=\"0.5\"/></folder>\n");
+		builder.append("<entity id=\"0\" name=\"entity\">\n");
+		for (int i = 0; i < boneCount; i++)
+			builder.append("<obj_info name=\"bone").append(i).append("\" type=\"bone\" w=\"40\" h=\"10\"/>\n");
+
+		builder.append("<animation id=\"0\" name=\"walk\" length=\"1000\" interval=\"100\">\n");
+		builder.append("<mainline>\n");
+		for (int key = 0; key < 2; key++) {
+			builder.append("<key id=\"").append(key).append("\" time=\"").append(key * 500).append("\">\n");
+			for (int i = 0; i < boneCount; i++) {
+				builder.append("<bone_ref id=\"").append(i).append("\"");
+				if (i > 0) builder.append(" parent=\"").append(i - 1).append("\"");
+				builder.append(" timeline=\"").append(i).append("\" key=\"").append(key).append("\"/>\n");
+			}
+			for (int i = 0; i < boneCount; i++) {
+				builder.append("<object_ref id=\"").append(i).append("\" parent=\"").append(i).append("\" timeline=\"")
+						.append(boneCount + i).append("\" key=\"").append(key).append("\" z_index=\"").append(i).append("\"/>\n");
+			}
+			builder.append("</key>\n");
+		}
+		builder.append("</mainline>\n");
+
+		for (int i = 0; i < boneCount; i++) {
+			builder.append("<timeline id=\"").append(i).append("\" name=\"bone").append(i).append("\" object_type=\"bone\">\n");
+			builder.append("<key id=\"0\"><bone x=\"40\" y=\"0\" angle=\"0\"/></key>\n");
+			builder.append("<key id=\"1\" time=\"500\"><bone x=\"40\" y=\"0\" angle=\"10\"/></key>\n");
+			builder.append("</timeline>\n");
+		}
+		for (int i = 0; i < boneCount; i++) {
+			builder.append("<timeline id=\"").append(boneCount + i).append("\" name=\"part").append(i).append("\">\n");
+			builder.append("<key id=\"0\"><object folder=\"0\" file=\"0\" x=\"0\" y=\"0\"/></key>\n");
+			builder.append("<key id=\"1\" time=\"500\"><object folder=\"0\" file=\"0\" x=\"5\" y=\"0\" angle=\"20\"/></key>\n");
+			builder.append("</timeline>\n");
+		}
+
+		builder.append("</animation>\n");
+		builder.append("</entity>\n");
+		builder.append("</spriter_data>\n");
+		return builder.toString();
+	}
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2014-2016 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.kotcrab.vis.benchmarks;
+
+import com.artemis.Component;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntMap;
+import com.kotcrab.vis.runtime.assets.TextureRegionAsset;
+import com.kotcrab.vis.runtime.component.*;
+import com.kotcrab.vis.runtime.component.proto.ProtoVisSprite;
+import com.kotcrab.vis.runtime.data.EntityData;
+import com.kotcrab.vis.runtime.data.LayerData;
+import com.kotcrab.vis.runtime.data.PhysicsSettings;
+import com.kotcrab.vis.runtime.data.SceneData;
+import com.kotcrab.vis.runtime.scene.LayerCordsSystem;
+import com.kotcrab.vis.runtime.scene.SceneViewport;
+
+import java.util.Random;
+
+/**
+ * Creates synthetic scenes used by benchmarks. Scenes are generated from fixed seed so every benchmark run uses the same
+ * data. Entities are sprite entities as exported by VisEditor, every tenth entity has ID and belongs to group.
+ * @author Kotcrab
+ */
+public class SyntheticScenes {
+	public static final int LAYER_COUNT = 3;
+	public static final int GROUP_COUNT = 8;
+	public static final float SCENE_SIZE = 2000;
+
+	public static SceneData createScene (int entityCount) {
+		Random random = new Random(42);
+
+		SceneData data = new SceneData();
+		data.viewport = SceneViewport.STRETCH;
+		data.width = 100;
+		data.height = 100;
+		data.pixelsPerUnit = 100;
+		data.textureAtlasPath = "textures.atlas";
+		data.physicsSettings = new PhysicsSettings();
+		data.variables = new Variables();
+
+		data.groupIds = new IntMap<String>();
+		for (int i = 0; i < GROUP_COUNT; i++)
+			data.groupIds.put(i, "group" + i);
+
+		for (int i = 0; i < LAYER_COUNT; i++)
+			data.layers.add(new LayerData(LayerCordsSystem.WORLD, "Layer " + i, i));
+
+		for (int i = 0; i < entityCount; i++)
+			data.entities.add(createEntity(random, i));
+
+		return data;
+	}
+
+	private static EntityData createEntity (Random random, int index) {
+		Array<Component> components = new Array<Component>();
+
+		components.add(new Transform(random.nextFloat() * SCENE_SIZE, random.nextFloat() * SCENE_SIZE,
+				1, 1, random.nextInt(4) * 90));
+		components.add(new Origin(0.5f, 0.5f));
+		components.add(new Tint().set(random.nextFloat(), random.nextFloat(), random.nextFloat(), 1));
+		components.add(new Renderable(random.nextInt(100)));
+		components.add(new Layer(random.nextInt(LAYER_COUNT)));
+
+		ProtoVisSprite sprite = new ProtoVisSprite();
+		sprite.setSize(1, 1);
+		components.add(sprite);
+		components.add(new AssetReference(new TextureRegionAsset("gfx/sprite" + random.nextInt(32) + ".png")));
+
+		if (index % 10 == 0) {
+			components.add(new VisID("entity" + index));
+			VisGroup group = new VisGroup();
+			group.groupIds.add(random.nextInt(GROUP_COUNT));
+			components.add(group);
+		}
+
+		return new EntityData(components);
+	}
+}
@@ -16,11 +16,15 @@
 
 package com.kotcrab.vis.editor.extension;
 
+import com.artemis.Component;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.tools.texturepacker.TexturePacker;
 import com.badlogic.gdx.tools.texturepacker.TexturePacker.Settings;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
 import com.badlogic.gdx.utils.IntMap;
 import com.badlogic.gdx.utils.Json;
 import com.badlogic.gdx.utils.JsonWriter.OutputType;
@@ -44,11 +48,31 @@ import com.kotcrab.vis.editor.util.vis.ProjectPathUtils;
 import com.kotcrab.vis.editor.util.vis.TextureCacheFilter;
 import com.kotcrab.vis.runtime.assets.TextureRegionAsset;
 import com.kotcrab.vis.runtime.assets.VisAssetDescriptor;
+import com.kotcrab.vis.runtime.component.Layer;
+import com.kotcrab.vis.runtime.component.Transform;
+import com.kotcrab.vis.runtime.component.VisID;
+import com.kotcrab.vis.runtime.data.BakedSpriterData;
+import com.kotcrab.vis.runtime.data.ChunkData;
+import com.kotcrab.vis.runtime.data.EntityData;
 import com.kotcrab.vis.runtime.data.LayerData;
 import com.kotcrab.vis.runtime.data.SceneData;
 import com.kotcrab.vis.runtime.properties.StoresAssetDescriptor;
+import com.kotcrab.vis.runtime.scene.LayerCordsSystem;
+import com.kotcrab.vis.runtime.scene.Prefab;
 import com.kotcrab.vis.runtime.scene.SceneLoader;
-
+import com.kotcrab.vis.runtime.spriter.BinaryDataFormat;
+import com.kotcrab.vis.runtime.spriter.BinaryDataWriter;
+import com.kotcrab.vis.runtime.spriter.Data;
+import com.kotcrab.vis.runtime.spriter.StreamingSCMLReader;
+import com.kotcrab.vis.runtime.util.binary.BinarySceneWriter;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -58,6 +82,7 @@ import java.util.UUID;
 public class DefaultExporter implements ExporterPlugin {
 	public static final String SETTINGS_FILE_NAME = "defaultExporterSettings";
 	public static final String EXPORTER_UUID = "b8bd183c-1dc6-4ac5-9bbe-a4ba86a61b95";
+	public static final String PREFABS_DIRECTORY = "prefabs";
 
 	private EditorSettingsIOModule settingsIO;
 	private ExtensionStorageModule extensionStorage;
@@ -67,6 +92,7 @@ public class DefaultExporter implements ExporterPlugin {
 	private FileAccessModule fileAccess;
 	private AssetsMetadataModule assetsMetadata;
 	private SceneCacheModule sceneCache;
+	private SpriterDataIOModule spriterDataIO;
 
 	private Stage stage;
 
@@ -78,9 +104,11 @@ public class DefaultExporter implements ExporterPlugin {
 	private FileHandle tmpDir;
 
 	private Settings texturePackerSettings;
+	private Settings spriterFramesPackerSettings;
 	private boolean firstExportDone;
 
 	private Json json;
+	private BinarySceneWriter binarySceneWriter;
 
 	@Override
 	public void init (Project project) {
@@ -98,7 +126,12 @@ public class DefaultExporter implements ExporterPlugin {
 		texturePackerSettings.silent = true;
 		texturePackerSettings.useIndexes = false;
 
+		spriterFramesPackerSettings = new Settings(texturePackerSettings);
+		spriterFramesPackerSettings.combineSubdirectories = false;
+		spriterFramesPackerSettings.useIndexes = true;
+
 		json = SceneLoader.getJson();
+		binarySceneWriter = new BinarySceneWriter();
 
 		textureCacheFilter = new TextureCacheFilter(assetsMetadata);
 	}
@@ -170,6 +203,7 @@ public class DefaultExporter implements ExporterPlugin {
 
 	private class ExportAsyncTask extends SteppedAsyncTask {
 		FileHandle outAssetsDir;
+		Set<String> exportedPrefabs = new HashSet<>();
 
 		EditorScene scene;
 
@@ -185,6 +219,7 @@ public class DefaultExporter implements ExporterPlugin {
 			cleanOldAssets();
 			packageTextures();
 			copyAssets();
+			if (settings.bakeSpriterAnimations) bakeSpriterAnimations();
 			exportScenes(visAssetsDir, outAssetsDir);
 
 			nextStep();
@@ -206,6 +241,8 @@ public class DefaultExporter implements ExporterPlugin {
 
 			FileUtils.streamDirectoriesRecursively(visAssetsDir, file -> steps.value++);
 
+			if (settings.bakeSpriterAnimations) steps.value++;
+
 			return steps.value;
 		}
 
@@ -249,17 +286,62 @@ public class DefaultExporter implements ExporterPlugin {
 
 					String relativeFilePath = fileAccess.relativizeToAssetsFolder(file);
 
-					if (fileSorter != null) {
-						if (fileSorter.isExportedFile(file)) file.copyTo(outAssetsDir.child(relativeFilePath));
-					} else {
-						file.copyTo(outAssetsDir.child(relativeFilePath));
-					}
+					if (fileSorter != null && fileSorter.isExportedFile(file) == false) continue;
+					file.copyTo(outAssetsDir.child(relativeFilePath));
+
+					if (settings.cacheSpriterData && file.extension().equals("scml"))
+						writeSpriterDataCache(file, outAssetsDir.child(BinaryDataFormat.getCachePath(relativeFilePath)));
 				}
 
 				nextStep();
 			});
 		}
 
+		private void writeSpriterDataCache (FileHandle scmlFile, FileHandle cacheFile) {
+			byte[] bytes = scmlFile.readBytes();
+			Data data = new StreamingSCMLReader(new ByteArrayInputStream(bytes)).getData();
+
+			try (OutputStream output = cacheFile.write(false)) {
+				new BinaryDataWriter().write(data, BinaryDataFormat.checksum(bytes, 0, bytes.length), output);
+			} catch (IOException e) {
+				throw new IllegalStateException("Failed to write spriter data cache: " + cacheFile.path(), e);
+			}
+		}
+
+		private void bakeSpriterAnimations () {
+			setMessage("Baking spriter animations");
+			FileHandle framesDir = tmpDir.child("spriter-frames");
+			Json bakedJson = new Json(OutputType.minimal);
+
+			Holder<SpriterAnimationBaker> baker = Holder.empty();
+			executeOnOpenGL(() -> baker.value = new SpriterAnimationBaker());
+
+			FileUtils.streamDirectoriesRecursively(visAssetsDir, folder -> {
+				if (assetsMetadata.isDirectoryMarkedAs(folder, AssetType.DIRECTORY_SPRITER) == false) return;
+				FileHandle dataFile = folder.child(".vis").child("data.json");
+				if (dataFile.exists() == false) return;
+				float imageScale = spriterDataIO.loadData(dataFile).imageScale;
+
+				for (FileHandle file : folder.list(".scml")) {
+					setMessage("Baking spriter animation: " + file.name());
+					framesDir.deleteDirectory();
+					framesDir.mkdirs();
+
+					Holder<BakedSpriterData> baked = Holder.empty();
+					executeOnOpenGL(() -> baked.value = baker.value.bake(file, imageScale, settings.bakedSpriterFps, framesDir));
+					if (baked.value == null) continue;
+
+					FileHandle outFile = outAssetsDir.child(BakedSpriterData.getPath(fileAccess.relativizeToAssetsFolder(file)));
+					TexturePacker.process(spriterFramesPackerSettings, framesDir.path(), outFile.parent().path(), outFile.name());
+					bakedJson.toJson(baked.value, BakedSpriterData.class, outFile);
+				}
+			});
+
+			executeOnOpenGL(() -> baker.value.dispose());
+			framesDir.deleteDirectory();
+			nextStep();
+		}
+
 		private void exportScenes (FileHandle sceneDir, FileHandle outDir) {
 			scene = null;
 
@@ -286,17 +368,96 @@ public class DefaultExporter implements ExporterPlugin {
 					sceneData.groupIds = new IntMap<>(scene.getGroups());
 
 					for (EditorLayer layer : scene.getLayers()) {
-						sceneData.layers.add(new LayerData(layer.cordsSystem, layer.name, layer.id));
+						LayerData layerData = new LayerData(layer.cordsSystem, layer.name, layer.id);
+						layerData.staticLayer = layer.staticLayer;
+						sceneData.layers.add(layerData);
 					}
 
 					scene.getSchemes().forEach(scheme -> sceneData.entities.add(scheme.toData()));
 
-					json.toJson(sceneData, outDir.child(file.name()));
+					if (settings.exportPrefabs) exportPrefabs(sceneData, file);
+					if (settings.exportSceneChunks) splitSceneIntoChunks(sceneData, fileAccess.relativizeToAssetsFolder(file));
+
+					writeSceneData(sceneData, outDir.child(file.name()));
 					nextStep();
 				}
 			}
 		}
 
+		private void exportPrefabs (SceneData sceneData, FileHandle sceneFile) {
+			for (EntityData entityData : sceneData.entities) {
+				VisID visId = null;
+				for (Component component : entityData.components) {
+					if (component instanceof VisID) visId = (VisID) component;
+				}
+				if (visId == null || visId.id == null || visId.id.isEmpty()) continue;
+
+				if (exportedPrefabs.add(visId.id) == false) {
+					Log.warn("Entity with ID '" + visId.id + "' from scene " + sceneFile.name() + " was already exported as prefab, skipping");
+					continue;
+				}
+
+				SceneData prefabData = new SceneData();
+				prefabData.pixelsPerUnit = sceneData.pixelsPerUnit;
+				prefabData.textureAtlasPath = sceneData.textureAtlasPath;
+				prefabData.entities.add(entityData);
+				writeSceneData(prefabData, outAssetsDir.child(Prefab.getPath(PREFABS_DIRECTORY, visId.id)));
+			}
+		}
+
+		private void splitSceneIntoChunks (SceneData sceneData, String scenePath) {
+			IntArray worldLayers = new IntArray();
+			sceneData.layers.forEach(layer -> {
+				if (layer.cordsSystem == LayerCordsSystem.WORLD) worldLayers.add(layer.id);
+			});
+
+			float chunkSize = settings.sceneChunkSize;
+			Map<Long, Array<EntityData>> chunks = new LinkedHashMap<>();
+			Array<EntityData> sceneEntities = new Array<>();
+
+			for (EntityData entityData : sceneData.entities) {
+				Transform transform = null;
+				Layer layer = null;
+				for (Component component : entityData.components) {
+					if (component instanceof Transform) transform = (Transform) component;
+					if (component instanceof Layer) layer = (Layer) component;
+				}
+
+				//entities without position and entities rendered in screen coordinates are always loaded with scene
+				if (transform == null || layer == null || worldLayers.contains(layer.getLayerId()) == false) {
+					sceneEntities.add(entityData);
+					continue;
+				}
+
+				int x = MathUtils.floor(transform.getX() / chunkSize);
+				int y = MathUtils.floor(transform.getY() / chunkSize);
+				chunks.computeIfAbsent(((long) x << 32) | (y & 0xffffffffL), key -> new Array<>()).add(entityData);
+			}
+
+			sceneData.entities = sceneEntities;
+			sceneData.chunkSize = chunkSize;
+
+			chunks.forEach((key, entities) -> {
+				int x = (int) (key >> 32);
+				int y = (int) (long) key;
+				String chunkPath = ChunkData.getPath(scenePath, x, y);
+
+				SceneData chunkData = new SceneData();
+				chunkData.textureAtlasPath = sceneData.textureAtlasPath;
+				chunkData.entities = entities;
+				writeSceneData(chunkData, outAssetsDir.child(chunkPath));
+
+				sceneData.chunks.add(new ChunkData(x, y, chunkPath, entities.size));
+			});
+		}
+
+		private void writeSceneData (SceneData sceneData, FileHandle file) {
+			if (settings.useBinarySceneFormat)
+				binarySceneWriter.write(sceneData, file);
+			else
+				json.toJson(sceneData, file);
+		}
+
 		private void exportSceneTextures (FileHandle sceneDir, FileHandle outDir) {
 			scene = null;
 
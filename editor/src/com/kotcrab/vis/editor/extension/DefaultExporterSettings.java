@@ -23,4 +23,11 @@ public class DefaultExporterSettings {
 	@Tag(0) public boolean skipDefaultValues = true;
 	@Tag(1) public boolean useMinimalOutputType = true;
 	@Tag(2) public boolean packageSeparateAtlasForEachScene = false;
+	@Tag(3) public boolean useBinarySceneFormat = false;
+	@Tag(4) public boolean bakeSpriterAnimations = false;
+	@Tag(5) public int bakedSpriterFps = 30;
+	@Tag(6) public boolean cacheSpriterData = false;
+	@Tag(7) public boolean exportSceneChunks = false;
+	@Tag(8) public int sceneChunkSize = 32;
+	@Tag(9) public boolean exportPrefabs = false;
 }
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2014-2016 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.editor.extension;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Pixmap.Format;
+import com.badlogic.gdx.graphics.PixmapIO;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.utils.BufferUtils;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.ScreenUtils;
+import com.kotcrab.vis.runtime.data.BakedSpriterData;
+import com.kotcrab.vis.runtime.data.BakedSpriterData.BakedAnimation;
+import com.kotcrab.vis.runtime.spriter.*;
+import com.kotcrab.vis.runtime.system.render.SpriterRenderSystem.SpriterDrawer;
+import com.kotcrab.vis.runtime.util.SpriterLoader;
+
+/**
+ * Bakes animations of first spriter entity into frame images used by {@link BakedSpriterData}. Animations are sampled
+ * at given frame rate, every frame of single animation has the same size covering bounds of all its frames.
+ * @author Kotcrab
+ */
+public class SpriterAnimationBaker implements Disposable {
+	private static final int PADDING = 1;
+
+	private final SpriteBatch batch;
+	private final SpriterDrawer drawer;
+
+	/** Must be called on OpenGL thread */
+	public SpriterAnimationBaker () {
+		batch = new SpriteBatch();
+		drawer = new SpriterDrawer(batch);
+	}
+
+	/**
+	 * Renders frames of all animations into PNG files named after animation index and frame index. Must be called on
+	 * OpenGL thread.
+	 * @param imageScale scale of spriter images, frames are rendered using image pixel size
+	 * @param outFramesDir directory where frame images will be saved
+	 * @return baked metadata, frame regions are not assigned
+	 */
+	public BakedSpriterData bake (FileHandle scmlFile, float imageScale, int fps, FileHandle outFramesDir) {
+		Data data = new StreamingSCMLReader(scmlFile.read()).getData();
+		SpriterLoader loader = new SpriterLoader(data);
+		loader.load(scmlFile.file());
+
+		try {
+			Entity entity = data.getEntity(0);
+			Player player = new Player(entity);
+			player.setScale(imageScale);
+			player.speed = 0;
+
+			drawer.setLoader(loader);
+			drawer.setImageScale(imageScale);
+
+			BakedSpriterData baked = new BakedSpriterData(fps, imageScale);
+			for (int i = 0; i < entity.animations(); i++) {
+				Animation animation = entity.getAnimation(i);
+				player.setAnimation(animation);
+				baked.animations.add(bakeAnimation(player, animation, i, fps, outFramesDir));
+			}
+
+			return baked;
+		} finally {
+			loader.dispose();
+		}
+	}
+
+	private BakedAnimation bakeAnimation (Player player, Animation animation, int index, int fps, FileHandle outFramesDir) {
+		int frameCount = getFrameCount(animation, fps);
+
+		float left = Float.MAX_VALUE, bottom = Float.MAX_VALUE;
+		float right = -Float.MAX_VALUE, top = -Float.MAX_VALUE;
+		for (int frame = 0; frame < frameCount; frame++) {
+			updatePlayer(player, animation, frame, fps);
+			Rectangle rect = player.getBoundingRectangle(null);
+			left = Math.min(left, rect.left);
+			bottom = Math.min(bottom, rect.bottom);
+			right = Math.max(right, rect.right);
+			top = Math.max(top, rect.top);
+		}
+
+		int originX = -(int) Math.floor(left) + PADDING;
+		int originY = -(int) Math.floor(bottom) + PADDING;
+		int width = Math.max(1, (int) Math.ceil(right) + originX + PADDING);
+		int height = Math.max(1, (int) Math.ceil(top) + originY + PADDING);
+
+		FrameBuffer frameBuffer = new FrameBuffer(Format.RGBA8888, width, height, false);
+		batch.getProjectionMatrix().setToOrtho2D(-originX, -originY, width, height);
+
+		try {
+			for (int frame = 0; frame < frameCount; frame++) {
+				updatePlayer(player, animation, frame, fps);
+
+				frameBuffer.begin();
+				Gdx.gl.glClearColor(0, 0, 0, 0);
+				Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+				//frame buffer starts fully transparent, alpha must be accumulated separately from colors
+				batch.setBlendFunction(-1, -1);
+				Gdx.gl.glBlendFuncSeparate(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA, GL20.GL_ONE, GL20.GL_ONE_MINUS_SRC_ALPHA);
+				batch.begin();
+				drawer.draw(player);
+				batch.end();
+				byte[] pixels = ScreenUtils.getFrameBufferPixels(0, 0, width, height, true);
+				frameBuffer.end();
+
+				Pixmap pixmap = new Pixmap(width, height, Format.RGBA8888);
+				BufferUtils.copy(pixels, 0, pixmap.getPixels(), pixels.length);
+				PixmapIO.writePNG(outFramesDir.child(index + "_" + frame + ".png"), pixmap);
+				pixmap.dispose();
+			}
+		} finally {
+			batch.setBlendFunction(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+			frameBuffer.dispose();
+		}
+
+		return new BakedAnimation(animation.name, animation.length, animation.looping, frameCount, originX, originY);
+	}
+
+	private int getFrameCount (Animation animation, int fps) {
+		//last frame of non looping animation must show animation end
+		if (animation.looping)
+			return Math.max(1, (int) Math.ceil(animation.length * fps / 1000f));
+		else
+			return (int) (animation.length * fps / 1000f) + 1;
+	}
+
+	private void updatePlayer (Player player, Animation animation, int frame, int fps) {
+		player.setTime(Math.min(Math.round(frame * 1000f / fps), animation.length));
+		player.update();
+	}
+
+	@Override
+	public void dispose () {
+		batch.dispose();
+	}
+}
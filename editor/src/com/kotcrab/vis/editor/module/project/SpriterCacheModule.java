@@ -25,7 +25,7 @@ import com.kotcrab.vis.runtime.assets.SpriterAsset;
 import com.kotcrab.vis.runtime.component.VisSpriter;
 import com.kotcrab.vis.runtime.spriter.Data;
 import com.kotcrab.vis.runtime.spriter.Loader;
-import com.kotcrab.vis.runtime.spriter.SCMLReader;
+import com.kotcrab.vis.runtime.spriter.StreamingSCMLReader;
 import com.kotcrab.vis.runtime.util.SpriterLoader;
 
 /** @author Kotcrab */
@@ -43,7 +43,7 @@ public class SpriterCacheModule extends ProjectModule implements WatchListener {
 
 	public VisSpriter createComponent (SpriterAsset asset, float scale) {
 		FileHandle file = fileAccess.getAssetsFolder().child(asset.getPath());
-		Data data = new SCMLReader(file.read()).getData();
+		Data data = new StreamingSCMLReader(file.read()).getData();
 		Loader<Sprite> loader = new SpriterLoader(data);
 		loader.load(file.file());
 
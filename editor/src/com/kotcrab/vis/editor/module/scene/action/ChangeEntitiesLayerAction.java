@@ -21,16 +21,13 @@ import com.kotcrab.vis.editor.module.scene.entitymanipulator.EntityManipulatorMo
 import com.kotcrab.vis.editor.proxy.EntityProxy;
 import com.kotcrab.vis.editor.util.undo.UndoableAction;
 import com.kotcrab.vis.editor.util.undo.UndoableActionGroup;
-import com.kotcrab.vis.runtime.system.render.RenderBatchingSystem;
 
 public class ChangeEntitiesLayerAction extends UndoableActionGroup {
-	private final RenderBatchingSystem renderBatchingSystem;
 	private final EntityManipulatorModule entityManipulator;
 	private final int targetLayerId;
 
-	public ChangeEntitiesLayerAction (RenderBatchingSystem renderBatchingSystem, EntityManipulatorModule entityManipulator, Array<EntityProxy> proxies, int targetLayerId) {
+	public ChangeEntitiesLayerAction (EntityManipulatorModule entityManipulator, Array<EntityProxy> proxies, int targetLayerId) {
 		super("Move Entity To Layer", "Move Entities To Layer");
-		this.renderBatchingSystem = renderBatchingSystem;
 		this.entityManipulator = entityManipulator;
 		this.targetLayerId = targetLayerId;
 
@@ -44,14 +41,12 @@ public class ChangeEntitiesLayerAction extends UndoableActionGroup {
 	@Override
 	public void execute () {
 		super.execute();
-		renderBatchingSystem.markDirty();
 		entityManipulator.hardSelectionReset();
 	}
 
 	@Override
 	public void undo () {
 		super.undo();
-		renderBatchingSystem.markDirty();
 		entityManipulator.hardSelectionReset();
 	}
 
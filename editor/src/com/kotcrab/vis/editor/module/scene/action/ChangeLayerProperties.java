@@ -28,24 +28,29 @@ public class ChangeLayerProperties implements UndoableAction {
 
 	private final String newName;
 	private final LayerCordsSystem newCordsSystem;
+	private final boolean newStaticLayer;
 
 	private final String oldName;
 	private final LayerCordsSystem oldCordsSystem;
+	private final boolean oldStaticLayer;
 
-	public ChangeLayerProperties (EditorScene scene, EditorLayer layer, String newName, LayerCordsSystem newCordsSystem) {
+	public ChangeLayerProperties (EditorScene scene, EditorLayer layer, String newName, LayerCordsSystem newCordsSystem, boolean newStaticLayer) {
 		this.scene = scene;
 		this.layer = layer;
 		this.newName = newName;
 		this.newCordsSystem = newCordsSystem;
+		this.newStaticLayer = newStaticLayer;
 
 		oldName = layer.name;
 		oldCordsSystem = layer.cordsSystem;
+		oldStaticLayer = layer.staticLayer;
 	}
 
 	@Override
 	public void execute () {
 		layer.name = newName;
 		layer.cordsSystem = newCordsSystem;
+		layer.staticLayer = newStaticLayer;
 		scene.postNotification(EditorScene.LAYER_DATA_CHANGED);
 	}
 
@@ -53,6 +58,7 @@ public class ChangeLayerProperties implements UndoableAction {
 	public void undo () {
 		layer.name = oldName;
 		layer.cordsSystem = oldCordsSystem;
+		layer.staticLayer = oldStaticLayer;
 		scene.postNotification(EditorScene.LAYER_DATA_CHANGED);
 	}
 
@@ -19,19 +19,16 @@ package com.kotcrab.vis.editor.module.scene.action;
 import com.kotcrab.vis.editor.module.scene.entitymanipulator.EntityManipulatorModule;
 import com.kotcrab.vis.editor.proxy.EntityProxy;
 import com.kotcrab.vis.editor.util.undo.UndoableAction;
-import com.kotcrab.vis.runtime.system.render.RenderBatchingSystem;
 
 /** @author Kotcrab */
 public class ChangeZIndexAction implements UndoableAction {
-	private RenderBatchingSystem renderBatchingSystem;
 	private EntityManipulatorModule entityManipulator;
 
 	private final int sourceZIndex;
 	private EntityProxy proxy;
 	private final int targetZIndex;
 
-	public ChangeZIndexAction (RenderBatchingSystem renderBatchingSystem, EntityManipulatorModule entityManipulator, EntityProxy proxy, int targetZIndex) {
-		this.renderBatchingSystem = renderBatchingSystem;
+	public ChangeZIndexAction (EntityManipulatorModule entityManipulator, EntityProxy proxy, int targetZIndex) {
 		this.entityManipulator = entityManipulator;
 		this.proxy = proxy;
 		this.targetZIndex = targetZIndex;
@@ -43,7 +40,6 @@ public class ChangeZIndexAction implements UndoableAction {
 	public void execute () {
 		proxy.reload();
 		proxy.setZIndex(targetZIndex);
-		renderBatchingSystem.markDirty();
 		entityManipulator.selectedEntitiesValuesChanged();
 	}
 
@@ -51,7 +47,6 @@ public class ChangeZIndexAction implements UndoableAction {
 	public void undo () {
 		proxy.reload();
 		proxy.setZIndex(sourceZIndex);
-		renderBatchingSystem.markDirty();
 		entityManipulator.selectedEntitiesValuesChanged();
 	}
 
@@ -256,7 +256,7 @@ public class EntityManipulatorModule extends SceneModule {
 		}
 
 		stage.addActor(new SelectLayerDialog(scene.getLayers(), scene.getActiveLayer(), result -> {
-			undoModule.execute(new ChangeEntitiesLayerAction(renderBatchingSystem, this, targetEntities, result.id));
+			undoModule.execute(new ChangeEntitiesLayerAction(this, targetEntities, result.id));
 
 			//reselect entities again
 			hardSelectionReset();
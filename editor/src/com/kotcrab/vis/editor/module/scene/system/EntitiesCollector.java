@@ -84,7 +84,7 @@ public class EntitiesCollector extends EntityProcessingSystem {
 		Layer layer = layerCm.get(e);
 		VisGroup group = groupCm.getSafe(e);
 
-		if (layer.layerId != findLayerId) return;
+		if (layer.getLayerId() != findLayerId) return;
 		if (findGroupId != -1) {
 			if (group == null || group.groupIds.contains(findGroupId) == false) return;
 		}
@@ -24,7 +24,6 @@ import com.kotcrab.vis.editor.scene.EditorScene;
 import com.kotcrab.vis.editor.ui.scene.LayersDialog;
 import com.kotcrab.vis.runtime.component.Invisible;
 import com.kotcrab.vis.runtime.component.Layer;
-import com.kotcrab.vis.runtime.system.render.RenderBatchingSystem;
 
 /**
  * Provides utils for manipulating layers. This is internal VisEditor API.
@@ -34,8 +33,6 @@ public class LayerManipulator extends Manager {
 	private ComponentMapper<Layer> layerCm;
 	private AspectSubscriptionManager subscriptionManager;
 
-	private RenderBatchingSystem renderBatchingSystem;
-
 	private EntitySubscription subscription;
 
 	private EntityTransmuter invisibleTransmuter;
@@ -65,7 +62,7 @@ public class LayerManipulator extends Manager {
 			Entity entity = world.getEntity(id);
 			Layer layer = layerCm.get(entity);
 
-			if (layer.layerId == layerId)
+			if (layer.getLayerId() == layerId)
 				entities.add(entity);
 		}
 
@@ -80,7 +77,7 @@ public class LayerManipulator extends Manager {
 		for (int i = 0; i < bag.size(); i++) {
 			int id = data[i];
 			Entity entity = world.getEntity(id);
-			if (layerCm.get(entity).layerId == layerId)
+			if (layerCm.get(entity).getLayerId() == layerId)
 				transmuter.transmute(entity);
 		}
 	}
@@ -98,10 +95,8 @@ public class LayerManipulator extends Manager {
 			Entity entity = world.getEntity(id);
 			Layer layer = layerCm.get(entity);
 
-			if (layer.layerId == id1) layer.layerId = id2;
-			else if (layer.layerId == id2) layer.layerId = id1;
+			if (layer.getLayerId() == id1) layer.setLayerId(id2);
+			else if (layer.getLayerId() == id2) layer.setLayerId(id1);
 		}
-
-		renderBatchingSystem.markDirty();
 	}
 }
@@ -24,7 +24,6 @@ import com.kotcrab.vis.editor.module.scene.action.ChangeZIndexAction;
 import com.kotcrab.vis.editor.module.scene.entitymanipulator.EntityManipulatorModule;
 import com.kotcrab.vis.editor.proxy.EntityProxy;
 import com.kotcrab.vis.editor.util.undo.UndoableActionGroup;
-import com.kotcrab.vis.runtime.system.render.RenderBatchingSystem;
 import com.kotcrab.vis.runtime.util.ImmutableArray;
 
 /** @author Kotcrab */
@@ -32,7 +31,6 @@ public class ZIndexManipulator extends Manager {
 	private UndoModule undoModule;
 	private EntityManipulatorModule entityManipulator;
 
-	private RenderBatchingSystem renderBatchingSystem;
 	private EntityProxyCache proxyCache;
 
 	private UndoableActionGroup actionGroup;
@@ -69,7 +67,7 @@ public class ZIndexManipulator extends Manager {
 		}
 
 		if (targetZIndex != entity.getZIndex()) {
-			actionGroup.execute(new ChangeZIndexAction(renderBatchingSystem, entityManipulator, entity, targetZIndex));
+			actionGroup.execute(new ChangeZIndexAction(entityManipulator, entity, targetZIndex));
 		}
 	}
 
@@ -194,19 +194,19 @@ public abstract class EntityProxy {
 	}
 
 	public int getZIndex () {
-		return entity.getComponent(Renderable.class).zIndex;
+		return entity.getComponent(Renderable.class).getZIndex();
 	}
 
 	public void setZIndex (int zIndex) {
-		entity.getComponent(Renderable.class).zIndex = zIndex;
+		entity.getComponent(Renderable.class).setZIndex(zIndex);
 	}
 
 	public int getLayerID () {
-		return entity.getComponent(Layer.class).layerId;
+		return entity.getComponent(Layer.class).getLayerId();
 	}
 
 	public void setLayerId (int layerId) {
-		entity.getComponent(Layer.class).layerId = layerId;
+		entity.getComponent(Layer.class).setLayerId(layerId);
 	}
 
 	protected void enableBasicProperties (PositionOwner posOwner, SizeOwner sizeOwner, BoundsOwner boundsOwner) {
@@ -28,6 +28,7 @@ public class EditorLayer {
 	public boolean locked = false;
 	public boolean visible = true;
 	public LayerCordsSystem cordsSystem = LayerCordsSystem.WORLD;
+	public boolean staticLayer = false;
 
 	public EditorLayer (String name, int id) {
 		this.name = name;
@@ -24,6 +24,8 @@ import com.kotcrab.vis.editor.module.editor.EditorSettingsIOModule;
 import com.kotcrab.vis.editor.util.scene2d.VisChangeListener;
 import com.kotcrab.vis.ui.util.TableUtils;
 import com.kotcrab.vis.ui.widget.*;
+import com.kotcrab.vis.ui.widget.spinner.IntSpinnerModel;
+import com.kotcrab.vis.ui.widget.spinner.Spinner;
 
 /** @author Kotcrab */
 public class DefaultExporterSettingsDialog extends VisWindow {
@@ -33,6 +35,13 @@ public class DefaultExporterSettingsDialog extends VisWindow {
 	private final VisCheckBox skipDefaultCheck;
 	private final VisCheckBox minimalOutputCheck;
 	private final VisCheckBox packageSeparateAtlasForEachSceneCheck;
+	private final VisCheckBox binarySceneFormatCheck;
+	private final VisCheckBox bakeSpriterAnimationsCheck;
+	private final IntSpinnerModel bakedSpriterFpsModel;
+	private final VisCheckBox cacheSpriterDataCheck;
+	private final VisCheckBox exportSceneChunksCheck;
+	private final IntSpinnerModel sceneChunkSizeModel;
+	private final VisCheckBox exportPrefabsCheck;
 
 	public DefaultExporterSettingsDialog (EditorSettingsIOModule settingsIO, DefaultExporterSettings settings) {
 		super("Settings");
@@ -78,6 +87,55 @@ public class DefaultExporterSettingsDialog extends VisWindow {
 		add(packageSeparateAtlasForEachSceneCheck);
 		add(packageSeparateAtlasForEachSceneHelpImage).size(22).row();
 
+		binarySceneFormatCheck = new VisCheckBox("Use binary scene format");
+		VisImage binarySceneFormatHelpImage = new VisImage(Icons.QUESTION_BIG.drawable());
+		new Tooltip.Builder("If checked scenes will be exported in compact binary format instead of JSON. Binary scenes are\n" +
+				"smaller and load faster, runtime detects scene format automatically.\nNote that JSON output settings " +
+				"are ignored when this is checked.", Align.left).target(binarySceneFormatHelpImage).build();
+		add(binarySceneFormatCheck);
+		add(binarySceneFormatHelpImage).size(22).row();
+
+		bakeSpriterAnimationsCheck = new VisCheckBox("Bake spriter animations");
+		VisImage bakeSpriterAnimationsHelpImage = new VisImage(Icons.QUESTION_BIG.drawable());
+		new Tooltip.Builder("If checked spriter animations will be additionally exported as frames packed into texture atlas.\n" +
+				"Baked animations are used when 'RuntimeConfiguration#useBakedSpriterAnimations' is enabled,\nthey require " +
+				"more memory but almost no CPU time is needed to play them.", Align.left).target(bakeSpriterAnimationsHelpImage).build();
+		add(bakeSpriterAnimationsCheck);
+		add(bakeSpriterAnimationsHelpImage).size(22).row();
+
+		bakedSpriterFpsModel = new IntSpinnerModel(30, 1, 120);
+		Spinner bakedSpriterFpsSpinner = new Spinner("Baked animations FPS", bakedSpriterFpsModel);
+		add(bakedSpriterFpsSpinner).colspan(2).row();
+
+		cacheSpriterDataCheck = new VisCheckBox("Cache spriter data");
+		VisImage cacheSpriterDataHelpImage = new VisImage(Icons.QUESTION_BIG.drawable());
+		new Tooltip.Builder("If checked binary cache of spriter animation data will be written next to each exported SCML file.\n" +
+				"Runtime reads cache instead of parsing SCML which makes loading spriter animations faster.", Align.left)
+				.target(cacheSpriterDataHelpImage).build();
+		add(cacheSpriterDataCheck);
+		add(cacheSpriterDataHelpImage).size(22).row();
+
+		exportSceneChunksCheck = new VisCheckBox("Split scenes into chunks");
+		VisImage exportSceneChunksHelpImage = new VisImage(Icons.QUESTION_BIG.drawable());
+		new Tooltip.Builder("If checked entities of world layers will be split into square chunks by their position and each\n" +
+				"chunk will be exported to separate file. Runtime loads only chunks near camera and unloads distant chunks,\n" +
+				"this is useful for very large scenes. Entities of screen layers are always loaded.", Align.left)
+				.target(exportSceneChunksHelpImage).build();
+		add(exportSceneChunksCheck);
+		add(exportSceneChunksHelpImage).size(22).row();
+
+		sceneChunkSizeModel = new IntSpinnerModel(32, 1, 100000);
+		Spinner sceneChunkSizeSpinner = new Spinner("Chunk size (world units)", sceneChunkSizeModel);
+		add(sceneChunkSizeSpinner).colspan(2).row();
+
+		exportPrefabsCheck = new VisCheckBox("Export entities with ID as prefabs");
+		VisImage exportPrefabsHelpImage = new VisImage(Icons.QUESTION_BIG.drawable());
+		new Tooltip.Builder("If checked every entity with ID will be additionally exported as prefab to 'prefabs/<ID>.prefab'.\n" +
+				"Prefabs can be loaded by VisAssetManager and instantiated at runtime using PrefabFactory.", Align.left)
+				.target(exportPrefabsHelpImage).build();
+		add(exportPrefabsCheck);
+		add(exportPrefabsHelpImage).size(22).row();
+
 		add(buttonTable).right().colspan(2);
 
 		cancelButton.addListener(new VisChangeListener((event1, actor1) -> {
@@ -100,12 +158,26 @@ public class DefaultExporterSettingsDialog extends VisWindow {
 		skipDefaultCheck.setChecked(settings.skipDefaultValues);
 		minimalOutputCheck.setChecked(settings.useMinimalOutputType);
 		packageSeparateAtlasForEachSceneCheck.setChecked(settings.packageSeparateAtlasForEachScene);
+		binarySceneFormatCheck.setChecked(settings.useBinarySceneFormat);
+		bakeSpriterAnimationsCheck.setChecked(settings.bakeSpriterAnimations);
+		bakedSpriterFpsModel.setValue(settings.bakedSpriterFps);
+		cacheSpriterDataCheck.setChecked(settings.cacheSpriterData);
+		exportSceneChunksCheck.setChecked(settings.exportSceneChunks);
+		sceneChunkSizeModel.setValue(settings.sceneChunkSize);
+		exportPrefabsCheck.setChecked(settings.exportPrefabs);
 	}
 
 	private void setToSettings () {
 		settings.skipDefaultValues = skipDefaultCheck.isChecked();
 		settings.useMinimalOutputType = minimalOutputCheck.isChecked();
 		settings.packageSeparateAtlasForEachScene = packageSeparateAtlasForEachSceneCheck.isChecked();
+		settings.useBinarySceneFormat = binarySceneFormatCheck.isChecked();
+		settings.bakeSpriterAnimations = bakeSpriterAnimationsCheck.isChecked();
+		settings.bakedSpriterFps = bakedSpriterFpsModel.getValue();
+		settings.cacheSpriterData = cacheSpriterDataCheck.isChecked();
+		settings.exportSceneChunks = exportSceneChunksCheck.isChecked();
+		settings.sceneChunkSize = sceneChunkSizeModel.getValue();
+		settings.exportPrefabs = exportPrefabsCheck.isChecked();
 		settingsIO.save(settings, DefaultExporter.SETTINGS_FILE_NAME);
 	}
 }
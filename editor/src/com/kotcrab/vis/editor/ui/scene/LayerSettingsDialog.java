@@ -59,10 +59,15 @@ public class LayerSettingsDialog extends VisWindow {
 		add(new VisLabel("Coordinates system"));
 		add(cordsSelectBox).width(150);
 		row();
+		VisCheckBox staticCheck = new VisCheckBox("Static layer");
+		new Tooltip.Builder("Sprites on static layer are cached and rendered faster,\nbut modifying them is more expensive").target(staticCheck).build();
+		add(staticCheck).colspan(2);
+		row();
 
 		idLabel.setText(String.valueOf(layer.id));
 		nameField.setText(layer.name);
 		cordsSelectBox.setSelectedEnum(layer.cordsSystem);
+		staticCheck.setChecked(layer.staticLayer);
 
 		VisLabel errorLabel = new VisLabel();
 		errorLabel.setColor(Color.RED);
@@ -72,7 +77,8 @@ public class LayerSettingsDialog extends VisWindow {
 
 		cancelButton.addListener(new VisChangeListener((event, actor) -> fadeOut()));
 		applyButton.addListener(new VisChangeListener((event, actor) -> {
-			undoModule.execute(new ChangeLayerProperties(scene, layer, nameField.getText(), cordsSelectBox.getSelectedEnum()));
+			undoModule.execute(new ChangeLayerProperties(scene, layer, nameField.getText(), cordsSelectBox.getSelectedEnum(),
+					staticCheck.isChecked()));
 			fadeOut();
 		}));
 
@@ -22,9 +22,12 @@ import com.kotcrab.vis.editor.module.scene.action.ChangePhysicsSettingsAction;
 import com.kotcrab.vis.editor.scene.EditorScene;
 import com.kotcrab.vis.editor.util.scene2d.TableBuilder;
 import com.kotcrab.vis.editor.util.scene2d.VisChangeListener;
+import com.badlogic.gdx.graphics.Color;
 import com.kotcrab.vis.runtime.data.PhysicsSettings;
 import com.kotcrab.vis.ui.util.FloatDigitsOnlyFilter;
+import com.kotcrab.vis.ui.util.IntDigitsOnlyFilter;
 import com.kotcrab.vis.ui.util.TableUtils;
+import com.kotcrab.vis.ui.util.form.SimpleFormValidator;
 import com.kotcrab.vis.ui.widget.*;
 
 /**
@@ -42,10 +45,16 @@ public class PhysicsSettingsDialog extends VisWindow {
 
 	private VisCheckBox enabledCheckbox;
 	private VisCheckBox sleepCheckbox;
+	private VisCheckBox interpolateCheckbox;
 
 	private VisTextField gravityXField;
 	private VisTextField gravityYField;
 
+	private VisValidatableTextField stepRateField;
+	private VisValidatableTextField velocityIterationsField;
+	private VisValidatableTextField positionIterationsField;
+	private VisLabel errorLabel;
+
 	private PhysicsSettings newPhysicsSettings;
 
 	public PhysicsSettingsDialog (SceneModuleContainer sceneMC) {
@@ -79,20 +88,39 @@ public class PhysicsSettingsDialog extends VisWindow {
 		sleepCheckbox = new VisCheckBox("Allow Sleep");
 		gravityXField = new VisTextField();
 		gravityYField = new VisTextField();
+		interpolateCheckbox = new VisCheckBox("Interpolate Sprites");
+		stepRateField = new VisValidatableTextField();
+		velocityIterationsField = new VisValidatableTextField();
+		positionIterationsField = new VisValidatableTextField();
 
 		gravityXField.setTextFieldFilter(new FloatDigitsOnlyFilter(true));
 		gravityYField.setTextFieldFilter(new FloatDigitsOnlyFilter(true));
+		stepRateField.setTextFieldFilter(new IntDigitsOnlyFilter(false));
+		velocityIterationsField.setTextFieldFilter(new IntDigitsOnlyFilter(false));
+		positionIterationsField.setTextFieldFilter(new IntDigitsOnlyFilter(false));
+
+		new Tooltip.Builder("Blends sprites positions between physics steps, allows to use step rate lower than\n" +
+				"screen refresh rate without stuttering. Sprites are rendered at most one step behind physics world.")
+				.target(interpolateCheckbox).build();
 
 		add(enabledCheckbox).row();
 		add(sleepCheckbox).row();
 
 		add(TableBuilder.build("Gravity X", 70, gravityXField)).row();
 		add(TableBuilder.build("Gravity Y", 70, gravityYField)).row();
+		add(interpolateCheckbox).row();
+		add(TableBuilder.build("Steps per second", 120, stepRateField)).row();
+		add(TableBuilder.build("Velocity iterations", 120, velocityIterationsField)).row();
+		add(TableBuilder.build("Position iterations", 120, positionIterationsField)).row();
 
 		enabledCheckbox.setChecked(newPhysicsSettings.physicsEnabled);
 		sleepCheckbox.setChecked(newPhysicsSettings.allowSleep);
 		gravityXField.setText(String.valueOf(newPhysicsSettings.gravityX));
 		gravityYField.setText(String.valueOf(newPhysicsSettings.gravityY));
+		interpolateCheckbox.setChecked(newPhysicsSettings.interpolate);
+		stepRateField.setText(String.valueOf(newPhysicsSettings.stepRate));
+		velocityIterationsField.setText(String.valueOf(newPhysicsSettings.velocityIterations));
+		positionIterationsField.setText(String.valueOf(newPhysicsSettings.positionIterations));
 	}
 
 	private void createBottomTable () {
@@ -102,7 +130,10 @@ public class PhysicsSettingsDialog extends VisWindow {
 		cancelButton = new VisTextButton("Cancel");
 		saveButton = new VisTextButton("OK");
 
-		buttonTable.add().fill().expand();
+		errorLabel = new VisLabel();
+		errorLabel.setColor(Color.RED);
+
+		buttonTable.add(errorLabel).fill().expand();
 		buttonTable.add(cancelButton);
 		buttonTable.add(saveButton);
 
@@ -111,12 +142,24 @@ public class PhysicsSettingsDialog extends VisWindow {
 	}
 
 	private void createListeners () {
+		SimpleFormValidator validator = new SimpleFormValidator(saveButton, errorLabel);
+		validator.integerNumber(stepRateField, "Steps per second must be a number");
+		validator.valueGreaterThan(stepRateField, "Steps per second must be greater than 0", 0);
+		validator.integerNumber(velocityIterationsField, "Velocity iterations must be a number");
+		validator.valueGreaterThan(velocityIterationsField, "Velocity iterations must be greater than 0", 0);
+		validator.integerNumber(positionIterationsField, "Position iterations must be a number");
+		validator.valueGreaterThan(positionIterationsField, "Position iterations must be greater than 0", 0);
+
 		cancelButton.addListener(new VisChangeListener((event, actor) -> fadeOut()));
 		saveButton.addListener(new VisChangeListener((event, actor) -> {
 			newPhysicsSettings.physicsEnabled = enabledCheckbox.isChecked();
 			newPhysicsSettings.allowSleep = sleepCheckbox.isChecked();
 			newPhysicsSettings.gravityX = Float.valueOf(gravityXField.getText());
 			newPhysicsSettings.gravityY = Float.valueOf(gravityYField.getText());
+			newPhysicsSettings.interpolate = interpolateCheckbox.isChecked();
+			newPhysicsSettings.stepRate = Integer.valueOf(stepRateField.getText());
+			newPhysicsSettings.velocityIterations = Integer.valueOf(velocityIterationsField.getText());
+			newPhysicsSettings.positionIterations = Integer.valueOf(positionIterationsField.getText());
 
 			undoModule.execute(new ChangePhysicsSettingsAction(scene, newPhysicsSettings));
 			sceneTab.dirty();
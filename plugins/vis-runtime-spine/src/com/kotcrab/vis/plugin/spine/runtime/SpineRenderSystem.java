@@ -33,6 +33,7 @@ package com.kotcrab.vis.plugin.spine.runtime;
 
 import com.artemis.Aspect;
 import com.artemis.ComponentMapper;
+import com.artemis.annotations.Wire;
 import com.badlogic.gdx.graphics.g2d.Batch;
 import com.esotericsoftware.spine.SkeletonRenderer;
 import com.kotcrab.vis.runtime.component.Invisible;
@@ -42,13 +43,18 @@ import com.kotcrab.vis.runtime.system.delegate.DeferredEntityProcessingSystem;
 import com.kotcrab.vis.runtime.system.delegate.EntityProcessPrincipal;
 import com.kotcrab.vis.runtime.system.render.RenderBatchingSystem;
 
-/** @author Kotcrab */
+/**
+ * Renders spine skeletons, updates them itself when {@link SpineUpdateSystem} is not present.
+ * @author Kotcrab
+ */
+@Wire(failOnNull = false)
 public class SpineRenderSystem extends DeferredEntityProcessingSystem {
 	private ComponentMapper<VisSpine> spineCm;
 	private ComponentMapper<Transform> transformCm;
 	private ComponentMapper<Tint> tintCm;
 
 	private RenderBatchingSystem renderBatchingSystem;
+	private SpineUpdateSystem spineUpdateSystem;
 	private Batch batch;
 
 	private SkeletonRenderer skeletonRenderer;
@@ -66,16 +72,20 @@ public class SpineRenderSystem extends DeferredEntityProcessingSystem {
 	@Override
 	protected void process (int entityId) {
 		VisSpine spine = spineCm.get(entityId);
-		Transform transform = transformCm.get(entityId);
-		Tint tint = tintCm.get(entityId);
 
-		if (transform.isDirty() || tint.isDirty()) {
-			spine.updateValues(transform.getX(), transform.getY(), tint.getTint());
+		if (spineUpdateSystem == null) {
+			Transform transform = transformCm.get(entityId);
+			Tint tint = tintCm.get(entityId);
+
+			if (transform.isDirty() || tint.isDirty()) {
+				spine.updateValues(transform.getX(), transform.getY(), tint.getTint());
+			}
+
+			spine.state.update(world.delta);
+			spine.state.apply(spine.skeleton); // Poses skeleton using current animations. This sets the bones' local SRT.
+			spine.skeleton.updateWorldTransform(); // Uses the bones' local SRT to compute their world SRT.
 		}
 
-		spine.state.update(world.delta);
-		spine.state.apply(spine.skeleton); // Poses skeleton using current animations. This sets the bones' local SRT.
-		spine.skeleton.updateWorldTransform(); // Uses the bones' local SRT to compute their world SRT.
 		skeletonRenderer.draw(batch, spine.skeleton); // Draw the skeleton images.
 	}
 }
@@ -55,11 +55,24 @@ import com.kotcrab.vis.runtime.util.EntityEngineConfiguration;
 @VisPlugin
 public class SpineSupport implements EntitySupport {
 	private SkeletonRenderer skeletonRenderer;
+	private boolean parallelUpdate;
 
 	public SpineSupport () {
 		skeletonRenderer = new SkeletonRenderer();
 	}
 
+	/**
+	 * @param parallelUpdate if true skeletons will be posed in parallel by {@link SpineUpdateSystem} before rendering.
+	 * Must be set before scene is loaded. Default is false.
+	 */
+	public void setParallelUpdate (boolean parallelUpdate) {
+		this.parallelUpdate = parallelUpdate;
+	}
+
+	public boolean isParallelUpdate () {
+		return parallelUpdate;
+	}
+
 	@Override
 	public void setLoaders (AssetManager manager) {
 		manager.setLoader(SkeletonData.class, new SkeletonDataLoader());
@@ -87,6 +100,15 @@ public class SpineSupport implements EntitySupport {
 			}
 		}, Priority.VIS_INFLATER);
 
+		if (parallelUpdate) {
+			config.addSystem(new SystemProvider() {
+				@Override
+				public BaseSystem create (EntityEngineConfiguration config, RuntimeContext context, SceneData data) {
+					return new SpineUpdateSystem();
+				}
+			}, Priority.VIS_RENDERER.before());
+		}
+
 		config.addSystem(new SystemProvider() {
 			@Override
 			public BaseSystem create (EntityEngineConfiguration config, RuntimeContext context, SceneData data) {
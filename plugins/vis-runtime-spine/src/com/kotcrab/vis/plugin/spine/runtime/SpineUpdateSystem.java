@@ -0,0 +1,112 @@
+/*
+ * Spine Runtimes Software License
+ * Version 2.3
+ *
+ * Copyright (c) 2013-2015, Esoteric Software
+ * All rights reserved.
+ *
+ * You are granted a perpetual, non-exclusive, non-sublicensable and
+ * non-transferable license to use, install, execute and perform the Spine
+ * Runtimes Software (the "Software") and derivative works solely for personal
+ * or internal use. Without the written permission of Esoteric Software (see
+ * Section 2 of the Spine Software License Agreement), you may not (a) modify,
+ * translate, adapt or otherwise create derivative works, improvements of the
+ * Software or develop new applications using the Software or (b) remove,
+ * delete, alter or obscure any trademarks or any copyright, trademark, patent
+ * or other intellectual property or proprietary rights notices on or in the
+ * Software, including any copy thereof. Redistributions in binary or source
+ * form must include this license and terms.
+ *
+ * THIS SOFTWARE IS PROVIDED BY ESOTERIC SOFTWARE "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO
+ * EVENT SHALL ESOTERIC SOFTWARE BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+ * OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.kotcrab.vis.plugin.spine.runtime;
+
+import com.artemis.Aspect;
+import com.artemis.BaseEntitySystem;
+import com.artemis.ComponentMapper;
+import com.artemis.utils.IntBag;
+import com.kotcrab.vis.runtime.component.Invisible;
+import com.kotcrab.vis.runtime.component.Tint;
+import com.kotcrab.vis.runtime.component.Transform;
+import com.kotcrab.vis.runtime.system.render.RenderBatchingSystem;
+import com.kotcrab.vis.runtime.util.ParallelExecutor;
+
+/**
+ * Updates animation states and poses skeletons of entities rendered by {@link SpineRenderSystem} in parallel using
+ * {@link ParallelExecutor}. Must be processed before {@link RenderBatchingSystem}, when present {@link SpineRenderSystem}
+ * only draws skeletons. Animation state listeners are called from worker threads.
+ * @author Kotcrab
+ */
+public class SpineUpdateSystem extends BaseEntitySystem {
+	private ComponentMapper<VisSpine> spineCm;
+	private ComponentMapper<Transform> transformCm;
+	private ComponentMapper<Tint> tintCm;
+
+	private final ParallelExecutor executor;
+	private final boolean ownsExecutor;
+
+	private int[] entities;
+	private float delta;
+
+	private final ParallelExecutor.Task updateTask = new ParallelExecutor.Task() {
+		@Override
+		public void process (int index) {
+			int entityId = entities[index];
+			VisSpine spine = spineCm.get(entityId);
+			Transform transform = transformCm.get(entityId);
+			Tint tint = tintCm.get(entityId);
+
+			if (transform.isDirty() || tint.isDirty()) {
+				spine.updateValues(transform.getX(), transform.getY(), tint.getTint());
+			}
+
+			spine.state.update(delta);
+			spine.state.apply(spine.skeleton);
+			spine.skeleton.updateWorldTransform();
+		}
+	};
+
+	/** Creates system using new {@link ParallelExecutor} with default worker count, executor is disposed with this system */
+	public SpineUpdateSystem () {
+		this(new ParallelExecutor(), true);
+	}
+
+	/** @param executor executor used to update skeletons, it won't be disposed by this system */
+	public SpineUpdateSystem (ParallelExecutor executor) {
+		this(executor, false);
+	}
+
+	private SpineUpdateSystem (ParallelExecutor executor, boolean ownsExecutor) {
+		super(Aspect.all(VisSpine.class, Transform.class, Tint.class).exclude(Invisible.class));
+		this.executor = executor;
+		this.ownsExecutor = ownsExecutor;
+	}
+
+	@Override
+	protected void processSystem () {
+		IntBag entityIds = getEntityIds();
+		entities = entityIds.getData();
+		delta = world.delta;
+		executor.execute(entityIds.size(), updateTask);
+		entities = null;
+	}
+
+	public ParallelExecutor getExecutor () {
+		return executor;
+	}
+
+	@Override
+	protected void dispose () {
+		if (ownsExecutor) executor.dispose();
+	}
+}
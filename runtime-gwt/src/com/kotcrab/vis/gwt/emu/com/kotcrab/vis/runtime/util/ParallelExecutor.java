@@ -0,0 +1,66 @@
+/*
+ * Copyright 2014-2016 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.runtime.util;
+
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * GWT version of ParallelExecutor, threads are not supported on GWT so tasks are always executed on calling thread.
+ * @author Kotcrab
+ */
+public class ParallelExecutor implements Disposable {
+	private int minParallelCount = 16;
+
+	public ParallelExecutor () {
+		this(0);
+	}
+
+	public ParallelExecutor (int workerCount) {
+		if (workerCount < 0) throw new IllegalArgumentException("workerCount can't be negative");
+	}
+
+	/** @return always 0, threads are not supported on GWT */
+	public static int getDefaultWorkerCount () {
+		return 0;
+	}
+
+	public void execute (int count, Task task) {
+		for (int i = 0; i < count; i++)
+			task.process(i);
+	}
+
+	/** @return always 0, threads are not supported on GWT */
+	public int getWorkerCount () {
+		return 0;
+	}
+
+	public int getMinParallelCount () {
+		return minParallelCount;
+	}
+
+	public void setMinParallelCount (int minParallelCount) {
+		this.minParallelCount = minParallelCount;
+	}
+
+	@Override
+	public void dispose () {
+	}
+
+	public interface Task {
+		void process (int index);
+	}
+}
@@ -30,6 +30,8 @@ import com.kotcrab.vis.runtime.util.SpriterDataLoader.SpriterDataParameter;
  * @author Kotcrab
  */
 public class SpriterDataLoader extends SynchronousAssetLoader<SpriterData, SpriterDataParameter> {
+	private SharedTexturePacker sharedPacker;
+
 	public SpriterDataLoader () {
 		this(new InternalFileHandleResolver());
 	}
@@ -38,6 +40,11 @@ public class SpriterDataLoader extends SynchronousAssetLoader<SpriterData, Sprit
 		super(resolver);
 	}
 
+	public SpriterDataLoader (FileHandleResolver resolver, SharedTexturePacker sharedPacker) {
+		super(resolver);
+		this.sharedPacker = sharedPacker;
+	}
+
 	@Override
 	public SpriterData load (AssetManager assetManager, String fileName, FileHandle file, SpriterDataParameter parameter) {
 		throw new IllegalStateException("Spriter is not supported on GWT!");
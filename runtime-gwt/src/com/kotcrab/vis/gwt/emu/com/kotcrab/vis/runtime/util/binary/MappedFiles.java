@@ -0,0 +1,35 @@
+/*
+ * Copyright 2014-2016 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.runtime.util.binary;
+
+import com.badlogic.gdx.files.FileHandle;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Utilities for memory mapping files. Not supported on GWT where {@link #map(FileHandle)} always returns null.
+ * @author Kotcrab
+ */
+public class MappedFiles {
+	private MappedFiles () {
+	}
+
+	/** @return always null, memory mapping files is not supported on GWT */
+	public static ByteBuffer map (FileHandle file) {
+		return null;
+	}
+}
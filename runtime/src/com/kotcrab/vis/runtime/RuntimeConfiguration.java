@@ -18,7 +18,13 @@ package com.kotcrab.vis.runtime;
 
 import com.artemis.Entity;
 import com.kotcrab.vis.runtime.component.AssetReference;
+import com.kotcrab.vis.runtime.component.BakedSpriter;
 import com.kotcrab.vis.runtime.component.PhysicsBody;
+import com.kotcrab.vis.runtime.component.VisParticle;
+import com.kotcrab.vis.runtime.spriter.PoseCache;
+import com.kotcrab.vis.runtime.system.ChunkStreamingSystem;
+import com.kotcrab.vis.runtime.system.render.OffscreenParticlePolicy;
+import com.kotcrab.vis.runtime.system.render.ParticleRenderSystem;
 import com.kotcrab.vis.runtime.util.EntityEngine;
 
 /**
@@ -39,4 +45,38 @@ public class RuntimeConfiguration {
 	 * Note that actual body will be disposed during next {@link EntityEngine} update.
 	 */
 	public boolean autoDisposeBox2dBodyOnEntityRemove = true;
+
+	/**
+	 * Controls how particle effects outside of camera view are handled by {@link ParticleRenderSystem}. Default is
+	 * {@link OffscreenParticlePolicy#UPDATE} which updates and draws all effects.
+	 */
+	public OffscreenParticlePolicy offscreenParticlePolicy = OffscreenParticlePolicy.UPDATE;
+
+	/** Amount of frames between updates of off-screen particle effects when using {@link OffscreenParticlePolicy#REDUCED_RATE}. */
+	public int offscreenParticleUpdateInterval = 4;
+
+	/**
+	 * If true completed particle effects will be parked instead of being restarted, see {@link VisParticle#park()}.
+	 * Default is false.
+	 */
+	public boolean parkCompletedParticleEffects = false;
+
+	/**
+	 * If greater than 0 spriter players playing the same animation will share tweened poses, see {@link PoseCache}.
+	 * Animation time used to tween poses is quantized to given amount of milliseconds. Default is 0 which disables
+	 * pose sharing.
+	 */
+	public int spriterPoseCacheTimeStep = 0;
+
+	/**
+	 * If true spriter animations baked by VisEditor exporter will be used instead of tweening animations during runtime,
+	 * see {@link BakedSpriter}. Spriter assets that were not baked are loaded normally. Default is false.
+	 */
+	public boolean useBakedSpriterAnimations = false;
+
+	/**
+	 * Amount of chunks around chunks visible by camera that are kept loaded when scene was exported with scene chunks,
+	 * see {@link ChunkStreamingSystem}. Default is 1.
+	 */
+	public int chunkLoadDistance = 1;
 }
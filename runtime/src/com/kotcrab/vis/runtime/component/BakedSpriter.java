@@ -0,0 +1,203 @@
+/*
+ * Copyright 2014-2016 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.runtime.component;
+
+import com.artemis.Component;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
+import com.kotcrab.vis.runtime.data.BakedSpriterData;
+import com.kotcrab.vis.runtime.data.BakedSpriterData.BakedAnimation;
+import com.kotcrab.vis.runtime.properties.BoundsOwner;
+import com.kotcrab.vis.runtime.properties.FlipOwner;
+import com.kotcrab.vis.runtime.properties.SizeOwner;
+import com.kotcrab.vis.runtime.system.render.BakedSpriterRenderSystem;
+import com.kotcrab.vis.runtime.util.annotation.VisInternal;
+
+/**
+ * Plays spriter animation baked into frames instead of tweening it using spriter player. Rendered by
+ * {@link BakedSpriterRenderSystem}, animation time is advanced by delta time of every frame.
+ * @author Kotcrab
+ */
+public class BakedSpriter extends Component implements SizeOwner, BoundsOwner, FlipOwner {
+	private final BakedSpriterData data;
+	private float scale;
+
+	private int animation;
+	private float stateTime;
+	private boolean animationPlaying;
+	private boolean flipX, flipY;
+
+	private float x, y, rotation;
+	private final transient Rectangle bounds = new Rectangle();
+
+	/** @param scale spriter player scale, the same as used by {@link VisSpriter} */
+	public BakedSpriter (BakedSpriterData data, float scale) {
+		this.data = data;
+		this.scale = scale;
+	}
+
+	@VisInternal
+	public void updateValues (float x, float y, float rotation) {
+		this.x = x;
+		this.y = y;
+		this.rotation = rotation;
+	}
+
+	/** Advances animation time if animation is playing */
+	public void update (float delta) {
+		if (animationPlaying) stateTime += delta;
+	}
+
+	/** @return region of frame that should be currently displayed */
+	public TextureRegion getFrame () {
+		BakedAnimation anim = getAnimation();
+		return anim.frames[getFrameIndex(anim)];
+	}
+
+	private int getFrameIndex (BakedAnimation anim) {
+		int frame = (int) (stateTime * data.fps);
+		if (anim.looping)
+			return frame % anim.frameCount;
+		else
+			return Math.min(frame, anim.frameCount - 1);
+	}
+
+	/** @return true if non looping animation has reached its last frame, always false for looping animations */
+	public boolean isAnimationFinished () {
+		BakedAnimation anim = getAnimation();
+		return anim.looping == false && (int) (stateTime * data.fps) >= anim.frameCount - 1;
+	}
+
+	public BakedAnimation getAnimation () {
+		return data.animations.get(animation);
+	}
+
+	public int getAnimationIndex () {
+		return animation;
+	}
+
+	/** Changes current animation and restarts animation time */
+	public void setAnimation (int index) {
+		if (index < 0 || index >= data.animations.size)
+			throw new IllegalArgumentException("Invalid animation index: " + index);
+		this.animation = index;
+		stateTime = 0;
+	}
+
+	/** Changes current animation and restarts animation time */
+	public void setAnimation (String name) {
+		int index = data.getAnimationIndex(name);
+		if (index == -1) throw new IllegalArgumentException("Animation not found: " + name);
+		setAnimation(index);
+	}
+
+	/** @return amount of frame pixels to world units scale */
+	public float getUnitScale () {
+		return scale / data.bakeScale;
+	}
+
+	public float getScale () {
+		return scale;
+	}
+
+	public void setScale (float scale) {
+		this.scale = scale;
+	}
+
+	public float getStateTime () {
+		return stateTime;
+	}
+
+	public void setStateTime (float stateTime) {
+		this.stateTime = stateTime;
+	}
+
+	public boolean isAnimationPlaying () {
+		return animationPlaying;
+	}
+
+	public void setAnimationPlaying (boolean animationPlaying) {
+		this.animationPlaying = animationPlaying;
+	}
+
+	public BakedSpriterData getData () {
+		return data;
+	}
+
+	@Override
+	public float getWidth () {
+		return getFrame().getRegionWidth() * getUnitScale();
+	}
+
+	@Override
+	public float getHeight () {
+		return getFrame().getRegionHeight() * getUnitScale();
+	}
+
+	/** @return bounding rectangle of current frame, returned rectangle is reused and will be changed by subsequent calls */
+	@Override
+	public Rectangle getBoundingRectangle () {
+		BakedAnimation anim = getAnimation();
+		TextureRegion frame = anim.frames[getFrameIndex(anim)];
+		float unitScale = getUnitScale();
+		float left = -anim.originX * unitScale;
+		float bottom = -anim.originY * unitScale;
+		float right = left + frame.getRegionWidth() * unitScale;
+		float top = bottom + frame.getRegionHeight() * unitScale;
+		if (flipX) {
+			float oldLeft = left;
+			left = -right;
+			right = -oldLeft;
+		}
+		if (flipY) {
+			float oldBottom = bottom;
+			bottom = -top;
+			top = -oldBottom;
+		}
+
+		if (rotation == 0) return bounds.set(x + left, y + bottom, right - left, top - bottom);
+
+		float cos = MathUtils.cosDeg(rotation);
+		float sin = MathUtils.sinDeg(rotation);
+		float x1 = left * cos - bottom * sin, y1 = left * sin + bottom * cos;
+		float x2 = right * cos - bottom * sin, y2 = right * sin + bottom * cos;
+		float x3 = right * cos - top * sin, y3 = right * sin + top * cos;
+		float x4 = left * cos - top * sin, y4 = left * sin + top * cos;
+		float minX = Math.min(Math.min(x1, x2), Math.min(x3, x4));
+		float minY = Math.min(Math.min(y1, y2), Math.min(y3, y4));
+		float maxX = Math.max(Math.max(x1, x2), Math.max(x3, x4));
+		float maxY = Math.max(Math.max(y1, y2), Math.max(y3, y4));
+		return bounds.set(x + minX, y + minY, maxX - minX, maxY - minY);
+	}
+
+	@Override
+	public boolean isFlipX () {
+		return flipX;
+	}
+
+	@Override
+	public boolean isFlipY () {
+		return flipY;
+	}
+
+	@Override
+	public void setFlip (boolean x, boolean y) {
+		flipX = x;
+		flipY = y;
+	}
+}
@@ -0,0 +1,28 @@
+/*
+ * Copyright 2014-2016 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.runtime.component;
+
+import com.artemis.Component;
+import com.kotcrab.vis.runtime.system.ChunkStreamingSystem;
+
+/**
+ * Added by {@link ChunkStreamingSystem} to entities built from scene chunk, entity will be deleted when its chunk is
+ * unloaded. Removing this component detaches entity from its chunk.
+ * @author Kotcrab
+ */
+public class ChunkEntity extends Component {
+}
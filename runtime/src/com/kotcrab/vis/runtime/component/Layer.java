@@ -17,13 +17,18 @@
 package com.kotcrab.vis.runtime.component;
 
 import com.artemis.Component;
+import com.artemis.utils.IntBag;
 
 /**
- * Stores entity layerId
+ * Stores entity layerId. Changing layer using {@link #setLayerId(int)} marks component as dirty, render order of such
+ * entities is automatically updated.
  * @author Kotcrab
  */
 public class Layer extends Component {
-	public int layerId;
+	private transient boolean dirty;
+	private transient IntBag changedEntities;
+	private transient int entityId;
+	private int layerId;
 
 	public Layer () {
 	}
@@ -31,4 +36,33 @@ public class Layer extends Component {
 	public Layer (int layerId) {
 		this.layerId = layerId;
 	}
+
+	public int getLayerId () {
+		return layerId;
+	}
+
+	public void setLayerId (int layerId) {
+		if (this.layerId == layerId) return;
+		this.layerId = layerId;
+		setDirty(true);
+	}
+
+	public boolean isDirty () {
+		return dirty;
+	}
+
+	public void setDirty (boolean dirty) {
+		if (dirty && this.dirty == false && changedEntities != null) changedEntities.add(entityId);
+		this.dirty = dirty;
+	}
+
+	/**
+	 * Binds this component to entity and list of changed entities, entity id will be added to that list when layer is
+	 * changed. Used by {@link com.kotcrab.vis.runtime.system.render.RenderBatchingSystem}.
+	 */
+	public void bind (int entityId, IntBag changedEntities) {
+		this.entityId = entityId;
+		this.changedEntities = changedEntities;
+		if (dirty) changedEntities.add(entityId);
+	}
 }
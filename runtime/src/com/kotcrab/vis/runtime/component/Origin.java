@@ -17,11 +17,14 @@
 package com.kotcrab.vis.runtime.component;
 
 import com.artemis.Component;
+import com.artemis.utils.IntBag;
 import com.kotcrab.vis.runtime.properties.OriginOwner;
 
 /** @author Kotcrab */
 public class Origin extends Component implements OriginOwner {
 	private transient boolean dirty = true;
+	private transient IntBag changedEntities;
+	private transient int entityId;
 	private float originX, originY;
 
 	public Origin () {
@@ -46,7 +49,7 @@ public class Origin extends Component implements OriginOwner {
 	public void setOrigin (float originX, float originY) {
 		this.originX = originX;
 		this.originY = originY;
-		dirty = true;
+		setDirty(true);
 	}
 
 	public boolean isDirty () {
@@ -55,5 +58,19 @@ public class Origin extends Component implements OriginOwner {
 
 	public void setDirty (boolean dirty) {
 		this.dirty = dirty;
+		if (dirty && changedEntities != null) {
+			changedEntities.add(entityId);
+			changedEntities = null;
+		}
+	}
+
+	/**
+	 * Binds this component to entity and list of changed entities, entity id will be added to that list once, when
+	 * component is changed for the first time after binding. Used by
+	 * {@link com.kotcrab.vis.runtime.system.render.StaticSpriteCacheSystem}.
+	 */
+	public void bind (int entityId, IntBag changedEntities) {
+		this.entityId = entityId;
+		this.changedEntities = changedEntities;
 	}
 }
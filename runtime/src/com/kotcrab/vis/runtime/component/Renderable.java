@@ -17,17 +17,23 @@
 package com.kotcrab.vis.runtime.component;
 
 import com.artemis.Component;
+import com.artemis.utils.IntBag;
 import com.kotcrab.vis.runtime.util.autotable.ATFieldId;
 import com.kotcrab.vis.runtime.util.autotable.ATProperty;
 
 /**
- * All renderable entities must have this component, stores entity zIndex
+ * All renderable entities must have this component, stores entity zIndex. Changing zIndex using {@link #setZIndex(int)}
+ * marks component as dirty, render order of such entities is automatically updated.
  * @author Kotcrab
  */
 public class Renderable extends Component {
+	private transient boolean dirty;
+	private transient IntBag changedEntities;
+	private transient int entityId;
+
 	@ATFieldId(id = "zIndex")
 	@ATProperty(fieldName = "Z Index")
-	public int zIndex;
+	private int zIndex;
 
 	public Renderable () {
 	}
@@ -35,4 +41,33 @@ public class Renderable extends Component {
 	public Renderable (int zIndex) {
 		this.zIndex = zIndex;
 	}
+
+	public int getZIndex () {
+		return zIndex;
+	}
+
+	public void setZIndex (int zIndex) {
+		if (this.zIndex == zIndex) return;
+		this.zIndex = zIndex;
+		setDirty(true);
+	}
+
+	public boolean isDirty () {
+		return dirty;
+	}
+
+	public void setDirty (boolean dirty) {
+		if (dirty && this.dirty == false && changedEntities != null) changedEntities.add(entityId);
+		this.dirty = dirty;
+	}
+
+	/**
+	 * Binds this component to entity and list of changed entities, entity id will be added to that list when zIndex is
+	 * changed. Used by {@link com.kotcrab.vis.runtime.system.render.RenderBatchingSystem}.
+	 */
+	public void bind (int entityId, IntBag changedEntities) {
+		this.entityId = entityId;
+		this.changedEntities = changedEntities;
+		if (dirty) changedEntities.add(entityId);
+	}
 }
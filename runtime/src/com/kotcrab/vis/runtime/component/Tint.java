@@ -17,16 +17,22 @@
 package com.kotcrab.vis.runtime.component;
 
 import com.artemis.Component;
+import com.artemis.utils.IntBag;
 import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.utils.Pool.Poolable;
 import com.kotcrab.vis.runtime.properties.TintOwner;
 
 /** @author Kotcrab */
-public class Tint extends Component implements TintOwner {
+public class Tint extends Component implements TintOwner, Poolable {
 	private transient boolean dirty = true;
+	private transient IntBag changedEntities;
+	private transient int entityId;
 	private Color tint;
+	/** Color created by this component, color passed to {@link #setTint(Color)} is never modified by {@link #reset()} */
+	private transient Color ownTint;
 
 	public Tint () {
-		tint = Color.WHITE.cpy();
+		tint = ownTint = Color.WHITE.cpy();
 	}
 
 	public Tint (Color tint) {
@@ -41,7 +47,7 @@ public class Tint extends Component implements TintOwner {
 	@Override
 	public void setTint (Color tint) {
 		this.tint = tint;
-		dirty = true;
+		setDirty(true);
 	}
 
 	public boolean isDirty () {
@@ -50,23 +56,45 @@ public class Tint extends Component implements TintOwner {
 
 	public void setDirty (boolean dirty) {
 		this.dirty = dirty;
+		if (dirty && changedEntities != null) {
+			changedEntities.add(entityId);
+			changedEntities = null;
+		}
+	}
+
+	/**
+	 * Binds this component to entity and list of changed entities, entity id will be added to that list once, when
+	 * component is changed for the first time after binding. Used by
+	 * {@link com.kotcrab.vis.runtime.system.render.StaticSpriteCacheSystem}.
+	 */
+	public void bind (int entityId, IntBag changedEntities) {
+		this.entityId = entityId;
+		this.changedEntities = changedEntities;
 	}
 
 	public Tint set (int rgba) {
 		tint.set(rgba);
-		dirty = true;
+		setDirty(true);
 		return this;
 	}
 
 	public Tint set (float r, float g, float b, float a) {
 		tint.set(r, g, b, a);
-		dirty = true;
+		setDirty(true);
 		return this;
 	}
 
 	public Tint set (Tint other) {
 		tint.set(other.getTint());
-		dirty = true;
+		setDirty(true);
 		return this;
 	}
+
+	@Override
+	public void reset () {
+		if (ownTint == null) ownTint = new Color();
+		tint = ownTint.set(Color.WHITE);
+		changedEntities = null;
+		dirty = true;
+	}
 }
@@ -17,6 +17,8 @@
 package com.kotcrab.vis.runtime.component;
 
 import com.artemis.Component;
+import com.artemis.utils.IntBag;
+import com.badlogic.gdx.utils.Pool.Poolable;
 import com.kotcrab.vis.runtime.properties.PositionOwner;
 import com.kotcrab.vis.runtime.properties.RotationOwner;
 import com.kotcrab.vis.runtime.properties.ScaleOwner;
@@ -27,8 +29,10 @@ import com.kotcrab.vis.runtime.properties.ScaleOwner;
  * you may need to add *Changed component to update cached values.
  * @author Kotcrab
  */
-public class Transform extends Component implements PositionOwner, ScaleOwner, RotationOwner {
+public class Transform extends Component implements PositionOwner, ScaleOwner, RotationOwner, Poolable {
 	private transient boolean dirty = true;
+	private transient IntBag changedEntities;
+	private transient int entityId;
 	private float x = 0, y = 0;
 	private float scaleX = 1, scaleY = 1;
 	private float rotation = 0;
@@ -57,7 +61,7 @@ public class Transform extends Component implements PositionOwner, ScaleOwner, R
 	@Override
 	public void setX (float x) {
 		this.x = x;
-		dirty = true;
+		setDirty(true);
 	}
 
 	@Override
@@ -68,14 +72,14 @@ public class Transform extends Component implements PositionOwner, ScaleOwner, R
 	@Override
 	public void setY (float y) {
 		this.y = y;
-		dirty = true;
+		setDirty(true);
 	}
 
 	@Override
 	public void setPosition (float x, float y) {
 		this.x = x;
 		this.y = y;
-		dirty = true;
+		setDirty(true);
 	}
 
 	@Override
@@ -86,7 +90,7 @@ public class Transform extends Component implements PositionOwner, ScaleOwner, R
 	@Override
 	public void setRotation (float rotation) {
 		this.rotation = rotation;
-		dirty = true;
+		setDirty(true);
 	}
 
 	@Override
@@ -103,7 +107,7 @@ public class Transform extends Component implements PositionOwner, ScaleOwner, R
 	public void setScale (float scaleX, float scaleY) {
 		this.scaleX = scaleX;
 		this.scaleY = scaleY;
-		dirty = true;
+		setDirty(true);
 	}
 
 	public boolean isDirty () {
@@ -112,5 +116,30 @@ public class Transform extends Component implements PositionOwner, ScaleOwner, R
 
 	public void setDirty (boolean dirty) {
 		this.dirty = dirty;
+		if (dirty && changedEntities != null) {
+			changedEntities.add(entityId);
+			changedEntities = null;
+		}
+	}
+
+	/**
+	 * Binds this component to entity and list of changed entities, entity id will be added to that list once, when
+	 * component is changed for the first time after binding. Used by
+	 * {@link com.kotcrab.vis.runtime.system.render.StaticSpriteCacheSystem}.
+	 */
+	public void bind (int entityId, IntBag changedEntities) {
+		this.entityId = entityId;
+		this.changedEntities = changedEntities;
+	}
+
+	@Override
+	public void reset () {
+		x = 0;
+		y = 0;
+		scaleX = 1;
+		scaleY = 1;
+		rotation = 0;
+		changedEntities = null;
+		dirty = true;
 	}
 }
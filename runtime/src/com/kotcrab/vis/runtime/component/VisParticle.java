@@ -32,6 +32,7 @@ public class VisParticle extends Component implements UsesProtoComponent {
 	private transient ParticleEffect effect;
 	@ATProperty(fieldName = "Active on start", tooltip = "Controls whether to automatically start this effect on runtime.\nIn editor, particle effect are always active.")
 	private boolean activeOnStart = true;
+	private transient boolean parked;
 
 	public VisParticle () {
 	}
@@ -51,12 +52,24 @@ public class VisParticle extends Component implements UsesProtoComponent {
 		reset();
 	}
 
+	/** Restarts effect, if effect was parked it will be updated and drawn again */
 	public void reset () {
 		effect.reset();
+		parked = false;
+	}
+
+	/** Stops updating and drawing effect until {@link #reset()} is called */
+	public void park () {
+		parked = true;
+	}
+
+	public boolean isParked () {
+		return parked;
 	}
 
 	public void setEffect (ParticleEffect effect) {
 		this.effect = effect;
+		parked = false;
 	}
 
 	public ParticleEffect getEffect () {
@@ -18,6 +18,7 @@ package com.kotcrab.vis.runtime.component;
 
 import com.artemis.Component;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Pool.Poolable;
 import com.kotcrab.vis.runtime.component.proto.ProtoComponent;
 import com.kotcrab.vis.runtime.component.proto.ProtoVisSprite;
 import com.kotcrab.vis.runtime.properties.FlipOwner;
@@ -25,8 +26,12 @@ import com.kotcrab.vis.runtime.properties.Resizable;
 import com.kotcrab.vis.runtime.properties.SizeOwner;
 import com.kotcrab.vis.runtime.properties.UsesProtoComponent;
 
-/** @author Kotcrab */
-public class VisSprite extends Component implements FlipOwner, SizeOwner, Resizable, UsesProtoComponent {
+/**
+ * Sprite component. Region passed to {@link #setRegion(TextureRegion)} is copied into region owned by this component,
+ * which is reused when sprite is returned to {@link com.kotcrab.vis.runtime.system.ComponentPoolManager} pool.
+ * @author Kotcrab
+ */
+public class VisSprite extends Component implements FlipOwner, SizeOwner, Resizable, UsesProtoComponent, Poolable {
 	private TextureRegion region;
 	private float width, height;
 
@@ -49,7 +54,10 @@ public class VisSprite extends Component implements FlipOwner, SizeOwner, Resiza
 	}
 
 	public void setRegion (TextureRegion region) {
-		this.region = new TextureRegion(region);
+		if (this.region == null)
+			this.region = new TextureRegion(region);
+		else
+			this.region.setRegion(region);
 	}
 
 	@Override
@@ -89,6 +97,12 @@ public class VisSprite extends Component implements FlipOwner, SizeOwner, Resiza
 		this.height = height;
 	}
 
+	@Override
+	public void reset () {
+		width = 0;
+		height = 0;
+	}
+
 	@Override
 	public ProtoComponent toProtoComponent () {
 		return new ProtoVisSprite(this);
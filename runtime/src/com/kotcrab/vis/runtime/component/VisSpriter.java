@@ -40,6 +40,8 @@ public class VisSpriter extends Component implements SizeOwner, BoundsOwner, Fli
 
 	private boolean animationPlaying;
 
+	private final transient Rectangle bounds = new Rectangle();
+
 	public VisSpriter (Loader<Sprite> loader, Data data, float scale) {
 		this(loader, data, scale, 0);
 	}
@@ -75,10 +77,11 @@ public class VisSpriter extends Component implements SizeOwner, BoundsOwner, Fli
 		return player.getBoudingRectangle(null).size.height;
 	}
 
+	/** @return bounding rectangle of player, returned rectangle is reused and will be changed by subsequent calls */
 	@Override
 	public Rectangle getBoundingRectangle () {
 		com.kotcrab.vis.runtime.spriter.Rectangle rect = player.getBoundingRectangle(null);
-		return new Rectangle(rect.left, rect.bottom, rect.size.width, rect.size.height);
+		return bounds.set(rect.left, rect.bottom, rect.size.width, rect.size.height);
 	}
 
 	@Override
@@ -18,11 +18,15 @@ package com.kotcrab.vis.runtime.component;
 
 import com.artemis.Component;
 import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
 import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Matrix4;
 import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Pool.Poolable;
 import com.kotcrab.vis.runtime.component.proto.ProtoComponent;
 import com.kotcrab.vis.runtime.component.proto.ProtoVisText;
 import com.kotcrab.vis.runtime.properties.BoundsOwner;
@@ -32,10 +36,14 @@ import com.kotcrab.vis.runtime.util.annotation.VisInternal;
 import com.kotcrab.vis.runtime.util.autotable.*;
 
 /**
- * Text component storing all text properties.
+ * Text component storing all text properties. Glyph vertices of {@link #getCache()} are transformed on CPU to world
+ * space by {@link #updateWorldVertices()} and drawn using {@link #draw(Batch)}, this allows texts to be batched with other
+ * entities without changing batch transform matrix. Changes made directly to cache are not visible until text was
+ * changed or entity was moved. Cache and vertex buffers are kept when component is reset so pooled text initialized
+ * with the same font doesn't need to allocate them again.
  * @author Kotcrab
  */
-public class VisText extends Component implements SizeOwner, BoundsOwner, UsesProtoComponent {
+public class VisText extends Component implements SizeOwner, BoundsOwner, UsesProtoComponent, Poolable {
 	private transient boolean dirty = true;
 
 	@ATFieldId(id = "autoSetOriginToCenter")
@@ -57,6 +65,9 @@ public class VisText extends Component implements SizeOwner, BoundsOwner, UsesPr
 	private Rectangle bounds = new Rectangle();
 	private Matrix4 translationMatrix;
 
+	/** Vertices of every font page transformed to world space, vertex counts are the same as in {@link #cache} */
+	private transient float[][] worldVertices = new float[0][];
+
 	/** Creates empty component, {@link #init(BitmapFont, String)} must be called before use */
 	public VisText () {
 	}
@@ -68,9 +79,17 @@ public class VisText extends Component implements SizeOwner, BoundsOwner, UsesPr
 	public void init (BitmapFont bitmapFont, String text) {
 		this.text = text;
 
-		cache = new BitmapFontCache(bitmapFont);
-		translationMatrix = new Matrix4();
-		textLayout = new GlyphLayout();
+		if (cache == null || cache.getFont() != bitmapFont)
+			cache = new BitmapFontCache(bitmapFont);
+		else
+			cache.clear();
+
+		if (translationMatrix == null)
+			translationMatrix = new Matrix4();
+		else
+			translationMatrix.idt();
+
+		if (textLayout == null) textLayout = new GlyphLayout();
 		setText(text);
 	}
 
@@ -103,6 +122,45 @@ public class VisText extends Component implements SizeOwner, BoundsOwner, UsesPr
 		this.bounds.set(bounds);
 	}
 
+	/** Transforms glyph vertices of cache using {@link #getTranslationMatrix()} */
+	@VisInternal
+	public void updateWorldVertices () {
+		int pages = cache.getFont().getRegions().size;
+		if (worldVertices.length != pages) worldVertices = new float[pages][];
+
+		float[] m = translationMatrix.val;
+		float m00 = m[Matrix4.M00], m01 = m[Matrix4.M01], m03 = m[Matrix4.M03];
+		float m10 = m[Matrix4.M10], m11 = m[Matrix4.M11], m13 = m[Matrix4.M13];
+
+		for (int page = 0; page < pages; page++) {
+			int count = cache.getVertexCount(page);
+			if (count == 0) continue;
+
+			float[] vertices = cache.getVertices(page);
+			float[] world = worldVertices[page];
+			if (world == null || world.length < count) world = worldVertices[page] = new float[vertices.length];
+
+			System.arraycopy(vertices, 0, world, 0, count);
+			for (int i = 0; i < count; i += 5) {
+				float x = vertices[i];
+				float y = vertices[i + 1];
+				world[i] = m00 * x + m01 * y + m03;
+				world[i + 1] = m10 * x + m11 * y + m13;
+			}
+		}
+	}
+
+	/** Draws text using world vertices computed by last {@link #updateWorldVertices()} call */
+	public void draw (Batch batch) {
+		Array<TextureRegion> regions = cache.getFont().getRegions();
+		for (int page = 0, pages = Math.min(worldVertices.length, regions.size); page < pages; page++) {
+			int count = cache.getVertexCount(page);
+			float[] world = worldVertices[page];
+			if (count > 0 && world != null && world.length >= count)
+				batch.draw(regions.get(page).getTexture(), world, 0, count);
+		}
+	}
+
 	public GlyphLayout getGlyphLayout () {
 		return textLayout;
 	}
@@ -155,6 +213,16 @@ public class VisText extends Component implements SizeOwner, BoundsOwner, UsesPr
 		return bounds;
 	}
 
+	@Override
+	public void reset () {
+		if (cache != null) cache.clear();
+		text = "";
+		bounds.set(0, 0, 0, 0);
+		autoSetOriginToCenter = true;
+		distanceFieldShaderEnabled = false;
+		dirty = true;
+	}
+
 	@Override
 	public ProtoComponent<VisText> toProtoComponent () {
 		return new ProtoVisText(this);
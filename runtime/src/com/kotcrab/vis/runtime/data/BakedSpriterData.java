@@ -0,0 +1,87 @@
+/*
+ * Copyright 2014-2016 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.runtime.data;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+import com.kotcrab.vis.runtime.component.BakedSpriter;
+import com.kotcrab.vis.runtime.util.BakedSpriterDataLoader;
+
+/**
+ * Holds spriter animations of first spriter entity baked into frames by VisEditor exporter. Metadata is stored next to
+ * the SCML file with {@link #EXTENSION} appended to its name, frames are stored in texture atlas with {@link #EXTENSION}
+ * and '.atlas' appended. Regions of single animation are named after animation index and use region indexes as frame
+ * numbers. Loaded by {@link BakedSpriterDataLoader} and played by {@link BakedSpriter}.
+ * @author Kotcrab
+ */
+public class BakedSpriterData {
+	public static final String EXTENSION = ".baked";
+
+	/** Amount of frames baked for every second of animation */
+	public int fps;
+	/** Amount of frame pixels per spriter unit */
+	public float bakeScale;
+	public Array<BakedAnimation> animations = new Array<BakedAnimation>();
+
+	public BakedSpriterData () {
+	}
+
+	public BakedSpriterData (int fps, float bakeScale) {
+		this.fps = fps;
+		this.bakeScale = bakeScale;
+	}
+
+	/** @return index of animation with given name or -1 if not found */
+	public int getAnimationIndex (String name) {
+		for (int i = 0; i < animations.size; i++) {
+			if (animations.get(i).name.equals(name)) return i;
+		}
+
+		return -1;
+	}
+
+	/** @return path of baked metadata file for given SCML file path */
+	public static String getPath (String scmlPath) {
+		return scmlPath + EXTENSION;
+	}
+
+	/** Single baked animation, all frames have the same size and player pivot is placed at the same point of every frame */
+	public static class BakedAnimation {
+		public String name;
+		/** Animation length in milliseconds */
+		public int length;
+		public boolean looping;
+		public int frameCount;
+		/** Position of player pivot in frame, in pixels */
+		public float originX, originY;
+
+		/** Frame regions, assigned after texture atlas was loaded */
+		public transient TextureRegion[] frames;
+
+		public BakedAnimation () {
+		}
+
+		public BakedAnimation (String name, int length, boolean looping, int frameCount, float originX, float originY) {
+			this.name = name;
+			this.length = length;
+			this.looping = looping;
+			this.frameCount = frameCount;
+			this.originX = originX;
+			this.originY = originY;
+		}
+	}
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2014-2016 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.runtime.data;
+
+import com.kotcrab.vis.runtime.scene.SceneChunk;
+import com.kotcrab.vis.runtime.system.ChunkStreamingSystem;
+
+/**
+ * Describes single spatial chunk of scene exported by VisEditor with scene chunks enabled. Chunk covers square area of
+ * {@link SceneData#chunkSize} world units starting at ({@code x * chunkSize}, {@code y * chunkSize}) and contains all
+ * entities of world layers whose {@code Transform} position is inside of that area. Entities of chunk are stored in
+ * separate file loaded as {@link SceneChunk}, chunks are loaded and unloaded around camera by {@link ChunkStreamingSystem}.
+ * @author Kotcrab
+ */
+public class ChunkData {
+	public static final String EXTENSION = ".chunk";
+
+	public int x;
+	public int y;
+	/** Path of chunk file */
+	public String path;
+	public int entityCount;
+
+	public ChunkData () {
+	}
+
+	public ChunkData (int x, int y, String path, int entityCount) {
+		this.x = x;
+		this.y = y;
+		this.path = path;
+		this.entityCount = entityCount;
+	}
+
+	/** @return path of chunk file for chunk at given chunk coordinates of scene with given path */
+	public static String getPath (String scenePath, int x, int y) {
+		return scenePath + ".chunks/" + x + "_" + y + EXTENSION;
+	}
+}
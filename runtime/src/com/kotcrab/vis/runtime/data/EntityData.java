@@ -17,7 +17,10 @@
 package com.kotcrab.vis.runtime.data;
 
 import com.artemis.Component;
+import com.artemis.ComponentType;
+import com.artemis.ComponentTypeFactory;
 import com.artemis.Entity;
+import com.artemis.EntityEdit;
 import com.artemis.utils.EntityBuilder;
 import com.badlogic.gdx.utils.Array;
 import com.kotcrab.vis.runtime.util.EntityEngine;
@@ -44,4 +47,25 @@ public class EntityData {
 
 		return builder.build();
 	}
+
+	/**
+	 * Resolves types of entity components, allows to do type lookups ahead of {@link #build(EntityEngine, ComponentType[])}.
+	 * Does not create entity.
+	 */
+	public ComponentType[] resolveComponentTypes (ComponentTypeFactory typeFactory) {
+		ComponentType[] types = new ComponentType[components.size];
+		for (int i = 0; i < components.size; i++)
+			types[i] = typeFactory.getTypeFor(components.get(i).getClass());
+		return types;
+	}
+
+	/** Builds entity using component types resolved by {@link #resolveComponentTypes(ComponentTypeFactory)} */
+	public Entity build (EntityEngine engine, ComponentType[] componentTypes) {
+		EntityEdit edit = engine.createEntity().edit();
+
+		for (int i = 0; i < components.size; i++)
+			edit.add(components.get(i), componentTypes[i]);
+
+		return edit.getEntity();
+	}
 }
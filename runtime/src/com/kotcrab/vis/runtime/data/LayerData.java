@@ -17,6 +17,7 @@
 package com.kotcrab.vis.runtime.data;
 
 import com.kotcrab.vis.runtime.scene.LayerCordsSystem;
+import com.kotcrab.vis.runtime.system.render.StaticSpriteCacheSystem;
 
 /**
  * Holds single layer data exported from VisEditor
@@ -26,6 +27,8 @@ public class LayerData {
 	public LayerCordsSystem cordsSystem;
 	public String name;
 	public int id;
+	/** If true, sprites of this layer are not expected to change often and are cached by {@link StaticSpriteCacheSystem} */
+	public boolean staticLayer;
 
 	public LayerData () {
 	}
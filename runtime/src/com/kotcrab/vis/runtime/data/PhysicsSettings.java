@@ -23,6 +23,17 @@ public class PhysicsSettings {
 	public float gravityY;
 	public boolean allowSleep;
 
+	/** Amount of physics steps per second, physics world is always stepped using fixed time step */
+	public int stepRate = 60;
+	public int velocityIterations = 6;
+	public int positionIterations = 2;
+	/**
+	 * If true, rendered physics sprites positions are interpolated between two last physics steps which allows to use step
+	 * rate lower than display refresh rate without stuttering. Interpolated sprites are rendered at most one step behind
+	 * the physics world.
+	 */
+	public boolean interpolate = true;
+
 	public PhysicsSettings () {
 	}
 
@@ -38,5 +49,9 @@ public class PhysicsSettings {
 		this.gravityX = other.gravityX;
 		this.gravityY = other.gravityY;
 		this.allowSleep = other.allowSleep;
+		this.stepRate = other.stepRate;
+		this.velocityIterations = other.velocityIterations;
+		this.positionIterations = other.positionIterations;
+		this.interpolate = other.interpolate;
 	}
 }
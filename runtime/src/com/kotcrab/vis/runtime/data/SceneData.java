@@ -42,4 +42,9 @@ public class SceneData {
 	public Array<LayerData> layers = new Array<LayerData>();
 
 	public Array<EntityData> entities = new Array<EntityData>();
+
+	/** Size of scene chunks in world units, 0 if scene wasn't split into chunks */
+	public float chunkSize;
+	/** Chunks of scene, their entities are not stored in {@link #entities}. See {@link ChunkData} */
+	public Array<ChunkData> chunks = new Array<ChunkData>();
 }
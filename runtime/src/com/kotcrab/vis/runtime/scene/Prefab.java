@@ -0,0 +1,52 @@
+/*
+ * Copyright 2014-2016 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.runtime.scene;
+
+import com.kotcrab.vis.runtime.data.EntityData;
+import com.kotcrab.vis.runtime.system.PrefabFactory;
+
+/**
+ * Entity template exported by VisEditor that can be instantiated at runtime using {@link PrefabFactory}. Prefab files use
+ * the same format as scene files and contain single entity, they are loaded by {@link PrefabLoader}. All assets required
+ * by prefab entity are loaded as prefab dependencies.
+ * @author Kotcrab
+ */
+public class Prefab {
+	public static final String EXTENSION = ".prefab";
+
+	private final EntityData entityData;
+	private final String textureAtlasPath;
+
+	/** @param textureAtlasPath path of scene texture atlas used by texture assets of entity */
+	public Prefab (EntityData entityData, String textureAtlasPath) {
+		this.entityData = entityData;
+		this.textureAtlasPath = textureAtlasPath;
+	}
+
+	public EntityData getEntityData () {
+		return entityData;
+	}
+
+	public String getTextureAtlasPath () {
+		return textureAtlasPath;
+	}
+
+	/** @return path of prefab file for entity with given id */
+	public static String getPath (String prefabsDirectory, String entityId) {
+		return prefabsDirectory + "/" + entityId + EXTENSION;
+	}
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2014-2016 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.runtime.scene;
+
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetLoaderParameters;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.AsynchronousAssetLoader;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.kotcrab.vis.runtime.data.SceneData;
+import com.kotcrab.vis.runtime.scene.PrefabLoader.PrefabParameter;
+
+/**
+ * Loader of {@link Prefab} for {@link AssetManager}. Assets dependencies of prefab entity are resolved by
+ * {@link SceneLoader}, so both must be registered in the same manager. Registered automatically by {@link VisAssetManager}.
+ * @author Kotcrab
+ */
+public class PrefabLoader extends AsynchronousAssetLoader<Prefab, PrefabParameter> {
+	private final SceneLoader sceneLoader;
+	private SceneData data;
+
+	public PrefabLoader (FileHandleResolver resolver, SceneLoader sceneLoader) {
+		super(resolver);
+		this.sceneLoader = sceneLoader;
+	}
+
+	@Override
+	public Array<AssetDescriptor> getDependencies (String fileName, FileHandle file, PrefabParameter parameter) {
+		data = sceneLoader.readSceneData(file, false);
+		if (data.entities.size != 1)
+			throw new IllegalStateException("Prefab file must contain single entity, found: " + data.entities.size + ", file: " + fileName);
+		return sceneLoader.getDependencies(data);
+	}
+
+	@Override
+	public void loadAsync (AssetManager manager, String fileName, FileHandle file, PrefabParameter parameter) {
+	}
+
+	@Override
+	public Prefab loadSync (AssetManager manager, String fileName, FileHandle file, PrefabParameter parameter) {
+		Prefab prefab = new Prefab(data.entities.first(), data.textureAtlasPath);
+		data = null;
+		return prefab;
+	}
+
+	static public class PrefabParameter extends AssetLoaderParameters<Prefab> {
+	}
+}
@@ -17,20 +17,25 @@
 package com.kotcrab.vis.runtime.scene;
 
 import com.artemis.BaseSystem;
+import com.artemis.ComponentType;
+import com.artemis.ComponentTypeFactory;
 import com.artemis.InvocationStrategy;
 import com.badlogic.gdx.ApplicationListener;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.TimeUtils;
 import com.kotcrab.vis.runtime.RuntimeConfiguration;
 import com.kotcrab.vis.runtime.RuntimeContext;
 import com.kotcrab.vis.runtime.component.Variables;
+import com.kotcrab.vis.runtime.data.EntityData;
 import com.kotcrab.vis.runtime.data.LayerData;
 import com.kotcrab.vis.runtime.data.SceneData;
 import com.kotcrab.vis.runtime.plugin.EntitySupport;
 import com.kotcrab.vis.runtime.scene.SceneConfig.ConfigElement;
 import com.kotcrab.vis.runtime.scene.SceneLoader.SceneParameter;
 import com.kotcrab.vis.runtime.system.CameraManager;
+import com.kotcrab.vis.runtime.system.ChunkStreamingSystem;
 import com.kotcrab.vis.runtime.util.AfterSceneInit;
 import com.kotcrab.vis.runtime.util.BootstrapInvocationStrategy;
 import com.kotcrab.vis.runtime.util.EntityEngine;
@@ -41,7 +46,11 @@ import com.kotcrab.vis.runtime.util.EntityEngineConfiguration;
  * @author Kotcrab
  */
 public class Scene {
+	/** Amount of streamed entities that are built before time budget is checked again */
+	private static final int STREAMING_CHUNK_SIZE = 32;
+
 	private CameraManager cameraManager;
+	private ChunkStreamingSystem chunkStreamingSystem;
 	private EntityEngine engine;
 
 	private Variables variables;
@@ -50,6 +59,15 @@ public class Scene {
 	private float width;
 	private float height;
 
+	private final BootstrapInvocationStrategy bootstrapStrategy = new BootstrapInvocationStrategy();
+	private final InvocationStrategy defaultStrategy = new InvocationStrategy();
+
+	private Array<EntityData> streamedEntities;
+	private ComponentType[][] streamedComponentTypes;
+	private int streamedEntitiesCount;
+	private int builtEntitiesCount;
+	private long streamingBudgetNanos;
+
 	/** Used by framework, not indented for external use */
 	public Scene (RuntimeContext context, SceneData data, SceneParameter parameter) {
 		layerData = data.layers;
@@ -81,23 +99,86 @@ public class Scene {
 
 		for (ConfigElement element : config.getConfigElements()) {
 			if (element.disabled) continue;
+			if (element.feature == SceneFeature.CHUNK_STREAMING_SYSTEM && data.chunks.size == 0) continue;
 			engineConfig.setSystem(element.provider.create(engineConfig, context, data));
 		}
 
 		cameraManager = engineConfig.getSystem(CameraManager.class);
+		chunkStreamingSystem = engineConfig.getSystem(ChunkStreamingSystem.class);
 
 		engine = new EntityEngine(engineConfig);
+
+		if (parameter.streamEntities && data.entities.size > 0) {
+			streamedEntities = data.entities;
+			streamedEntitiesCount = data.entities.size;
+			streamingBudgetNanos = (long) (parameter.streamingFrameBudget * 1000000000L);
+
+			//scene is constructed on loader thread, only creating entities and inflating them is left for render thread
+			ComponentTypeFactory typeFactory = engine.getComponentManager().getTypeFactory();
+			streamedComponentTypes = new ComponentType[streamedEntitiesCount][];
+			for (int i = 0; i < streamedEntitiesCount; i++)
+				streamedComponentTypes[i] = streamedEntities.get(i).resolveComponentTypes(typeFactory);
+		}
 	}
 
 	/**
 	 * Finishes loading scene and inflate all entities. This must be called manually if scene wasn't loaded
-	 * using {@link VisAssetManager} loadSceneNow methods.
+	 * using {@link VisAssetManager} loadSceneNow methods. If scene entities are streamed (see
+	 * {@link SceneParameter#streamEntities}) then only entities that fit in single frame time budget are built, remaining
+	 * entities are built during next calls to {@link #render()}, use {@link #isLoaded()} to check if all entities were built.
 	 */
 	public void init () {
-		engine.setInvocationStrategy(new BootstrapInvocationStrategy());
+		if (streamedEntities != null) {
+			streamEntities(streamingBudgetNanos);
+			return;
+		}
+
+		engine.setInvocationStrategy(bootstrapStrategy);
 		engine.process();
-		engine.setInvocationStrategy(new InvocationStrategy());
+		engine.setInvocationStrategy(defaultStrategy);
+
+		afterSceneInit();
+	}
+
+	/**
+	 * Builds all remaining streamed entities, blocking until scene is fully loaded. If scene was split into chunks then
+	 * chunks around camera are also loaded and built, see {@link ChunkStreamingSystem#finishLoading()}. Does nothing if
+	 * scene is already loaded.
+	 */
+	public void finishLoading () {
+		if (streamedEntities != null) streamEntities(Long.MAX_VALUE);
+
+		if (chunkStreamingSystem != null && chunkStreamingSystem.finishLoading()) {
+			engine.setInvocationStrategy(bootstrapStrategy);
+			engine.process();
+			engine.setInvocationStrategy(defaultStrategy);
+		}
+	}
 
+	private void streamEntities (long budgetNanos) {
+		long startTime = TimeUtils.nanoTime();
+
+		engine.setInvocationStrategy(bootstrapStrategy);
+		do {
+			int end = Math.min(builtEntitiesCount + STREAMING_CHUNK_SIZE, streamedEntitiesCount);
+			for (int i = builtEntitiesCount; i < end; i++) {
+				streamedEntities.get(i).build(engine, streamedComponentTypes[i]);
+			}
+			builtEntitiesCount = end;
+
+			//inflates entities from this chunk
+			engine.process();
+		} while (builtEntitiesCount < streamedEntitiesCount && TimeUtils.nanoTime() - startTime < budgetNanos);
+		engine.setInvocationStrategy(defaultStrategy);
+
+		if (builtEntitiesCount == streamedEntitiesCount) {
+			streamedEntities = null;
+			streamedComponentTypes = null;
+			afterSceneInit();
+		}
+	}
+
+	private void afterSceneInit () {
 		for (BaseSystem system : engine.getSystems()) {
 			if (system instanceof AfterSceneInit) {
 				((AfterSceneInit) system).afterSceneInit();
@@ -105,12 +186,32 @@ public class Scene {
 		}
 	}
 
-	/** Updates and renders entire scene. Typically called from {@link ApplicationListener#render()} */
+	/**
+	 * Updates and renders entire scene. Typically called from {@link ApplicationListener#render()}. If scene is still
+	 * streaming entities then this only builds next entities within frame time budget, scene systems are not processed
+	 * so nothing is drawn until {@link #isLoaded()} returns true. Application should draw its own loading screen meanwhile.
+	 */
 	public void render () {
+		if (streamedEntities != null) {
+			streamEntities(streamingBudgetNanos);
+			return;
+		}
+
 		engine.setDelta(Math.min(Gdx.graphics.getDeltaTime(), 1 / 60f));
 		engine.process();
 	}
 
+	/** @return true if all scene entities were built, always true if scene entities weren't streamed */
+	public boolean isLoaded () {
+		return streamedEntities == null;
+	}
+
+	/** @return progress of building scene entities, from 0 to 1 */
+	public float getLoadingProgress () {
+		if (streamedEntities == null) return 1;
+		return builtEntitiesCount / (float) streamedEntitiesCount;
+	}
+
 	/** Must by called when screen was resized. Typically called from {@link ApplicationListener#resize(int, int)} */
 	public void resize (int width, int height) {
 		cameraManager.resize(width, height);
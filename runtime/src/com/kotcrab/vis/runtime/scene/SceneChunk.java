@@ -0,0 +1,40 @@
+/*
+ * Copyright 2014-2016 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.runtime.scene;
+
+import com.badlogic.gdx.utils.Array;
+import com.kotcrab.vis.runtime.data.ChunkData;
+import com.kotcrab.vis.runtime.data.EntityData;
+import com.kotcrab.vis.runtime.system.ChunkStreamingSystem;
+
+/**
+ * Entities of single scene chunk, see {@link ChunkData}. Loaded by {@link SceneChunkLoader}, all assets required by chunk
+ * entities are loaded as chunk dependencies and are released when chunk is unloaded from {@link VisAssetManager}.
+ * Chunk entities are not built by loader, they are built by {@link ChunkStreamingSystem}.
+ * @author Kotcrab
+ */
+public class SceneChunk {
+	private final Array<EntityData> entities;
+
+	public SceneChunk (Array<EntityData> entities) {
+		this.entities = entities;
+	}
+
+	public Array<EntityData> getEntities () {
+		return entities;
+	}
+}
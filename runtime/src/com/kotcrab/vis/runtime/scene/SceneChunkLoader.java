@@ -0,0 +1,63 @@
+/*
+ * Copyright 2014-2016 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.runtime.scene;
+
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetLoaderParameters;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.AsynchronousAssetLoader;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.kotcrab.vis.runtime.data.SceneData;
+import com.kotcrab.vis.runtime.scene.SceneChunkLoader.SceneChunkParameter;
+
+/**
+ * Loader of {@link SceneChunk} for {@link AssetManager}. Chunk files use the same format as scene files and assets
+ * dependencies of chunk entities are resolved by {@link SceneLoader}, so both must be registered in the same manager.
+ * Registered automatically by {@link VisAssetManager}.
+ * @author Kotcrab
+ */
+public class SceneChunkLoader extends AsynchronousAssetLoader<SceneChunk, SceneChunkParameter> {
+	private final SceneLoader sceneLoader;
+	private SceneData data;
+
+	public SceneChunkLoader (FileHandleResolver resolver, SceneLoader sceneLoader) {
+		super(resolver);
+		this.sceneLoader = sceneLoader;
+	}
+
+	@Override
+	public Array<AssetDescriptor> getDependencies (String fileName, FileHandle file, SceneChunkParameter parameter) {
+		data = sceneLoader.readSceneData(file, false);
+		return sceneLoader.getDependencies(data);
+	}
+
+	@Override
+	public void loadAsync (AssetManager manager, String fileName, FileHandle file, SceneChunkParameter parameter) {
+	}
+
+	@Override
+	public SceneChunk loadSync (AssetManager manager, String fileName, FileHandle file, SceneChunkParameter parameter) {
+		SceneChunk chunk = new SceneChunk(data.entities);
+		data = null;
+		return chunk;
+	}
+
+	static public class SceneChunkParameter extends AssetLoaderParameters<SceneChunk> {
+	}
+}
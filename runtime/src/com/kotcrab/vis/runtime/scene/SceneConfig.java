@@ -30,10 +30,22 @@ public class SceneConfig {
 		registerFeatureGroup(SceneFeatureGroup.RENDERER, Priority.VIS_RENDERER);
 		registerFeatureGroup(SceneFeatureGroup.PHYSICS_DEBUG, Priority.VIS_OTHER);
 
+		registerFeature(SceneFeature.PARTICLE_EFFECT_POOL_MANAGER, Priority.VIS_INFLATER);
+		registerFeature(SceneFeature.CHUNK_STREAMING_SYSTEM, Priority.VIS_INFLATER.before());
+		registerFeature(SceneFeature.COMPONENT_POOL_MANAGER, Priority.VIS_INFLATER.before());
+		registerFeature(SceneFeature.PREFAB_FACTORY, Priority.VIS_INFLATER.before());
+		registerFeature(SceneFeature.PARTICLE_UPDATE_SYSTEM, Priority.VIS_RENDERER.before());
+		registerFeature(SceneFeature.SPRITER_UPDATE_SYSTEM, Priority.VIS_RENDERER.before());
+		registerFeature(SceneFeature.CULLING_SYSTEM, Priority.VIS_RENDERER);
 		registerFeature(SceneFeature.DIRTY_CLEANER_SYSTEM, Priority.VIS_LOW);
 
 		disable(SceneFeature.GROUP_ID_MANAGER);
 		disable(SceneFeature.BOX2D_DEBUG_RENDER_SYSTEM);
+		disable(SceneFeature.CULLING_SYSTEM);
+		disable(SceneFeature.PARTICLE_EFFECT_POOL_MANAGER);
+		disable(SceneFeature.PARTICLE_UPDATE_SYSTEM);
+		disable(SceneFeature.SPRITER_UPDATE_SYSTEM);
+		disable(SceneFeature.COMPONENT_POOL_MANAGER);
 	}
 
 	/** @deprecated use {@link #addSystem(Class)} */
@@ -125,7 +137,11 @@ public class SceneConfig {
 	}
 
 	private void registerFeature (SceneFeature feature, Priority priority) {
-		elements.add(new ConfigElement(feature, feature.defaultProvider, priority.toIntValue()));
+		registerFeature(feature, priority.toIntValue());
+	}
+
+	private void registerFeature (SceneFeature feature, int priority) {
+		elements.add(new ConfigElement(feature, feature.defaultProvider, priority));
 	}
 
 	private void registerFeatureGroup (SceneFeatureGroup group, Priority priority) {
@@ -19,6 +19,7 @@ package com.kotcrab.vis.runtime.scene;
 import com.artemis.BaseSystem;
 import com.badlogic.gdx.graphics.glutils.ShaderProgram;
 import com.kotcrab.vis.runtime.RuntimeContext;
+import com.kotcrab.vis.runtime.component.BakedSpriter;
 import com.kotcrab.vis.runtime.data.SceneData;
 import com.kotcrab.vis.runtime.system.*;
 import com.kotcrab.vis.runtime.system.inflater.*;
@@ -120,7 +121,51 @@ public enum SceneFeature {
 	INFLATER_SPRITER(new SystemProvider() {
 		@Override
 		public BaseSystem create (EntityEngineConfiguration config, RuntimeContext context, SceneData data) {
-			return new SpriterInflater(context.assetsManager);
+			return new SpriterInflater(context.configuration, context.assetsManager);
+		}
+	}),
+
+	/**
+	 * Pools particle effects used by particle entities and allows to spawn particle entities at runtime, see
+	 * {@link ParticleEffectPoolManager}. Disabled by default.
+	 */
+	PARTICLE_EFFECT_POOL_MANAGER(new SystemProvider() {
+		@Override
+		public BaseSystem create (EntityEngineConfiguration config, RuntimeContext context, SceneData data) {
+			return new ParticleEffectPoolManager(context.assetsManager, data.pixelsPerUnit);
+		}
+	}),
+
+	/**
+	 * Loads and unloads chunks of scenes exported with scene chunks enabled, see {@link ChunkStreamingSystem}. Not added
+	 * if scene wasn't split into chunks. Can be disabled, in that case only entities that aren't stored in chunks are
+	 * loaded.
+	 */
+	CHUNK_STREAMING_SYSTEM(new SystemProvider() {
+		@Override
+		public BaseSystem create (EntityEngineConfiguration config, RuntimeContext context, SceneData data) {
+			return new ChunkStreamingSystem(context.assetsManager, data, context.configuration.chunkLoadDistance);
+		}
+	}),
+
+	/**
+	 * Pools sprite, text, tint and transform components of inflated and prefab entities so they can be reused after
+	 * entity was deleted, see {@link ComponentPoolManager}. Disabled by default, when enabled references to components of
+	 * deleted entities must not be kept and prefabs with pooled components are not created using archetypes, see
+	 * {@link PrefabFactory}.
+	 */
+	COMPONENT_POOL_MANAGER(new SystemProvider() {
+		@Override
+		public BaseSystem create (EntityEngineConfiguration config, RuntimeContext context, SceneData data) {
+			return new ComponentPoolManager();
+		}
+	}),
+
+	/** Creates entities from registered prefabs, see {@link PrefabFactory}. Safe to disable. */
+	PREFAB_FACTORY(new SystemProvider() {
+		@Override
+		public BaseSystem create (EntityEngineConfiguration config, RuntimeContext context, SceneData data) {
+			return new PrefabFactory(context.configuration, context.assetsManager, data.pixelsPerUnit);
 		}
 	}),
 
@@ -181,7 +226,22 @@ public enum SceneFeature {
 	PARTICLE_RENDER_SYSTEM(new SystemProvider() {
 		@Override
 		public BaseSystem create (EntityEngineConfiguration config, RuntimeContext context, SceneData data) {
-			return new ParticleRenderSystem(config.getSystem(RenderBatchingSystem.class), false);
+			ParticleRenderSystem system = new ParticleRenderSystem(config.getSystem(RenderBatchingSystem.class), false);
+			system.setOffscreenPolicy(context.configuration.offscreenParticlePolicy);
+			system.setReducedUpdateInterval(context.configuration.offscreenParticleUpdateInterval);
+			system.setParkCompletedEffects(context.configuration.parkCompletedParticleEffects);
+			return system;
+		}
+	}),
+
+	/**
+	 * Updates particle effects in parallel before rendering, see {@link ParticleUpdateSystem}. Disabled by default, safe
+	 * to enable when {@link #PARTICLE_RENDER_SYSTEM} is used.
+	 */
+	PARTICLE_UPDATE_SYSTEM(new SystemProvider() {
+		@Override
+		public BaseSystem create (EntityEngineConfiguration config, RuntimeContext context, SceneData data) {
+			return new ParticleUpdateSystem();
 		}
 	}),
 
@@ -193,6 +253,47 @@ public enum SceneFeature {
 		}
 	}),
 
+	/** Renders spriter animations baked into frames, see {@link BakedSpriter}. Can be disabled. */
+	BAKED_SPRITER_RENDER_SYSTEM(new SystemProvider() {
+		@Override
+		public BaseSystem create (EntityEngineConfiguration config, RuntimeContext context, SceneData data) {
+			return new BakedSpriterRenderSystem(config.getSystem(RenderBatchingSystem.class));
+		}
+	}),
+
+	/**
+	 * Updates spriter players in parallel before rendering, see {@link SpriterUpdateSystem}. Disabled by default, safe
+	 * to enable when {@link #SPRITER_RENDER_SYSTEM} is used and players don't play {@code TweenedAnimation}.
+	 */
+	SPRITER_UPDATE_SYSTEM(new SystemProvider() {
+		@Override
+		public BaseSystem create (EntityEngineConfiguration config, RuntimeContext context, SceneData data) {
+			return new SpriterUpdateSystem();
+		}
+	}),
+
+	/**
+	 * Draws sprites of layers marked as static from sprite cache, see {@link StaticSpriteCacheSystem}. Can be
+	 * disabled.
+	 */
+	STATIC_SPRITE_CACHE_SYSTEM(new SystemProvider() {
+		@Override
+		public BaseSystem create (EntityEngineConfiguration config, RuntimeContext context, SceneData data) {
+			return new StaticSpriteCacheSystem();
+		}
+	}),
+
+	/**
+	 * Skips rendering of entities that are outside of camera view, see {@link CullingSystem}. Disabled by default, safe to
+	 * enable when {@link #RENDER_BATCHING_SYSTEM} is used.
+	 */
+	CULLING_SYSTEM(new SystemProvider() {
+		@Override
+		public BaseSystem create (EntityEngineConfiguration config, RuntimeContext context, SceneData data) {
+			return new CullingSystem();
+		}
+	}),
+
 	/**
 	 * Cleans dirty flags from transform, origin and tint components. Safe to disable however may cause serious
 	 * performance issues when disabled.
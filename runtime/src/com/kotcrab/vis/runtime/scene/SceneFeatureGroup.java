@@ -43,7 +43,9 @@ public enum SceneFeatureGroup {
 			SPRITE_RENDER_SYSTEM,
 			TEXT_RENDER_SYSTEM,
 			PARTICLE_RENDER_SYSTEM,
-			SPRITER_RENDER_SYSTEM);
+			SPRITER_RENDER_SYSTEM,
+			BAKED_SPRITER_RENDER_SYSTEM,
+			STATIC_SPRITE_CACHE_SYSTEM);
 
 	final SceneFeature[] features;
 
@@ -39,6 +39,7 @@ import com.kotcrab.vis.runtime.RuntimeContext;
 import com.kotcrab.vis.runtime.assets.*;
 import com.kotcrab.vis.runtime.component.AssetReference;
 import com.kotcrab.vis.runtime.component.proto.ProtoShader;
+import com.kotcrab.vis.runtime.data.BakedSpriterData;
 import com.kotcrab.vis.runtime.data.EntityData;
 import com.kotcrab.vis.runtime.data.SceneData;
 import com.kotcrab.vis.runtime.font.BitmapFontProvider;
@@ -48,11 +49,18 @@ import com.kotcrab.vis.runtime.scene.SceneLoader.SceneParameter;
 import com.kotcrab.vis.runtime.util.EntityEngine;
 import com.kotcrab.vis.runtime.util.ImmutableArray;
 import com.kotcrab.vis.runtime.util.SpriterData;
+import com.kotcrab.vis.runtime.util.binary.BinarySceneFormat;
+import com.kotcrab.vis.runtime.util.binary.BinarySceneReader;
+import com.kotcrab.vis.runtime.util.binary.ByteBufferBinaryInput;
+import com.kotcrab.vis.runtime.util.binary.MappedFiles;
 import com.kotcrab.vis.runtime.util.json.LibgdxJsonTagRegistrar;
 import com.kotcrab.vis.runtime.util.json.RuntimeJsonTags;
 
+import java.nio.ByteBuffer;
+
 /**
  * Scene loader for {@link AssetManager}. Allow to load entire scene file with all required dependencies such as textures, sounds etc.
+ * Both JSON and binary (see {@link BinarySceneFormat}) scene files are supported, format is detected automatically.
  * @author Kotcrab
  */
 public class SceneLoader extends AsynchronousAssetLoader<Scene, SceneParameter> {
@@ -111,16 +119,35 @@ public class SceneLoader extends AsynchronousAssetLoader<Scene, SceneParameter>
 	public Array<AssetDescriptor> getDependencies (String fileName, FileHandle file, SceneParameter parameter) {
 		if (batch == null) throw new IllegalStateException("Batch not set, see #setBatch(Batch)");
 
-		Json json = getJson();
-		data = json.fromJson(SceneData.class, file);
+		data = readSceneData(file, parameter != null && parameter.memoryMapBinaryScene);
+		return getDependencies(data);
+	}
+
+	/** Reads scene or scene chunk file, format is detected automatically */
+	SceneData readSceneData (FileHandle file, boolean memoryMapBinaryScene) {
+		if (BinarySceneFormat.isBinary(file)) {
+			BinarySceneReader reader = new BinarySceneReader();
+
+			if (memoryMapBinaryScene) {
+				ByteBuffer buffer = MappedFiles.map(file);
+				if (buffer != null) return reader.read(new ByteBufferBinaryInput(buffer));
+			}
+
+			return reader.read(file);
+		}
+
+		return getJson().fromJson(SceneData.class, file);
+	}
 
+	/** @return assets required by entities of scene or scene chunk */
+	Array<AssetDescriptor> getDependencies (SceneData data) {
 		Array<AssetDescriptor> dependencies = new Array<AssetDescriptor>();
-		loadDependencies(dependencies, data.entities);
+		loadDependencies(dependencies, data);
 		return dependencies;
 	}
 
-	private void loadDependencies (Array<AssetDescriptor> dependencies, Array<EntityData> entities) {
-		for (EntityData entityData : entities) {
+	private void loadDependencies (Array<AssetDescriptor> dependencies, SceneData data) {
+		for (EntityData entityData : data.entities) {
 			for (Component component : entityData.components) {
 				if (component instanceof AssetReference) {
 					VisAssetDescriptor asset = ((AssetReference) component).asset;
@@ -159,7 +186,11 @@ public class SceneLoader extends AsynchronousAssetLoader<Scene, SceneParameter>
 
 					} else if (asset instanceof SpriterAsset) {
 						SpriterAsset spriterAsset = (SpriterAsset) asset;
-						dependencies.add(new AssetDescriptor<SpriterData>(spriterAsset.getPath(), SpriterData.class));
+						String bakedPath = BakedSpriterData.getPath(spriterAsset.getPath());
+						if (configuration.useBakedSpriterAnimations && resolve(bakedPath).exists())
+							dependencies.add(new AssetDescriptor<BakedSpriterData>(bakedPath, BakedSpriterData.class));
+						else
+							dependencies.add(new AssetDescriptor<SpriterData>(spriterAsset.getPath(), SpriterData.class));
 
 					}
 				}
@@ -191,6 +222,9 @@ public class SceneLoader extends AsynchronousAssetLoader<Scene, SceneParameter>
 		RuntimeContext context = new RuntimeContext(configuration, batch, manager, new ImmutableArray<EntitySupport>(supports));
 		scene = new Scene(context, data, parameter);
 
+		//when streaming, entities are built by scene in time budgeted chunks
+		if (parameter != null && parameter.streamEntities) return;
+
 		EntityEngine engine = scene.getEntityEngine();
 		for (EntityData entityData : data.entities)
 			entityData.build(engine);
@@ -216,5 +250,22 @@ public class SceneLoader extends AsynchronousAssetLoader<Scene, SceneParameter>
 		 * enable it in config.
 		 */
 		public boolean respectScenePhysicsSettings = true;
+		/**
+		 * If true, scene entities won't be built during asynchronous loading, instead they will be built and inflated in
+		 * chunks during {@link Scene#init()} and {@link Scene#render()} calls, spending at most {@link #streamingFrameBudget}
+		 * per frame. Scene data is still read and component types are resolved during asynchronous loading. Scene is not
+		 * updated nor drawn until all entities were built, use {@link Scene#isLoaded()} and
+		 * {@link Scene#getLoadingProgress()} to check loading state and draw loading screen. Useful for large scenes where
+		 * inflating all entities at once would freeze loading screen.
+		 */
+		public boolean streamEntities = false;
+		/** Time in seconds that can be spent on building streamed entities per frame */
+		public float streamingFrameBudget = 0.004f;
+		/**
+		 * If true and scene file uses binary format, scene file will be memory mapped and decoded directly from mapped
+		 * memory instead of being read through stream, reducing heap usage during loading of large scenes. If file can't
+		 * be mapped (for example it is stored inside of jar or apk, or on GWT) then it will be read normally.
+		 */
+		public boolean memoryMapBinaryScene = false;
 	}
 }
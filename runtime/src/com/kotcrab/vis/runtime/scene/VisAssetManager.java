@@ -21,11 +21,14 @@ import com.badlogic.gdx.assets.loaders.FileHandleResolver;
 import com.badlogic.gdx.assets.loaders.resolvers.InternalFileHandleResolver;
 import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.kotcrab.vis.runtime.data.BakedSpriterData;
 import com.kotcrab.vis.runtime.font.FontProvider;
 import com.kotcrab.vis.runtime.font.FreeTypeFontProvider;
 import com.kotcrab.vis.runtime.plugin.EntitySupport;
 import com.kotcrab.vis.runtime.scene.SceneLoader.SceneParameter;
+import com.kotcrab.vis.runtime.util.BakedSpriterDataLoader;
 import com.kotcrab.vis.runtime.util.ShaderLoader;
+import com.kotcrab.vis.runtime.util.SharedTexturePacker;
 import com.kotcrab.vis.runtime.util.SpriterData;
 import com.kotcrab.vis.runtime.util.SpriterDataLoader;
 
@@ -36,6 +39,7 @@ import com.kotcrab.vis.runtime.util.SpriterDataLoader;
  */
 public class VisAssetManager extends AssetManager {
 	private SceneLoader sceneLoader;
+	private SharedTexturePacker spriterTexturePacker;
 
 	public VisAssetManager (Batch batch) {
 		this(new InternalFileHandleResolver(), batch);
@@ -47,14 +51,38 @@ public class VisAssetManager extends AssetManager {
 		sceneLoader = new SceneLoader();
 		sceneLoader.setBatch(batch);
 		setLoader(Scene.class, sceneLoader);
+		setLoader(SceneChunk.class, new SceneChunkLoader(resolver, sceneLoader));
+		setLoader(Prefab.class, new PrefabLoader(resolver, sceneLoader));
 		setLoader(ShaderProgram.class, new ShaderLoader());
 		setLoader(SpriterData.class, new SpriterDataLoader());
+		setLoader(BakedSpriterData.class, new BakedSpriterDataLoader());
 	}
 
 	public SceneLoader getSceneLoader () {
 		return sceneLoader;
 	}
 
+	/**
+	 * Enables packing images of spriter assets into texture pages shared by all spriter assets, see
+	 * {@link SharedTexturePacker}. By default each spriter asset has its own atlas which is disposed when asset is
+	 * unloaded. Packed images are kept until this manager is disposed even if their spriter assets were unloaded, use
+	 * this only if spriter assets aren't unloaded during lifetime of this manager. Affects only spriter assets loaded
+	 * after this was called.
+	 */
+	public void enableSharedSpriterTexturePacker () {
+		if (spriterTexturePacker != null) return;
+		spriterTexturePacker = new SharedTexturePacker();
+		setLoader(SpriterData.class, new SpriterDataLoader(new InternalFileHandleResolver(), spriterTexturePacker));
+	}
+
+	/**
+	 * @return packer used to pack images of all loaded spriter assets or null if it wasn't enabled, see
+	 * {@link #enableSharedSpriterTexturePacker()}
+	 */
+	public SharedTexturePacker getSpriterTexturePacker () {
+		return spriterTexturePacker;
+	}
+
 	/**
 	 * Allows to enable FreeType support.
 	 * @param freeTypeFontProvider must be instance of {@link FreeTypeFontProvider}. Note that this parameter is not checked!
@@ -81,7 +109,13 @@ public class VisAssetManager extends AssetManager {
 		finishLoading();
 		Scene scene = get(scenePath, Scene.class);
 		scene.init();
+		scene.finishLoading();
 		return scene;
 	}
 
+	@Override
+	public synchronized void dispose () {
+		super.dispose();
+		if (spriterTexturePacker != null) spriterTexturePacker.dispose();
+	}
 }
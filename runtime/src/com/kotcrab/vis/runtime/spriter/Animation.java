@@ -105,21 +105,39 @@ public class Animation {
 	 * @param root The root bone which is not allowed to be null. The whole animation runs relative to the root bone.
 	 */
 	public void update (int time, Bone root) {
+		this.currentKey = tween(time, root, this.tweenedKeys, this.unmappedTweenedKeys);
+	}
+
+	/**
+	 * Tweens the bone and object structure with the given time to the given keys instead of keys stored by this animation.
+	 * State of this animation is not modified, so it may be called concurrently for the same animation.
+	 * @param time The time which has to be between 0 and {@link #length} to work properly.
+	 * @param root The root bone which is not allowed to be null. The whole animation runs relative to the root bone.
+	 * @param tweenedKeys keys receiving tweened bones and objects, must have at least {@link #timelines()} elements
+	 * @param unmappedTweenedKeys keys receiving bones and objects mapped to root, must have at least {@link #timelines()} elements
+	 * @return the mainline key at given time
+	 */
+	public Key tween (int time, Bone root, Timeline.Key[] tweenedKeys, Timeline.Key[] unmappedTweenedKeys) {
 		if (!this.prepared)
 			throw new SpriterException("This animation is not ready yet to animate itself. Please call prepare()!");
 		if (root == null)
 			throw new SpriterException("The root can not be null! Set a root bone to apply this animation relative to the root bone.");
-		this.currentKey = mainline.getKeyBeforeTime(time);
+		Key currentKey = mainline.getKeyBeforeTime(time);
 
-		for (Timeline.Key timelineKey : this.unmappedTweenedKeys)
+		for (Timeline.Key timelineKey : unmappedTweenedKeys)
 			timelineKey.active = false;
 		for (BoneRef ref : currentKey.boneRefs)
-			this.update(ref, root, time);
+			this.tween(ref, root, time, currentKey, tweenedKeys, unmappedTweenedKeys);
 		for (ObjectRef ref : currentKey.objectRefs)
-			this.update(ref, root, time);
+			this.tween(ref, root, time, currentKey, tweenedKeys, unmappedTweenedKeys);
+		return currentKey;
 	}
 
 	protected void update (BoneRef ref, Bone root, int time) {
+		tween(ref, root, time, this.currentKey, this.tweenedKeys, this.unmappedTweenedKeys);
+	}
+
+	private void tween (BoneRef ref, Bone root, int time, Key currentKey, Timeline.Key[] tweenedKeys, Timeline.Key[] unmappedTweenedKeys) {
 		boolean isObject = ref instanceof ObjectRef;
 		//Get the timelines, the refs pointing to
 		Timeline timeline = getTimeline(ref.timeline);
@@ -145,17 +163,19 @@ public class Animation {
 		//Tween bone/object
 		Bone bone1 = key.object();
 		Bone bone2 = nextKey.object();
-		Bone tweenTarget = this.tweenedKeys[ref.timeline].object();
+		Bone tweenTarget = tweenedKeys[ref.timeline].object();
 		if (isObject) this.tweenObject((Object) bone1, (Object) bone2, (Object) tweenTarget, t, key.curve, key.spin);
 		else this.tweenBone(bone1, bone2, tweenTarget, t, key.curve, key.spin);
-		this.unmappedTweenedKeys[ref.timeline].active = true;
-		this.unmapTimelineObject(ref.timeline, isObject, (ref.parent != null) ?
-				this.unmappedTweenedKeys[ref.parent.timeline].object() : root);
+		unmappedTweenedKeys[ref.timeline].active = true;
+		unmapTimelineObject(tweenedKeys[ref.timeline].object(), unmappedTweenedKeys[ref.timeline].object(), isObject,
+				(ref.parent != null) ? unmappedTweenedKeys[ref.parent.timeline].object() : root);
 	}
 
 	void unmapTimelineObject (int timeline, boolean isObject, Bone root) {
-		Bone tweenTarget = this.tweenedKeys[timeline].object();
-		Bone mapTarget = this.unmappedTweenedKeys[timeline].object();
+		unmapTimelineObject(this.tweenedKeys[timeline].object(), this.unmappedTweenedKeys[timeline].object(), isObject, root);
+	}
+
+	private static void unmapTimelineObject (Bone tweenTarget, Bone mapTarget, boolean isObject, Bone root) {
 		if (isObject) ((Object) mapTarget).set((Object) tweenTarget);
 		else mapTarget.set(tweenTarget);
 		mapTarget.unmap(root);
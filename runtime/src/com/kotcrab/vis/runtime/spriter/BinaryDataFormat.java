@@ -0,0 +1,51 @@
+/*
+ * Copyright 2014-2016 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.runtime.spriter;
+
+import java.util.zip.CRC32;
+
+/**
+ * Binary {@link Data} cache format constants and utilities shared by {@link BinaryDataWriter} and {@link BinaryDataReader}.
+ * <p>
+ * File starts with {@link #MAGIC}, format version and checksum of SCML file that cache was created from, see
+ * {@link #checksum(byte[], int, int)}. Cache is valid only as long as SCML file checksum matches. Header is followed
+ * by data model in the same order as it's stored in SCML file, object infos of timelines are stored as index of entity
+ * object info. Cache stores final state of data model so SCML defaults and references are already resolved.
+ * @author Kotcrab
+ */
+public class BinaryDataFormat {
+	/** 'VISP' */
+	public static final int MAGIC = 0x56495350;
+	public static final int VERSION = 1;
+	/** Extension appended to SCML file path to get path of it's binary cache */
+	public static final String EXTENSION = ".bin";
+
+	private BinaryDataFormat () {
+	}
+
+	/** @return checksum of SCML file content stored in cache header */
+	public static long checksum (byte[] bytes, int offset, int length) {
+		CRC32 crc = new CRC32();
+		crc.update(bytes, offset, length);
+		return crc.getValue();
+	}
+
+	/** @return path of binary cache for given SCML file path */
+	public static String getCachePath (String scmlPath) {
+		return scmlPath + EXTENSION;
+	}
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2014-2016 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.runtime.spriter;
+
+import com.kotcrab.vis.runtime.spriter.Entity.CharacterMap;
+import com.kotcrab.vis.runtime.spriter.Entity.ObjectInfo;
+import com.kotcrab.vis.runtime.spriter.Entity.ObjectType;
+import com.kotcrab.vis.runtime.spriter.Mainline.Key.BoneRef;
+import com.kotcrab.vis.runtime.spriter.Mainline.Key.ObjectRef;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Reads {@link Data} written by {@link BinaryDataWriter}. See {@link BinaryDataFormat}.
+ * @author Kotcrab
+ */
+public class BinaryDataReader {
+	private static final ObjectType[] OBJECT_TYPES = ObjectType.values();
+	private static final Curve.Type[] CURVE_TYPES = Curve.Type.values();
+
+	private DataInputStream input;
+
+	/**
+	 * Reads data from input stream, stream is not closed.
+	 * @param sourceChecksum checksum of SCML file that cache should be created from, see
+	 * {@link BinaryDataFormat#checksum(byte[], int, int)}
+	 * @return read data or null if stream is not binary data cache, was written using different format version or was
+	 * created from different SCML file
+	 */
+	public Data read (InputStream inputStream, long sourceChecksum) throws IOException {
+		input = new DataInputStream(new BufferedInputStream(inputStream, 8 * 1024));
+		try {
+			if (input.readInt() != BinaryDataFormat.MAGIC) return null;
+			if (input.readInt() != BinaryDataFormat.VERSION) return null;
+			if (input.readLong() != sourceChecksum) return null;
+
+			String scmlVersion = readString();
+			String generator = readString();
+			String generatorVersion = readString();
+
+			Folder[] folders = new Folder[input.readInt()];
+			for (int i = 0; i < folders.length; i++)
+				folders[i] = readFolder();
+
+			int entityCount = input.readInt();
+			Data data = new Data(scmlVersion, generator, generatorVersion, folders.length, entityCount);
+			for (Folder folder : folders)
+				data.addFolder(folder);
+			for (int i = 0; i < entityCount; i++)
+				data.addEntity(readEntity());
+
+			return data;
+		} finally {
+			input = null;
+		}
+	}
+
+	private Folder readFolder () throws IOException {
+		int id = input.readInt();
+		String name = readString();
+		int fileCount = input.readInt();
+		Folder folder = new Folder(id, name, fileCount);
+		for (int i = 0; i < fileCount; i++) {
+			int fileId = input.readInt();
+			String fileName = readString();
+			Dimension size = new Dimension(input.readFloat(), input.readFloat());
+			Point pivot = new Point(input.readFloat(), input.readFloat());
+			folder.addFile(new File(fileId, fileName, size, pivot));
+		}
+		return folder;
+	}
+
+	private Entity readEntity () throws IOException {
+		int id = input.readInt();
+		String name = readString();
+
+		ObjectInfo[] infos = new ObjectInfo[input.readInt()];
+		for (int i = 0; i < infos.length; i++)
+			infos[i] = readInfo();
+
+		CharacterMap[] maps = new CharacterMap[input.readInt()];
+		for (int i = 0; i < maps.length; i++) {
+			CharacterMap map = new CharacterMap(input.readInt(), readString());
+			int size = input.readInt();
+			for (int j = 0; j < size; j++)
+				map.put(readFileReference(), readFileReference());
+			maps[i] = map;
+		}
+
+		int animationCount = input.readInt();
+		Entity entity = new Entity(id, name, animationCount, maps.length, infos.length);
+		for (ObjectInfo info : infos)
+			entity.addInfo(info);
+		for (CharacterMap map : maps)
+			entity.addCharacterMap(map);
+		for (int i = 0; i < animationCount; i++)
+			entity.addAnimation(readAnimation(entity));
+
+		return entity;
+	}
+
+	private ObjectInfo readInfo () throws IOException {
+		String name = readString();
+		ObjectType type = OBJECT_TYPES[input.readByte()];
+		ObjectInfo info = new ObjectInfo(name, type, new Dimension(input.readFloat(), input.readFloat()));
+		int frameCount = input.readInt();
+		for (int i = 0; i < frameCount; i++)
+			info.frames.add(readFileReference());
+		return info;
+	}
+
+	private Animation readAnimation (Entity entity) throws IOException {
+		int id = input.readInt();
+		String name = readString();
+		int length = input.readInt();
+		boolean looping = input.readBoolean();
+
+		Mainline mainline = new Mainline(input.readInt());
+		for (int i = 0; i < mainline.keys.length; i++) {
+			int keyId = input.readInt();
+			int time = input.readInt();
+			Curve curve = readCurve();
+			int boneRefCount = input.readInt();
+			BoneRef[] boneRefs = new BoneRef[boneRefCount];
+			for (int j = 0; j < boneRefCount; j++) {
+				int refId = input.readInt();
+				int timeline = input.readInt();
+				int key = input.readInt();
+				int parent = input.readInt();
+				boneRefs[j] = new BoneRef(refId, timeline, key, parent == -1 ? null : boneRefs[parent]);
+			}
+
+			int objectRefCount = input.readInt();
+			Mainline.Key key = new Mainline.Key(keyId, time, curve, boneRefCount, objectRefCount);
+			for (BoneRef ref : boneRefs)
+				key.addBoneRef(ref);
+			for (int j = 0; j < objectRefCount; j++) {
+				int refId = input.readInt();
+				int timeline = input.readInt();
+				int refKey = input.readInt();
+				BoneRef parent = key.getBoneRef(input.readInt());
+				key.addObjectRef(new ObjectRef(refId, timeline, refKey, parent, input.readInt()));
+			}
+			Arrays.sort(key.objectRefs);
+			mainline.addKey(key);
+		}
+
+		int timelineCount = input.readInt();
+		Animation animation = new Animation(mainline, id, name, length, looping, timelineCount);
+		for (int i = 0; i < timelineCount; i++) {
+			int timelineId = input.readInt();
+			String timelineName = readString();
+			int infoIndex = input.readInt();
+			ObjectInfo info = infoIndex == -1 ? readInfo() : entity.getInfo(infoIndex);
+
+			int keyCount = input.readInt();
+			Timeline timeline = new Timeline(timelineId, timelineName, info, keyCount);
+			for (int j = 0; j < keyCount; j++) {
+				Timeline.Key key = new Timeline.Key(input.readInt(), input.readInt(), input.readInt(), readCurve());
+				Point position = new Point(input.readFloat(), input.readFloat());
+				Point scale = new Point(input.readFloat(), input.readFloat());
+				Point pivot = new Point(input.readFloat(), input.readFloat());
+				float angle = input.readFloat();
+				float alpha = input.readFloat();
+				key.setObject(new Timeline.Key.Object(position, scale, pivot, angle, alpha, readFileReference()));
+				timeline.addKey(key);
+			}
+			animation.addTimeline(timeline);
+		}
+
+		animation.prepare();
+		return animation;
+	}
+
+	private Curve readCurve () throws IOException {
+		Curve curve = new Curve();
+		curve.setType(CURVE_TYPES[input.readByte()]);
+		curve.constraints.set(input.readFloat(), input.readFloat(), input.readFloat(), input.readFloat());
+		return curve;
+	}
+
+	private FileReference readFileReference () throws IOException {
+		return new FileReference(input.readInt(), input.readInt());
+	}
+
+	private String readString () throws IOException {
+		return input.readBoolean() ? input.readUTF() : null;
+	}
+}
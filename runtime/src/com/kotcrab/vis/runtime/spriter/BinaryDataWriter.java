@@ -0,0 +1,207 @@
+/*
+ * Copyright 2014-2016 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.runtime.spriter;
+
+import com.kotcrab.vis.runtime.spriter.Entity.CharacterMap;
+import com.kotcrab.vis.runtime.spriter.Entity.ObjectInfo;
+import com.kotcrab.vis.runtime.spriter.Mainline.Key.BoneRef;
+import com.kotcrab.vis.runtime.spriter.Mainline.Key.ObjectRef;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+
+/**
+ * Writes {@link Data} in binary cache format which can be later read by {@link BinaryDataReader}. See {@link BinaryDataFormat}.
+ * @author Kotcrab
+ */
+public class BinaryDataWriter {
+	private DataOutputStream output;
+
+	/**
+	 * Writes data to output stream, stream is not closed.
+	 * @param sourceChecksum checksum of SCML file that data was read from, see {@link BinaryDataFormat#checksum(byte[], int, int)}
+	 */
+	public void write (Data data, long sourceChecksum, OutputStream outputStream) throws IOException {
+		output = new DataOutputStream(new BufferedOutputStream(outputStream, 8 * 1024));
+		try {
+			output.writeInt(BinaryDataFormat.MAGIC);
+			output.writeInt(BinaryDataFormat.VERSION);
+			output.writeLong(sourceChecksum);
+
+			writeString(data.scmlVersion);
+			writeString(data.generator);
+			writeString(data.generatorVersion);
+
+			output.writeInt(data.folders.length);
+			for (Folder folder : data.folders)
+				writeFolder(folder);
+
+			output.writeInt(data.entities.length);
+			for (Entity entity : data.entities)
+				writeEntity(entity);
+
+			output.flush();
+		} finally {
+			output = null;
+		}
+	}
+
+	private void writeFolder (Folder folder) throws IOException {
+		output.writeInt(folder.id);
+		writeString(folder.name);
+		output.writeInt(folder.files.length);
+		for (File file : folder.files) {
+			output.writeInt(file.id);
+			writeString(file.name);
+			output.writeFloat(file.size.width);
+			output.writeFloat(file.size.height);
+			output.writeFloat(file.pivot.x);
+			output.writeFloat(file.pivot.y);
+		}
+	}
+
+	private void writeEntity (Entity entity) throws IOException {
+		output.writeInt(entity.id);
+		writeString(entity.name);
+
+		output.writeInt(entity.infos());
+		for (int i = 0; i < entity.infos(); i++)
+			writeInfo(entity.getInfo(i));
+
+		output.writeInt(entity.characterMaps());
+		for (int i = 0; i < entity.characterMaps(); i++) {
+			CharacterMap map = entity.getCharacterMap(i);
+			output.writeInt(map.id);
+			writeString(map.name);
+			output.writeInt(map.size());
+			for (Map.Entry<FileReference, FileReference> entry : map.entrySet()) {
+				writeFileReference(entry.getKey());
+				writeFileReference(entry.getValue());
+			}
+		}
+
+		output.writeInt(entity.animations());
+		for (int i = 0; i < entity.animations(); i++)
+			writeAnimation(entity.getAnimation(i), entity);
+	}
+
+	private void writeInfo (ObjectInfo info) throws IOException {
+		writeString(info.name);
+		output.writeByte(info.type.ordinal());
+		output.writeFloat(info.size.width);
+		output.writeFloat(info.size.height);
+		output.writeInt(info.frames.size());
+		for (FileReference ref : info.frames)
+			writeFileReference(ref);
+	}
+
+	private void writeAnimation (Animation animation, Entity entity) throws IOException {
+		output.writeInt(animation.id);
+		writeString(animation.name);
+		output.writeInt(animation.length);
+		output.writeBoolean(animation.looping);
+
+		Mainline mainline = animation.mainline;
+		output.writeInt(mainline.keys.length);
+		for (Mainline.Key key : mainline.keys) {
+			output.writeInt(key.id);
+			output.writeInt(key.time);
+			writeCurve(key.curve);
+
+			output.writeInt(key.boneRefs.length);
+			for (BoneRef ref : key.boneRefs) {
+				output.writeInt(ref.id);
+				output.writeInt(ref.timeline);
+				output.writeInt(ref.key);
+				output.writeInt(indexOf(key.boneRefs, ref.parent));
+			}
+
+			output.writeInt(key.objectRefs.length);
+			for (ObjectRef ref : key.objectRefs) {
+				output.writeInt(ref.id);
+				output.writeInt(ref.timeline);
+				output.writeInt(ref.key);
+				output.writeInt(indexOf(key.boneRefs, ref.parent));
+				output.writeInt(ref.zIndex);
+			}
+		}
+
+		output.writeInt(animation.timelines());
+		for (int i = 0; i < animation.timelines(); i++) {
+			Timeline timeline = animation.getTimeline(i);
+			output.writeInt(timeline.id);
+			writeString(timeline.name);
+
+			int infoIndex = indexOfInfo(entity, timeline.objectInfo);
+			output.writeInt(infoIndex);
+			if (infoIndex == -1) writeInfo(timeline.objectInfo);
+
+			output.writeInt(timeline.keys.length);
+			for (Timeline.Key key : timeline.keys) {
+				output.writeInt(key.id);
+				output.writeInt(key.time);
+				output.writeInt(key.spin);
+				writeCurve(key.curve);
+
+				Timeline.Key.Object object = key.object();
+				output.writeFloat(object.position.x);
+				output.writeFloat(object.position.y);
+				output.writeFloat(object.scale.x);
+				output.writeFloat(object.scale.y);
+				output.writeFloat(object.pivot.x);
+				output.writeFloat(object.pivot.y);
+				output.writeFloat(object.angle);
+				output.writeFloat(object.alpha);
+				writeFileReference(object.ref);
+			}
+		}
+	}
+
+	private void writeCurve (Curve curve) throws IOException {
+		output.writeByte(curve.getType().ordinal());
+		output.writeFloat(curve.constraints.c1);
+		output.writeFloat(curve.constraints.c2);
+		output.writeFloat(curve.constraints.c3);
+		output.writeFloat(curve.constraints.c4);
+	}
+
+	private void writeFileReference (FileReference ref) throws IOException {
+		output.writeInt(ref.folder);
+		output.writeInt(ref.file);
+	}
+
+	private void writeString (String value) throws IOException {
+		output.writeBoolean(value != null);
+		if (value != null) output.writeUTF(value);
+	}
+
+	private int indexOf (BoneRef[] refs, BoneRef ref) {
+		if (ref == null) return -1;
+		for (int i = 0; i < refs.length; i++)
+			if (refs[i] == ref) return i;
+		return -1;
+	}
+
+	private int indexOfInfo (Entity entity, ObjectInfo info) {
+		for (int i = 0; i < entity.infos(); i++)
+			if (entity.getInfo(i) == info) return i;
+		return -1;
+	}
+}
@@ -118,10 +118,22 @@ public class Entity {
 		this.characterMaps[charMapPointer++] = map;
 	}
 
+	CharacterMap getCharacterMap (int index) {
+		return this.characterMaps[index];
+	}
+
+	int characterMaps () {
+		return this.characterMaps.length;
+	}
+
 	void addInfo (ObjectInfo info) {
 		this.objectInfos[objInfoPointer++] = info;
 	}
 
+	int infos () {
+		return this.objectInfos.length;
+	}
+
 	/**
 	 * Returns an {@link ObjectInfo} with the given index.
 	 * @param index the index of the object info
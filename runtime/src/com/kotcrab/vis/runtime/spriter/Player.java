@@ -25,7 +25,6 @@ import com.kotcrab.vis.runtime.spriter.Timeline.Key.Bone;
 import com.kotcrab.vis.runtime.spriter.Timeline.Key.Object;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 
@@ -38,6 +37,8 @@ import java.util.List;
  * A Player has various methods for runtime object manipulation such as {@link #setBone(String, Bone)} or {@link #setObject(String, Bone)}.
  * Events like the ending of an animation can be observed with the {@link PlayerListener} interface.
  * Character maps can be changed on the fly, just by assigning a character maps to {@link #characterMaps}, setting it to <code>null</code> will remove the current character map.
+ * Different players may be updated concurrently as long as they copy tweened objects (which is the default) and don't
+ * play {@link TweenedAnimation}. Such players tween shared {@link Animation} directly into their own objects.
  * @author Trixt0r
  */
 public class Player {
@@ -52,16 +53,18 @@ public class Player {
 	public final List<Attachment> attachments = new ArrayList<Attachment>();
 	Timeline.Key.Bone root = new Timeline.Key.Bone(new Point(0, 0));
 	private final Point position = new Point(0, 0), pivot = new Point(0, 0);
-	private final HashMap<Object, Timeline.Key> objToTimeline = new HashMap<Object, Timeline.Key>();
 	private float angle;
 	private boolean dirty = true;
 	public CharacterMap[] characterMaps;
 	private Rectangle rect;
+	private boolean boundsValid;
+	private BoneRef boundsRoot;
 	public final Box prevBBox;
 	private BoneIterator boneIterator;
 	private ObjectIterator objectIterator;
 	private Mainline.Key currentKey, prevKey;
 	public boolean copyObjects = true;
+	private PoseCache poseCache;
 
 	/**
 	 * Creates a {@link Player} instance with the given entity.
@@ -82,52 +85,84 @@ public class Player {
 	 * This means the current time gets increased by {@link #speed} and is applied to the current animation.
 	 */
 	public void update () {
-		for (PlayerListener listener : listeners)
-			listener.preProcess(this);
+		for (int i = 0; i < listeners.size(); i++)
+			listeners.get(i).preProcess(this);
 		if (dirty) this.updateRoot();
-		this.animation.update(time, root);
-		this.currentKey = this.animation.currentKey;
+		PoseCache.Pose pose = null;
+		if (poseCache != null && copyObjects) {
+			pose = poseCache.get(animation, time);
+			this.currentKey = pose.currentKey;
+		} else if (copyObjects && animation instanceof TweenedAnimation == false) {
+			//animation is shared by all players of the same entity, tweening into own keys doesn't modify it
+			this.currentKey = this.animation.tween(time, root, tempTweenedKeys, tempUnmappedTweenedKeys);
+		} else {
+			this.animation.update(time, root);
+			this.currentKey = this.animation.currentKey;
+			if (copyObjects) this.copyObjects();
+		}
 		if (prevKey != currentKey) {
-			for (PlayerListener listener : listeners)
-				listener.mainlineKeyChanged(prevKey, currentKey);
+			for (int i = 0; i < listeners.size(); i++)
+				listeners.get(i).mainlineKeyChanged(prevKey, currentKey);
 			prevKey = currentKey;
 		}
 		if (copyObjects) {
 			tweenedKeys = tempTweenedKeys;
 			unmappedTweenedKeys = tempUnmappedTweenedKeys;
-			this.copyObjects();
+			if (pose != null) this.applyPose(pose);
 		} else {
 			tweenedKeys = animation.tweenedKeys;
 			unmappedTweenedKeys = animation.unmappedTweenedKeys;
 		}
 
-		for (Attachment attach : attachments)
-			attach.update();
+		for (int i = 0; i < attachments.size(); i++)
+			attachments.get(i).update();
 
-		for (PlayerListener listener : listeners)
-			listener.postProcess(this);
+		boundsValid = false;
+
+		for (int i = 0; i < listeners.size(); i++)
+			listeners.get(i).postProcess(this);
 		this.increaseTime();
 	}
 
 	private void copyObjects () {
 		for (int i = 0; i < animation.tweenedKeys.length; i++) {
-			this.tweenedKeys[i].active = animation.tweenedKeys[i].active;
-			this.unmappedTweenedKeys[i].active = animation.unmappedTweenedKeys[i].active;
-			this.tweenedKeys[i].object().set(animation.tweenedKeys[i].object());
-			this.unmappedTweenedKeys[i].object().set(animation.unmappedTweenedKeys[i].object());
+			this.tempTweenedKeys[i].active = animation.tweenedKeys[i].active;
+			this.tempUnmappedTweenedKeys[i].active = animation.unmappedTweenedKeys[i].active;
+			this.tempTweenedKeys[i].object().set(animation.tweenedKeys[i].object());
+			this.tempUnmappedTweenedKeys[i].object().set(animation.unmappedTweenedKeys[i].object());
+		}
+	}
+
+	private void applyPose (PoseCache.Pose pose) {
+		for (int i = 0; i < pose.objects.length; i++) {
+			this.tweenedKeys[i].active = pose.active[i];
+			this.unmappedTweenedKeys[i].active = pose.active[i];
+			this.tweenedKeys[i].object().set(pose.objects[i]);
 		}
+		//parent bones are always referenced before their children
+		for (BoneRef ref : currentKey.boneRefs)
+			this.unmapTweenedKey(ref.timeline, ref.parent);
+		for (ObjectRef ref : currentKey.objectRefs)
+			this.unmapTweenedKey(ref.timeline, ref.parent);
+	}
+
+	private void unmapTweenedKey (int timeline, BoneRef parentRef) {
+		Bone parent = parentRef == null ? this.root : this.unmappedTweenedKeys[parentRef.timeline].object();
+		Object target = this.unmappedTweenedKeys[timeline].object();
+		target.set(this.tweenedKeys[timeline].object());
+		target.unmap(parent);
 	}
 
 	private void increaseTime () {
 		time += speed;
 		if (time > animation.length) {
 			time = time - animation.length;
-			for (PlayerListener listener : listeners)
-				listener.animationFinished(animation);
+			for (int i = 0; i < listeners.size(); i++)
+				listeners.get(i).animationFinished(animation);
 		}
 		if (time < 0) {
-			for (PlayerListener listener : listeners)
-				listener.animationFinished(animation);
+			for (int i = 0; i < listeners.size(); i++)
+				listeners.get(i).animationFinished(animation);
 			time += animation.length;
 		}
 	}
@@ -188,7 +223,7 @@ public class Player {
 	 * @throws NullPointerException if no reference for the given bone was found
 	 */
 	public BoneRef getBoneRef (Bone bone) {
-		return this.getCurrentKey().getBoneRefTimeline(this.objToTimeline.get(bone).id);
+		return this.getCurrentKey().getBoneRefTimeline(this.getKeyFor(bone).id);
 	}
 
 	/**
@@ -221,7 +256,7 @@ public class Player {
 	 * @throws NullPointerException if no reference for the given object was found
 	 */
 	public ObjectRef getObjectRef (Object object) {
-		return this.getCurrentKey().getObjectRefTimeline(this.objToTimeline.get(object).id);
+		return this.getCurrentKey().getObjectRefTimeline(this.getKeyFor(object).id);
 	}
 
 	/**
@@ -231,7 +266,7 @@ public class Player {
 	 * @throws NullPointerException if no name for the given bone or bject was found
 	 */
 	public String getNameFor (Bone boneOrObject) {
-		return this.animation.getTimeline(objToTimeline.get(boneOrObject).id).name;
+		return this.animation.getTimeline(getKeyFor(boneOrObject).id).name;
 	}
 
 	/**
@@ -241,7 +276,7 @@ public class Player {
 	 * @throws NullPointerException if no object info for the given bone or bject was found
 	 */
 	public ObjectInfo getObjectInfoFor (Bone boneOrObject) {
-		return this.animation.getTimeline(objToTimeline.get(boneOrObject).id).objectInfo;
+		return this.animation.getTimeline(getKeyFor(boneOrObject).id).objectInfo;
 	}
 
 	/**
@@ -250,7 +285,10 @@ public class Player {
 	 * @return the time line key of the bone or object, or null if no time line key was found
 	 */
 	public Timeline.Key getKeyFor (Bone boneOrObject) {
-		return objToTimeline.get(boneOrObject);
+		for (int i = 0; i < unmappedTweenedKeys.length; i++) {
+			if (unmappedTweenedKeys[i].object() == boneOrObject) return unmappedTweenedKeys[i];
+		}
+		return null;
 	}
 
 	/**
@@ -541,6 +579,7 @@ public class Player {
 	 * @param base the root bone to start at. Set it to <code>null</code> to traverse the whole bone hierarchy.
 	 */
 	public void unmapObjects (BoneRef base) {
+		boundsValid = false;
 		int start = base == null ? -1 : base.id - 1;
 		for (int i = start + 1; i < getCurrentKey().boneRefs.length; i++) {
 			BoneRef ref = getCurrentKey().getBoneRef(i);
@@ -577,7 +616,6 @@ public class Player {
 			keyU.setObject(new Timeline.Key.Object(new Point(0, 0)));
 			tweenedKeys[i] = key;
 			unmappedTweenedKeys[i] = keyU;
-			this.objToTimeline.put(keyU.object(), keyU);
 		}
 		this.tempTweenedKeys = tweenedKeys;
 		this.tempUnmappedTweenedKeys = unmappedTweenedKeys;
@@ -609,8 +647,8 @@ public class Player {
 		this.time = 0;
 		this.update();
 		this.time = tempTime;
-		for (PlayerListener listener : listeners)
-			listener.animationChanged(prevAnim, animation);
+		for (int i = 0; i < listeners.size(); i++)
+			listeners.get(i).animationChanged(prevAnim, animation);
 	}
 
 	/**
@@ -639,17 +677,36 @@ public class Player {
 		return this.animation;
 	}
 
+	/**
+	 * Sets pose cache used by this player. When cache is set tweened pose of current animation is taken from cache and
+	 * only mapped to root of this player, time used to tween pose is quantized to {@link PoseCache#getTimeStep()}.
+	 * Cache is not used when {@link #copyObjects} is false.
+	 * @param poseCache pose cache or null to tween animation by this player
+	 */
+	public void setPoseCache (PoseCache poseCache) {
+		this.poseCache = poseCache;
+	}
+
+	public PoseCache getPoseCache () {
+		return poseCache;
+	}
+
 	/**
 	 * Returns a bounding box for this player.
 	 * The bounding box is calculated for all bones and object starting from the given root.
+	 * The result is cached until this player is updated or {@link #unmapObjects(BoneRef)} is called, returned rectangle
+	 * is reused and must not be modified.
 	 * @param root the starting root. Set it to null to calculate the bounding box for the whole player
 	 * @return the bounding box
 	 */
 	public Rectangle getBoundingRectangle (BoneRef root) {
+		if (boundsValid && boundsRoot == root) return this.rect;
 		Bone boneRoot = root == null ? this.root : this.unmappedTweenedKeys[root.timeline].object();
 		this.rect.set(boneRoot.position.x, boneRoot.position.y, boneRoot.position.x, boneRoot.position.y);
 		this.calcBoundingRectangle(root);
 		this.rect.calculateSize();
+		boundsValid = true;
+		boundsRoot = root;
 		return this.rect;
 	}
 
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2014 by Trixt0r
+ * (https://github.com/Trixt0r, Heinrich Reich, e-mail: trixter16@web.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kotcrab.vis.runtime.spriter;
+
+import java.util.HashMap;
+
+/**
+ * Caches tweened poses of animations so players playing the same animation can share them instead of tweening bones
+ * and objects independently. Poses are computed for time quantized to {@link #getTimeStep()} and stored in local
+ * coordinates of their parents, players then only map cached pose to their own root bone. Cache can be shared by
+ * players of different entities and datas, poses are keyed by {@link Animation} instance. This class is thread safe,
+ * getting already cached pose does not lock and computing missing pose only locks poses of its animation.
+ * @author Kotcrab
+ * @see Player#setPoseCache(PoseCache)
+ */
+public class PoseCache {
+	private static final Timeline.Key.Bone IDENTITY_ROOT = new Timeline.Key.Bone(new Point(0, 0));
+
+	private final int timeStep;
+	/** Never modified after it was published, new map is created when animation is added */
+	private volatile HashMap<Animation, Pose[]> poses = new HashMap<Animation, Pose[]>();
+
+	/** @param timeStep time step in animation time units (milliseconds) that animation time is quantized to */
+	public PoseCache (int timeStep) {
+		if (timeStep <= 0) throw new IllegalArgumentException("timeStep must be greater than 0");
+		this.timeStep = timeStep;
+	}
+
+	/** @return pose of animation at given time quantized to {@link #getTimeStep()}, pose is computed if needed */
+	public Pose get (Animation animation, int time) {
+		Pose[] animationPoses = poses.get(animation);
+		if (animationPoses == null) animationPoses = addAnimation(animation);
+
+		int index = Math.max(0, Math.min(time / timeStep, animationPoses.length - 1));
+		//pose fields are final so pose read without lock is always fully initialized
+		Pose pose = animationPoses[index];
+		if (pose == null) {
+			synchronized (animationPoses) {
+				pose = animationPoses[index];
+				if (pose == null) {
+					pose = new Pose(animation, Math.min(index * timeStep, animation.length));
+					animationPoses[index] = pose;
+				}
+			}
+		}
+
+		return pose;
+	}
+
+	private synchronized Pose[] addAnimation (Animation animation) {
+		Pose[] animationPoses = poses.get(animation);
+		if (animationPoses != null) return animationPoses;
+
+		animationPoses = new Pose[animation.length / timeStep + 1];
+		HashMap<Animation, Pose[]> newPoses = new HashMap<Animation, Pose[]>(poses);
+		newPoses.put(animation, animationPoses);
+		poses = newPoses;
+		return animationPoses;
+	}
+
+	/** Removes all cached poses */
+	public synchronized void clear () {
+		poses = new HashMap<Animation, Pose[]>();
+	}
+
+	public int getTimeStep () {
+		return timeStep;
+	}
+
+	/**
+	 * Tweened pose of animation at certain time. Bones and objects are stored in local coordinates of their parents,
+	 * pose must not be modified.
+	 */
+	public static class Pose {
+		final Mainline.Key currentKey;
+		final Timeline.Key.Object[] objects;
+		final boolean[] active;
+
+		Pose (Animation animation, int time) {
+			int timelines = animation.tweenedKeys.length;
+			objects = new Timeline.Key.Object[timelines];
+			active = new boolean[timelines];
+
+			if (animation instanceof TweenedAnimation) {
+				//tweened animation can only update its internal keys, it may be updated by players not using cache at the same time
+				synchronized (animation) {
+					animation.update(time, IDENTITY_ROOT);
+					currentKey = animation.currentKey;
+					copy(animation.tweenedKeys, animation.unmappedTweenedKeys);
+				}
+			} else {
+				Timeline.Key[] tweenedKeys = createKeys(timelines);
+				Timeline.Key[] unmappedTweenedKeys = createKeys(timelines);
+				currentKey = animation.tween(time, IDENTITY_ROOT, tweenedKeys, unmappedTweenedKeys);
+				copy(tweenedKeys, unmappedTweenedKeys);
+			}
+		}
+
+		private void copy (Timeline.Key[] tweenedKeys, Timeline.Key[] unmappedTweenedKeys) {
+			for (int i = 0; i < objects.length; i++) {
+				objects[i] = new Timeline.Key.Object(tweenedKeys[i].object());
+				active[i] = unmappedTweenedKeys[i].active;
+			}
+		}
+
+		private static Timeline.Key[] createKeys (int count) {
+			Timeline.Key[] keys = new Timeline.Key[count];
+			for (int i = 0; i < count; i++) {
+				keys[i] = new Timeline.Key(i);
+				keys[i].setObject(new Timeline.Key.Object(new Point(0, 0)));
+			}
+			return keys;
+		}
+	}
+}
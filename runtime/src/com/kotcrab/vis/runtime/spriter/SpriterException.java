@@ -29,4 +29,8 @@ public class SpriterException extends RuntimeException {
 		super(message);
 	}
 
+	public SpriterException (String message, Throwable cause) {
+		super(message, cause);
+	}
+
 }
@@ -0,0 +1,396 @@
+/*
+ * Copyright 2014-2016 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.runtime.spriter;
+
+import com.kotcrab.vis.runtime.spriter.Entity.CharacterMap;
+import com.kotcrab.vis.runtime.spriter.Entity.ObjectInfo;
+import com.kotcrab.vis.runtime.spriter.Entity.ObjectType;
+import com.kotcrab.vis.runtime.spriter.Mainline.Key.BoneRef;
+import com.kotcrab.vis.runtime.spriter.Mainline.Key.ObjectRef;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Parses SCML file and creates {@link Data} instance without building intermediate element tree. {@link XmlReader} is used
+ * in event driven mode, objects are built directly from element attributes as they are read. Produced {@link Data} is
+ * the same as the one produced by {@link SCMLReader}. Elements that are not used by runtime (for example event lines,
+ * sound lines and meta data) are skipped.
+ * @author Kotcrab
+ */
+public class StreamingSCMLReader {
+	protected Data data;
+
+	/**
+	 * Creates a new SCML reader and will parse all objects in the given stream.
+	 * @param stream the stream, it is not closed
+	 */
+	public StreamingSCMLReader (InputStream stream) {
+		try {
+			data = new Parser().load(stream);
+		} catch (IOException e) {
+			throw new SpriterException("Error reading SCML stream", e);
+		}
+	}
+
+	/**
+	 * Creates a new SCML reader and will parse the given xml string.
+	 * @param xml the xml string
+	 */
+	public StreamingSCMLReader (String xml) {
+		data = new Parser().load(xml);
+	}
+
+	/**
+	 * Returns the loaded SCML data.
+	 * @return the SCML data.
+	 */
+	public Data getData () {
+		return data;
+	}
+
+	private static class Parser extends XmlReader {
+		private final ArrayList<String> path = new ArrayList<String>(8);
+		private boolean openPending;
+		private String[] attributeNames = new String[16];
+		private String[] attributeValues = new String[16];
+		private int attributeCount;
+
+		private Data data;
+		private String scmlVersion, generator, generatorVersion;
+		private final ArrayList<Folder> folders = new ArrayList<Folder>();
+		private final ArrayList<Entity> entities = new ArrayList<Entity>();
+
+		private int folderId;
+		private String folderName;
+		private final ArrayList<File> files = new ArrayList<File>();
+
+		private int entityId;
+		private String entityName;
+		private final ArrayList<ObjectInfo> infos = new ArrayList<ObjectInfo>();
+		private final ArrayList<CharacterMap> charMaps = new ArrayList<CharacterMap>();
+		private final ArrayList<Animation> animations = new ArrayList<Animation>();
+		private ObjectInfo info;
+		private CharacterMap charMap;
+
+		private int animationId, animationLength;
+		private String animationName;
+		private boolean animationLooping;
+		private final ArrayList<Mainline.Key> mainlineKeys = new ArrayList<Mainline.Key>();
+		private final ArrayList<Timeline> timelines = new ArrayList<Timeline>();
+
+		private int mainlineKeyId, mainlineKeyTime;
+		private Curve mainlineKeyCurve;
+		private final ArrayList<BoneRef> boneRefs = new ArrayList<BoneRef>();
+		/** Object refs are created after all bone refs of key were read, stored as id, timeline, key, parent, zIndex */
+		private int[] objectRefs = new int[5 * 16];
+		private int objectRefCount;
+
+		private int timelineId;
+		private String timelineName;
+		private ObjectInfo timelineInfo;
+		private final ArrayList<Timeline.Key> timelineKeys = new ArrayList<Timeline.Key>();
+		private Timeline.Key timelineKey;
+
+		Data load (String xml) {
+			parse(xml);
+			return getData();
+		}
+
+		Data load (InputStream stream) throws IOException {
+			parse(stream);
+			return getData();
+		}
+
+		private Data getData () {
+			if (data == null) throw new SpriterException("SCML file does not contain spriter_data element");
+			return data;
+		}
+
+		@Override
+		protected void open (String name) {
+			if (openPending) start();
+			path.add(name);
+			openPending = true;
+			attributeCount = 0;
+		}
+
+		@Override
+		protected void attribute (String name, String value) {
+			if (attributeCount == attributeNames.length) {
+				attributeNames = Arrays.copyOf(attributeNames, attributeCount * 2);
+				attributeValues = Arrays.copyOf(attributeValues, attributeCount * 2);
+			}
+			attributeNames[attributeCount] = name;
+			attributeValues[attributeCount] = value;
+			attributeCount++;
+		}
+
+		@Override
+		protected void text (String text) {
+		}
+
+		@Override
+		protected void close () {
+			if (openPending) start();
+			end(path.get(path.size() - 1), parent(1));
+			path.remove(path.size() - 1);
+		}
+
+		/** @return name of element parent at given level, 1 is direct parent of current element */
+		private String parent (int level) {
+			int index = path.size() - 1 - level;
+			return index >= 0 ? path.get(index) : null;
+		}
+
+		/** Called when all attributes of current element were read */
+		private void start () {
+			openPending = false;
+			String name = path.get(path.size() - 1);
+			String parent = parent(1);
+
+			if (parent == null) {
+				if (name.equals("spriter_data")) {
+					scmlVersion = get("scml_version", null);
+					generator = get("generator", null);
+					generatorVersion = get("generator_version", null);
+				}
+			} else if (parent.equals("spriter_data")) {
+				if (name.equals("folder")) {
+					folderId = getInt("id");
+					folderName = get("name", "no_name_" + folders.size());
+				} else if (name.equals("entity")) {
+					entityId = getInt("id");
+					entityName = get("name", null);
+				}
+			} else if (parent.equals("folder")) {
+				if (name.equals("file")) {
+					files.add(new File(getInt("id"), get("name", null),
+							new Dimension(getInt("width", 0), getInt("height", 0)),
+							new Point(getFloat("pivot_x", 0f), getFloat("pivot_y", 1f))));
+				}
+			} else if (parent.equals("entity")) {
+				if (name.equals("obj_info")) {
+					info = new ObjectInfo(get("name", "info" + infos.size()),
+							ObjectType.getObjectInfoFor(get("type", "")),
+							new Dimension(getFloat("w", 0), getFloat("h", 0)));
+					infos.add(info);
+				} else if (name.equals("character_map")) {
+					charMap = new CharacterMap(getInt("id"), get("name", "charMap" + charMaps.size()));
+					charMaps.add(charMap);
+				} else if (name.equals("animation")) {
+					animationId = getInt("id");
+					animationName = get("name", null);
+					animationLength = getInt("length");
+					animationLooping = getBoolean("looping", true);
+				}
+			} else if (parent.equals("frames")) {
+				if (name.equals("i") && "obj_info".equals(parent(2)))
+					info.frames.add(new FileReference(getInt("folder", 0), getInt("file", 0)));
+			} else if (parent.equals("character_map")) {
+				if (name.equals("map")) {
+					int folder = getInt("folder");
+					int file = getInt("file");
+					charMap.put(new FileReference(folder, file),
+							new FileReference(getInt("target_folder", folder), getInt("target_file", file)));
+				}
+			} else if (parent.equals("animation")) {
+				if (name.equals("timeline")) {
+					timelineId = getInt("id");
+					timelineName = get("name", null);
+					ObjectType type = ObjectType.getObjectInfoFor(get("object_type", "sprite"));
+					timelineInfo = findInfo(timelineName);
+					if (timelineInfo == null) timelineInfo = new ObjectInfo(timelineName, type, new Dimension(0, 0));
+				}
+			} else if (parent.equals("mainline")) {
+				if (name.equals("key")) {
+					mainlineKeyId = getInt("id");
+					mainlineKeyTime = getInt("time", 0);
+					mainlineKeyCurve = readCurve();
+				}
+			} else if (parent.equals("timeline")) {
+				if (name.equals("key"))
+					timelineKey = new Timeline.Key(getInt("id"), getInt("time", 0), getInt("spin", 1), readCurve());
+			} else if (parent.equals("key")) {
+				String keyParent = parent(2);
+				if ("mainline".equals(keyParent)) {
+					if (name.equals("bone_ref")) {
+						int parentIndex = getInt("parent", -1);
+						BoneRef parentRef = parentIndex >= 0 && parentIndex < boneRefs.size() ? boneRefs.get(parentIndex) : null;
+						boneRefs.add(new BoneRef(getInt("id"), getInt("timeline"), getInt("key"), parentRef));
+					} else if (name.equals("object_ref")) {
+						addObjectRef(getInt("id"), getInt("timeline"), getInt("key"), getInt("parent", -1), getInt("z_index", 0));
+					}
+				} else if ("timeline".equals(keyParent) && timelineKey.object() == null) {
+					if (name.equals("bone") || name.equals("object")) timelineKey.setObject(readObject(name));
+				}
+			}
+		}
+
+		/** Called when element end tag was read */
+		private void end (String name, String parent) {
+			if (parent == null) {
+				if (name.equals("spriter_data")) {
+					data = new Data(scmlVersion, generator, generatorVersion, folders.size(), entities.size());
+					for (Folder folder : folders)
+						data.addFolder(folder);
+					for (Entity entity : entities)
+						data.addEntity(entity);
+				}
+			} else if (parent.equals("spriter_data")) {
+				if (name.equals("folder")) {
+					Folder folder = new Folder(folderId, folderName, files.size());
+					for (File file : files)
+						folder.addFile(file);
+					folders.add(folder);
+					files.clear();
+				} else if (name.equals("entity")) {
+					Entity entity = new Entity(entityId, entityName, animations.size(), charMaps.size(), infos.size());
+					for (ObjectInfo info : infos)
+						entity.addInfo(info);
+					for (CharacterMap charMap : charMaps)
+						entity.addCharacterMap(charMap);
+					for (Animation animation : animations)
+						entity.addAnimation(animation);
+					entities.add(entity);
+					infos.clear();
+					charMaps.clear();
+					animations.clear();
+				}
+			} else if (parent.equals("entity")) {
+				if (name.equals("animation")) {
+					Mainline mainline = new Mainline(mainlineKeys.size());
+					for (Mainline.Key key : mainlineKeys)
+						mainline.addKey(key);
+					Animation animation = new Animation(mainline, animationId, animationName, animationLength,
+							animationLooping, timelines.size());
+					for (Timeline timeline : timelines)
+						animation.addTimeline(timeline);
+					animation.prepare();
+					animations.add(animation);
+					mainlineKeys.clear();
+					timelines.clear();
+				}
+			} else if (parent.equals("mainline")) {
+				if (name.equals("key")) {
+					Mainline.Key key = new Mainline.Key(mainlineKeyId, mainlineKeyTime, mainlineKeyCurve,
+							boneRefs.size(), objectRefCount);
+					for (BoneRef ref : boneRefs)
+						key.addBoneRef(ref);
+					for (int i = 0; i < objectRefCount; i++) {
+						int offset = i * 5;
+						key.addObjectRef(new ObjectRef(objectRefs[offset], objectRefs[offset + 1], objectRefs[offset + 2],
+								key.getBoneRef(objectRefs[offset + 3]), objectRefs[offset + 4]));
+					}
+					Arrays.sort(key.objectRefs);
+					mainlineKeys.add(key);
+					boneRefs.clear();
+					objectRefCount = 0;
+				}
+			} else if (parent.equals("animation")) {
+				if (name.equals("timeline")) {
+					Timeline timeline = new Timeline(timelineId, timelineName, timelineInfo, timelineKeys.size());
+					for (Timeline.Key key : timelineKeys)
+						timeline.addKey(key);
+					timelines.add(timeline);
+					timelineKeys.clear();
+				}
+			} else if (parent.equals("timeline")) {
+				if (name.equals("key")) {
+					if (timelineKey.object() == null)
+						throw new SpriterException("Timeline key " + timelineKey.id + " of timeline " + timelineName + " has no bone or object");
+					timelineKeys.add(timelineKey);
+					timelineKey = null;
+				}
+			}
+		}
+
+		private Timeline.Key.Object readObject (String name) {
+			Point position = new Point(getFloat("x", 0f), getFloat("y", 0f));
+			Point scale = new Point(getFloat("scale_x", 1f), getFloat("scale_y", 1f));
+			Point pivot = new Point(getFloat("pivot_x", 0f), getFloat("pivot_y", (timelineInfo.type == ObjectType.Bone) ? .5f : 1f));
+			float angle = getFloat("angle", 0f), alpha = 1f;
+			int folder = -1, file = -1;
+			if (name.equals("object") && timelineInfo.type == ObjectType.Sprite) {
+				alpha = getFloat("a", 1f);
+				folder = getInt("folder", -1);
+				file = getInt("file", -1);
+				File f = folders.get(folder).getFile(file);
+				pivot = new Point(getFloat("pivot_x", f.pivot.x), getFloat("pivot_y", f.pivot.y));
+				timelineInfo.size.set(f.size);
+			}
+			return new Timeline.Key.Object(position, scale, pivot, angle, alpha, new FileReference(folder, file));
+		}
+
+		private Curve readCurve () {
+			Curve curve = new Curve();
+			curve.setType(Curve.getType(get("curve_type", "linear")));
+			curve.constraints.set(getFloat("c1", 0f), getFloat("c2", 0f), getFloat("c3", 0f), getFloat("c4", 0f));
+			return curve;
+		}
+
+		private ObjectInfo findInfo (String name) {
+			for (ObjectInfo info : infos)
+				if (info.name.equals(name)) return info;
+			return null;
+		}
+
+		private void addObjectRef (int id, int timeline, int key, int parent, int zIndex) {
+			int offset = objectRefCount * 5;
+			if (offset + 5 > objectRefs.length) objectRefs = Arrays.copyOf(objectRefs, objectRefs.length * 2);
+			objectRefs[offset] = id;
+			objectRefs[offset + 1] = timeline;
+			objectRefs[offset + 2] = key;
+			objectRefs[offset + 3] = parent;
+			objectRefs[offset + 4] = zIndex;
+			objectRefCount++;
+		}
+
+		private String get (String name, String defaultValue) {
+			for (int i = 0; i < attributeCount; i++)
+				if (attributeNames[i].equals(name)) return attributeValues[i];
+			return defaultValue;
+		}
+
+		private int getInt (String name) {
+			String value = get(name, null);
+			if (value == null)
+				throw new SpriterException("Element " + path.get(path.size() - 1) + " doesn't have attribute: " + name);
+			return Integer.parseInt(value);
+		}
+
+		private int getInt (String name, int defaultValue) {
+			String value = get(name, null);
+			if (value == null) return defaultValue;
+			return Integer.parseInt(value);
+		}
+
+		private float getFloat (String name, float defaultValue) {
+			String value = get(name, null);
+			if (value == null) return defaultValue;
+			return Float.parseFloat(value);
+		}
+
+		private boolean getBoolean (String name, boolean defaultValue) {
+			String value = get(name, null);
+			if (value == null) return defaultValue;
+			return Boolean.parseBoolean(value);
+		}
+	}
+}
@@ -89,6 +89,16 @@ public class TweenedAnimation extends Animation {
 		return this.currentKey;
 	}
 
+	/**
+	 * Not supported, tweened animation reads keys tweened by its two animations so it can only be updated using
+	 * {@link #update(int, Bone)}.
+	 * @throws SpriterException always
+	 */
+	@Override
+	public Mainline.Key tween (int time, Bone root, Timeline.Key[] tweenedKeys, Timeline.Key[] unmappedTweenedKeys) {
+		throw new SpriterException("TweenedAnimation can't be tweened into external keys, use update(int, Bone)");
+	}
+
 	@Override
 	public void update (int time, Bone root) {
 		super.currentKey = onFirstMainLine() ? anim1.currentKey : anim2.currentKey;
@@ -0,0 +1,281 @@
+/*
+ * Copyright 2014-2016 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.runtime.system;
+
+import com.artemis.Aspect;
+import com.artemis.BaseEntitySystem;
+import com.artemis.Entity;
+import com.artemis.utils.IntBag;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntIntMap;
+import com.badlogic.gdx.utils.LongMap;
+import com.kotcrab.vis.runtime.RuntimeConfiguration;
+import com.kotcrab.vis.runtime.component.ChunkEntity;
+import com.kotcrab.vis.runtime.data.ChunkData;
+import com.kotcrab.vis.runtime.data.EntityData;
+import com.kotcrab.vis.runtime.data.SceneData;
+import com.kotcrab.vis.runtime.scene.Scene;
+import com.kotcrab.vis.runtime.scene.SceneChunk;
+import com.kotcrab.vis.runtime.scene.SceneChunkLoader;
+import com.kotcrab.vis.runtime.scene.VisAssetManager;
+import com.kotcrab.vis.runtime.util.EntityEngine;
+import com.kotcrab.vis.runtime.util.EntityIndex;
+
+/**
+ * Streams chunks of scenes exported with scene chunks enabled, see {@link ChunkData}. Chunks covering camera view and
+ * {@link RuntimeConfiguration#chunkLoadDistance} chunks around it are loaded in background by {@link AssetManager} and
+ * their entities are built once chunk and all of its assets were loaded, at most one chunk is built per frame.
+ * Chunks that are more than one chunk further than load distance are unloaded, entities of such chunk are deleted and
+ * chunk is unloaded from {@link AssetManager} during next frame. Assets used only by unloaded chunks are released by
+ * {@link AssetManager} reference counting, assets shared with other chunks or with scene (such as scene texture atlas)
+ * stay loaded. Chunk file is read again each time chunk is loaded so changes made to chunk entities are not preserved.
+ * Entities built from chunks are marked with {@link ChunkEntity}, only those entities are tracked by this system.
+ * <p>
+ * While any chunk is loading this system calls {@link AssetManager#update()} once per frame, because scene
+ * {@link AssetManager} is used, other assets queued in it will be loaded in the meantime as well. Pass dedicated
+ * {@link AssetManager} to constructor if that is not desired, {@link SceneChunkLoader} must be registered in it.
+ * <p>
+ * Scene must be loaded by {@link VisAssetManager} or {@link SceneChunkLoader} must be registered manually. Entities that
+ * are not stored in any chunk are loaded together with scene and are never unloaded. Added to scene only if scene was
+ * split into chunks.
+ * @author Kotcrab
+ */
+public class ChunkStreamingSystem extends BaseEntitySystem {
+	private static final int UNLOADED = 0;
+	private static final int LOADING = 1;
+	private static final int LOADED = 2;
+
+	private CameraManager cameraManager;
+
+	private AssetManager manager;
+	private float chunkSize;
+	private int loadDistance;
+
+	private final Array<Chunk> chunks = new Array<Chunk>();
+	private final LongMap<Chunk> chunksByPosition = new LongMap<Chunk>();
+	private int chunksMinX = Integer.MAX_VALUE, chunksMinY = Integer.MAX_VALUE;
+	private int chunksMaxX = Integer.MIN_VALUE, chunksMaxY = Integer.MIN_VALUE;
+
+	private final Array<Chunk> activeChunks = new Array<Chunk>(false, 16);
+	private final Array<String> pendingUnloads = new Array<String>();
+	private int loadedCount;
+
+	/** Entities of loaded chunks, chunk index is used as handle */
+	private final EntityIndex chunkEntities = new EntityIndex();
+	private final IntIntMap entityChunks = new IntIntMap();
+
+	private int minX, minY, maxX, maxY;
+
+	public ChunkStreamingSystem (AssetManager manager, SceneData data, int loadDistance) {
+		super(Aspect.all(ChunkEntity.class));
+		this.manager = manager;
+		this.chunkSize = data.chunkSize;
+		this.loadDistance = loadDistance;
+
+		for (int i = 0; i < data.chunks.size; i++) {
+			ChunkData chunkData = data.chunks.get(i);
+			Chunk chunk = new Chunk(i, chunkData);
+			chunks.add(chunk);
+			chunksByPosition.put(getKey(chunkData.x, chunkData.y), chunk);
+
+			chunksMinX = Math.min(chunksMinX, chunkData.x);
+			chunksMinY = Math.min(chunksMinY, chunkData.y);
+			chunksMaxX = Math.max(chunksMaxX, chunkData.x);
+			chunksMaxY = Math.max(chunksMaxY, chunkData.y);
+		}
+
+		if (chunks.size > 0 && manager.getLoader(SceneChunk.class) == null) {
+			throw new IllegalStateException("Scene was exported with scene chunks but SceneChunkLoader is not registered, " +
+					"use VisAssetManager or register SceneChunkLoader in your AssetManager");
+		}
+	}
+
+	@Override
+	protected void removed (int entityId) {
+		int handle = entityChunks.remove(entityId, -1);
+		if (handle != -1) chunkEntities.remove(handle, entityId);
+	}
+
+	@Override
+	protected void processSystem () {
+		for (String path : pendingUnloads)
+			manager.unload(path);
+		pendingUnloads.clear();
+
+		if (chunks.size == 0) return;
+
+		updateRange();
+		unloadDistantChunks();
+		requestChunks();
+
+		if (activeChunks.size != loadedCount) manager.update();
+
+		for (Chunk chunk : activeChunks) {
+			if (chunk.state == LOADING && manager.isLoaded(chunk.data.path)) {
+				buildChunk(chunk);
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Loads and builds all chunks around camera, blocking until they are loaded. Entities of built chunks will be
+	 * inflated during next engine update. Called by {@link Scene#finishLoading()}.
+	 * @return true if any chunk was built
+	 */
+	public boolean finishLoading () {
+		if (chunks.size == 0) return false;
+
+		updateRange();
+		requestChunks();
+
+		boolean built = false;
+		for (Chunk chunk : activeChunks) {
+			if (chunk.state == LOADING) {
+				manager.finishLoadingAsset(chunk.data.path);
+				buildChunk(chunk);
+				built = true;
+			}
+		}
+
+		return built;
+	}
+
+	private void updateRange () {
+		OrthographicCamera camera = cameraManager.getCamera();
+		float halfWidth = camera.viewportWidth * camera.zoom / 2;
+		float halfHeight = camera.viewportHeight * camera.zoom / 2;
+
+		minX = MathUtils.floor((camera.position.x - halfWidth) / chunkSize) - loadDistance;
+		minY = MathUtils.floor((camera.position.y - halfHeight) / chunkSize) - loadDistance;
+		maxX = MathUtils.floor((camera.position.x + halfWidth) / chunkSize) + loadDistance;
+		maxY = MathUtils.floor((camera.position.y + halfHeight) / chunkSize) + loadDistance;
+	}
+
+	private void requestChunks () {
+		int startX = Math.max(minX, chunksMinX), endX = Math.min(maxX, chunksMaxX);
+		int startY = Math.max(minY, chunksMinY), endY = Math.min(maxY, chunksMaxY);
+
+		for (int x = startX; x <= endX; x++) {
+			for (int y = startY; y <= endY; y++) {
+				Chunk chunk = chunksByPosition.get(getKey(x, y));
+				if (chunk == null || chunk.state != UNLOADED) continue;
+
+				manager.load(chunk.data.path, SceneChunk.class);
+				chunk.state = LOADING;
+				activeChunks.add(chunk);
+			}
+		}
+	}
+
+	private void unloadDistantChunks () {
+		for (int i = activeChunks.size - 1; i >= 0; i--) {
+			Chunk chunk = activeChunks.get(i);
+			int x = chunk.data.x;
+			int y = chunk.data.y;
+
+			//one additional chunk is kept loaded so chunks on load range border are not reloaded when camera moves back and forth
+			if (x >= minX - 1 && x <= maxX + 1 && y >= minY - 1 && y <= maxY + 1) continue;
+
+			unloadChunk(chunk);
+			activeChunks.removeIndex(i);
+		}
+	}
+
+	private void buildChunk (Chunk chunk) {
+		EntityEngine engine = (EntityEngine) world;
+		SceneChunk sceneChunk = manager.get(chunk.data.path, SceneChunk.class);
+
+		for (EntityData entityData : sceneChunk.getEntities()) {
+			Entity entity = entityData.build(engine);
+			//marker is committed together with built components, it doesn't cause separate composition change
+			entity.edit().create(ChunkEntity.class);
+			int entityId = entity.getId();
+			chunkEntities.add(chunk.index, entityId);
+			entityChunks.put(entityId, chunk.index);
+		}
+
+		chunk.state = LOADED;
+		loadedCount++;
+	}
+
+	private void unloadChunk (Chunk chunk) {
+		if (chunk.state == LOADED) {
+			IntBag entities = chunkEntities.get(chunk.index);
+			if (entities != null) {
+				int[] data = entities.getData();
+				for (int i = 0, s = entities.size(); i < s; i++)
+					world.delete(data[i]);
+			}
+
+			//entities are removed after this system is processed, assets can't be disposed before that
+			pendingUnloads.add(chunk.data.path);
+			loadedCount--;
+		} else if (chunk.state == LOADING) {
+			manager.unload(chunk.data.path);
+		}
+
+		chunk.state = UNLOADED;
+	}
+
+	private static long getKey (int x, int y) {
+		return ((long) x << 32) | (y & 0xffffffffL);
+	}
+
+	/** @return amount of chunks whose entities are built */
+	public int getLoadedChunkCount () {
+		return loadedCount;
+	}
+
+	/** @return total amount of scene chunks */
+	public int getChunkCount () {
+		return chunks.size;
+	}
+
+	public int getLoadDistance () {
+		return loadDistance;
+	}
+
+	public void setLoadDistance (int loadDistance) {
+		this.loadDistance = loadDistance;
+	}
+
+	@Override
+	protected void dispose () {
+		for (String path : pendingUnloads)
+			manager.unload(path);
+		pendingUnloads.clear();
+
+		for (Chunk chunk : activeChunks)
+			if (chunk.state != UNLOADED) manager.unload(chunk.data.path);
+		activeChunks.clear();
+	}
+
+	private static class Chunk {
+		final int index;
+		final ChunkData data;
+		int state = UNLOADED;
+
+		public Chunk (int index, ChunkData data) {
+			this.index = index;
+			this.data = data;
+		}
+	}
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2014-2016 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.kotcrab.vis.runtime.system;
+
+import com.artemis.Aspect;
+import com.artemis.BaseEntitySystem;
+import com.artemis.Component;
+import com.artemis.ComponentMapper;
+import com.artemis.utils.Bag;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.Pool;
+import com.badlogic.gdx.utils.ReflectionPool;
+import com.kotcrab.vis.runtime.component.Tint;
+import com.kotcrab.vis.runtime.component.Transform;
+import com.kotcrab.vis.runtime.component.VisSprite;
+import com.kotcrab.vis.runtime.component.VisText;
+import com.kotcrab.vis.runtime.system.inflater.SpriteInflater;
+import com.kotcrab.vis.runtime.system.inflater.TextInflater;
+
+/**
+ * Pools {@link VisSprite}, {@link VisText}, {@link Tint} and {@link Transform} components so components of deleted
+ * entities can be reused by new entities. When this system is present {@link SpriteInflater}, {@link TextInflater},
+ * {@link PrefabFactory} and {@link ParticleEffectPoolManager} obtain those components using {@link #create(int, Class)}
+ * instead of allocating them.
+ * <p>
+ * Components obtained from pool are returned to it when their entity is deleted. They are reset and freed during next
+ * engine update so other systems can still access them while entity is being removed. Components that were added to
+ * entity directly (for example components deserialized with scene) are never pooled, the same applies to pooled
+ * component which was removed or replaced before its entity was deleted. References to components of deleted entities
+ * must not be kept.
+ * @author Kotcrab
+ */
+public class ComponentPoolManager extends BaseEntitySystem {
+	public static final int DEFAULT_MAX_POOL_SIZE = 1024;
+
+	private final ObjectMap<Class<?>, TypePool> pools = new ObjectMap<Class<?>, TypePool>();
+	private final Array<TypePool> poolsArray = new Array<TypePool>();
+
+	public ComponentPoolManager () {
+		this(DEFAULT_MAX_POOL_SIZE);
+	}
+
+	/** @param maxPoolSize maximum amount of free components of single type kept in pool */
+	public ComponentPoolManager (int maxPoolSize) {
+		super(Aspect.one(VisSprite.class, VisText.class, Tint.class, Transform.class));
+		addPool(VisSprite.class, maxPoolSize);
+		addPool(VisText.class, maxPoolSize);
+		addPool(Tint.class, maxPoolSize);
+		addPool(Transform.class, maxPoolSize);
+	}
+
+	private void addPool (Class<? extends Component> type, int maxPoolSize) {
+		TypePool pool = new TypePool(type, maxPoolSize);
+		pools.put(type, pool);
+		poolsArray.add(pool);
+	}
+
+	@Override
+	protected void initialize () {
+		for (TypePool pool : poolsArray)
+			pool.mapper = world.getMapper(pool.type);
+	}
+
+	@Override
+	protected void removed (int entityId) {
+		for (TypePool pool : poolsArray)
+			release(pool, entityId);
+	}
+
+	@Override
+	protected void processSystem () {
+		for (TypePool pool : poolsArray) {
+			if (pool.pendingFree.size == 0) continue;
+			pool.pool.freeAll(pool.pendingFree);
+			pool.pendingFree.clear();
+		}
+	}
+
+	/**
+	 * Obtains component of given type from pool and adds it to entity. If entity already had pooled component of that
+	 * type, previous component is returned to pool.
+	 * @return component added to entity, note that it may have been used by other entity before
+	 * @throws IllegalArgumentException if components of given type aren't pooled, see {@link #isPooled(Class)}
+	 */
+	@SuppressWarnings("unchecked")
+	public <T extends Component> T create (int entityId, Class<T> type) {
+		TypePool pool = pools.get(type);
+		if (pool == null) throw new IllegalArgumentException("Components of this type are not pooled: " + type.getName());
+
+		release(pool, entityId);
+		Component component = pool.pool.obtain();
+		pool.owned.set(entityId, component);
+		world.edit(entityId).add(component);
+		return (T) component;
+	}
+
+	private void release (TypePool pool, int entityId) {
+		Component owned = pool.owned.safeGet(entityId);
+		if (owned == null) return;
+		pool.owned.set(entityId, null);
+		if (pool.mapper.getSafe(entityId) == owned) pool.pendingFree.add(owned);
+	}
+
+	/** @return true if components of given type can be obtained using {@link #create(int, Class)} */
+	public boolean isPooled (Class<? extends Component> type) {
+		return pools.containsKey(type);
+	}
+
+	/** @return amount of free components of given type available in pool */
+	public int getFreeCount (Class<? extends Component> type) {
+		TypePool pool = pools.get(type);
+		return pool == null ? 0 : pool.pool.getFree();
+	}
+
+	private static class TypePool {
+		final Class<? extends Component> type;
+		final Pool<Component> pool;
+		ComponentMapper<? extends Component> mapper;
+
+		/** Components obtained from pool indexed by entity id */
+		final Bag<Component> owned = new Bag<Component>();
+		final Array<Component> pendingFree = new Array<Component>(false, 16);
+
+		@SuppressWarnings("unchecked")
+		public TypePool (Class<? extends Component> type, int maxPoolSize) {
+			this.type = type;
+			this.pool = new ReflectionPool(type, 16, maxPoolSize);
+		}
+	}
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2014-2016 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.runtime.system;
+
+import com.artemis.Aspect;
+import com.artemis.BaseEntitySystem;
+import com.artemis.ComponentMapper;
+import com.artemis.EntityEdit;
+import com.artemis.annotations.Wire;
+import com.artemis.utils.Bag;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.graphics.g2d.ParticleEffect;
+import com.badlogic.gdx.graphics.g2d.ParticleEffectPool;
+import com.badlogic.gdx.graphics.g2d.ParticleEffectPool.PooledEffect;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Bits;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.kotcrab.vis.runtime.component.Layer;
+import com.kotcrab.vis.runtime.component.Renderable;
+import com.kotcrab.vis.runtime.component.Transform;
+import com.kotcrab.vis.runtime.component.VisParticle;
+import com.kotcrab.vis.runtime.system.inflater.ParticleInflater;
+import com.kotcrab.vis.runtime.system.render.ParticleRenderSystem;
+
+/**
+ * Manages pools of {@link ParticleEffect} keyed by effect asset path. When this system is present {@link ParticleInflater}
+ * borrows effects from pools instead of copying them for every entity and effects are returned to their pool when entity
+ * is deleted or it's {@link VisParticle} is removed. Pooled effects are already scaled to scene units.
+ * <p>
+ * Particle entities can be also spawned during runtime using {@link #spawn(String, float, float, int, int, boolean)}
+ * and removed using {@link #despawn(int)}. Effect asset must be loaded by {@link AssetManager} used by scene. If
+ * {@link ComponentPoolManager} is present {@link Transform} of spawned entity is obtained from its pool.
+ * @author Kotcrab
+ */
+@Wire(failOnNull = false)
+public class ParticleEffectPoolManager extends BaseEntitySystem {
+	public static final int DEFAULT_MAX_POOL_SIZE = 64;
+
+	private ComponentMapper<VisParticle> particleCm;
+
+	private ComponentPoolManager componentPoolManager;
+
+	private AssetManager manager;
+	private float pixelsPerUnit;
+	private int maxPoolSize;
+
+	private final ObjectMap<String, ParticleEffectPool> pools = new ObjectMap<String, ParticleEffectPool>();
+
+	private final Bag<PooledEffect> borrowedEffects = new Bag<PooledEffect>();
+	private final Bits despawnOnComplete = new Bits();
+
+	public ParticleEffectPoolManager (AssetManager manager, float pixelsPerUnit) {
+		this(manager, pixelsPerUnit, DEFAULT_MAX_POOL_SIZE);
+	}
+
+	/** @param maxPoolSize maximum amount of free effects kept in single pool */
+	public ParticleEffectPoolManager (AssetManager manager, float pixelsPerUnit, int maxPoolSize) {
+		super(Aspect.all(VisParticle.class));
+		this.manager = manager;
+		this.pixelsPerUnit = pixelsPerUnit;
+		this.maxPoolSize = maxPoolSize;
+	}
+
+	@Override
+	protected void processSystem () {
+	}
+
+	@Override
+	protected void removed (int entityId) {
+		PooledEffect effect = borrowedEffects.safeGet(entityId);
+		if (effect == null) return;
+		borrowedEffects.set(entityId, null);
+		despawnOnComplete.clear(entityId);
+		effect.free();
+	}
+
+	private ParticleEffectPool getPool (String effectPath) {
+		ParticleEffectPool pool = pools.get(effectPath);
+
+		if (pool == null) {
+			ParticleEffect effect = manager.get(effectPath, ParticleEffect.class);
+			if (effect == null) throw new IllegalStateException("Particle effect is not loaded: " + effectPath);
+
+			ParticleEffect template = new ParticleEffect(effect);
+			template.scaleEffect(1f / pixelsPerUnit);
+
+			pool = new ParticleEffectPool(template, 4, maxPoolSize);
+			pools.put(effectPath, pool);
+		}
+
+		return pool;
+	}
+
+	/**
+	 * Creates effects ahead of time so later {@link #obtain(String)} calls won't need to copy effect.
+	 * @param count amount of free effects that should be available in pool, limited by max pool size
+	 */
+	public void preload (String effectPath, int count) {
+		ParticleEffectPool pool = getPool(effectPath);
+		count = Math.min(count, pool.max);
+
+		if (pool.getFree() >= count) return;
+
+		Array<PooledEffect> effects = new Array<PooledEffect>(count);
+		for (int i = 0; i < count; i++)
+			effects.add(pool.obtain());
+		pool.freeAll(effects);
+	}
+
+	/**
+	 * Obtains effect from pool. Effect obtained this way is not tracked by this manager, it must be returned using
+	 * {@link PooledEffect#free()} when no longer needed. Use {@link #assign(int, String)} to assign pooled effect to entity.
+	 */
+	public PooledEffect obtain (String effectPath) {
+		return getPool(effectPath).obtain();
+	}
+
+	/**
+	 * Assigns pooled effect to entity {@link VisParticle}, effect will be returned to pool when entity is deleted or
+	 * it's {@link VisParticle} is removed. Entity must already have {@link VisParticle}.
+	 * @return effect assigned to entity
+	 */
+	public PooledEffect assign (int entityId, String effectPath) {
+		PooledEffect effect = getPool(effectPath).obtain();
+
+		PooledEffect previous = borrowedEffects.safeGet(entityId);
+		if (previous != null) previous.free();
+		borrowedEffects.set(entityId, effect);
+
+		particleCm.get(entityId).setEffect(effect);
+		return effect;
+	}
+
+	/**
+	 * Creates new particle entity using pooled effect. Effect is started automatically.
+	 * @param effectPath path of effect asset, the same as used to load effect using {@link AssetManager}
+	 * @param despawnOnComplete if true entity will be deleted after effect has completed, note that continuous effects
+	 * never complete
+	 * @return id of created entity
+	 */
+	public int spawn (String effectPath, float x, float y, int layerId, int zIndex, boolean despawnOnComplete) {
+		int entityId = world.create();
+		EntityEdit edit = world.edit(entityId);
+		if (componentPoolManager != null)
+			componentPoolManager.create(entityId, Transform.class).setPosition(x, y);
+		else
+			edit.add(new Transform(x, y));
+		edit.add(new Layer(layerId));
+		edit.add(new Renderable(zIndex));
+		edit.create(VisParticle.class);
+
+		assign(entityId, effectPath);
+		if (despawnOnComplete) this.despawnOnComplete.set(entityId);
+
+		return entityId;
+	}
+
+	/** Deletes particle entity, it's effect is returned to pool. */
+	public void despawn (int entityId) {
+		world.delete(entityId);
+	}
+
+	/**
+	 * Called by {@link ParticleRenderSystem} when effect of entity has completed.
+	 * @return true if entity was spawned with despawn on complete flag and was deleted, false if effect should be
+	 * restarted
+	 */
+	public boolean effectCompleted (int entityId) {
+		if (despawnOnComplete.get(entityId) == false) return false;
+		despawnOnComplete.clear(entityId);
+		world.delete(entityId);
+		return true;
+	}
+
+	/** @return true if entity effect was borrowed from pool */
+	public boolean isPooled (int entityId) {
+		return borrowedEffects.safeGet(entityId) != null;
+	}
+
+	/** @return amount of free effects in pool for given effect, 0 if pool was not created yet */
+	public int getFreeCount (String effectPath) {
+		ParticleEffectPool pool = pools.get(effectPath);
+		return pool == null ? 0 : pool.getFree();
+	}
+
+	@Override
+	protected void dispose () {
+		for (ParticleEffectPool pool : pools.values())
+			pool.clear();
+		pools.clear();
+	}
+}
@@ -0,0 +1,345 @@
+/*
+ * Copyright 2014-2016 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.runtime.system;
+
+import com.artemis.*;
+import com.artemis.annotations.Wire;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.reflect.ClassReflection;
+import com.badlogic.gdx.utils.reflect.Field;
+import com.badlogic.gdx.utils.reflect.ReflectionException;
+import com.kotcrab.vis.runtime.RuntimeConfiguration;
+import com.kotcrab.vis.runtime.assets.PathAsset;
+import com.kotcrab.vis.runtime.component.*;
+import com.kotcrab.vis.runtime.component.proto.ProtoComponent;
+import com.kotcrab.vis.runtime.component.proto.ProtoShader;
+import com.kotcrab.vis.runtime.component.proto.ProtoVisSound;
+import com.kotcrab.vis.runtime.component.proto.ProtoVisSprite;
+import com.kotcrab.vis.runtime.component.proto.ProtoVisText;
+import com.kotcrab.vis.runtime.data.EntityData;
+import com.kotcrab.vis.runtime.scene.Prefab;
+import com.kotcrab.vis.runtime.system.inflater.SpriteInflater;
+import com.kotcrab.vis.runtime.system.inflater.TextInflater;
+
+/**
+ * Creates entities from registered {@link Prefab}s. When prefab is registered its sprite, text, sound and shader proto
+ * components are inflated once and the resulting components are used as template, entities are then created using
+ * artemis {@link Archetype} and template components are copied into components of new entity. Creating entity this
+ * way skips {@link EntityData#build(com.kotcrab.vis.runtime.util.EntityEngine)} and inflater systems. Other proto
+ * components (such as particles, music and spriter animations) are copied as they are and inflated by their inflater
+ * systems as usual.
+ * <p>
+ * Components are copied by {@link ComponentCopier}s, runtime components holding mutable state have their own copiers.
+ * Components without registered copier are shallow copied, all of their non static and non final fields are assigned
+ * to new component. Custom copiers can be registered using {@link #registerCopier(Class, ComponentCopier)}.
+ * <p>
+ * Assets used by prefab must be loaded before prefab is registered, prefabs loaded by {@link AssetManager} using
+ * {@link com.kotcrab.vis.runtime.scene.PrefabLoader} have their assets loaded as dependencies.
+ * <p>
+ * If {@link ComponentPoolManager} is present components pooled by it are obtained from pool when entity is created.
+ * Pooled component can't be swapped into component created by archetype without changing entity composition, so
+ * archetype is not used for prefabs with pooled components, all of their components are added in single entity edit.
+ * This trades archetype creation for not allocating components, prefabs containing {@link Transform}, {@link Tint},
+ * {@link VisSprite} or {@link VisText} only use archetypes when {@link ComponentPoolManager} is not enabled.
+ * @author Kotcrab
+ */
+@Wire(failOnNull = false)
+public class PrefabFactory extends Manager {
+	private ComponentMapper<Transform> transformCm;
+
+	private ComponentPoolManager componentPoolManager;
+
+	private RuntimeConfiguration configuration;
+	private AssetManager manager;
+	private float pixelsPerUnit;
+
+	private final ObjectMap<String, PrefabTemplate> templates = new ObjectMap<String, PrefabTemplate>();
+	private final ObjectMap<Class<?>, ComponentCopier<?>> copiers = new ObjectMap<Class<?>, ComponentCopier<?>>();
+	private final ObjectMap<Class<?>, Field[]> fieldsCache = new ObjectMap<Class<?>, Field[]>();
+
+	public PrefabFactory (RuntimeConfiguration configuration, AssetManager manager, float pixelsPerUnit) {
+		this.configuration = configuration;
+		this.manager = manager;
+		this.pixelsPerUnit = pixelsPerUnit;
+		registerDefaultCopiers();
+	}
+
+	/**
+	 * Registers prefab under given name, replacing previously registered prefab with the same name. Prefab assets
+	 * must be loaded.
+	 */
+	public void register (String name, Prefab prefab) {
+		templates.put(name, createTemplate(prefab));
+	}
+
+	public boolean isRegistered (String name) {
+		return templates.containsKey(name);
+	}
+
+	/** Removes prefab registered under given name, entities already created from this prefab are not affected */
+	public void unregister (String name) {
+		templates.remove(name);
+	}
+
+	/**
+	 * Creates new entity from prefab registered under given name. Entity will be added to engine during next engine
+	 * update.
+	 * @return id of created entity
+	 */
+	public int create (String name) {
+		PrefabTemplate template = templates.get(name);
+		if (template == null) throw new IllegalStateException("Prefab is not registered: " + name);
+
+		int entityId = template.archetype != null ? world.create(template.archetype) : world.create();
+		EntityEdit edit = template.archetype != null ? null : world.edit(entityId);
+		Component[] components = template.components;
+		for (int i = 0; i < components.length; i++) {
+			Component target;
+			if (template.pooled[i])
+				target = componentPoolManager.create(entityId, components[i].getClass());
+			else if (edit != null)
+				target = edit.create(components[i].getClass());
+			else
+				target = template.mappers[i].get(entityId);
+
+			copy(template.copiers[i], components[i], target);
+		}
+
+		return entityId;
+	}
+
+	/**
+	 * Creates new entity from prefab registered under given name and sets its position. Prefab entity must have
+	 * {@link Transform} component.
+	 * @return id of created entity
+	 */
+	public int create (String name, float x, float y) {
+		int entityId = create(name);
+		transformCm.get(entityId).setPosition(x, y);
+		return entityId;
+	}
+
+	/**
+	 * Registers copier used to copy components of given type from prefab template to created entity. Replaces
+	 * default copier if it was registered for that type. Copier is only used by prefabs registered after it.
+	 */
+	public <T extends Component> void registerCopier (Class<T> type, ComponentCopier<T> copier) {
+		copiers.put(type, copier);
+	}
+
+	private PrefabTemplate createTemplate (Prefab prefab) {
+		Array<Component> dataComponents = prefab.getEntityData().components;
+
+		AssetReference assetRef = null;
+		for (Component component : dataComponents) {
+			if (component instanceof AssetReference) assetRef = (AssetReference) component;
+		}
+
+		Array<Component> components = new Array<Component>();
+		boolean assetUsedByInflater = false;
+		boolean assetResolved = false;
+
+		for (Component component : dataComponents) {
+			if (component instanceof AssetReference) continue;
+
+			if (component instanceof ProtoVisSprite && assetRef != null) {
+				VisSprite sprite = new VisSprite(SpriteInflater.findRegion(manager, prefab.getTextureAtlasPath(), assetRef.asset));
+				((ProtoVisSprite) component).fill(sprite);
+				components.add(sprite);
+				assetResolved = true;
+
+			} else if (component instanceof ProtoVisText && assetRef != null) {
+				ProtoVisText protoText = (ProtoVisText) component;
+				VisText text = new VisText(TextInflater.getFont(manager, assetRef.asset, pixelsPerUnit), protoText.text);
+				protoText.fill(text);
+				components.add(text);
+				assetResolved = true;
+
+			} else if (component instanceof ProtoVisSound && assetRef != null) {
+				String path = ((PathAsset) assetRef.asset).getPath();
+				Sound sound = manager.get(path, Sound.class);
+				if (sound == null) throw new IllegalStateException("Can't load prefab, sound is missing: " + path);
+				components.add(new VisSound(sound));
+				assetResolved = true;
+
+			} else if (component instanceof ProtoShader) {
+				ProtoShader protoShader = (ProtoShader) component;
+				if (protoShader.asset == null) continue;
+				String shaderPath = protoShader.asset.getPathWithoutExtension();
+				ShaderProgram program = manager.get(shaderPath, ShaderProgram.class);
+				if (program == null) throw new IllegalStateException("Can't load prefab, shader program is missing: " + shaderPath);
+				components.add(new Shader(protoShader.asset, program));
+
+			} else {
+				//other proto components will be inflated by their inflaters
+				if (component instanceof ProtoComponent) assetUsedByInflater = true;
+				components.add(component);
+			}
+		}
+
+		if (assetRef != null && (assetUsedByInflater || assetResolved == false || configuration.removeAssetsComponentAfterInflating == false))
+			components.add(assetRef);
+
+		return new PrefabTemplate(components);
+	}
+
+	@SuppressWarnings("unchecked")
+	private void copy (ComponentCopier copier, Component source, Component target) {
+		if (copier != null)
+			copier.copy(source, target);
+		else
+			shallowCopy(source, target);
+	}
+
+	private void shallowCopy (Component source, Component target) {
+		try {
+			for (Field field : getFields(source.getClass()))
+				field.set(target, field.get(source));
+		} catch (ReflectionException e) {
+			throw new IllegalStateException("Can't copy component: " + source.getClass().getName(), e);
+		}
+	}
+
+	private Field[] getFields (Class<?> type) {
+		Field[] cached = fieldsCache.get(type);
+		if (cached != null) return cached;
+
+		Array<Field> fields = new Array<Field>(Field.class);
+		Class<?> nextClass = type;
+		while (nextClass != Component.class && nextClass != Object.class && nextClass != null) {
+			for (Field field : ClassReflection.getDeclaredFields(nextClass)) {
+				if (field.isStatic() || field.isFinal() || field.isSynthetic()) continue;
+				if (field.isAccessible() == false) field.setAccessible(true);
+				fields.add(field);
+			}
+			nextClass = nextClass.getSuperclass();
+		}
+
+		Field[] result = fields.toArray();
+		fieldsCache.put(type, result);
+		return result;
+	}
+
+	private void registerDefaultCopiers () {
+		registerCopier(Transform.class, new ComponentCopier<Transform>() {
+			@Override
+			public void copy (Transform source, Transform target) {
+				target.setPosition(source.getX(), source.getY());
+				target.setScale(source.getScaleX(), source.getScaleY());
+				target.setRotation(source.getRotation());
+			}
+		});
+
+		registerCopier(Origin.class, new ComponentCopier<Origin>() {
+			@Override
+			public void copy (Origin source, Origin target) {
+				target.setOrigin(source.getOriginX(), source.getOriginY());
+			}
+		});
+
+		registerCopier(Tint.class, new ComponentCopier<Tint>() {
+			@Override
+			public void copy (Tint source, Tint target) {
+				target.set(source);
+			}
+		});
+
+		registerCopier(Renderable.class, new ComponentCopier<Renderable>() {
+			@Override
+			public void copy (Renderable source, Renderable target) {
+				target.setZIndex(source.getZIndex());
+			}
+		});
+
+		registerCopier(Layer.class, new ComponentCopier<Layer>() {
+			@Override
+			public void copy (Layer source, Layer target) {
+				target.setLayerId(source.getLayerId());
+			}
+		});
+
+		registerCopier(VisGroup.class, new ComponentCopier<VisGroup>() {
+			@Override
+			public void copy (VisGroup source, VisGroup target) {
+				target.groupIds.clear();
+				target.groupIds.addAll(source.groupIds);
+			}
+		});
+
+		registerCopier(Variables.class, new ComponentCopier<Variables>() {
+			@Override
+			public void copy (Variables source, Variables target) {
+				target.setFrom(source);
+			}
+		});
+
+		registerCopier(VisSprite.class, new ComponentCopier<VisSprite>() {
+			@Override
+			public void copy (VisSprite source, VisSprite target) {
+				target.setRegion(source.getRegion());
+				target.setSize(source.getWidth(), source.getHeight());
+			}
+		});
+
+		registerCopier(VisText.class, new ComponentCopier<VisText>() {
+			@Override
+			public void copy (VisText source, VisText target) {
+				target.init(source.getCache().getFont(), source.getText());
+				target.setAutoSetOriginToCenter(source.isAutoSetOriginToCenter());
+				target.setDistanceFieldShaderEnabled(source.isDistanceFieldShaderEnabled());
+			}
+		});
+	}
+
+	/** Copies state of prefab template component into component of created entity */
+	public interface ComponentCopier<T extends Component> {
+		void copy (T source, T target);
+	}
+
+	private class PrefabTemplate {
+		/** Null if template has pooled components */
+		final Archetype archetype;
+		final Component[] components;
+		final ComponentMapper[] mappers;
+		final ComponentCopier[] copiers;
+		/** Whether component is obtained from {@link ComponentPoolManager} instead of being created by archetype */
+		final boolean[] pooled;
+
+		public PrefabTemplate (Array<Component> components) {
+			this.components = components.toArray(Component.class);
+			mappers = new ComponentMapper[this.components.length];
+			copiers = new ComponentCopier[this.components.length];
+			pooled = new boolean[this.components.length];
+
+			ArchetypeBuilder builder = new ArchetypeBuilder();
+			boolean hasPooled = false;
+			for (int i = 0; i < this.components.length; i++) {
+				Class<? extends Component> type = this.components[i].getClass();
+				pooled[i] = componentPoolManager != null && componentPoolManager.isPooled(type);
+				hasPooled |= pooled[i];
+				builder.add(type);
+				mappers[i] = world.getMapper(type);
+				copiers[i] = PrefabFactory.this.copiers.get(type);
+			}
+			archetype = hasPooled ? null : builder.build(world);
+		}
+	}
+}
@@ -18,25 +18,39 @@ package com.kotcrab.vis.runtime.system;
 
 import com.artemis.*;
 import com.artemis.EntitySubscription.SubscriptionListener;
+import com.artemis.utils.Bag;
 import com.artemis.utils.IntBag;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntIntMap;
 import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.ObjectIntMap;
 import com.kotcrab.vis.runtime.component.VisGroup;
+import com.kotcrab.vis.runtime.util.EntityIndex;
 
 /**
- * Allows to get entities by their string id that was set in VisEditor
+ * Allows to get entities by their group id that was set in VisEditor. Group ids are interned as dense int handles,
+ * entities of every group are stored as entity ids in {@link IntBag}. Methods returning {@link IntBag} don't throw
+ * and don't allocate, use them in code that runs every frame.
  * @author Kotcrab
  */
 public class VisGroupManager extends Manager {
+	private static final int NO_GROUP = Integer.MIN_VALUE;
+	private static final int NO_HANDLE = -1;
+
 	private ComponentMapper<VisGroup> groupCm;
 	private AspectSubscriptionManager subscriptionManager;
 
-	private IntMap<String> groupsIds;
-	private IntMap<Array<Entity>> groups = new IntMap<Array<Entity>>();
+	private final ObjectIntMap<String> groupsStringIds = new ObjectIntMap<String>();
+
+	private final IntIntMap handles = new IntIntMap();
+	private final EntityIndex index = new EntityIndex();
+	/** Groups that entity was added to, entity is removed from them even if its groups were changed in the meantime */
+	private final Bag<IntArray> entityGroups = new Bag<IntArray>();
 
 	public VisGroupManager (IntMap<String> groupsIds) {
-		this.groupsIds = groupsIds;
+		for (IntMap.Entry<String> entry : groupsIds.entries())
+			groupsStringIds.put(entry.value, entry.key);
 	}
 
 	@Override
@@ -51,20 +65,16 @@ public class VisGroupManager extends Manager {
 					int entityId = data[i];
 
 					IntArray groupIds = groupCm.get(entityId).groupIds;
-
-					for (int j = 0; j < groupIds.size; j++) {
-						int gid = groupIds.get(j);
-
-						Array<Entity> groupList = groups.get(gid);
-
-						if (groupList == null) {
-							groupList = new Array<Entity>();
-							groups.put(gid, groupList);
-						}
-
-						groupList.add(world.getEntity(entityId));
+					IntArray addedGroups = entityGroups.safeGet(entityId);
+					if (addedGroups == null) {
+						addedGroups = new IntArray(groupIds.size);
+						entityGroups.set(entityId, addedGroups);
 					}
+					addedGroups.clear();
+					addedGroups.addAll(groupIds);
 
+					for (int j = 0; j < groupIds.size; j++)
+						index.add(getHandle(groupIds.get(j)), entityId);
 				}
 			}
 
@@ -74,32 +84,64 @@ public class VisGroupManager extends Manager {
 				for (int i = 0; i < entities.size(); i++) {
 					int entityId = data[i];
 
-					IntArray groupIds = groupCm.get(entityId).groupIds;
-
-					for (int j = 0; j < groupIds.size; j++) {
-						int gid = groupIds.get(j);
+					IntArray addedGroups = entityGroups.safeGet(entityId);
+					if (addedGroups == null) continue;
 
-						Array<Entity> groupList = groups.get(gid);
-						groupList.removeValue(world.getEntity(entityId), true);
-
-						if (groupList.size == 0) {
-							groups.remove(gid);
-						}
-					}
+					for (int j = 0; j < addedGroups.size; j++)
+						index.remove(handles.get(addedGroups.get(j), NO_HANDLE), entityId);
+					addedGroups.clear();
 				}
 			}
 		});
 	}
 
+	private int getHandle (int groupId) {
+		int handle = handles.get(groupId, NO_HANDLE);
+		if (handle == NO_HANDLE) {
+			handle = handles.size;
+			handles.put(groupId, handle);
+		}
+		return handle;
+	}
+
+	/**
+	 * @return ids of all entities in given group or null if group has no entities. Returned bag is owned by manager
+	 * and must not be modified, order of entities is not preserved when entities are removed.
+	 */
+	public IntBag getEntityIds (int groupId) {
+		int handle = handles.get(groupId, NO_HANDLE);
+		if (handle == NO_HANDLE) return null;
+		return index.get(handle);
+	}
+
+	/** @return ids of all entities in given group or null if group does not exist or has no entities, see {@link #getEntityIds(int)} */
+	public IntBag getEntityIds (String stringId) {
+		int gid = groupsStringIds.get(stringId, NO_GROUP);
+		if (gid == NO_GROUP) return null;
+		return getEntityIds(gid);
+	}
+
+	/** @return entities in given group or null if group has no entities. Returned array is created on every call. */
 	public Array<Entity> get (int intId) {
-		return groups.get(intId);
+		IntBag entityIds = getEntityIds(intId);
+		if (entityIds == null) return null;
+
+		Array<Entity> entities = new Array<Entity>(entityIds.size());
+		int[] data = entityIds.getData();
+		for (int i = 0, s = entityIds.size(); i < s; i++)
+			entities.add(world.getEntity(data[i]));
+		return entities;
 	}
 
+	/**
+	 * @return entities in given group or null if group has no entities. Returned array is created on every call.
+	 * @throws IllegalStateException if group with given id does not exist
+	 */
 	public Array<Entity> get (String stringId) {
-		int gid = groupsIds.findKey(stringId, false, Integer.MIN_VALUE);
-		if (gid == Integer.MIN_VALUE)
+		int gid = groupsStringIds.get(stringId, NO_GROUP);
+		if (gid == NO_GROUP)
 			throw new IllegalStateException("Group with ID: " + stringId + " does not exists!");
 
-		return groups.get(gid);
+		return get(gid);
 	}
 }
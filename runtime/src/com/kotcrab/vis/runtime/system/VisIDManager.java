@@ -20,18 +20,26 @@ import com.artemis.*;
 import com.artemis.EntitySubscription.SubscriptionListener;
 import com.artemis.utils.IntBag;
 import com.badlogic.gdx.utils.Array;
-import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.ObjectIntMap;
 import com.kotcrab.vis.runtime.component.VisID;
+import com.kotcrab.vis.runtime.util.EntityIndex;
 
 /**
- * Allows to get entities by their string id that was set in VisEditor
+ * Allows to get entities by their string id that was set in VisEditor. Every string id is interned as int handle (see
+ * {@link #getHandle(String)}), entities are stored as entity ids in {@link IntBag} per handle. Methods returning
+ * {@link IntBag} or entity id don't throw and don't allocate, use them in code that runs every frame.
  * @author Kotcrab
  */
 public class VisIDManager extends Manager {
+	public static final int NO_HANDLE = -1;
+
 	private ComponentMapper<VisID> idCm;
 	private AspectSubscriptionManager subscriptionManager;
 
-	private ObjectMap<String, Array<Entity>> idStore = new ObjectMap<String, Array<Entity>>();
+	private final ObjectIntMap<String> handles = new ObjectIntMap<String>();
+	private final EntityIndex index = new EntityIndex();
+	/** Handle that entity was stored under, entity is removed using it even if its id was changed in the meantime */
+	private int[] entityHandles = new int[64];
 
 	@Override
 	protected void initialize () {
@@ -43,16 +51,11 @@ public class VisIDManager extends Manager {
 				int[] data = entities.getData();
 				for (int i = 0; i < entities.size(); i++) {
 					int entityId = data[i];
-					String id = idCm.get(entityId).id;
-
-					Array<Entity> idList = idStore.get(id);
-
-					if (idList == null) {
-						idList = new Array<Entity>();
-						idStore.put(id, idList);
-					}
+					int handle = getHandle(idCm.get(entityId).id);
+					index.add(handle, entityId);
 
-					idList.add(world.getEntity(entityId));
+					ensureCapacity(entityId);
+					entityHandles[entityId] = handle;
 				}
 			}
 
@@ -61,33 +64,84 @@ public class VisIDManager extends Manager {
 				int[] data = entities.getData();
 				for (int i = 0; i < entities.size(); i++) {
 					int entityId = data[i];
-					String id = idCm.get(entityId).id;
-
-					Array<Entity> idList = idStore.get(id);
-					idList.removeValue(world.getEntity(entityId), true);
-
-					if (idList.size == 0) {
-						idStore.remove(id);
-					}
+					index.remove(entityHandles[entityId], entityId);
 				}
 			}
 		});
 	}
 
+	private void ensureCapacity (int entityId) {
+		if (entityId < entityHandles.length) return;
+		int[] newHandles = new int[Math.max(entityId + 1, entityHandles.length * 2)];
+		System.arraycopy(entityHandles, 0, newHandles, 0, entityHandles.length);
+		entityHandles = newHandles;
+	}
+
+	/** @return handle of given string id, new handle is created if this id wasn't used before */
+	public int getHandle (String id) {
+		int handle = handles.get(id, NO_HANDLE);
+		if (handle == NO_HANDLE) {
+			handle = handles.size;
+			handles.put(id, handle);
+		}
+		return handle;
+	}
+
+	/** @return handle of given string id or {@link #NO_HANDLE} if no entity ever used this id */
+	public int findHandle (String id) {
+		return handles.get(id, NO_HANDLE);
+	}
+
+	/**
+	 * @return ids of all entities with given id handle or null if there aren't any. Returned bag is owned by manager and
+	 * must not be modified, order of entities is not preserved when entities are removed.
+	 */
+	public IntBag getEntityIds (int handle) {
+		if (handle == NO_HANDLE) return null;
+		return index.get(handle);
+	}
+
+	/** @return ids of all entities with given id or null if there aren't any, see {@link #getEntityIds(int)} */
+	public IntBag getEntityIds (String id) {
+		return getEntityIds(findHandle(id));
+	}
+
+	/** @return id of first entity with given id handle or -1 if there isn't any */
+	public int getEntityId (int handle) {
+		IntBag entities = getEntityIds(handle);
+		return entities == null ? -1 : entities.get(0);
+	}
+
+	/** @return id of first entity with given id or -1 if there isn't any */
+	public int getEntityId (String id) {
+		return getEntityId(findHandle(id));
+	}
+
 	/**
 	 * Returns entity for given ID. If multiple entities has the same id only the first one will be returned.
 	 * @see #getMultiple(String)
+	 * @see #getEntityId(String)
 	 */
 	public Entity get (String id) {
-		return getMultiple(id).get(0);
+		return world.getEntity(getRequiredEntityIds(id).get(0));
 	}
 
 	/**
-	 * Returns all entities with this ID.
+	 * Returns all entities with this ID. Returned array is created on every call.
 	 * @see #get(String)
+	 * @see #getEntityIds(String)
 	 */
 	public Array<Entity> getMultiple (String id) {
-		Array<Entity> entities = idStore.get(id);
+		IntBag entityIds = getRequiredEntityIds(id);
+		Array<Entity> entities = new Array<Entity>(entityIds.size());
+		int[] data = entityIds.getData();
+		for (int i = 0, s = entityIds.size(); i < s; i++)
+			entities.add(world.getEntity(data[i]));
+		return entities;
+	}
+
+	private IntBag getRequiredEntityIds (String id) {
+		IntBag entities = getEntityIds(id);
 		if (entities == null) throw new IllegalStateException("Could not find any entity with ID: " + id);
 		return entities;
 	}
@@ -18,6 +18,7 @@ package com.kotcrab.vis.runtime.system.inflater;
 
 import com.artemis.Aspect;
 import com.artemis.ComponentMapper;
+import com.artemis.annotations.Wire;
 import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.graphics.g2d.ParticleEffect;
 import com.kotcrab.vis.runtime.RuntimeConfiguration;
@@ -25,16 +26,21 @@ import com.kotcrab.vis.runtime.assets.PathAsset;
 import com.kotcrab.vis.runtime.component.AssetReference;
 import com.kotcrab.vis.runtime.component.VisParticle;
 import com.kotcrab.vis.runtime.component.proto.ProtoVisParticle;
+import com.kotcrab.vis.runtime.system.ParticleEffectPoolManager;
 
 /**
- * Inflates {@link ProtoVisParticle} into {@link VisParticle}
+ * Inflates {@link ProtoVisParticle} into {@link VisParticle}. If {@link ParticleEffectPoolManager} is present effects
+ * are borrowed from it's pools instead of being copied for every entity.
  * @author Kotcrab
  */
+@Wire(failOnNull = false)
 public class ParticleInflater extends InflaterSystem {
 	private ComponentMapper<AssetReference> assetCm;
 	private ComponentMapper<VisParticle> partcielCm;
 	private ComponentMapper<ProtoVisParticle> protoCm;
 
+	private ParticleEffectPoolManager effectPoolManager;
+
 	private RuntimeConfiguration configuration;
 	private AssetManager manager;
 
@@ -59,9 +65,14 @@ public class ParticleInflater extends InflaterSystem {
 			throw new IllegalStateException("Can't load scene, particle effect is missing: " + path.getPath());
 
 		VisParticle particle = partcielCm.create(entityId);
-		particle.setEffect(new ParticleEffect(effect));
 		protoComponent.fill(particle);
-		particle.getEffect().scaleEffect(1f / pixelsPerUnit);
+
+		if (effectPoolManager != null) {
+			effectPoolManager.assign(entityId, path.getPath());
+		} else {
+			particle.setEffect(new ParticleEffect(effect));
+			particle.getEffect().scaleEffect(1f / pixelsPerUnit);
+		}
 
 		if (configuration.removeAssetsComponentAfterInflating) assetCm.remove(entityId);
 		protoCm.remove(entityId);
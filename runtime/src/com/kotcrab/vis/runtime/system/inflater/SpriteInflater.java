@@ -18,6 +18,7 @@ package com.kotcrab.vis.runtime.system.inflater;
 
 import com.artemis.Aspect;
 import com.artemis.ComponentMapper;
+import com.artemis.annotations.Wire;
 import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
@@ -28,15 +29,23 @@ import com.kotcrab.vis.runtime.assets.VisAssetDescriptor;
 import com.kotcrab.vis.runtime.component.AssetReference;
 import com.kotcrab.vis.runtime.component.VisSprite;
 import com.kotcrab.vis.runtime.component.proto.ProtoVisSprite;
+import com.kotcrab.vis.runtime.system.ComponentPoolManager;
 import com.kotcrab.vis.runtime.util.PathUtils;
 import com.kotcrab.vis.runtime.util.UnsupportedAssetDescriptorException;
 
-/** @author Kotcrab */
+/**
+ * Inflates {@link ProtoVisSprite} into {@link VisSprite}. If {@link ComponentPoolManager} is present sprites are obtained
+ * from its pool.
+ * @author Kotcrab
+ */
+@Wire(failOnNull = false)
 public class SpriteInflater extends InflaterSystem {
 	private ComponentMapper<VisSprite> spriteCm;
 	private ComponentMapper<ProtoVisSprite> protoCm;
 	private ComponentMapper<AssetReference> assetCm;
 
+	private ComponentPoolManager componentPoolManager;
+
 	private RuntimeConfiguration configuration;
 	private AssetManager manager;
 	private String sceneTextureAtlasPath;
@@ -50,8 +59,20 @@ public class SpriteInflater extends InflaterSystem {
 
 	@Override
 	public void inserted (int entityId) {
-		VisAssetDescriptor asset = assetCm.get(entityId).asset;
+		TextureRegion region = findRegion(manager, sceneTextureAtlasPath, assetCm.get(entityId).asset);
 
+		VisSprite sprite = componentPoolManager != null ? componentPoolManager.create(entityId, VisSprite.class) : spriteCm.create(entityId);
+		sprite.setRegion(region);
+		protoCm.get(entityId).fill(sprite);
+		protoCm.remove(entityId);
+		if (configuration.removeAssetsComponentAfterInflating) assetCm.remove(entityId);
+	}
+
+	/**
+	 * @param sceneTextureAtlasPath path of scene texture atlas used by {@link TextureRegionAsset}
+	 * @return region of sprite asset, atlas must be loaded by manager
+	 */
+	public static TextureRegion findRegion (AssetManager manager, String sceneTextureAtlasPath, VisAssetDescriptor asset) {
 		String atlasPath;
 		String atlasRegion;
 
@@ -72,11 +93,6 @@ public class SpriteInflater extends InflaterSystem {
 		TextureAtlas atlas = manager.get(atlasPath, TextureAtlas.class);
 		TextureRegion region = atlas.findRegion(atlasRegion);
 		if (region == null) throw new IllegalStateException("Can't load scene, gfx asset is missing: " + atlasRegion);
-
-		VisSprite sprite = spriteCm.create(entityId);
-		sprite.setRegion(region);
-		protoCm.get(entityId).fill(sprite);
-		protoCm.remove(entityId);
-		if (configuration.removeAssetsComponentAfterInflating) assetCm.remove(entityId);
+		return region;
 	}
 }
@@ -19,10 +19,14 @@ package com.kotcrab.vis.runtime.system.inflater;
 import com.artemis.Aspect;
 import com.artemis.ComponentMapper;
 import com.badlogic.gdx.assets.AssetManager;
+import com.kotcrab.vis.runtime.RuntimeConfiguration;
 import com.kotcrab.vis.runtime.assets.SpriterAsset;
 import com.kotcrab.vis.runtime.component.AssetReference;
+import com.kotcrab.vis.runtime.component.BakedSpriter;
 import com.kotcrab.vis.runtime.component.VisSpriter;
 import com.kotcrab.vis.runtime.component.proto.ProtoVisSpriter;
+import com.kotcrab.vis.runtime.data.BakedSpriterData;
+import com.kotcrab.vis.runtime.spriter.PoseCache;
 import com.kotcrab.vis.runtime.util.SpriterData;
 
 /** @author Kotcrab */
@@ -31,10 +35,18 @@ public class SpriterInflater extends InflaterSystem {
 	private ComponentMapper<AssetReference> assetCm;
 
 	private AssetManager manager;
+	private PoseCache poseCache;
+	private boolean useBakedAnimations;
 
 	public SpriterInflater (AssetManager manager) {
+		this(new RuntimeConfiguration(), manager);
+	}
+
+	public SpriterInflater (RuntimeConfiguration configuration, AssetManager manager) {
 		super(Aspect.all(ProtoVisSpriter.class, AssetReference.class));
 		this.manager = manager;
+		if (configuration.spriterPoseCacheTimeStep > 0) poseCache = new PoseCache(configuration.spriterPoseCacheTimeStep);
+		useBakedAnimations = configuration.useBakedSpriterAnimations;
 	}
 
 	@Override
@@ -43,13 +55,36 @@ public class SpriterInflater extends InflaterSystem {
 		ProtoVisSpriter protoComponent = protoCm.get(entityId);
 
 		SpriterAsset asset = (SpriterAsset) assetRef.asset;
+
+		String bakedPath = BakedSpriterData.getPath(asset.getPath());
+		if (useBakedAnimations && manager.isLoaded(bakedPath, BakedSpriterData.class)) {
+			inflateBaked(entityId, manager.get(bakedPath, BakedSpriterData.class), protoComponent);
+			return;
+		}
+
 		SpriterData data = manager.get(asset.getPath(), SpriterData.class);
 		if (data == null)
 			throw new IllegalStateException("Can't load scene, spriter data is missing: " + asset.getPath());
 		VisSpriter component = new VisSpriter(data.loader, data.data, protoComponent.scale);
+		if (poseCache != null) component.getPlayer().setPoseCache(poseCache);
 		protoComponent.fill(component);
 		world.getEntity(entityId).edit().add(component);
 
 		protoCm.remove(entityId);
 	}
+
+	private void inflateBaked (int entityId, BakedSpriterData data, ProtoVisSpriter protoComponent) {
+		BakedSpriter component = new BakedSpriter(data, protoComponent.scale);
+		component.setFlip(protoComponent.flipX, protoComponent.flipY);
+		component.setAnimation(Math.min(protoComponent.defaultAnimation, data.animations.size - 1));
+		component.setAnimationPlaying(protoComponent.playOnStart);
+		world.getEntity(entityId).edit().add(component);
+
+		protoCm.remove(entityId);
+	}
+
+	/** @return pose cache shared by inflated spriter players or null if pose cache is disabled */
+	public PoseCache getPoseCache () {
+		return poseCache;
+	}
 }
@@ -18,6 +18,7 @@ package com.kotcrab.vis.runtime.system.inflater;
 
 import com.artemis.Aspect;
 import com.artemis.ComponentMapper;
+import com.artemis.annotations.Wire;
 import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.kotcrab.vis.runtime.RuntimeConfiguration;
@@ -28,17 +29,22 @@ import com.kotcrab.vis.runtime.assets.VisAssetDescriptor;
 import com.kotcrab.vis.runtime.component.AssetReference;
 import com.kotcrab.vis.runtime.component.VisText;
 import com.kotcrab.vis.runtime.component.proto.ProtoVisText;
+import com.kotcrab.vis.runtime.system.ComponentPoolManager;
 import com.kotcrab.vis.runtime.util.UnsupportedAssetDescriptorException;
 
 /**
- * Inflates {@link ProtoVisText} into {@link VisText}
+ * Inflates {@link ProtoVisText} into {@link VisText}. If {@link ComponentPoolManager} is present texts are obtained from
+ * its pool, pooled text keeps its font cache when it's reused with the same font.
  * @author Kotcrab
  */
+@Wire(failOnNull = false)
 public class TextInflater extends InflaterSystem {
 	private ComponentMapper<AssetReference> assetCm;
 	private ComponentMapper<VisText> textCm;
 	private ComponentMapper<ProtoVisText> protoCm;
 
+	private ComponentPoolManager componentPoolManager;
+
 	private RuntimeConfiguration configuration;
 	private AssetManager manager;
 	private float pixelsPerUnit;
@@ -55,6 +61,20 @@ public class TextInflater extends InflaterSystem {
 		VisAssetDescriptor asset = assetCm.get(entityId).asset;
 		ProtoVisText protoComponent = protoCm.get(entityId);
 
+		BitmapFont font = getFont(manager, asset, pixelsPerUnit);
+
+		VisText text = componentPoolManager != null ? componentPoolManager.create(entityId, VisText.class) : textCm.create(entityId);
+
+		text.init(font, protoComponent.text);
+		protoComponent.fill(text);
+		//text.setFontSize(fontSize); //font size must be handled manually from SceneLoader because it is not a public property for TextEntity
+
+		if (configuration.removeAssetsComponentAfterInflating) assetCm.remove(entityId);
+		protoCm.remove(entityId);
+	}
+
+	/** @return font of text asset scaled to scene units, font must be loaded by manager */
+	public static BitmapFont getFont (AssetManager manager, VisAssetDescriptor asset, float pixelsPerUnit) {
 		BitmapFont font;
 
 		if (asset instanceof BmpFontAsset) {
@@ -71,14 +91,6 @@ public class TextInflater extends InflaterSystem {
 
 		font.setUseIntegerPositions(false);
 		font.getData().setScale(1f / pixelsPerUnit);
-
-		VisText text = textCm.create(entityId);
-
-		text.init(font, protoComponent.text);
-		protoComponent.fill(text);
-		//text.setFontSize(fontSize); //font size must be handled manually from SceneLoader because it is not a public property for TextEntity
-
-		if (configuration.removeAssetsComponentAfterInflating) assetCm.remove(entityId);
-		protoCm.remove(entityId);
+		return font;
 	}
 }
@@ -17,35 +17,203 @@
 package com.kotcrab.vis.runtime.system.physics;
 
 import com.artemis.Aspect;
+import com.artemis.BaseEntitySystem;
 import com.artemis.ComponentMapper;
 import com.artemis.Entity;
-import com.artemis.systems.EntityProcessingSystem;
+import com.artemis.utils.Bag;
+import com.artemis.utils.IntBag;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.BodyDef.BodyType;
+import com.badlogic.gdx.physics.box2d.JointEdge;
+import com.badlogic.gdx.utils.Array;
 import com.kotcrab.vis.runtime.component.PhysicsBody;
 import com.kotcrab.vis.runtime.component.PhysicsSprite;
 import com.kotcrab.vis.runtime.component.Transform;
 import com.kotcrab.vis.runtime.component.VisSprite;
 
-/** @author Kotcrab */
-public class PhysicsSpriteUpdateSystem extends EntityProcessingSystem {
+/**
+ * Updates {@link Transform} of physics sprites from their bodies. If {@link PhysicsSystem} is interpolating then position
+ * and rotation are blended between state before last physics step and current state of body.
+ * <p>
+ * Only bodies that may be moving are processed. Body is dropped from processed bodies when it is first seen sleeping
+ * (after it was interpolated to its final position) and static bodies are dropped after they were synchronized once.
+ * Sleeping body is added back when {@link PhysicsSystem} reports contact involving it, bodies connected to it by joints
+ * are added together with it. This system can't detect changes made to sleeping or static body directly (for example by
+ * calling {@link Body#setTransform(Vector2, float)}, {@link Body#setLinearVelocity(Vector2)} or
+ * {@link Body#setAwake(boolean)}), after such change {@link #invalidate(int)} must be called.
+ * @author Kotcrab
+ */
+public class PhysicsSpriteUpdateSystem extends BaseEntitySystem {
+	private PhysicsSystem physicsSystem;
+
 	private ComponentMapper<PhysicsBody> physicsCm;
 	private ComponentMapper<PhysicsSprite> physicsSpriteCm;
 	private ComponentMapper<Transform> transformCm;
 
+	private final Bag<BodyState> states = new Bag<BodyState>();
+	/** Entities whose bodies may be moving, removed entities are dropped from it during next {@link #processSystem()} */
+	private final IntBag activeEntities = new IntBag();
+
 	public PhysicsSpriteUpdateSystem () {
 		super(Aspect.all(PhysicsBody.class, PhysicsSprite.class, VisSprite.class));
 	}
 
 	@Override
-	protected void process (Entity e) {
-		PhysicsBody physics = physicsCm.get(e);
-		if (physics.body == null) return;
-		PhysicsSprite physicsSprite = physicsSpriteCm.get(e);
-		Transform transform = transformCm.get(e);
-
-		Vector2 bodyPos = physics.body.getPosition();
-		transform.setPosition(bodyPos.x, bodyPos.y);
-		transform.setRotation(physicsSprite.originalRotation + physics.body.getAngle() * MathUtils.radiansToDegrees);
+	protected void inserted (int entityId) {
+		BodyState state = states.safeGet(entityId);
+		if (state == null) {
+			state = new BodyState();
+			states.set(entityId, state);
+		}
+
+		state.reset();
+		state.removed = false;
+		activate(entityId, state);
+	}
+
+	@Override
+	protected void removed (int entityId) {
+		states.get(entityId).removed = true;
+	}
+
+	/**
+	 * Forces synchronization of entity transform with it's body during next frame. Must be called after transform or
+	 * velocity of sleeping or static body was modified, after sleeping body was woken up directly or when type of body
+	 * was changed.
+	 */
+	public void invalidate (int entityId) {
+		BodyState state = states.safeGet(entityId);
+		if (state == null || state.removed) return;
+		state.reset();
+		activate(entityId, state);
+	}
+
+	/**
+	 * Called by {@link PhysicsSystem} when body is involved in contact. Adds body back to processed bodies if it was
+	 * sleeping, along with bodies connected to it by joints which are woken up together with it.
+	 */
+	void wake (Body body) {
+		Object userData = body.getUserData();
+		if (userData instanceof Entity == false) return;
+
+		int entityId = ((Entity) userData).getId();
+		BodyState state = states.safeGet(entityId);
+		if (state == null || state.removed || state.staticBody || state.active) return;
+		activate(entityId, state);
+
+		Array<JointEdge> joints = body.getJointList();
+		for (int i = 0; i < joints.size; i++) {
+			wake(joints.get(i).other);
+		}
+	}
+
+	private void activate (int entityId, BodyState state) {
+		if (state.active) return;
+		state.active = true;
+		activeEntities.add(entityId);
+	}
+
+	/** Called by {@link PhysicsSystem} before last physics step of frame, stores current state of bodies. */
+	void savePreviousState () {
+		int[] data = activeEntities.getData();
+		for (int i = 0, s = activeEntities.size(); i < s; i++) {
+			int entityId = data[i];
+			BodyState state = states.get(entityId);
+			if (state.removed || state.staticBody) continue;
+
+			Body body = physicsCm.get(entityId).body;
+			if (body == null) continue;
+
+			Vector2 bodyPos = body.getPosition();
+			state.previousX = bodyPos.x;
+			state.previousY = bodyPos.y;
+			state.previousAngle = body.getAngle();
+			state.hasPrevious = true;
+		}
+	}
+
+	@Override
+	protected void processSystem () {
+		int[] data = activeEntities.getData();
+		int size = activeEntities.size();
+		int kept = 0;
+		for (int i = 0; i < size; i++) {
+			int entityId = data[i];
+			BodyState state = states.get(entityId);
+			if (state.removed == false && process(entityId, state)) {
+				data[kept++] = entityId;
+			} else {
+				state.active = false;
+				state.hasPrevious = false;
+			}
+		}
+		activeEntities.setSize(kept);
+	}
+
+	/** @return true if body may still move and must be processed during next frame */
+	private boolean process (int entityId, BodyState state) {
+		Body body = physicsCm.get(entityId).body;
+		if (body == null) return true;
+
+		boolean awake = body.isAwake();
+
+		Vector2 bodyPos = body.getPosition();
+		float x = bodyPos.x;
+		float y = bodyPos.y;
+		float angle = body.getAngle();
+
+		boolean interpolated = false;
+		if (physicsSystem.isInterpolating() && state.hasPrevious) {
+			float alpha = physicsSystem.getAlpha();
+			interpolated = state.previousX != x || state.previousY != y || state.previousAngle != angle;
+			x = MathUtils.lerp(state.previousX, x, alpha);
+			y = MathUtils.lerp(state.previousY, y, alpha);
+			angle = MathUtils.lerp(state.previousAngle, angle, alpha);
+		}
+
+		if (state.synced == false || state.x != x || state.y != y || state.angle != angle) {
+			Transform transform = transformCm.get(entityId);
+			transform.setPosition(x, y);
+			transform.setRotation(physicsSpriteCm.get(entityId).originalRotation + angle * MathUtils.radiansToDegrees);
+			state.x = x;
+			state.y = y;
+			state.angle = angle;
+			state.synced = true;
+		}
+
+		if (state.staticChecked == false) {
+			state.staticChecked = true;
+			state.staticBody = body.getType() == BodyType.StaticBody;
+		}
+
+		if (state.staticBody) return false;
+
+		//sleeping body won't move until it's woken up, unless it's still interpolated towards its final position
+		return awake || interpolated;
+	}
+
+	private static class BodyState {
+		float previousX, previousY, previousAngle;
+		boolean hasPrevious;
+
+		/** Last values written to transform */
+		float x, y, angle;
+		boolean synced;
+
+		boolean staticChecked;
+		boolean staticBody;
+
+		/** True if entity is stored in active entities bag */
+		boolean active;
+		boolean removed;
+
+		void reset () {
+			hasPrevious = false;
+			synced = false;
+			staticChecked = false;
+			staticBody = false;
+		}
 	}
 }
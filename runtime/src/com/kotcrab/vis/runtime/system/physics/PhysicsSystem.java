@@ -17,31 +17,67 @@
 package com.kotcrab.vis.runtime.system.physics;
 
 import com.artemis.BaseSystem;
+import com.artemis.annotations.Wire;
 import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Contact;
+import com.badlogic.gdx.physics.box2d.ContactImpulse;
+import com.badlogic.gdx.physics.box2d.ContactListener;
+import com.badlogic.gdx.physics.box2d.Manifold;
 import com.badlogic.gdx.physics.box2d.World;
 import com.kotcrab.vis.runtime.data.PhysicsSettings;
 
-/** @author Kotcrab */
+/**
+ * Steps Box2d world using fixed time step configured in {@link PhysicsSettings}. Time left in accumulator after stepping
+ * is exposed as interpolation alpha, which is used by {@link PhysicsSpriteUpdateSystem} to blend sprite positions between
+ * two last physics steps.
+ * <p>
+ * Contacts are used to notify {@link PhysicsSpriteUpdateSystem} about sleeping bodies that were woken up, because of that
+ * {@link World#setContactListener(ContactListener)} must not be called on world returned from {@link #getPhysicsWorld()},
+ * use {@link #setContactListener(ContactListener)} instead.
+ * @author Kotcrab
+ */
+@Wire(failOnNull = false)
 public class PhysicsSystem extends BaseSystem {
-	private static final float TIME_STEP = 1f / 60f;
-	private static final int VELOCITY_ITERATIONS = 6;
-	private static final int POSITION_ITERATIONS = 2;
+	private PhysicsSpriteUpdateSystem spriteUpdateSystem;
+
+	private final float timeStep;
+	private final int velocityIterations;
+	private final int positionIterations;
+	private final boolean interpolate;
 
 	private World box2dWorld;
+	private ContactListener contactListener;
 	private float timeAccumulator;
+	private float alpha;
 
 	public PhysicsSystem (PhysicsSettings physicsSettings) {
+		if (physicsSettings.stepRate <= 0)
+			throw new IllegalArgumentException("Physics step rate must be greater than 0, got: " + physicsSettings.stepRate);
+
 		box2dWorld = new World(new Vector2(physicsSettings.gravityX, physicsSettings.gravityY), physicsSettings.allowSleep);
+		box2dWorld.setContactListener(new ContactDispatcher());
+		timeStep = 1f / physicsSettings.stepRate;
+		velocityIterations = physicsSettings.velocityIterations;
+		positionIterations = physicsSettings.positionIterations;
+		interpolate = physicsSettings.interpolate;
 	}
 
 	@Override
 	protected void processSystem () {
 		float frameTime = Math.min(world.delta, 0.25f);
 		timeAccumulator += frameTime;
-		while (timeAccumulator >= TIME_STEP) {
-			box2dWorld.step(TIME_STEP, VELOCITY_ITERATIONS, POSITION_ITERATIONS);
-			timeAccumulator -= TIME_STEP;
+		while (timeAccumulator >= timeStep) {
+			timeAccumulator -= timeStep;
+
+			//only state before last step of this frame is needed for interpolation
+			if (interpolate && spriteUpdateSystem != null && timeAccumulator < timeStep) {
+				spriteUpdateSystem.savePreviousState();
+			}
+
+			box2dWorld.step(timeStep, velocityIterations, positionIterations);
 		}
+
+		alpha = timeAccumulator / timeStep;
 	}
 
 	@Override
@@ -52,4 +88,65 @@ public class PhysicsSystem extends BaseSystem {
 	public World getPhysicsWorld () {
 		return box2dWorld;
 	}
+
+	/** Sets listener that will receive contact events of physics world, may be null. */
+	public void setContactListener (ContactListener contactListener) {
+		this.contactListener = contactListener;
+	}
+
+	public ContactListener getContactListener () {
+		return contactListener;
+	}
+
+	/** @return true if rendered physics sprites positions are interpolated between physics steps */
+	public boolean isInterpolating () {
+		return interpolate;
+	}
+
+	/**
+	 * @return interpolation factor between previous and current physics state, in range from 0 to 1. This is the fraction
+	 * of time step that was left in accumulator after stepping world during last frame.
+	 */
+	public float getAlpha () {
+		return alpha;
+	}
+
+	public float getTimeStep () {
+		return timeStep;
+	}
+
+	/**
+	 * Wakes bodies in {@link PhysicsSpriteUpdateSystem} on contacts and forwards events to user listener. Pre solve is
+	 * called for every touching contact with at least one awake body, so sleeping body pushed by awake body is seen
+	 * even when it was touching it before falling asleep.
+	 */
+	private class ContactDispatcher implements ContactListener {
+		@Override
+		public void beginContact (Contact contact) {
+			wakeBodies(contact);
+			if (contactListener != null) contactListener.beginContact(contact);
+		}
+
+		@Override
+		public void endContact (Contact contact) {
+			if (contactListener != null) contactListener.endContact(contact);
+		}
+
+		@Override
+		public void preSolve (Contact contact, Manifold oldManifold) {
+			wakeBodies(contact);
+			if (contactListener != null) contactListener.preSolve(contact, oldManifold);
+		}
+
+		@Override
+		public void postSolve (Contact contact, ContactImpulse impulse) {
+			if (contactListener != null) contactListener.postSolve(contact, impulse);
+		}
+
+		private void wakeBodies (Contact contact) {
+			if (spriteUpdateSystem == null) return;
+			spriteUpdateSystem.wake(contact.getFixtureA().getBody());
+			spriteUpdateSystem.wake(contact.getFixtureB().getBody());
+		}
+	}
 }
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2014-2016 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.runtime.system.render;
+
+import com.artemis.Aspect;
+import com.artemis.ComponentMapper;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.kotcrab.vis.runtime.component.BakedSpriter;
+import com.kotcrab.vis.runtime.component.Invisible;
+import com.kotcrab.vis.runtime.component.Transform;
+import com.kotcrab.vis.runtime.data.BakedSpriterData.BakedAnimation;
+import com.kotcrab.vis.runtime.system.delegate.DeferredEntityProcessingSystem;
+import com.kotcrab.vis.runtime.system.delegate.EntityProcessPrincipal;
+
+/**
+ * Renders {@link BakedSpriter} animations. Only current frame is picked and drawn, no tweening is done during runtime.
+ * @author Kotcrab
+ */
+public class BakedSpriterRenderSystem extends DeferredEntityProcessingSystem {
+	private ComponentMapper<BakedSpriter> spriterCm;
+	private ComponentMapper<Transform> transformCm;
+
+	private RenderBatchingSystem renderBatchingSystem;
+	private Batch batch;
+
+	public BakedSpriterRenderSystem (EntityProcessPrincipal principal) {
+		super(Aspect.all(BakedSpriter.class).exclude(Invisible.class), principal);
+	}
+
+	@Override
+	protected void initialize () {
+		batch = renderBatchingSystem.getBatch();
+	}
+
+	@Override
+	protected void process (int entityId) {
+		BakedSpriter spriter = spriterCm.get(entityId);
+		Transform transform = transformCm.get(entityId);
+
+		if (transform.isDirty()) {
+			spriter.updateValues(transform.getX(), transform.getY(), transform.getRotation());
+		}
+
+		spriter.update(world.delta);
+
+		BakedAnimation animation = spriter.getAnimation();
+		TextureRegion frame = spriter.getFrame();
+		float unitScale = spriter.getUnitScale();
+		float originX = animation.originX * unitScale;
+		float originY = animation.originY * unitScale;
+
+		batch.draw(frame, transform.getX() - originX, transform.getY() - originY, originX, originY,
+				frame.getRegionWidth() * unitScale, frame.getRegionHeight() * unitScale,
+				spriter.isFlipX() ? -1 : 1, spriter.isFlipY() ? -1 : 1, transform.getRotation());
+	}
+}
@@ -0,0 +1,260 @@
+/*
+ * Copyright 2014-2016 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.runtime.system.render;
+
+import com.artemis.Aspect;
+import com.artemis.BaseEntitySystem;
+import com.artemis.ComponentMapper;
+import com.artemis.utils.Bag;
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.g2d.ParticleEffect;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.math.collision.BoundingBox;
+import com.kotcrab.vis.runtime.component.*;
+import com.kotcrab.vis.runtime.scene.LayerCordsSystem;
+import com.kotcrab.vis.runtime.system.CameraManager;
+
+/**
+ * Culling stage for {@link RenderBatchingSystem}. When this system is present, render jobs of entities whose world bounds
+ * do not intersect camera of their layer coordinates system are skipped. Bounds of {@link VisSprite} are calculated from
+ * {@link Transform}, {@link Origin} and sprite size and cached until transform or origin is changed. Bounds of {@link VisText},
+ * {@link VisParticle}, {@link VisSpriter} and {@link BakedSpriter} are taken from their components. Entities for which bounds can't be determined
+ * are never culled.
+ * <p>
+ * Note that culled entities are not processed by their render systems, as a result culled particle effects and spriter
+ * animations are not updated until they become visible again.
+ * @author Kotcrab
+ */
+public class CullingSystem extends BaseEntitySystem {
+	private CameraManager cameraManager;
+
+	private ComponentMapper<Transform> transformCm;
+	private ComponentMapper<Origin> originCm;
+	private ComponentMapper<VisSprite> spriteCm;
+	private ComponentMapper<VisText> textCm;
+	private ComponentMapper<VisParticle> particleCm;
+	private ComponentMapper<VisSpriter> spriterCm;
+	private ComponentMapper<BakedSpriter> bakedSpriterCm;
+
+	private final Bag<EntityBounds> boundsCache = new Bag<EntityBounds>();
+
+	private final Rectangle worldView = new Rectangle();
+	private final Rectangle screenView = new Rectangle();
+
+	private int culledCount;
+	private int renderedCount;
+
+	public CullingSystem () {
+		super(Aspect.all(Renderable.class, Transform.class));
+		setEnabled(false);
+	}
+
+	@Override
+	protected void inserted (int entityId) {
+		EntityBounds bounds = boundsCache.safeGet(entityId);
+		if (bounds == null) {
+			bounds = new EntityBounds();
+			boundsCache.set(entityId, bounds);
+		}
+
+		bounds.valid = false;
+	}
+
+	@Override
+	protected void removed (int entityId) {
+		EntityBounds bounds = boundsCache.safeGet(entityId);
+		if (bounds != null) bounds.valid = false;
+	}
+
+	@Override
+	protected void processSystem () {
+	}
+
+	/**
+	 * Called by {@link RenderBatchingSystem} after cameras were updated and before any job was processed. Calculates
+	 * camera view bounds and resets culling counters.
+	 */
+	public void begin () {
+		calculateViewBounds(cameraManager.getCamera(), worldView);
+		calculateViewBounds(cameraManager.getUiCamera(), screenView);
+
+		culledCount = 0;
+		renderedCount = 0;
+	}
+
+	private void calculateViewBounds (Camera camera, Rectangle view) {
+		Vector3[] points = camera.frustum.planePoints;
+		float minX = points[0].x, minY = points[0].y;
+		float maxX = minX, maxY = minY;
+
+		for (int i = 1; i < points.length; i++) {
+			Vector3 point = points[i];
+			minX = Math.min(minX, point.x);
+			minY = Math.min(minY, point.y);
+			maxX = Math.max(maxX, point.x);
+			maxY = Math.max(maxY, point.y);
+		}
+
+		view.set(minX, minY, maxX - minX, maxY - minY);
+	}
+
+	/**
+	 * @return true if entity is not visible by camera of given coordinates system and it's render job should be skipped,
+	 * false otherwise
+	 */
+	public boolean isCulled (int entityId, LayerCordsSystem cordsSystem) {
+		EntityBounds bounds = boundsCache.safeGet(entityId);
+
+		if (bounds == null || updateBounds(entityId, bounds) == false) {
+			renderedCount++;
+			return false;
+		}
+
+		Rectangle view = cordsSystem == LayerCordsSystem.SCREEN ? screenView : worldView;
+		boolean culled = bounds.rect.overlaps(view) == false;
+		bounds.culled = culled;
+
+		if (culled)
+			culledCount++;
+		else
+			renderedCount++;
+
+		return culled;
+	}
+
+	/** @return true if bounds are valid and can be used for culling, false if entity should be always rendered */
+	private boolean updateBounds (int entityId, EntityBounds bounds) {
+		Transform transform = transformCm.get(entityId);
+
+		VisSprite sprite = spriteCm.getSafe(entityId);
+		if (sprite != null) {
+			Origin origin = originCm.get(entityId);
+			if (bounds.valid == false || transform.isDirty() || origin.isDirty()) {
+				calculateSpriteBounds(bounds.rect, transform, origin, sprite);
+				bounds.valid = true;
+			}
+
+			return true;
+		}
+
+		//bounds of other entities are updated by their render systems, they must be processed at least once after change
+		if (transform.isDirty()) {
+			bounds.valid = false;
+			return false;
+		}
+
+		VisText text = textCm.getSafe(entityId);
+		if (text != null) {
+			if (text.isDirty() || originCm.get(entityId).isDirty()) return false;
+			bounds.rect.set(text.getBoundingRectangle());
+			return true;
+		}
+
+		VisParticle particle = particleCm.getSafe(entityId);
+		if (particle != null) {
+			//effect is only updated when visible, if it was culled before then bounds could not have changed
+			if (bounds.valid == false || bounds.culled == false) {
+				ParticleEffect effect = particle.getEffect();
+				BoundingBox box = effect.getBoundingBox();
+				if (box.isValid() == false) return false;
+				bounds.rect.set(box.min.x, box.min.y, box.getWidth(), box.getHeight());
+				bounds.valid = true;
+			}
+
+			return true;
+		}
+
+		VisSpriter spriter = spriterCm.getSafe(entityId);
+		if (spriter != null) {
+			//same as for particles
+			if (bounds.valid == false || bounds.culled == false) {
+				com.kotcrab.vis.runtime.spriter.Rectangle rect = spriter.getPlayer().getBoundingRectangle(null);
+				bounds.rect.set(rect.left, rect.bottom, rect.size.width, rect.size.height);
+				bounds.valid = true;
+			}
+
+			return true;
+		}
+
+		BakedSpriter bakedSpriter = bakedSpriterCm.getSafe(entityId);
+		if (bakedSpriter != null) {
+			if (bounds.valid == false || bounds.culled == false) {
+				bounds.rect.set(bakedSpriter.getBoundingRectangle());
+				bounds.valid = true;
+			}
+
+			return true;
+		}
+
+		return false;
+	}
+
+	private void calculateSpriteBounds (Rectangle rect, Transform transform, Origin origin, VisSprite sprite) {
+		float originX = origin.getOriginX();
+		float originY = origin.getOriginY();
+		float worldOriginX = transform.getX() + originX;
+		float worldOriginY = transform.getY() + originY;
+
+		float fx = -originX * transform.getScaleX();
+		float fy = -originY * transform.getScaleY();
+		float fx2 = (sprite.getWidth() - originX) * transform.getScaleX();
+		float fy2 = (sprite.getHeight() - originY) * transform.getScaleY();
+
+		float rotation = transform.getRotation();
+		if (rotation == 0) {
+			rect.set(worldOriginX + Math.min(fx, fx2), worldOriginY + Math.min(fy, fy2), Math.abs(fx2 - fx), Math.abs(fy2 - fy));
+			return;
+		}
+
+		float cos = MathUtils.cosDeg(rotation);
+		float sin = MathUtils.sinDeg(rotation);
+
+		float x1 = cos * fx - sin * fy;
+		float y1 = sin * fx + cos * fy;
+		float x2 = cos * fx - sin * fy2;
+		float y2 = sin * fx + cos * fy2;
+		float x3 = cos * fx2 - sin * fy2;
+		float y3 = sin * fx2 + cos * fy2;
+		float x4 = x1 + (x3 - x2);
+		float y4 = y3 - (y2 - y1);
+
+		float minX = Math.min(Math.min(x1, x2), Math.min(x3, x4));
+		float minY = Math.min(Math.min(y1, y2), Math.min(y3, y4));
+		float maxX = Math.max(Math.max(x1, x2), Math.max(x3, x4));
+		float maxY = Math.max(Math.max(y1, y2), Math.max(y3, y4));
+
+		rect.set(worldOriginX + minX, worldOriginY + minY, maxX - minX, maxY - minY);
+	}
+
+	/** @return amount of entities that were culled during last frame */
+	public int getCulledCount () {
+		return culledCount;
+	}
+
+	/** @return amount of entities that passed culling and were rendered during last frame */
+	public int getRenderedCount () {
+		return renderedCount;
+	}
+
+	private static class EntityBounds {
+		final Rectangle rect = new Rectangle();
+		boolean valid;
+		boolean culled;
+	}
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2014-2016 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.runtime.system.render;
+
+/**
+ * Controls how {@link ParticleRenderSystem} handles particle effects which bounds are outside of camera view.
+ * @author Kotcrab
+ */
+public enum OffscreenParticlePolicy {
+	/** Off-screen effects are updated and drawn every frame */
+	UPDATE,
+	/** Off-screen effects are not updated or drawn until they become visible again */
+	FREEZE,
+	/**
+	 * Off-screen effects are not drawn and are updated only every few frames with accumulated delta, see
+	 * {@link ParticleRenderSystem#setReducedUpdateInterval(int)}
+	 */
+	REDUCED_RATE
+}
@@ -18,26 +18,58 @@ package com.kotcrab.vis.runtime.system.render;
 
 import com.artemis.Aspect;
 import com.artemis.ComponentMapper;
+import com.artemis.annotations.Wire;
+import com.artemis.utils.Bag;
 import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.ParticleEffect;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.math.collision.BoundingBox;
 import com.kotcrab.vis.runtime.component.Invisible;
 import com.kotcrab.vis.runtime.component.Transform;
 import com.kotcrab.vis.runtime.component.VisParticle;
+import com.kotcrab.vis.runtime.system.ParticleEffectPoolManager;
 import com.kotcrab.vis.runtime.system.delegate.DeferredEntityProcessingSystem;
 import com.kotcrab.vis.runtime.system.delegate.EntityProcessPrincipal;
 
+import java.util.Arrays;
+
 /**
- * Renders entities with {@link VisParticle}
+ * Renders entities with {@link VisParticle}. Bounds of effects are tracked when {@link OffscreenParticlePolicy} other
+ * than {@link OffscreenParticlePolicy#UPDATE} is used, effects which bounds are outside of current batch projection are
+ * then frozen or updated at reduced rate. Effects without particles are always treated as visible. Note that when
+ * {@link CullingSystem} is used culled effects are not processed by this system at all.
+ * <p>
+ * By default completed effects are restarted. If parking is enabled completed effects are instead parked, they are no
+ * longer updated or drawn until {@link VisParticle#reset()} is called.
+ * <p>
+ * When {@link ParticleUpdateSystem} is present effects are updated by it before rendering and this system only draws them.
  * @author Kotcrab
  */
+@Wire(failOnNull = false)
 public class ParticleRenderSystem extends DeferredEntityProcessingSystem {
 	private ComponentMapper<VisParticle> particleCm;
 	private ComponentMapper<Transform> transformCm;
 
 	private RenderBatchingSystem renderBatchingSystem;
+	private ParticleEffectPoolManager effectPoolManager;
+	private ParticleUpdateSystem particleUpdateSystem;
 	private Batch batch;
 	private final boolean ignoreActive;
 
+	private OffscreenParticlePolicy offscreenPolicy = OffscreenParticlePolicy.UPDATE;
+	private int reducedUpdateInterval = 4;
+	private boolean parkCompletedEffects;
+
+	private final Bag<EffectState> states = new Bag<EffectState>();
+
+	private boolean viewValid;
+	private final Matrix4 viewProjection = new Matrix4();
+	private final Matrix4 invProjection = new Matrix4();
+	private final Rectangle view = new Rectangle();
+	private final Vector3 tmpVector = new Vector3();
+
 	public ParticleRenderSystem (EntityProcessPrincipal principal, boolean ignoreParticleActiveState) {
 		super(Aspect.all(VisParticle.class).exclude(Invisible.class), principal);
 		this.ignoreActive = ignoreParticleActiveState;
@@ -48,23 +80,179 @@ public class ParticleRenderSystem extends DeferredEntityProcessingSystem {
 		batch = renderBatchingSystem.getBatch();
 	}
 
+	@Override
+	protected void inserted (int entityId) {
+		super.inserted(entityId);
+
+		EffectState state = states.safeGet(entityId);
+		if (state == null) {
+			state = new EffectState();
+			states.set(entityId, state);
+		}
+
+		state.boundsValid = false;
+		state.offscreen = false;
+		state.pendingDelta = 0;
+		state.skippedFrames = entityId % reducedUpdateInterval; //spreads reduced rate updates across frames
+	}
+
+	@Override
+	protected void begin () {
+		viewValid = false;
+	}
+
 	@Override
 	protected void process (int entityId) {
 		VisParticle particle = particleCm.get(entityId);
-		Transform transform = transformCm.get(entityId);
+		EffectState state = states.get(entityId);
 
-		ParticleEffect effect = particle.getEffect();
+		if (particleUpdateSystem == null) {
+			float delta = prepareUpdate(entityId, true);
+			if (delta >= 0) updateEffect(entityId, delta);
+		} else {
+			//effect was already updated, visibility is stored for the next update
+			if (particle.isParked() == false)
+				state.offscreen = offscreenPolicy != OffscreenParticlePolicy.UPDATE && isOffscreen(state);
+		}
+
+		if (particle.isParked() == false && state.offscreen == false) particle.getEffect().draw(batch);
+
+		if (particleUpdateSystem == null) finishUpdate(entityId);
+	}
+
+	/**
+	 * Prepares entity effect for update, must be called on main thread.
+	 * @param checkView if true visibility of effect is checked using current batch projection, otherwise visibility
+	 * from last draw is used
+	 * @return delta time effect should be updated with or -1 if effect should not be updated
+	 */
+	float prepareUpdate (int entityId, boolean checkView) {
+		VisParticle particle = particleCm.get(entityId);
+		Transform transform = transformCm.get(entityId);
+		EffectState state = states.get(entityId);
 
 		if (transform.isDirty()) {
 			particle.updateValues(transform.getX(), transform.getY());
+			state.boundsValid = false;
+			state.offscreen = false;
 		}
 
-		if (ignoreActive || particle.isActiveOnStart())
-			effect.update(world.delta);
+		if (particle.isParked()) return -1;
+
+		if (checkView) state.offscreen = offscreenPolicy != OffscreenParticlePolicy.UPDATE && isOffscreen(state);
+
+		if (ignoreActive == false && particle.isActiveOnStart() == false) return -1;
+
+		if (state.offscreen) {
+			if (offscreenPolicy == OffscreenParticlePolicy.REDUCED_RATE) {
+				state.pendingDelta += world.delta;
+
+				if (++state.skippedFrames >= reducedUpdateInterval) {
+					float delta = state.pendingDelta;
+					state.pendingDelta = 0;
+					state.skippedFrames = 0;
+					return delta;
+				}
+			}
+
+			return -1;
+		}
+
+		float delta = world.delta + state.pendingDelta;
+		state.pendingDelta = 0;
+		return delta;
+	}
+
+	/** Updates entity effect, may be called concurrently for different entities. */
+	void updateEffect (int entityId, float delta) {
+		ParticleEffect effect = particleCm.get(entityId).getEffect();
+		effect.update(delta);
+		if (offscreenPolicy != OffscreenParticlePolicy.UPDATE) updateBounds(states.get(entityId), effect);
+	}
+
+	/** Handles completion of entity effect, must be called on main thread after effect was updated. */
+	void finishUpdate (int entityId) {
+		VisParticle particle = particleCm.get(entityId);
+		ParticleEffect effect = particle.getEffect();
+		if (particle.isParked() || effect.isComplete() == false) return;
 
-		effect.draw(batch);
+		if (effectPoolManager != null && effectPoolManager.effectCompleted(entityId)) return;
 
-		if (effect.isComplete())
+		if (parkCompletedEffects) {
+			particle.park();
+		} else {
 			effect.reset();
+			states.get(entityId).boundsValid = false;
+		}
+	}
+
+	private void updateBounds (EffectState state, ParticleEffect effect) {
+		BoundingBox box = effect.getBoundingBox();
+		state.boundsValid = box.isValid();
+		if (state.boundsValid) state.bounds.set(box.min.x, box.min.y, box.getWidth(), box.getHeight());
+	}
+
+	private boolean isOffscreen (EffectState state) {
+		if (state.boundsValid == false) return false;
+		return state.bounds.overlaps(getView()) == false;
+	}
+
+	/** @return view bounds of current batch projection, recalculated only when projection has changed */
+	private Rectangle getView () {
+		Matrix4 projection = batch.getProjectionMatrix();
+		if (viewValid && Arrays.equals(projection.val, viewProjection.val)) return view;
+
+		viewValid = true;
+		viewProjection.set(projection);
+		invProjection.set(projection).inv();
+
+		float minX = Float.MAX_VALUE, minY = Float.MAX_VALUE;
+		float maxX = -Float.MAX_VALUE, maxY = -Float.MAX_VALUE;
+		for (int i = 0; i < 4; i++) {
+			tmpVector.set(i % 2 == 0 ? -1 : 1, i < 2 ? -1 : 1, 0).prj(invProjection);
+			minX = Math.min(minX, tmpVector.x);
+			minY = Math.min(minY, tmpVector.y);
+			maxX = Math.max(maxX, tmpVector.x);
+			maxY = Math.max(maxY, tmpVector.y);
+		}
+
+		view.set(minX, minY, maxX - minX, maxY - minY);
+		return view;
+	}
+
+	public OffscreenParticlePolicy getOffscreenPolicy () {
+		return offscreenPolicy;
+	}
+
+	public void setOffscreenPolicy (OffscreenParticlePolicy offscreenPolicy) {
+		if (offscreenPolicy == null) throw new IllegalArgumentException("offscreenPolicy can't be null");
+		this.offscreenPolicy = offscreenPolicy;
+	}
+
+	public int getReducedUpdateInterval () {
+		return reducedUpdateInterval;
+	}
+
+	/** @param reducedUpdateInterval amount of frames between updates of off-screen effects when using {@link OffscreenParticlePolicy#REDUCED_RATE} */
+	public void setReducedUpdateInterval (int reducedUpdateInterval) {
+		if (reducedUpdateInterval <= 0) throw new IllegalArgumentException("reducedUpdateInterval must be greater than 0");
+		this.reducedUpdateInterval = reducedUpdateInterval;
+	}
+
+	public boolean isParkCompletedEffects () {
+		return parkCompletedEffects;
+	}
+
+	/** @param parkCompletedEffects if true completed effects are parked instead of being restarted */
+	public void setParkCompletedEffects (boolean parkCompletedEffects) {
+		this.parkCompletedEffects = parkCompletedEffects;
+	}
+
+	private static class EffectState {
+		final Rectangle bounds = new Rectangle();
+		boolean boundsValid;
+		boolean offscreen;
+		float pendingDelta;
+		int skippedFrames;
 	}
 }
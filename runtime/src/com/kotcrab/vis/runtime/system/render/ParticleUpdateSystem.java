@@ -0,0 +1,112 @@
+/*
+ * Copyright 2014-2016 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.runtime.system.render;
+
+import com.artemis.Aspect;
+import com.artemis.BaseEntitySystem;
+import com.artemis.annotations.Wire;
+import com.artemis.utils.IntBag;
+import com.kotcrab.vis.runtime.component.Invisible;
+import com.kotcrab.vis.runtime.component.Transform;
+import com.kotcrab.vis.runtime.component.VisParticle;
+import com.kotcrab.vis.runtime.util.ParallelExecutor;
+
+/**
+ * Updates particle effects of entities rendered by {@link ParticleRenderSystem} in parallel using {@link ParallelExecutor}.
+ * Must be processed before {@link RenderBatchingSystem}, when present {@link ParticleRenderSystem} only draws effects.
+ * Visibility of effects used by {@link OffscreenParticlePolicy} is taken from the last frame they were drawn. Note that
+ * effects culled by {@link CullingSystem} are still updated by this system. Does nothing when {@link ParticleRenderSystem}
+ * is not present.
+ * <p>
+ * Effects are independent of each other and can be safely updated concurrently, however particle emitters share
+ * libGDX {@code MathUtils} random generator which is not thread safe. This does not cause errors but randomness
+ * of emitted particles may be slightly reduced.
+ * @author Kotcrab
+ */
+@Wire(failOnNull = false)
+public class ParticleUpdateSystem extends BaseEntitySystem {
+	private ParticleRenderSystem particleRenderSystem;
+
+	private final ParallelExecutor executor;
+	private final boolean ownsExecutor;
+
+	private final IntBag updatedEntities = new IntBag();
+	private float[] deltas = new float[64];
+
+	private final ParallelExecutor.Task updateTask = new ParallelExecutor.Task() {
+		@Override
+		public void process (int index) {
+			particleRenderSystem.updateEffect(updatedEntities.get(index), deltas[index]);
+		}
+	};
+
+	/** Creates system using new {@link ParallelExecutor} with default worker count, executor is disposed with this system */
+	public ParticleUpdateSystem () {
+		this(new ParallelExecutor(), true);
+	}
+
+	/** @param executor executor used to update effects, it won't be disposed by this system */
+	public ParticleUpdateSystem (ParallelExecutor executor) {
+		this(executor, false);
+	}
+
+	private ParticleUpdateSystem (ParallelExecutor executor, boolean ownsExecutor) {
+		super(Aspect.all(VisParticle.class, Transform.class).exclude(Invisible.class));
+		this.executor = executor;
+		this.ownsExecutor = ownsExecutor;
+	}
+
+	@Override
+	protected void processSystem () {
+		if (particleRenderSystem == null) return;
+
+		IntBag entities = getEntityIds();
+		int[] data = entities.getData();
+		for (int i = 0, s = entities.size(); i < s; i++) {
+			int entityId = data[i];
+			float delta = particleRenderSystem.prepareUpdate(entityId, false);
+			if (delta < 0) continue;
+
+			if (updatedEntities.size() == deltas.length) {
+				float[] newDeltas = new float[deltas.length * 2];
+				System.arraycopy(deltas, 0, newDeltas, 0, deltas.length);
+				deltas = newDeltas;
+			}
+
+			deltas[updatedEntities.size()] = delta;
+			updatedEntities.add(entityId);
+		}
+
+		executor.execute(updatedEntities.size(), updateTask);
+
+		// completed effects may be deleted or parked which is not thread safe
+		int[] updated = updatedEntities.getData();
+		for (int i = 0, s = updatedEntities.size(); i < s; i++)
+			particleRenderSystem.finishUpdate(updated[i]);
+
+		updatedEntities.setSize(0);
+	}
+
+	public ParallelExecutor getExecutor () {
+		return executor;
+	}
+
+	@Override
+	protected void dispose () {
+		if (ownsExecutor) executor.dispose();
+	}
+}
@@ -19,9 +19,12 @@ package com.kotcrab.vis.runtime.system.render;
 import com.artemis.BaseSystem;
 import com.artemis.ComponentMapper;
 import com.artemis.annotations.Wire;
-import com.artemis.utils.Bag;
+import com.artemis.utils.IntBag;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.utils.ObjectIntMap;
 import com.kotcrab.vis.runtime.component.Layer;
 import com.kotcrab.vis.runtime.component.Renderable;
 import com.kotcrab.vis.runtime.component.Shader;
@@ -31,12 +34,22 @@ import com.kotcrab.vis.runtime.system.CameraManager;
 import com.kotcrab.vis.runtime.system.LayerManager;
 import com.kotcrab.vis.runtime.system.delegate.EntityProcessAgent;
 import com.kotcrab.vis.runtime.system.delegate.EntityProcessPrincipal;
-import com.kotcrab.vis.runtime.util.BagUtils;
+
+import java.util.Arrays;
 
 /**
- * Plugable render system that uses subsystems to render entities. Entities are rendered sorted by their layer and zIndex
- * , if entity layer or zIndex has changed, {@link #markDirty()} must be called in order to resort the scene. System
- * will automatically resort if entity was added.
+ * Plugable render system that uses subsystems to render entities. Entities are rendered sorted by their layer and zIndex.
+ * Entities added to scene and entities which layer or zIndex was changed using {@link Layer#setLayerId(int)} or
+ * {@link Renderable#setZIndex(int)} are merged into already sorted jobs without resorting entire scene, those components
+ * report their changes to this system so unchanged scene doesn't have to be checked every frame. {@link #markDirty()}
+ * forces full resort and is only needed when layer or zIndex was changed without using those methods. If
+ * {@link CullingSystem} is present in entity engine, entities outside of camera view are skipped. Batch state such as
+ * shader and projection matrix is only changed when it differs between consecutive jobs, see
+ * {@link #getStateChangeCount()} and {@link #getRenderCallCount()}. To make consecutive jobs share state, jobs of
+ * entities with the same layer and zIndex are grouped by their {@link Shader} and by subsystem rendering them, otherwise
+ * they are rendered in order they were added. Shader used for grouping is the one entity had when its job was added or
+ * when its layer or zIndex was last changed. Layer ids must fit in short range, see
+ * {@link RenderJobQueue#packKey(int, int, int, int)}.
  * @author Kotcrab
  * @author Daan van Yperen
  */
@@ -44,6 +57,8 @@ import com.kotcrab.vis.runtime.util.BagUtils;
 public class RenderBatchingSystem extends BaseSystem implements EntityProcessPrincipal {
 	private CameraManager cameraManager;
 	private LayerManager layerManager;
+	private CullingSystem cullingSystem;
+	private StaticSpriteCacheSystem staticSpriteCacheSystem;
 
 	private ComponentMapper<Layer> layerCm;
 	private ComponentMapper<Renderable> renderableCm;
@@ -51,10 +66,20 @@ public class RenderBatchingSystem extends BaseSystem implements EntityProcessPri
 	private ComponentMapper<Tint> tintCm;
 
 	private boolean sortedDirty = false;
-	private final Bag<Job> sortedJobs = new Bag<Job>();
+	private final RenderJobQueue jobs = new RenderJobQueue();
+	private final IntBag changedJobs = new IntBag();
+	/** Filled by {@link Layer} and {@link Renderable} with ids of changed entities, may contain duplicates */
+	private final IntBag changedEntities = new IntBag();
+	private final IntBag changedEntityJobs = new IntBag();
+	/** Ids of agents used in sort keys, assigned in order agents registered their first job */
+	private final ObjectIntMap<EntityProcessAgent> agentIds = new ObjectIntMap<EntityProcessAgent>();
 
 	private Batch batch;
 	private boolean usingFromEditor;
+	private LayerCordsSystem activeCordsSystem;
+
+	private int stateChanges;
+	private int renderCalls;
 
 	public RenderBatchingSystem (Batch batch, boolean usingFromEditor) {
 		this.batch = batch;
@@ -73,9 +98,11 @@ public class RenderBatchingSystem extends BaseSystem implements EntityProcessPri
 	public void registerAgent (int entityId, EntityProcessAgent agent) {
 		if (!renderableCm.has(entityId))
 			throw new RuntimeException("RenderBatchingSystem requires agents entities to have component Renderable.");
-		// register new job. this will influence sorting order.
-		sortedJobs.add(new Job(entityId, agent));
-		sortedDirty = true;
+		// register new job, it will be merged into sorted jobs before next frame
+		jobs.add(getSortKey(entityId, agent), entityId, agent);
+		layerCm.get(entityId).bind(entityId, changedEntities);
+		renderableCm.get(entityId).bind(entityId, changedEntities);
+		if (staticSpriteCacheSystem != null) staticSpriteCacheSystem.renderJobChanged(entityId);
 	}
 
 	/**
@@ -88,16 +115,59 @@ public class RenderBatchingSystem extends BaseSystem implements EntityProcessPri
 	 */
 	@Override
 	public void unregisterAgent (int entityId, EntityProcessAgent agent) {
-		// forget about the job.
-		final Object[] data = sortedJobs.getData();
-		for (int i = 0, s = sortedJobs.size(); i < s; i++) {
-			final Job e2 = (Job) data[i];
-			if (e2.entityId == entityId && e2.agent == agent) {
-				sortedJobs.remove(i);
-				sortedDirty = true;
-				break;
+		// forget about the job, removing does not change order of remaining jobs
+		jobs.remove(entityId, agent);
+		if (staticSpriteCacheSystem != null) staticSpriteCacheSystem.renderJobChanged(entityId);
+	}
+
+	private long getSortKey (int entityId, EntityProcessAgent agent) {
+		Shader shader = shaderCm.getSafe(entityId);
+		// shader ids don't have to be unique, jobs of different shaders with equal ids are only not grouped apart
+		int shaderId = 0;
+		if (shader != null && shader.shader != null)
+			shaderId = 1 + (System.identityHashCode(shader.shader) & 0x7FFFFFFF) % RenderJobQueue.MAX_SHADER_ID;
+
+		int agentId = agentIds.get(agent, -1);
+		if (agentId == -1) {
+			agentId = Math.min(agentIds.size, RenderJobQueue.MAX_AGENT_ID);
+			agentIds.put(agent, agentId);
+		}
+
+		return RenderJobQueue.packKey(layerCm.get(entityId).getLayerId(), renderableCm.get(entityId).getZIndex(), shaderId, agentId);
+	}
+
+	/** Moves jobs of entities which layer or zIndex has changed back to pending jobs with updated keys */
+	private void requeueChangedJobs () {
+		if (changedEntities.size() == 0) return;
+
+		int[] data = changedEntities.getData();
+		int sorted = jobs.size() - jobs.getPendingCount();
+		for (int i = 0, s = changedEntities.size(); i < s; i++) {
+			int entityId = data[i];
+			Layer layer = layerCm.getSafe(entityId);
+			Renderable renderable = renderableCm.getSafe(entityId);
+			// duplicated ids and ids of removed entities are skipped here, flags of handled entity are already cleared
+			if (layer == null || renderable == null || (layer.isDirty() == false && renderable.isDirty() == false)) continue;
+			layer.setDirty(false);
+			renderable.setDirty(false);
+			if (staticSpriteCacheSystem != null) staticSpriteCacheSystem.renderJobChanged(entityId);
+
+			// single entity can have multiple jobs, queue tracks their indices so only jobs of changed entities are visited
+			jobs.getJobIndices(entityId, changedEntityJobs);
+			int[] jobIndices = changedEntityJobs.getData();
+			for (int j = 0, js = changedEntityJobs.size(); j < js; j++) {
+				int index = jobIndices[j];
+				jobs.setKey(index, getSortKey(entityId, jobs.getAgent(index)));
+				if (index < sorted) changedJobs.add(index);
 			}
+			changedEntityJobs.setSize(0);
 		}
+		changedEntities.setSize(0);
+		if (changedJobs.size() == 0) return;
+
+		Arrays.sort(changedJobs.getData(), 0, changedJobs.size());
+		jobs.requeue(changedJobs);
+		changedJobs.setSize(0);
 	}
 
 	@Override
@@ -105,31 +175,64 @@ public class RenderBatchingSystem extends BaseSystem implements EntityProcessPri
 		cameraManager.getCamera().update();
 		cameraManager.getUiCamera().update();
 
-		LayerCordsSystem activeCordsSystem = LayerCordsSystem.WORLD;
+		activeCordsSystem = LayerCordsSystem.WORLD;
 		batch.setProjectionMatrix(cameraManager.getCombined());
 
 		if (usingFromEditor == false) batch.begin();
 
+		if (cullingSystem != null) cullingSystem.begin();
+
 		if (sortedDirty) {
 			sortedDirty = false;
-			BagUtils.sort(sortedJobs);
+			for (int i = 0, s = jobs.size(); i < s; i++) {
+				int entityId = jobs.getEntityId(i);
+				jobs.setKey(i, getSortKey(entityId, jobs.getAgent(i)));
+				layerCm.get(entityId).setDirty(false);
+				renderableCm.get(entityId).setDirty(false);
+			}
+			changedEntities.setSize(0);
+			jobs.sort();
+			if (staticSpriteCacheSystem != null) staticSpriteCacheSystem.invalidate();
+		} else {
+			requeueChangedJobs();
+			jobs.flush();
 		}
 
-		// iterate through all the jobs.
+		if (staticSpriteCacheSystem != null) staticSpriteCacheSystem.update(jobs);
+
+		// iterate through all the jobs, batch state is only changed when it differs from the state of previous job
 		EntityProcessAgent activeAgent = null;
-		final Object[] data = sortedJobs.getData();
-		for (int i = 0, s = sortedJobs.size(); i < s; i++) {
-			final Job job = (Job) data[i];
-			final EntityProcessAgent agent = job.agent;
+		ShaderProgram activeShader = null;
+		stateChanges = 0;
+		int startRenderCalls = getTotalRenderCalls();
 
-			boolean changedBatchState = false;
-			final boolean shaderUsed = shaderCm.has(job.entityId);
+		for (int i = 0, s = jobs.size(); i < s; i++) {
+			final int entityId = jobs.getEntityId(i);
+			final EntityProcessAgent agent = jobs.getAgent(i);
+
+			final Shader shaderComponent = shaderCm.getSafe(entityId);
+			final ShaderProgram shader = shaderComponent == null ? null : shaderComponent.shader;
 			LayerCordsSystem cordsSystem = null;
 
-			final boolean tintUsed = tintCm.has(job.entityId);
+			final Tint tint = tintCm.getSafe(entityId);
 
 			if (usingFromEditor == false) {
-				cordsSystem = layerManager.getData(layerCm.get(job.entityId).layerId).cordsSystem;
+				int layerId = layerCm.get(entityId).getLayerId();
+				cordsSystem = layerManager.getData(layerId).cordsSystem;
+
+				if (staticSpriteCacheSystem != null && staticSpriteCacheSystem.isCached(entityId)) {
+					// cached sprites are drawn when job of first sprite in cached sequence is reached
+					if (staticSpriteCacheSystem.isCacheStart(entityId)) {
+						if (cordsSystem != activeCordsSystem) setCordsSystem(cordsSystem);
+						batch.end();
+						staticSpriteCacheSystem.draw(entityId, batch.getProjectionMatrix());
+						batch.begin();
+						stateChanges++;
+					}
+					continue;
+				}
+
+				if (cullingSystem != null && cullingSystem.isCulled(entityId, cordsSystem)) continue;
 			}
 
 			// agent changed? end() the last agent, and begin() the next agent.
@@ -141,38 +244,23 @@ public class RenderBatchingSystem extends BaseSystem implements EntityProcessPri
 				activeAgent.begin();
 			}
 
-			if (shaderUsed) {
-				changedBatchState = true;
-				batch.end();
-				batch.setShader(shaderCm.get(job.entityId).shader);
+			if (shader != activeShader) {
+				activeShader = shader;
+				batch.setShader(shader);
+				stateChanges++;
 			}
 
 			if (usingFromEditor == false && cordsSystem != activeCordsSystem) {
-				activeCordsSystem = cordsSystem;
-
-				switch (activeCordsSystem) {
-					case WORLD:
-						cameraManager.getViewport().apply();
-						batch.setProjectionMatrix(cameraManager.getCombined());
-						break;
-					case SCREEN:
-						cameraManager.getUiViewport().apply();
-						batch.setProjectionMatrix(cameraManager.getUiCombined());
-						break;
-				}
+				setCordsSystem(cordsSystem);
 			}
 
-			if (tintUsed) {
-				batch.setColor(tintCm.get(job.entityId).getTint());
+			if (tint != null) {
+				batch.setColor(tint.getTint());
 			} else {
 				batch.setColor(Color.WHITE);
 			}
 
-			if (changedBatchState) batch.begin();
-
-			agent.process(job.entityId);
-
-			if (shaderUsed) batch.setShader(null);
+			agent.process(entityId);
 		}
 
 		// finished, terminate final agent.
@@ -180,7 +268,49 @@ public class RenderBatchingSystem extends BaseSystem implements EntityProcessPri
 			activeAgent.end();
 		}
 
+		if (activeShader != null) batch.setShader(null);
+
 		if (usingFromEditor == false) batch.end();
+
+		renderCalls = startRenderCalls == -1 ? -1 : getTotalRenderCalls() - startRenderCalls;
+	}
+
+	private void setCordsSystem (LayerCordsSystem cordsSystem) {
+		activeCordsSystem = cordsSystem;
+		batch.flush();
+		stateChanges++;
+
+		switch (activeCordsSystem) {
+			case WORLD:
+				cameraManager.getViewport().apply();
+				batch.setProjectionMatrix(cameraManager.getCombined());
+				break;
+			case SCREEN:
+				cameraManager.getUiViewport().apply();
+				batch.setProjectionMatrix(cameraManager.getUiCombined());
+				break;
+		}
+	}
+
+	private int getTotalRenderCalls () {
+		if (batch instanceof SpriteBatch) return ((SpriteBatch) batch).totalRenderCalls;
+		return -1;
+	}
+
+	/**
+	 * @return amount of batch state changes (shader or layer coordinates system switches) that forced batch flush during
+	 * last frame
+	 */
+	public int getStateChangeCount () {
+		return stateChanges;
+	}
+
+	/**
+	 * @return amount of draw calls issued by batch during last frame or -1 if batch is not {@link SpriteBatch}. When
+	 * system is used from editor, draw call issued by final batch flush is not included.
+	 */
+	public int getRenderCallCount () {
+		return renderCalls;
 	}
 
 	public Batch getBatch () {
@@ -194,29 +324,4 @@ public class RenderBatchingSystem extends BaseSystem implements EntityProcessPri
 	public boolean isDirty () {
 		return sortedDirty;
 	}
-
-	/** Rendering job wrapper. */
-	public class Job implements Comparable<Job> {
-		public final int entityId;
-		public final EntityProcessAgent agent;
-
-		/**
-		 * @param entityId entity we will process
-		 * @param agent agent responsible for processing.
-		 */
-		public Job (final int entityId, final EntityProcessAgent agent) {
-			this.entityId = entityId;
-			this.agent = agent;
-		}
-
-		@Override
-		public int compareTo (Job o) {
-			int layerResult = (int) Math.signum(layerCm.get(this.entityId).layerId - layerCm.get(o.entityId).layerId);
-
-			if (layerResult == 0)
-				return (int) Math.signum(renderableCm.get(this.entityId).zIndex - renderableCm.get(o.entityId).zIndex);
-			else
-				return layerResult;
-		}
-	}
 }
@@ -0,0 +1,441 @@
+/*
+ * Copyright 2014-2016 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.runtime.system.render;
+
+import com.artemis.utils.IntBag;
+import com.kotcrab.vis.runtime.system.delegate.EntityProcessAgent;
+
+/**
+ * Render jobs queue used by {@link RenderBatchingSystem}. Jobs are stored in parallel arrays of packed sort keys,
+ * entity ids and agents and are kept sorted by their keys. Newly added jobs are kept pending until {@link #flush()}
+ * is called, pending jobs are then sorted and merged into already sorted jobs which requires O(k log n) key comparisons
+ * for k new jobs. Sorting is stable, jobs with equal keys are processed in order they were added. Current index of every
+ * job is tracked so jobs of entity can be found without scanning the queue, see {@link #getJobIndices(int, IntBag)}.
+ * @author Kotcrab
+ */
+public class RenderJobQueue {
+	private static final int INSERTION_SORT_THRESHOLD = 16;
+
+	private long[] keys;
+	private int[] entityIds;
+	private EntityProcessAgent[] agents;
+	/** Handle of job stored at index, handle of job doesn't change when job is moved */
+	private int[] handles;
+
+	/** Current index of job indexed by job handle */
+	private int[] jobIndices;
+	/** Handle of next job of the same entity plus one indexed by job handle, 0 if there are no more jobs */
+	private int[] nextJobs;
+	/** Handle of first job of entity plus one indexed by entity id, 0 if entity has no jobs */
+	private int[] firstJobs = new int[0];
+	private final IntBag freeHandles = new IntBag();
+	private int handleCount;
+
+	/** Amount of sorted jobs, pending jobs are stored right after them */
+	private int size;
+	private int pending;
+
+	private long[] tmpKeys = new long[0];
+	private int[] tmpEntityIds = new int[0];
+	private EntityProcessAgent[] tmpAgents = new EntityProcessAgent[0];
+	private int[] tmpHandles = new int[0];
+
+	public RenderJobQueue () {
+		this(64);
+	}
+
+	public RenderJobQueue (int capacity) {
+		keys = new long[capacity];
+		entityIds = new int[capacity];
+		agents = new EntityProcessAgent[capacity];
+		handles = new int[capacity];
+		jobIndices = new int[capacity];
+		nextJobs = new int[capacity];
+	}
+
+	public static final int MAX_LAYER_ID = Short.MAX_VALUE;
+	public static final int MIN_LAYER_ID = Short.MIN_VALUE;
+	public static final int MAX_SHADER_ID = 0x3FF;
+	public static final int MAX_AGENT_ID = 0x3F;
+
+	/** Packs layer id and zIndex into single sort key, see {@link #packKey(int, int, int, int)} */
+	public static long packKey (int layerId, int zIndex) {
+		return packKey(layerId, zIndex, 0, 0);
+	}
+
+	/**
+	 * Packs layer id, zIndex, shader id and agent id into single sort key. Keys compared as signed longs are ordered by
+	 * layer id, then by zIndex, then by shader id and then by agent id. Layer id must be in range from
+	 * {@link #MIN_LAYER_ID} to {@link #MAX_LAYER_ID}, shader and agent ids are masked to {@link #MAX_SHADER_ID} and
+	 * {@link #MAX_AGENT_ID}.
+	 */
+	public static long packKey (int layerId, int zIndex, int shaderId, int agentId) {
+		return ((long) layerId << 48) | (((zIndex ^ Integer.MIN_VALUE) & 0xFFFFFFFFL) << 16)
+				| ((shaderId & MAX_SHADER_ID) << 6) | (agentId & MAX_AGENT_ID);
+	}
+
+	/** Adds new pending job, it won't be sorted until {@link #flush()} or {@link #sort()} is called. */
+	public void add (long key, int entityId, EntityProcessAgent agent) {
+		int index = size + pending;
+		ensureCapacity(index + 1);
+		keys[index] = key;
+		entityIds[index] = entityId;
+		agents[index] = agent;
+		pending++;
+
+		int handle;
+		if (freeHandles.size() > 0) {
+			handle = freeHandles.get(freeHandles.size() - 1);
+			freeHandles.setSize(freeHandles.size() - 1);
+		} else {
+			handle = handleCount++;
+		}
+		handles[index] = handle;
+		jobIndices[handle] = index;
+
+		if (entityId >= firstJobs.length) {
+			int[] newFirstJobs = new int[Math.max(entityId + 1, firstJobs.length * 2)];
+			System.arraycopy(firstJobs, 0, newFirstJobs, 0, firstJobs.length);
+			firstJobs = newFirstJobs;
+		}
+		nextJobs[handle] = firstJobs[entityId];
+		firstJobs[entityId] = handle + 1;
+	}
+
+	/** Removes job, order of remaining jobs is preserved. @return true if job was found and removed, false otherwise */
+	public boolean remove (int entityId, EntityProcessAgent agent) {
+		if (entityId >= firstJobs.length) return false;
+
+		int previous = 0;
+		for (int next = firstJobs[entityId]; next != 0; previous = next, next = nextJobs[next - 1]) {
+			int handle = next - 1;
+			int i = jobIndices[handle];
+			if (agents[i] != agent) continue;
+
+			if (previous == 0)
+				firstJobs[entityId] = nextJobs[handle];
+			else
+				nextJobs[previous - 1] = nextJobs[handle];
+			freeHandles.add(handle);
+
+			int total = size + pending;
+			int moved = total - i - 1;
+			if (moved > 0) {
+				System.arraycopy(keys, i + 1, keys, i, moved);
+				System.arraycopy(entityIds, i + 1, entityIds, i, moved);
+				System.arraycopy(agents, i + 1, agents, i, moved);
+				System.arraycopy(handles, i + 1, handles, i, moved);
+			}
+			agents[total - 1] = null;
+
+			if (i < size)
+				size--;
+			else
+				pending--;
+
+			updateIndices(i, total - 1);
+			return true;
+		}
+
+		return false;
+	}
+
+	/**
+	 * Adds current indices of all jobs of given entity to bag, indices are not sorted. Returned indices are valid until
+	 * jobs are added, removed, sorted or flushed.
+	 */
+	public void getJobIndices (int entityId, IntBag indices) {
+		if (entityId >= firstJobs.length) return;
+		for (int next = firstJobs[entityId]; next != 0; next = nextJobs[next - 1])
+			indices.add(jobIndices[next - 1]);
+	}
+
+	private void updateIndices (int from, int to) {
+		for (int i = from; i < to; i++)
+			jobIndices[handles[i]] = i;
+	}
+
+	/** Removes all jobs */
+	public void clear () {
+		for (int i = 0, s = size + pending; i < s; i++) {
+			agents[i] = null;
+			firstJobs[entityIds[i]] = 0;
+		}
+		freeHandles.setSize(0);
+		handleCount = 0;
+
+		size = 0;
+		pending = 0;
+	}
+
+	/** Sorts pending jobs and merges them into already sorted jobs. */
+	public void flush () {
+		if (pending == 0) return;
+
+		mergeSort(size, size + pending);
+		mergePending();
+		size += pending;
+		pending = 0;
+	}
+
+	/**
+	 * Moves sorted jobs at given indices back to pending jobs, they will be merged at their new position on next
+	 * {@link #flush()}. Keys of those jobs must be updated using {@link #setKey(int, long)} before calling this.
+	 * @param indices indices of sorted jobs in ascending order
+	 */
+	public void requeue (IntBag indices) {
+		int count = indices.size();
+		if (count == 0) return;
+
+		int[] data = indices.getData();
+		ensureTmpCapacity(count);
+
+		int next = 0;
+		int dest = data[0];
+		for (int i = data[0]; i < size; i++) {
+			if (next < count && data[next] == i) {
+				tmpKeys[next] = keys[i];
+				tmpEntityIds[next] = entityIds[i];
+				tmpAgents[next] = agents[i];
+				tmpHandles[next] = handles[i];
+				next++;
+			} else {
+				keys[dest] = keys[i];
+				entityIds[dest] = entityIds[i];
+				agents[dest] = agents[i];
+				handles[dest] = handles[i];
+				dest++;
+			}
+		}
+
+		//requeued jobs are placed right before already pending jobs
+		System.arraycopy(tmpKeys, 0, keys, dest, count);
+		System.arraycopy(tmpEntityIds, 0, entityIds, dest, count);
+		System.arraycopy(tmpAgents, 0, agents, dest, count);
+		System.arraycopy(tmpHandles, 0, handles, dest, count);
+
+		for (int i = 0; i < count; i++)
+			tmpAgents[i] = null;
+
+		updateIndices(data[0], size);
+		size -= count;
+		pending += count;
+	}
+
+	/** Sorts all jobs, must be called when keys of already sorted jobs were modified using {@link #setKey(int, long)} */
+	public void sort () {
+		size += pending;
+		pending = 0;
+
+		if (isSorted()) return;
+		mergeSort(0, size);
+		updateIndices(0, size);
+	}
+
+	private boolean isSorted () {
+		for (int i = 1; i < size; i++) {
+			if (keys[i - 1] > keys[i]) return false;
+		}
+
+		return true;
+	}
+
+	/**
+	 * Merges sorted pending jobs into sorted jobs. Insert positions are found using binary search and every sorted job
+	 * is moved at most once.
+	 */
+	private void mergePending () {
+		ensureTmpCapacity(pending);
+		System.arraycopy(keys, size, tmpKeys, 0, pending);
+		System.arraycopy(entityIds, size, tmpEntityIds, 0, pending);
+		System.arraycopy(agents, size, tmpAgents, 0, pending);
+		System.arraycopy(handles, size, tmpHandles, 0, pending);
+
+		int end = size;
+		for (int i = pending - 1; i >= 0; i--) {
+			long key = tmpKeys[i];
+			int position = upperBound(key, 0, end);
+			int moved = end - position;
+			if (moved > 0) {
+				System.arraycopy(keys, position, keys, position + i + 1, moved);
+				System.arraycopy(entityIds, position, entityIds, position + i + 1, moved);
+				System.arraycopy(agents, position, agents, position + i + 1, moved);
+				System.arraycopy(handles, position, handles, position + i + 1, moved);
+			}
+
+			keys[position + i] = key;
+			entityIds[position + i] = tmpEntityIds[i];
+			agents[position + i] = tmpAgents[i];
+			handles[position + i] = tmpHandles[i];
+			tmpAgents[i] = null;
+			end = position;
+		}
+
+		updateIndices(end, size + pending);
+	}
+
+	/** @return index of first key in range that is greater than given key */
+	private int upperBound (long key, int from, int to) {
+		int low = from;
+		int high = to;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (keys[mid] <= key)
+				low = mid + 1;
+			else
+				high = mid;
+		}
+
+		return low;
+	}
+
+	private void mergeSort (int from, int to) {
+		if (to - from <= INSERTION_SORT_THRESHOLD) {
+			insertionSort(from, to);
+			return;
+		}
+
+		int mid = (from + to) >>> 1;
+		mergeSort(from, mid);
+		mergeSort(mid, to);
+		if (keys[mid - 1] <= keys[mid]) return;
+		merge(from, mid, to);
+	}
+
+	private void merge (int from, int mid, int to) {
+		int leftSize = mid - from;
+		ensureTmpCapacity(leftSize);
+		System.arraycopy(keys, from, tmpKeys, 0, leftSize);
+		System.arraycopy(entityIds, from, tmpEntityIds, 0, leftSize);
+		System.arraycopy(agents, from, tmpAgents, 0, leftSize);
+		System.arraycopy(handles, from, tmpHandles, 0, leftSize);
+
+		int left = 0;
+		int right = mid;
+		int dest = from;
+		while (left < leftSize && right < to) {
+			if (keys[right] < tmpKeys[left]) {
+				keys[dest] = keys[right];
+				entityIds[dest] = entityIds[right];
+				agents[dest] = agents[right];
+				handles[dest] = handles[right];
+				right++;
+			} else {
+				keys[dest] = tmpKeys[left];
+				entityIds[dest] = tmpEntityIds[left];
+				agents[dest] = tmpAgents[left];
+				handles[dest] = tmpHandles[left];
+				left++;
+			}
+			dest++;
+		}
+
+		int remaining = leftSize - left;
+		if (remaining > 0) {
+			System.arraycopy(tmpKeys, left, keys, dest, remaining);
+			System.arraycopy(tmpEntityIds, left, entityIds, dest, remaining);
+			System.arraycopy(tmpAgents, left, agents, dest, remaining);
+			System.arraycopy(tmpHandles, left, handles, dest, remaining);
+		}
+
+		for (int i = 0; i < leftSize; i++)
+			tmpAgents[i] = null;
+	}
+
+	private void insertionSort (int from, int to) {
+		for (int i = from + 1; i < to; i++) {
+			long key = keys[i];
+			int entityId = entityIds[i];
+			EntityProcessAgent agent = agents[i];
+			int handle = handles[i];
+
+			int j = i - 1;
+			while (j >= from && keys[j] > key) {
+				keys[j + 1] = keys[j];
+				entityIds[j + 1] = entityIds[j];
+				agents[j + 1] = agents[j];
+				handles[j + 1] = handles[j];
+				j--;
+			}
+
+			keys[j + 1] = key;
+			entityIds[j + 1] = entityId;
+			agents[j + 1] = agent;
+			handles[j + 1] = handle;
+		}
+	}
+
+	private void ensureCapacity (int capacity) {
+		if (capacity <= keys.length) return;
+
+		int newCapacity = Math.max(capacity, keys.length * 2);
+		long[] newKeys = new long[newCapacity];
+		int[] newEntityIds = new int[newCapacity];
+		EntityProcessAgent[] newAgents = new EntityProcessAgent[newCapacity];
+		int[] newHandles = new int[newCapacity];
+		int[] newJobIndices = new int[newCapacity];
+		int[] newNextJobs = new int[newCapacity];
+		System.arraycopy(keys, 0, newKeys, 0, keys.length);
+		System.arraycopy(entityIds, 0, newEntityIds, 0, entityIds.length);
+		System.arraycopy(agents, 0, newAgents, 0, agents.length);
+		System.arraycopy(handles, 0, newHandles, 0, handles.length);
+		System.arraycopy(jobIndices, 0, newJobIndices, 0, jobIndices.length);
+		System.arraycopy(nextJobs, 0, newNextJobs, 0, nextJobs.length);
+		keys = newKeys;
+		entityIds = newEntityIds;
+		agents = newAgents;
+		handles = newHandles;
+		jobIndices = newJobIndices;
+		nextJobs = newNextJobs;
+	}
+
+	private void ensureTmpCapacity (int capacity) {
+		if (capacity <= tmpKeys.length) return;
+
+		int newCapacity = Math.max(capacity, tmpKeys.length * 2);
+		tmpKeys = new long[newCapacity];
+		tmpEntityIds = new int[newCapacity];
+		tmpAgents = new EntityProcessAgent[newCapacity];
+		tmpHandles = new int[newCapacity];
+	}
+
+	/** @return amount of jobs, including pending ones */
+	public int size () {
+		return size + pending;
+	}
+
+	/** @return amount of pending jobs that were added since last {@link #flush()} */
+	public int getPendingCount () {
+		return pending;
+	}
+
+	public long getKey (int index) {
+		return keys[index];
+	}
+
+	public void setKey (int index, long key) {
+		keys[index] = key;
+	}
+
+	public int getEntityId (int index) {
+		return entityIds[index];
+	}
+
+	public EntityProcessAgent getAgent (int index) {
+		return agents[index];
+	}
+}
@@ -18,6 +18,7 @@ package com.kotcrab.vis.runtime.system.render;
 
 import com.artemis.Aspect;
 import com.artemis.ComponentMapper;
+import com.artemis.annotations.Wire;
 import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.Sprite;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
@@ -32,12 +33,14 @@ import com.kotcrab.vis.runtime.system.delegate.DeferredEntityProcessingSystem;
 import com.kotcrab.vis.runtime.system.delegate.EntityProcessPrincipal;
 
 /** @author Kotcrab */
+@Wire(failOnNull = false)
 public class SpriterRenderSystem extends DeferredEntityProcessingSystem {
 	private ComponentMapper<VisSpriter> spriterCm;
 	private ComponentMapper<Transform> transformCm;
 	private ComponentMapper<AssetReference> assetCm;
 
 	private RenderBatchingSystem renderBatchingSystem;
+	private SpriterUpdateSystem spriterUpdateSystem;
 
 	private SpriterDrawer drawer;
 
@@ -54,22 +57,25 @@ public class SpriterRenderSystem extends DeferredEntityProcessingSystem {
 	@Override
 	protected void process (int entityId) {
 		VisSpriter spriter = spriterCm.get(entityId);
-		Transform transform = transformCm.get(entityId);
 		SpriterAsset asset = (SpriterAsset) assetCm.get(entityId).asset;
 
-		if (transform.isDirty()) {
-			spriter.updateValues(transform.getX(), transform.getY(), transform.getRotation());
-		}
+		if (spriterUpdateSystem == null) {
+			Transform transform = transformCm.get(entityId);
+			if (transform.isDirty()) {
+				spriter.updateValues(transform.getX(), transform.getY(), transform.getRotation());
+			}
 
-		if (spriter.isAnimationPlaying() == false) spriter.getPlayer().setTime(0);
-		spriter.getPlayer().update();
+			if (spriter.isAnimationPlaying() == false) spriter.getPlayer().setTime(0);
+			spriter.getPlayer().update();
+		}
 
 		drawer.setLoader(spriter.getLoader());
 		drawer.setImageScale(asset.getImageScale());
 		drawer.draw(spriter.getPlayer());
 	}
 
-	public class SpriterDrawer extends Drawer<Sprite> {
+	/** Draws spriter player objects using {@link SpriteBatch}, can be used outside of this system. */
+	public static class SpriterDrawer extends Drawer<Sprite> {
 		SpriteBatch batch;
 		float spriteScale;
 
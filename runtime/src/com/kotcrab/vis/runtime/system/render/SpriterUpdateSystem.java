@@ -0,0 +1,97 @@
+/*
+ * Copyright 2014-2016 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.runtime.system.render;
+
+import com.artemis.Aspect;
+import com.artemis.BaseEntitySystem;
+import com.artemis.ComponentMapper;
+import com.artemis.utils.IntBag;
+import com.kotcrab.vis.runtime.component.Invisible;
+import com.kotcrab.vis.runtime.component.Transform;
+import com.kotcrab.vis.runtime.component.VisSpriter;
+import com.kotcrab.vis.runtime.spriter.Player;
+import com.kotcrab.vis.runtime.util.ParallelExecutor;
+
+/**
+ * Updates spriter players of entities rendered by {@link SpriterRenderSystem} in parallel using {@link ParallelExecutor}.
+ * Must be processed before {@link RenderBatchingSystem}, when present {@link SpriterRenderSystem} only draws players.
+ * Note that players of entities culled by {@link CullingSystem} are still updated by this system.
+ * <p>
+ * Player listeners and attachments are called from worker threads. Players tween shared animations into their own
+ * objects without locking, players that don't copy tweened objects or play
+ * {@link com.kotcrab.vis.runtime.spriter.TweenedAnimation} must not be used with this system.
+ * @author Kotcrab
+ */
+public class SpriterUpdateSystem extends BaseEntitySystem {
+	private ComponentMapper<VisSpriter> spriterCm;
+	private ComponentMapper<Transform> transformCm;
+
+	private final ParallelExecutor executor;
+	private final boolean ownsExecutor;
+
+	private int[] entities;
+
+	private final ParallelExecutor.Task updateTask = new ParallelExecutor.Task() {
+		@Override
+		public void process (int index) {
+			int entityId = entities[index];
+			VisSpriter spriter = spriterCm.get(entityId);
+			Transform transform = transformCm.get(entityId);
+
+			if (transform.isDirty()) {
+				spriter.updateValues(transform.getX(), transform.getY(), transform.getRotation());
+			}
+
+			Player player = spriter.getPlayer();
+			if (spriter.isAnimationPlaying() == false) player.setTime(0);
+			player.update();
+		}
+	};
+
+	/** Creates system using new {@link ParallelExecutor} with default worker count, executor is disposed with this system */
+	public SpriterUpdateSystem () {
+		this(new ParallelExecutor(), true);
+	}
+
+	/** @param executor executor used to update players, it won't be disposed by this system */
+	public SpriterUpdateSystem (ParallelExecutor executor) {
+		this(executor, false);
+	}
+
+	private SpriterUpdateSystem (ParallelExecutor executor, boolean ownsExecutor) {
+		super(Aspect.all(VisSpriter.class, Transform.class).exclude(Invisible.class));
+		this.executor = executor;
+		this.ownsExecutor = ownsExecutor;
+	}
+
+	@Override
+	protected void processSystem () {
+		IntBag entityIds = getEntityIds();
+		entities = entityIds.getData();
+		executor.execute(entityIds.size(), updateTask);
+		entities = null;
+	}
+
+	public ParallelExecutor getExecutor () {
+		return executor;
+	}
+
+	@Override
+	protected void dispose () {
+		if (ownsExecutor) executor.dispose();
+	}
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright 2014-2016 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.runtime.system.render;
+
+import com.artemis.Aspect;
+import com.artemis.BaseEntitySystem;
+import com.artemis.ComponentMapper;
+import com.artemis.utils.IntBag;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.SpriteCache;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.IntIntMap;
+import com.kotcrab.vis.runtime.component.*;
+import com.kotcrab.vis.runtime.data.LayerData;
+import com.kotcrab.vis.runtime.system.LayerManager;
+import com.kotcrab.vis.runtime.util.AfterSceneInit;
+
+import java.util.BitSet;
+
+/**
+ * Bakes {@link VisSprite} entities from layers marked as static (see {@link LayerData#staticLayer}) into {@link SpriteCache}.
+ * Cached sprites are not submitted to batch every frame. Sprites are cached in the same order as
+ * {@link RenderBatchingSystem} renders them, consecutive cached sprites of single layer are stored as one cache which is
+ * drawn when first of those sprites is reached. Other entities between cached sprites split cache so render order is
+ * always preserved.
+ * <p>
+ * Cache is built after scene was initialized and rebuilt only when render job was added to or removed from static
+ * layer, when layer or zIndex of cached entity was changed or entity was moved to static layer, or when
+ * {@link Transform}, {@link Origin} or {@link Tint} of cached entity was changed. Components of cached entities report
+ * their changes to this system so unchanged cache doesn't have to be checked every frame. Other changes, for example
+ * changing sprite region or adding {@link Tint} to cached entity, require calling {@link #invalidate()}.
+ * <p>
+ * Sprites using {@link Shader} are never cached.
+ * @author Kotcrab
+ */
+public class StaticSpriteCacheSystem extends BaseEntitySystem implements AfterSceneInit {
+	private LayerManager layerManager;
+
+	private ComponentMapper<VisSprite> spriteCm;
+	private ComponentMapper<Transform> transformCm;
+	private ComponentMapper<Origin> originCm;
+	private ComponentMapper<Tint> tintCm;
+	private ComponentMapper<Layer> layerCm;
+
+	private SpriteCache cache;
+	private int cacheCapacity;
+	private boolean cacheDirty = true;
+	private boolean sceneInitialized;
+
+	private boolean[] cached = new boolean[64];
+	/** Maps id of first entity of cached sprites sequence to id of cache storing that sequence */
+	private final IntIntMap cacheIds = new IntIntMap();
+	/** Filled by components of cached entities, may contain ids of entities that are no longer cached */
+	private final IntBag changedEntities = new IntBag();
+
+	public StaticSpriteCacheSystem () {
+		super(Aspect.all(VisSprite.class, Transform.class, Origin.class, Layer.class, Renderable.class)
+				.exclude(Invisible.class, Shader.class));
+		setEnabled(false);
+	}
+
+	@Override
+	protected void inserted (int entityId) {
+		if (isStaticLayer(layerCm.get(entityId).getLayerId())) cacheDirty = true;
+	}
+
+	@Override
+	protected void removed (int entityId) {
+		if (isCached(entityId)) cacheDirty = true;
+	}
+
+	@Override
+	protected void processSystem () {
+	}
+
+	@Override
+	public void afterSceneInit () {
+		sceneInitialized = true;
+		cacheDirty = true;
+	}
+
+	/** Forces cache rebuild before next frame */
+	public void invalidate () {
+		cacheDirty = true;
+	}
+
+	/**
+	 * Called by {@link RenderBatchingSystem} when render job of entity was added, removed or moved because entity layer
+	 * or zIndex was changed.
+	 */
+	public void renderJobChanged (int entityId) {
+		if (cacheDirty) return;
+		Layer layer = layerCm.getSafe(entityId);
+		if (layer == null || isCached(entityId) || isStaticLayer(layer.getLayerId())) cacheDirty = true;
+	}
+
+	/**
+	 * Called by {@link RenderBatchingSystem} after its jobs were sorted and before any job was processed. Rebuilds cache
+	 * if needed.
+	 */
+	public void update (RenderJobQueue jobs) {
+		if (sceneInitialized == false) return;
+
+		if (cacheDirty == false) {
+			int[] data = changedEntities.getData();
+			for (int i = 0, s = changedEntities.size(); i < s; i++) {
+				if (isCached(data[i])) {
+					cacheDirty = true;
+					break;
+				}
+			}
+		}
+		changedEntities.setSize(0);
+
+		if (cacheDirty) {
+			cacheDirty = false;
+			rebuildCache(jobs);
+		}
+	}
+
+	private void rebuildCache (RenderJobQueue jobs) {
+		for (int i = 0; i < cached.length; i++)
+			cached[i] = false;
+		cacheIds.clear();
+
+		BitSet cacheable = subscription.getActiveEntityIds();
+		int count = 0;
+		for (int i = 0, s = jobs.size(); i < s; i++) {
+			int entityId = jobs.getEntityId(i);
+			if (cacheable.get(entityId) && isStaticLayer(layerCm.get(entityId).getLayerId())) count++;
+		}
+
+		if (count == 0) {
+			if (cache != null) cache.clear();
+			return;
+		}
+
+		if (cache == null || count > cacheCapacity) {
+			if (cache != null) cache.dispose();
+			cacheCapacity = Math.max(count, cacheCapacity * 2);
+			cache = new SpriteCache(cacheCapacity, false);
+		} else {
+			cache.clear();
+		}
+
+		int cacheLayerId = 0;
+		int firstEntityId = -1;
+		for (int i = 0, s = jobs.size(); i < s; i++) {
+			int entityId = jobs.getEntityId(i);
+			//other jobs of already cached entity are skipped by RenderBatchingSystem and don't split cache
+			if (isCached(entityId)) continue;
+
+			int layerId = layerCm.get(entityId).getLayerId();
+			boolean cacheableJob = cacheable.get(entityId) && isStaticLayer(layerId);
+
+			if (firstEntityId != -1 && (cacheableJob == false || layerId != cacheLayerId)) {
+				cacheIds.put(firstEntityId, cache.endCache());
+				firstEntityId = -1;
+			}
+
+			if (cacheableJob == false) continue;
+
+			if (firstEntityId == -1) {
+				cache.beginCache();
+				firstEntityId = entityId;
+				cacheLayerId = layerId;
+			}
+
+			VisSprite sprite = spriteCm.get(entityId);
+			Transform transform = transformCm.get(entityId);
+			Origin origin = originCm.get(entityId);
+			Tint tint = tintCm.getSafe(entityId);
+
+			cache.setColor(tint == null ? Color.WHITE : tint.getTint());
+			cache.add(sprite.getRegion(), transform.getX(), transform.getY(), origin.getOriginX(), origin.getOriginY(),
+					sprite.getWidth(), sprite.getHeight(), transform.getScaleX(), transform.getScaleY(), transform.getRotation());
+
+			ensureCachedCapacity(entityId);
+			cached[entityId] = true;
+
+			transform.bind(entityId, changedEntities);
+			origin.bind(entityId, changedEntities);
+			if (tint != null) tint.bind(entityId, changedEntities);
+		}
+
+		if (firstEntityId != -1) cacheIds.put(firstEntityId, cache.endCache());
+	}
+
+	private boolean isStaticLayer (int layerId) {
+		LayerData data = layerManager.getData(layerId);
+		return data != null && data.staticLayer;
+	}
+
+	private void ensureCachedCapacity (int entityId) {
+		if (entityId < cached.length) return;
+		boolean[] newCached = new boolean[Math.max(entityId + 1, cached.length * 2)];
+		System.arraycopy(cached, 0, newCached, 0, cached.length);
+		cached = newCached;
+	}
+
+	/** @return true if entity sprite is drawn from cache and it's render job should be skipped */
+	public boolean isCached (int entityId) {
+		return entityId < cached.length && cached[entityId];
+	}
+
+	/** @return true if entity is first entity of cached sprites sequence, cache should be drawn when its job is reached */
+	public boolean isCacheStart (int entityId) {
+		return cacheIds.containsKey(entityId);
+	}
+
+	/**
+	 * Draws cached sprites sequence starting at given entity, see {@link #isCacheStart(int)}. Must not be called between
+	 * batch begin() and end().
+	 */
+	public void draw (int entityId, Matrix4 projection) {
+		int cacheId = cacheIds.get(entityId, -1);
+		if (cacheId == -1) return;
+
+		cache.setProjectionMatrix(projection);
+		cache.begin();
+		cache.draw(cacheId);
+		cache.end();
+	}
+
+	@Override
+	protected void dispose () {
+		if (cache != null) cache.dispose();
+	}
+}
@@ -28,21 +28,26 @@ import com.kotcrab.vis.runtime.system.delegate.DeferredEntityProcessingSystem;
 import com.kotcrab.vis.runtime.system.delegate.EntityProcessPrincipal;
 
 /**
- * Renders entities with {@link VisText}
+ * Renders entities with {@link VisText}. Texts are drawn from glyph vertices already transformed to world space (see
+ * {@link VisText#updateWorldVertices()}) so batch transform matrix is never changed and consecutive texts using the same
+ * font page are drawn in single render call. Distance field shader is only switched when consecutive texts differ in
+ * {@link VisText#isDistanceFieldShaderEnabled()}.
  * @author Kotcrab
  */
 public class TextRenderSystem extends DeferredEntityProcessingSystem {
-	private static final Matrix4 IDT_MATRIX = new Matrix4();
-
 	private ComponentMapper<VisText> textCm;
 	private ComponentMapper<Transform> transformCm;
 	private ComponentMapper<Origin> originCm;
 	private ComponentMapper<Tint> tintCm;
+	private ComponentMapper<Shader> shaderCm;
 
 	private RenderBatchingSystem renderBatchingSystem;
 
 	private Batch batch;
 	private ShaderProgram distanceFieldShader;
+	private boolean distanceFieldShaderActive;
+	/** Shader set by RenderBatchingSystem before distance field shader was enabled, null if it was batch default shader */
+	private ShaderProgram shaderBeforeDistanceField;
 
 	private Polygon polygon;
 	private float[] polygonVerts = new float[8];
@@ -65,8 +70,23 @@ public class TextRenderSystem extends DeferredEntityProcessingSystem {
 		batch = renderBatchingSystem.getBatch();
 	}
 
+	@Override
+	protected void begin () {
+		distanceFieldShaderActive = false;
+	}
+
 	@Override
 	protected void process (int entityId) {
+		//custom shader of entity, same as shader that RenderBatchingSystem has set for it
+		Shader shaderComponent = shaderCm.getSafe(entityId);
+		ShaderProgram shader = shaderComponent == null ? null : shaderComponent.shader;
+
+		//RenderBatchingSystem switched shader because entity uses different Shader, previous one no longer needs restoring
+		if (distanceFieldShaderActive && shader != shaderBeforeDistanceField) {
+			shaderBeforeDistanceField = null;
+			distanceFieldShaderActive = false;
+		}
+
 		text = textCm.get(entityId);
 		transform = transformCm.get(entityId);
 		tint = tintCm.get(entityId);
@@ -79,12 +99,24 @@ public class TextRenderSystem extends DeferredEntityProcessingSystem {
 			updateText(entityId);
 		}
 
-		//TODO: optimize texts
-		VisText text = textCm.get(entityId);
-		batch.setTransformMatrix(text.getTranslationMatrix());
-		if (text.isDistanceFieldShaderEnabled()) batch.setShader(distanceFieldShader);
-		text.getCache().draw(batch);
-		if (text.isDistanceFieldShaderEnabled()) batch.setShader(null);
+		if (text.isDistanceFieldShaderEnabled()) {
+			if (distanceFieldShaderActive == false) {
+				shaderBeforeDistanceField = shader;
+				batch.setShader(distanceFieldShader);
+				distanceFieldShaderActive = true;
+			}
+		} else if (distanceFieldShaderActive) {
+			restoreShader();
+		}
+
+		text.draw(batch);
+	}
+
+	/** Restores shader that was used before distance field shader so state tracked by RenderBatchingSystem stays valid */
+	private void restoreShader () {
+		batch.setShader(shaderBeforeDistanceField);
+		shaderBeforeDistanceField = null;
+		distanceFieldShaderActive = false;
 	}
 
 	private void updateText (int entityId) {
@@ -117,11 +149,12 @@ public class TextRenderSystem extends DeferredEntityProcessingSystem {
 		polygon.setScale(transform.getScaleX(), transform.getScaleY());
 		polygon.setOrigin(origin.getOriginX(), origin.getOriginY());
 		text.updateBounds(polygon.getBoundingRectangle());
+		text.updateWorldVertices();
 	}
 
 	@Override
 	protected void end () {
-		batch.setTransformMatrix(IDT_MATRIX);
+		if (distanceFieldShaderActive) restoreShader();
 
 		text = null;
 		transform = null;
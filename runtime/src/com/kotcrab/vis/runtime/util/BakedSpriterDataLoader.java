@@ -0,0 +1,85 @@
+/*
+ * Copyright 2014-2016 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.runtime.util;
+
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetLoaderParameters;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.assets.loaders.SynchronousAssetLoader;
+import com.badlogic.gdx.assets.loaders.resolvers.InternalFileHandleResolver;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.AtlasRegion;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.Json;
+import com.kotcrab.vis.runtime.data.BakedSpriterData;
+import com.kotcrab.vis.runtime.data.BakedSpriterData.BakedAnimation;
+import com.kotcrab.vis.runtime.util.BakedSpriterDataLoader.BakedSpriterDataParameter;
+
+/**
+ * Loads {@link BakedSpriterData} and assigns frame regions from its texture atlas. File name is path of baked metadata
+ * file, texture atlas is loaded as dependency.
+ * @author Kotcrab
+ */
+public class BakedSpriterDataLoader extends SynchronousAssetLoader<BakedSpriterData, BakedSpriterDataParameter> {
+	private final Json json = new Json();
+
+	public BakedSpriterDataLoader () {
+		this(new InternalFileHandleResolver());
+	}
+
+	public BakedSpriterDataLoader (FileHandleResolver resolver) {
+		super(resolver);
+		json.setIgnoreUnknownFields(true);
+	}
+
+	@Override
+	public BakedSpriterData load (AssetManager assetManager, String fileName, FileHandle file, BakedSpriterDataParameter parameter) {
+		BakedSpriterData data = json.fromJson(BakedSpriterData.class, file);
+		TextureAtlas atlas = assetManager.get(getAtlasPath(fileName), TextureAtlas.class);
+
+		for (int i = 0; i < data.animations.size; i++) {
+			BakedAnimation animation = data.animations.get(i);
+			Array<AtlasRegion> regions = atlas.findRegions(String.valueOf(i));
+			if (regions.size != animation.frameCount)
+				throw new GdxRuntimeException("Baked spriter atlas is missing frames of animation: " + animation.name + ", file: " + fileName);
+
+			animation.frames = new TextureRegion[regions.size];
+			for (int j = 0; j < regions.size; j++)
+				animation.frames[j] = regions.get(j);
+		}
+
+		return data;
+	}
+
+	@Override
+	public Array<AssetDescriptor> getDependencies (String fileName, FileHandle file, BakedSpriterDataParameter parameter) {
+		Array<AssetDescriptor> dependencies = new Array<AssetDescriptor>();
+		dependencies.add(new AssetDescriptor<TextureAtlas>(getAtlasPath(fileName), TextureAtlas.class));
+		return dependencies;
+	}
+
+	private String getAtlasPath (String fileName) {
+		return fileName + ".atlas";
+	}
+
+	static public class BakedSpriterDataParameter extends AssetLoaderParameters<BakedSpriterData> {
+	}
+}
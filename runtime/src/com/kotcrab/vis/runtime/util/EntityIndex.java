@@ -0,0 +1,98 @@
+/*
+ * Copyright 2014-2016 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.runtime.util;
+
+import com.artemis.utils.Bag;
+import com.artemis.utils.IntBag;
+import com.badlogic.gdx.utils.IntIntMap;
+
+/**
+ * Maps non negative int handles to {@link IntBag}s of entity ids. Single entity can be stored under multiple handles.
+ * Position of every entity in its bags is tracked so adding and removing entity is O(1), removed entity is replaced
+ * by last entity of bag so order of entities in bag is not preserved. Does not allocate once bags have grown.
+ * @author Kotcrab
+ */
+public class EntityIndex {
+	private final Bag<IntBag> bags = new Bag<IntBag>();
+	private final Bag<IntIntMap> positions = new Bag<IntIntMap>();
+
+	/** Adds entity under given handle, does nothing if entity was already added under this handle */
+	public void add (int handle, int entityId) {
+		IntBag bag = bags.safeGet(handle);
+		IntIntMap bagPositions = positions.safeGet(handle);
+		if (bag == null) {
+			bag = new IntBag();
+			bagPositions = new IntIntMap();
+			bags.set(handle, bag);
+			positions.set(handle, bagPositions);
+		}
+
+		if (bagPositions.containsKey(entityId)) return;
+		bagPositions.put(entityId, bag.size());
+		bag.add(entityId);
+	}
+
+	/** @return true if entity was stored under given handle and was removed, false otherwise */
+	public boolean remove (int handle, int entityId) {
+		IntBag bag = bags.safeGet(handle);
+		if (bag == null) return false;
+
+		IntIntMap bagPositions = positions.get(handle);
+		int index = bagPositions.remove(entityId, -1);
+		if (index == -1) return false;
+
+		int lastIndex = bag.size() - 1;
+		if (index != lastIndex) {
+			int lastEntityId = bag.get(lastIndex);
+			bag.set(index, lastEntityId);
+			bagPositions.put(lastEntityId, index);
+		}
+		bag.setSize(lastIndex);
+		return true;
+	}
+
+	/**
+	 * @return ids of entities stored under given handle or null if there aren't any. Returned bag is owned by index and
+	 * must not be modified.
+	 */
+	public IntBag get (int handle) {
+		IntBag bag = bags.safeGet(handle);
+		if (bag == null || bag.size() == 0) return null;
+		return bag;
+	}
+
+	/** @return amount of entities stored under given handle */
+	public int size (int handle) {
+		IntBag bag = bags.safeGet(handle);
+		return bag == null ? 0 : bag.size();
+	}
+
+	/** @return true if entity is stored under given handle */
+	public boolean contains (int handle, int entityId) {
+		IntIntMap bagPositions = positions.safeGet(handle);
+		return bagPositions != null && bagPositions.containsKey(entityId);
+	}
+
+	public void clear () {
+		for (int i = 0, s = bags.size(); i < s; i++) {
+			IntBag bag = bags.get(i);
+			if (bag == null) continue;
+			bag.setSize(0);
+			positions.get(i).clear();
+		}
+	}
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2014-2016 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.runtime.util;
+
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executes indexed tasks on fixed amount of daemon worker threads. Calling thread also takes part in processing and
+ * {@link #execute(int, Task)} returns after all indices were processed. Indices are claimed by threads in small chunks
+ * so uneven per index cost is balanced automatically. On GWT tasks are always executed on calling thread.
+ * @author Kotcrab
+ */
+public class ParallelExecutor implements Disposable {
+	private static final AtomicInteger executorCount = new AtomicInteger();
+
+	private final ExecutorService executor;
+	private final int workerCount;
+	private final Worker[] workers;
+
+	private int minParallelCount = 16;
+
+	private Task task;
+	private int count;
+	private int chunkSize;
+	private final AtomicInteger nextIndex = new AtomicInteger();
+	private CountDownLatch latch;
+	private volatile Throwable workerError;
+
+	/** Creates executor using {@link #getDefaultWorkerCount()} worker threads */
+	public ParallelExecutor () {
+		this(getDefaultWorkerCount());
+	}
+
+	/** @param workerCount amount of worker threads, calling thread is not included. If 0 tasks are executed on calling thread. */
+	public ParallelExecutor (int workerCount) {
+		if (workerCount < 0) throw new IllegalArgumentException("workerCount can't be negative");
+		this.workerCount = workerCount;
+
+		workers = new Worker[workerCount];
+		for (int i = 0; i < workerCount; i++)
+			workers[i] = new Worker();
+
+		if (workerCount == 0) {
+			executor = null;
+		} else {
+			final int id = executorCount.incrementAndGet();
+			executor = Executors.newFixedThreadPool(workerCount, new ThreadFactory() {
+				private int threadId;
+
+				@Override
+				public Thread newThread (Runnable runnable) {
+					Thread thread = new Thread(runnable, "VisRuntime-Executor-" + id + "-" + threadId++);
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+		}
+	}
+
+	/** @return amount of available processors minus one for calling thread */
+	public static int getDefaultWorkerCount () {
+		return Math.max(Runtime.getRuntime().availableProcessors() - 1, 0);
+	}
+
+	/**
+	 * Calls {@link Task#process(int)} for every index from 0 to count - 1. Must not be called concurrently. If any
+	 * invocation has thrown exception remaining indices are skipped and exception is rethrown on calling thread.
+	 */
+	public void execute (int count, Task task) {
+		if (count <= 0) return;
+
+		if (executor == null || count < minParallelCount) {
+			for (int i = 0; i < count; i++)
+				task.process(i);
+			return;
+		}
+
+		this.task = task;
+		this.count = count;
+		chunkSize = Math.max(1, count / ((workerCount + 1) * 4));
+		nextIndex.set(0);
+		workerError = null;
+
+		int usedWorkers = Math.min(workerCount, (count + chunkSize - 1) / chunkSize - 1);
+		latch = new CountDownLatch(usedWorkers);
+		for (int i = 0; i < usedWorkers; i++)
+			executor.execute(workers[i]);
+
+		Throwable error = null;
+		try {
+			processChunks();
+		} catch (Throwable e) {
+			error = e;
+			nextIndex.set(count);
+		}
+
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new GdxRuntimeException("Interrupted while waiting for workers", e);
+		} finally {
+			this.task = null;
+		}
+
+		if (error == null) error = workerError;
+		if (error != null) {
+			if (error instanceof RuntimeException) throw (RuntimeException) error;
+			throw new GdxRuntimeException(error);
+		}
+	}
+
+	private void processChunks () {
+		while (true) {
+			int start = nextIndex.getAndAdd(chunkSize);
+			if (start >= count) return;
+
+			int end = Math.min(start + chunkSize, count);
+			for (int i = start; i < end; i++)
+				task.process(i);
+		}
+	}
+
+	/** @return amount of worker threads, calling thread is not included */
+	public int getWorkerCount () {
+		return workerCount;
+	}
+
+	public int getMinParallelCount () {
+		return minParallelCount;
+	}
+
+	/** @param minParallelCount tasks with fewer indices than this value are executed on calling thread. Default is 16. */
+	public void setMinParallelCount (int minParallelCount) {
+		this.minParallelCount = minParallelCount;
+	}
+
+	@Override
+	public void dispose () {
+		if (executor != null) executor.shutdown();
+	}
+
+	/** Task executed by {@link ParallelExecutor}, invocations for different indices may run concurrently. */
+	public interface Task {
+		void process (int index);
+	}
+
+	private class Worker implements Runnable {
+		@Override
+		public void run () {
+			try {
+				processChunks();
+			} catch (Throwable e) {
+				workerError = e;
+				nextIndex.set(count); //stop other threads from claiming new chunks
+			} finally {
+				latch.countDown();
+			}
+		}
+	}
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2014-2016 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.runtime.util;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture.TextureFilter;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * Packs images loaded at runtime into texture pages shared by all assets using this packer. Images are deduplicated by
+ * their file content, image used by multiple assets (even if stored in different files) is decoded, packed and uploaded
+ * to GPU only once. Images are packed using {@link #pack(FileHandle)}, their regions are available after
+ * {@link #update()} was called. Existing page textures are updated in place so regions obtained earlier stay valid.
+ * <p>
+ * Packed images are kept until packer is disposed, page pixmaps are also kept in memory so new images can be added to
+ * existing pages. Used by {@link SpriterLoader} when created by {@link SpriterDataLoader} with shared packer.
+ * @author Kotcrab
+ */
+public class SharedTexturePacker implements Disposable {
+	public static final int DEFAULT_PAGE_SIZE = 2048;
+
+	private final PixmapPacker packer;
+	private final TextureAtlas atlas = new TextureAtlas();
+	private final ObjectMap<String, TextureRegion> regions = new ObjectMap<String, TextureRegion>();
+	private final ObjectMap<String, String> pathKeys = new ObjectMap<String, String>();
+	private int packedCount;
+
+	public SharedTexturePacker () {
+		this(DEFAULT_PAGE_SIZE, DEFAULT_PAGE_SIZE);
+	}
+
+	public SharedTexturePacker (int pageWidth, int pageHeight) {
+		packer = new PixmapPacker(pageWidth, pageHeight, Pixmap.Format.RGBA8888, 2, true);
+	}
+
+	/**
+	 * Packs image from file if the same image wasn't packed before. Image region can be obtained using returned key
+	 * after {@link #update()} was called.
+	 * @return key of packed image
+	 */
+	public String pack (FileHandle file) {
+		String key = pathKeys.get(file.path());
+		if (key != null) return key;
+
+		byte[] bytes = file.readBytes();
+		key = getContentKey(bytes);
+		pathKeys.put(file.path(), key);
+
+		if (packer.getRect(key) == null) {
+			Pixmap pixmap = new Pixmap(bytes, 0, bytes.length);
+			try {
+				packer.pack(key, pixmap);
+			} finally {
+				pixmap.dispose();
+			}
+			packedCount++;
+		}
+
+		return key;
+	}
+
+	/** Uploads images packed since last update to page textures. Must be called on rendering thread. */
+	public void update () {
+		packer.updateTextureAtlas(atlas, TextureFilter.Linear, TextureFilter.Linear, false);
+	}
+
+	/**
+	 * @param key key returned by {@link #pack(FileHandle)}
+	 * @return region of packed image, {@link #update()} must be called after image was packed
+	 */
+	public TextureRegion getRegion (String key) {
+		TextureRegion region = regions.get(key);
+		if (region == null) {
+			region = atlas.findRegion(key);
+			if (region == null) throw new GdxRuntimeException("Image was not packed or packer wasn't updated: " + key);
+			regions.put(key, region);
+		}
+		return region;
+	}
+
+	/** @return amount of unique images that were packed */
+	public int getPackedCount () {
+		return packedCount;
+	}
+
+	/** @return amount of texture pages */
+	public int getPageCount () {
+		return packer.getPages().size;
+	}
+
+	private String getContentKey (byte[] bytes) {
+		//64 bit FNV-1a hash
+		long hash = 0xcbf29ce484222325L;
+		for (byte b : bytes) {
+			hash ^= b & 0xff;
+			hash *= 0x100000001b3L;
+		}
+		return Long.toHexString(hash) + "_" + bytes.length;
+	}
+
+	@Override
+	public void dispose () {
+		atlas.dispose();
+		packer.dispose();
+		regions.clear();
+		pathKeys.clear();
+	}
+}
@@ -16,6 +16,8 @@
 
 package com.kotcrab.vis.runtime.util;
 
+import com.badlogic.gdx.Files.FileType;
+import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.assets.AssetDescriptor;
 import com.badlogic.gdx.assets.AssetLoaderParameters;
 import com.badlogic.gdx.assets.AssetManager;
@@ -25,15 +27,30 @@ import com.badlogic.gdx.assets.loaders.resolvers.InternalFileHandleResolver;
 import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.g2d.Sprite;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.StreamUtils;
+import com.kotcrab.vis.runtime.spriter.BinaryDataFormat;
+import com.kotcrab.vis.runtime.spriter.BinaryDataReader;
+import com.kotcrab.vis.runtime.spriter.BinaryDataWriter;
 import com.kotcrab.vis.runtime.spriter.Data;
 import com.kotcrab.vis.runtime.spriter.Loader;
-import com.kotcrab.vis.runtime.spriter.SCMLReader;
+import com.kotcrab.vis.runtime.spriter.StreamingSCMLReader;
 import com.kotcrab.vis.runtime.util.SpriterDataLoader.SpriterDataParameter;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
 /**
+ * Loads Spriter SCML files. If binary data cache (see {@link BinaryDataFormat}) created from the same SCML file exists
+ * next to it, data is read from cache and SCML is not parsed. Otherwise SCML is parsed using {@link StreamingSCMLReader},
+ * cache can be then optionally written using {@link SpriterDataParameter#writeCache}.
  * @author Kotcrab
  */
 public class SpriterDataLoader extends SynchronousAssetLoader<SpriterData, SpriterDataParameter> {
+	private SharedTexturePacker sharedPacker;
+
 	public SpriterDataLoader () {
 		this(new InternalFileHandleResolver());
 	}
@@ -42,19 +59,70 @@ public class SpriterDataLoader extends SynchronousAssetLoader<SpriterData, Sprit
 		super(resolver);
 	}
 
+	/**
+	 * @param sharedPacker if not null images of all loaded spriter assets will be packed using this packer instead of
+	 * creating separate atlas for each asset, see {@link SharedTexturePacker}
+	 */
+	public SpriterDataLoader (FileHandleResolver resolver, SharedTexturePacker sharedPacker) {
+		super(resolver);
+		this.sharedPacker = sharedPacker;
+	}
+
 	@Override
 	public SpriterData load (AssetManager assetManager, String fileName, FileHandle file, SpriterDataParameter parameter) {
-		Data data = new SCMLReader(file.read()).getData();
-		Loader<Sprite> loader = new SpriterLoader(data);
+		byte[] bytes = file.readBytes();
+		long checksum = BinaryDataFormat.checksum(bytes, 0, bytes.length);
+		FileHandle cacheFile = resolve(BinaryDataFormat.getCachePath(fileName));
+
+		Data data = readCache(cacheFile, checksum);
+		if (data == null) {
+			data = new StreamingSCMLReader(new ByteArrayInputStream(bytes)).getData();
+			if (parameter != null && parameter.writeCache) writeCache(cacheFile, data, checksum);
+		}
+
+		Loader<Sprite> loader = sharedPacker != null ? new SpriterLoader(data, sharedPacker) : new SpriterLoader(data);
 		loader.load(file.file());
 		return new SpriterData(data, loader);
 	}
 
+	private Data readCache (FileHandle cacheFile, long checksum) {
+		if (cacheFile.exists() == false) return null;
+
+		InputStream input = cacheFile.read();
+		try {
+			return new BinaryDataReader().read(input, checksum);
+		} catch (IOException e) {
+			Gdx.app.error("SpriterDataLoader", "Failed to read Spriter data cache: " + cacheFile.path(), e);
+			return null;
+		} finally {
+			StreamUtils.closeQuietly(input);
+		}
+	}
+
+	private void writeCache (FileHandle cacheFile, Data data, long checksum) {
+		FileType type = cacheFile.type();
+		if (type == FileType.Classpath || type == FileType.Internal) return;
+
+		OutputStream output = cacheFile.write(false);
+		try {
+			new BinaryDataWriter().write(data, checksum, output);
+		} catch (IOException e) {
+			throw new GdxRuntimeException("Failed to write Spriter data cache: " + cacheFile.path(), e);
+		} finally {
+			StreamUtils.closeQuietly(output);
+		}
+	}
+
 	@Override
 	public Array<AssetDescriptor> getDependencies (String fileName, FileHandle file, SpriterDataParameter parameter) {
 		return null;
 	}
 
 	static public class SpriterDataParameter extends AssetLoaderParameters<SpriterData> {
+		/**
+		 * If true and binary data cache was missing or outdated it will be written next to SCML file after it was parsed.
+		 * Cache is never written for internal and classpath files.
+		 */
+		public boolean writeCache = false;
 	}
 }
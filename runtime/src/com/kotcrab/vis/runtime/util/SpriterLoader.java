@@ -49,6 +49,9 @@ public class SpriterLoader extends Loader<Sprite> implements Disposable {
 	private boolean pack;
 	private int atlasWidth, atlasHeight;
 
+	private SharedTexturePacker sharedPacker;
+	private HashMap<FileReference, String> sharedKeys;
+
 	public SpriterLoader (Data data) {
 		this(data, true);
 	}
@@ -67,6 +70,16 @@ public class SpriterLoader extends Loader<Sprite> implements Disposable {
 		this.pixmapsToDispose = new HashMap<Pixmap, Boolean>();
 	}
 
+	/**
+	 * Creates loader which packs images using shared packer instead of creating separate atlas. Images are owned by
+	 * shared packer and are not disposed by this loader.
+	 */
+	public SpriterLoader (Data data, SharedTexturePacker sharedPacker) {
+		this(data, false);
+		this.sharedPacker = sharedPacker;
+		this.sharedKeys = new HashMap<FileReference, String>();
+	}
+
 	@Override
 	protected Sprite loadResource (FileReference ref) {
 		FileHandle f;
@@ -82,6 +95,10 @@ public class SpriterLoader extends Loader<Sprite> implements Disposable {
 
 		if (!f.exists())
 			throw new GdxRuntimeException("Could not find file handle " + path + "! Please check your paths.");
+		if (this.sharedPacker != null) {
+			this.sharedKeys.put(ref, sharedPacker.pack(f));
+			return null;
+		}
 		if (this.packer == null && this.pack)
 			this.packer = new PixmapPacker(this.atlasWidth, this.atlasHeight, Pixmap.Format.RGBA8888, 2, true);
 		final Pixmap pix = new Pixmap(f);
@@ -110,12 +127,24 @@ public class SpriterLoader extends Loader<Sprite> implements Disposable {
 
 	@Override
 	public void dispose () {
+		if (this.sharedPacker != null) {
+			super.dispose();
+			return;
+		}
 		if (this.pack && this.packer != null) this.packer.dispose();
 		else this.disposeNonPackedTextures();
 		super.dispose();
 	}
 
 	protected void finishLoading () {
+		if (this.sharedPacker != null) {
+			sharedPacker.update();
+			for (Entry<FileReference, String> entry : sharedKeys.entrySet())
+				super.resources.put(entry.getKey(), new Sprite(sharedPacker.getRegion(entry.getValue())));
+			sharedKeys.clear();
+			return;
+		}
+
 		Set<FileReference> refs = this.resources.keySet();
 		for (FileReference ref : refs) {
 			Pixmap pix = this.pixmaps.get(ref);
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2014-2016 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.runtime.util.binary;
+
+/**
+ * Source of data for {@link BinarySceneReader}. All multi byte values are big endian.
+ * @author Kotcrab
+ */
+public interface BinaryInput {
+	byte readByte ();
+
+	short readShort ();
+
+	char readChar ();
+
+	int readInt ();
+
+	long readLong ();
+
+	float readFloat ();
+
+	double readDouble ();
+
+	void readBytes (byte[] bytes, int length);
+}
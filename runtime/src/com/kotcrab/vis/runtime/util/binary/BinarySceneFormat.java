@@ -0,0 +1,124 @@
+/*
+ * Copyright 2014-2016 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.runtime.util.binary;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.SerializationException;
+import com.badlogic.gdx.utils.StreamUtils;
+import com.badlogic.gdx.utils.reflect.ClassReflection;
+import com.badlogic.gdx.utils.reflect.Field;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Binary scene format constants and utilities shared by {@link BinarySceneWriter} and {@link BinarySceneReader}.
+ * <p>
+ * File starts with {@link #MAGIC} and format version followed by type table. Type table stores name of every class
+ * used in file (tag from {@link com.kotcrab.vis.runtime.util.json.RuntimeJsonTags} or full class name if class has no tag)
+ * and names of its fields. After type table root {@link com.kotcrab.vis.runtime.data.SceneData} value is stored. Every
+ * value is prefixed with one byte tag describing its type, objects are stored as type table index followed by values of
+ * all fields in order defined by type table. Because field names are stored in type table, fields that are unknown to
+ * reader are skipped and fields missing in file are left with their default values. Strings are stored once,
+ * repeated strings are stored as reference to previously read string. Subclasses of {@link Array} and {@link ObjectMap}
+ * are stored with their class so they are read back with the same type, element type and order, subclasses of other
+ * libGDX collections can't be written.
+ * <p>
+ * Serialized fields are the same as the ones serialized by libGDX {@link com.badlogic.gdx.utils.Json}: all non static,
+ * non transient fields of class and its super classes.
+ * @author Kotcrab
+ */
+public class BinarySceneFormat {
+	/** 'VISB' */
+	public static final int MAGIC = 0x56495342;
+	/** Version 2 added {@link #GDX_TYPED_ARRAY} and {@link #GDX_TYPED_OBJECT_MAP}, version 1 files can still be read */
+	public static final int VERSION = 2;
+
+	static final byte NULL = 0;
+	static final byte TRUE = 1;
+	static final byte FALSE = 2;
+	static final byte BYTE = 3;
+	static final byte SHORT = 4;
+	static final byte INT = 5;
+	static final byte LONG = 6;
+	static final byte FLOAT = 7;
+	static final byte DOUBLE = 8;
+	static final byte CHAR = 9;
+	static final byte STRING = 10;
+	static final byte STRING_REF = 11;
+	static final byte ENUM = 12;
+	static final byte OBJECT = 13;
+	static final byte ARRAY = 14;
+	static final byte GDX_ARRAY = 15;
+	static final byte GDX_INT_ARRAY = 16;
+	static final byte GDX_FLOAT_ARRAY = 17;
+	static final byte GDX_OBJECT_MAP = 18;
+	static final byte GDX_INT_MAP = 19;
+	/** Array subclass, unordered array or array with typed backing array */
+	static final byte GDX_TYPED_ARRAY = 20;
+	/** ObjectMap subclass such as OrderedMap */
+	static final byte GDX_TYPED_OBJECT_MAP = 21;
+
+	private BinarySceneFormat () {
+	}
+
+	/** @return true if given file starts with binary scene header, false if it's JSON scene or file is too short */
+	public static boolean isBinary (FileHandle file) {
+		InputStream input = file.read();
+		try {
+			int magic = 0;
+			for (int i = 0; i < 4; i++) {
+				int b = input.read();
+				if (b == -1) return false;
+				magic = (magic << 8) | b;
+			}
+			return magic == MAGIC;
+		} catch (IOException e) {
+			throw new SerializationException("Error reading file: " + file, e);
+		} finally {
+			StreamUtils.closeQuietly(input);
+		}
+	}
+
+	/** @return serializable fields of class, super class fields are first */
+	static Field[] getFields (ObjectMap<Class<?>, Field[]> fieldsCache, Class<?> type) {
+		Field[] cached = fieldsCache.get(type);
+		if (cached != null) return cached;
+
+		Array<Class<?>> classHierarchy = new Array<Class<?>>();
+		Class<?> nextClass = type;
+		while (nextClass != Object.class && nextClass != null) {
+			classHierarchy.add(nextClass);
+			nextClass = nextClass.getSuperclass();
+		}
+
+		Array<Field> fields = new Array<Field>(Field.class);
+		for (int i = classHierarchy.size - 1; i >= 0; i--) {
+			for (Field field : ClassReflection.getDeclaredFields(classHierarchy.get(i))) {
+				if (field.isStatic() || field.isTransient() || field.isSynthetic()) continue;
+				if (field.isAccessible() == false) field.setAccessible(true);
+				fields.add(field);
+			}
+		}
+
+		Field[] result = fields.toArray();
+		fieldsCache.put(type, result);
+		return result;
+	}
+}
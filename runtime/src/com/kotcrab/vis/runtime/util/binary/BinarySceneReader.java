@@ -0,0 +1,295 @@
+/*
+ * Copyright 2014-2016 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.runtime.util.binary;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.*;
+import com.badlogic.gdx.utils.reflect.*;
+import com.kotcrab.vis.runtime.data.SceneData;
+import com.kotcrab.vis.runtime.util.json.JsonTagRegistrar;
+import com.kotcrab.vis.runtime.util.json.RuntimeJsonTags;
+
+import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+
+import static com.kotcrab.vis.runtime.util.binary.BinarySceneFormat.*;
+
+/**
+ * Reads {@link SceneData} stored in binary scene format, see {@link BinarySceneFormat}. Reader is not thread safe.
+ * @author Kotcrab
+ */
+public class BinarySceneReader implements JsonTagRegistrar {
+	private final ObjectMap<String, Class<?>> tagClasses = new ObjectMap<String, Class<?>>();
+	private final ObjectMap<Class<?>, Field[]> fieldsCache = new ObjectMap<Class<?>, Field[]>();
+
+	private BinaryInput input;
+	private TypeInfo[] types;
+	private final Array<String> strings = new Array<String>();
+	private byte[] stringBuffer = new byte[256];
+
+	public BinarySceneReader () {
+		RuntimeJsonTags.registerTags(this);
+	}
+
+	/** Registers tag that was used in type table instead of full class name */
+	@Override
+	public void register (String tag, Class<?> clazz) {
+		tagClasses.put(tag, clazz);
+	}
+
+	public SceneData read (FileHandle file) {
+		InputStream inputStream = file.read(8192);
+		try {
+			return read(new StreamBinaryInput(inputStream));
+		} finally {
+			StreamUtils.closeQuietly(inputStream);
+		}
+	}
+
+	public SceneData read (BinaryInput input) {
+		this.input = input;
+
+		try {
+			if (input.readInt() != MAGIC) throw new SerializationException("Not a binary scene file");
+			int version = readVarInt();
+			if (version > VERSION)
+				throw new SerializationException("Unsupported binary scene version: " + version + ", newest supported: " + VERSION);
+
+			readTypeTable();
+
+			Object data = readValue(SceneData.class);
+			if (data instanceof SceneData == false)
+				throw new SerializationException("Binary scene file root is not SceneData");
+			return (SceneData) data;
+		} finally {
+			this.input = null;
+			types = null;
+			strings.clear();
+		}
+	}
+
+	private void readTypeTable () {
+		types = new TypeInfo[readVarInt()];
+		for (int i = 0; i < types.length; i++) {
+			String name = readRawString();
+			Class<?> type = tagClasses.get(name);
+			if (type == null) {
+				try {
+					type = ClassReflection.forName(name);
+				} catch (ReflectionException e) {
+					throw new SerializationException("Unknown type in binary scene: " + name, e);
+				}
+			}
+
+			int fieldCount = readVarInt();
+			Field[] fields = new Field[fieldCount];
+			Field[] classFields = fieldCount == 0 ? new Field[0] : getFields(fieldsCache, type);
+			for (int j = 0; j < fieldCount; j++) {
+				String fieldName = readRawString();
+				for (Field field : classFields) {
+					if (field.getName().equals(fieldName)) {
+						fields[j] = field;
+						break;
+					}
+				}
+			}
+
+			types[i] = new TypeInfo(type, fields);
+		}
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private Object readValue (Class<?> knownType) {
+		byte tag = input.readByte();
+		switch (tag) {
+			case NULL:
+				return null;
+			case TRUE:
+				return Boolean.TRUE;
+			case FALSE:
+				return Boolean.FALSE;
+			case BYTE:
+				return input.readByte();
+			case SHORT:
+				return input.readShort();
+			case INT:
+				return unZigZag(readVarInt());
+			case LONG:
+				return input.readLong();
+			case FLOAT:
+				return input.readFloat();
+			case DOUBLE:
+				return input.readDouble();
+			case CHAR:
+				return input.readChar();
+			case STRING: {
+				String value = readRawString();
+				strings.add(value);
+				return value;
+			}
+			case STRING_REF:
+				return strings.get(readVarInt());
+			case ENUM: {
+				Class enumType = types[readVarInt()].type;
+				return Enum.valueOf(enumType, (String) readValue(String.class));
+			}
+			case OBJECT:
+				return readObject(types[readVarInt()]);
+			case ARRAY: {
+				int length = readVarInt();
+				Class<?> componentType = knownType != null && knownType.isArray() ? knownType.getComponentType() : Object.class;
+				Object array = ArrayReflection.newInstance(componentType, length);
+				for (int i = 0; i < length; i++)
+					ArrayReflection.set(array, i, readValue(componentType));
+				return array;
+			}
+			case GDX_ARRAY: {
+				int size = readVarInt();
+				Array array = new Array(size);
+				for (int i = 0; i < size; i++)
+					array.add(readValue(null));
+				return array;
+			}
+			case GDX_TYPED_ARRAY: {
+				Class<?> arrayType = types[readVarInt()].type;
+				Class<?> elementType = types[readVarInt()].type;
+				boolean ordered = input.readByte() == TRUE;
+				int size = readVarInt();
+				Array array = (Array) newInstance(arrayType);
+				array.ordered = ordered;
+				array.items = (Object[]) ArrayReflection.newInstance(elementType, size);
+				for (int i = 0; i < size; i++)
+					array.add(readValue(elementType));
+				return array;
+			}
+			case GDX_INT_ARRAY: {
+				int size = readVarInt();
+				IntArray array = new IntArray(size);
+				for (int i = 0; i < size; i++)
+					array.add(unZigZag(readVarInt()));
+				return array;
+			}
+			case GDX_FLOAT_ARRAY: {
+				int size = readVarInt();
+				FloatArray array = new FloatArray(size);
+				for (int i = 0; i < size; i++)
+					array.add(input.readFloat());
+				return array;
+			}
+			case GDX_INT_MAP: {
+				int size = readVarInt();
+				IntMap map = new IntMap();
+				for (int i = 0; i < size; i++) {
+					int key = unZigZag(readVarInt());
+					map.put(key, readValue(null));
+				}
+				return map;
+			}
+			case GDX_OBJECT_MAP: {
+				int size = readVarInt();
+				ObjectMap map = new ObjectMap();
+				for (int i = 0; i < size; i++) {
+					Object key = readValue(null);
+					map.put(key, readValue(null));
+				}
+				return map;
+			}
+			case GDX_TYPED_OBJECT_MAP: {
+				ObjectMap map = (ObjectMap) newInstance(types[readVarInt()].type);
+				int size = readVarInt();
+				for (int i = 0; i < size; i++) {
+					Object key = readValue(null);
+					map.put(key, readValue(null));
+				}
+				return map;
+			}
+			default:
+				throw new SerializationException("Invalid value tag in binary scene: " + tag);
+		}
+	}
+
+	private Object readObject (TypeInfo info) {
+		Object object = newInstance(info.type);
+
+		try {
+			for (Field field : info.fields) {
+				if (field == null) { //field does not exist anymore, value is skipped
+					readValue(null);
+					continue;
+				}
+
+				field.set(object, readValue(field.getType()));
+			}
+		} catch (ReflectionException e) {
+			throw new SerializationException("Error reading object of type: " + ClassReflection.getSimpleName(info.type), e);
+		}
+
+		return object;
+	}
+
+	private Object newInstance (Class<?> type) {
+		try {
+			return ClassReflection.newInstance(type);
+		} catch (ReflectionException ignored) {
+			try {
+				Constructor constructor = ClassReflection.getDeclaredConstructor(type);
+				constructor.setAccessible(true);
+				return constructor.newInstance();
+			} catch (ReflectionException e) {
+				throw new SerializationException("Class cannot be created (missing no-arg constructor): " + type.getName(), e);
+			}
+		}
+	}
+
+	private String readRawString () {
+		int length = readVarInt();
+		if (stringBuffer.length < length) stringBuffer = new byte[Math.max(length, stringBuffer.length * 2)];
+		input.readBytes(stringBuffer, length);
+		try {
+			return new String(stringBuffer, 0, length, "UTF-8");
+		} catch (UnsupportedEncodingException e) {
+			throw new SerializationException(e);
+		}
+	}
+
+	private int readVarInt () {
+		int result = 0;
+		int shift = 0;
+		byte b;
+		do {
+			b = input.readByte();
+			result |= (b & 0x7F) << shift;
+			shift += 7;
+		} while ((b & 0x80) != 0);
+		return result;
+	}
+
+	private static int unZigZag (int value) {
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	private static class TypeInfo {
+		final Class<?> type;
+		/** Fields in order they are stored in file, null if field does not exist in class */
+		final Field[] fields;
+
+		TypeInfo (Class<?> type, Field[] fields) {
+			this.type = type;
+			this.fields = fields;
+		}
+	}
+}
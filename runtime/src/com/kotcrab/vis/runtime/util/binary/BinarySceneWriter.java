@@ -0,0 +1,273 @@
+/*
+ * Copyright 2014-2016 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.runtime.util.binary;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.*;
+import com.badlogic.gdx.utils.reflect.ArrayReflection;
+import com.badlogic.gdx.utils.reflect.ClassReflection;
+import com.badlogic.gdx.utils.reflect.Field;
+import com.badlogic.gdx.utils.reflect.ReflectionException;
+import com.kotcrab.vis.runtime.data.SceneData;
+import com.kotcrab.vis.runtime.util.json.JsonTagRegistrar;
+import com.kotcrab.vis.runtime.util.json.RuntimeJsonTags;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import static com.kotcrab.vis.runtime.util.binary.BinarySceneFormat.*;
+
+/**
+ * Writes {@link SceneData} in binary scene format, see {@link BinarySceneFormat}. Writer is not thread safe.
+ * @author Kotcrab
+ */
+public class BinarySceneWriter implements JsonTagRegistrar {
+	private final ObjectMap<Class<?>, String> classTags = new ObjectMap<Class<?>, String>();
+	private final ObjectMap<Class<?>, Field[]> fieldsCache = new ObjectMap<Class<?>, Field[]>();
+
+	private final ObjectIntMap<Class<?>> typeIndices = new ObjectIntMap<Class<?>>();
+	private final Array<Class<?>> types = new Array<Class<?>>();
+	/** Types of written objects, fields are only stored for those types */
+	private final ObjectSet<Class<?>> objectTypes = new ObjectSet<Class<?>>();
+	private final ObjectIntMap<String> stringIndices = new ObjectIntMap<String>();
+
+	private DataOutputStream output;
+
+	public BinarySceneWriter () {
+		RuntimeJsonTags.registerTags(this);
+	}
+
+	/** Registers tag that will be used in type table instead of full class name */
+	@Override
+	public void register (String tag, Class<?> clazz) {
+		classTags.put(clazz, tag);
+	}
+
+	public void write (SceneData data, FileHandle file) {
+		OutputStream output = file.write(false);
+		try {
+			write(data, output);
+		} finally {
+			StreamUtils.closeQuietly(output);
+		}
+	}
+
+	/** Writes scene data to output stream, stream is not closed */
+	public void write (SceneData data, OutputStream outputStream) {
+		try {
+			ByteArrayOutputStream body = new ByteArrayOutputStream(16 * 1024);
+			output = new DataOutputStream(body);
+			writeValue(data);
+			output.flush();
+
+			output = new DataOutputStream(outputStream);
+			output.writeInt(MAGIC);
+			writeVarInt(VERSION);
+			writeTypeTable();
+			body.writeTo(output);
+			output.flush();
+		} catch (IOException e) {
+			throw new SerializationException("Error writing binary scene", e);
+		} finally {
+			output = null;
+			types.clear();
+			typeIndices.clear();
+			objectTypes.clear();
+			stringIndices.clear();
+		}
+	}
+
+	private void writeTypeTable () throws IOException {
+		writeVarInt(types.size);
+		for (Class<?> type : types) {
+			String tag = classTags.get(type);
+			writeRawString(tag != null ? tag : type.getName());
+
+			if (objectTypes.contains(type) == false) {
+				writeVarInt(0);
+				continue;
+			}
+
+			Field[] fields = getFields(fieldsCache, type);
+			writeVarInt(fields.length);
+			for (Field field : fields)
+				writeRawString(field.getName());
+		}
+	}
+
+	private int getTypeIndex (Class<?> type) {
+		int index = typeIndices.get(type, -1);
+		if (index == -1) {
+			index = types.size;
+			types.add(type);
+			typeIndices.put(type, index);
+		}
+		return index;
+	}
+
+	@SuppressWarnings("unchecked")
+	private void writeValue (Object value) throws IOException {
+		if (value == null) {
+			output.writeByte(NULL);
+			return;
+		}
+
+		Class<?> type = value.getClass();
+
+		if (type == String.class) {
+			writeString((String) value);
+		} else if (type == Boolean.class) {
+			output.writeByte((Boolean) value ? TRUE : FALSE);
+		} else if (type == Integer.class) {
+			output.writeByte(INT);
+			writeVarInt(zigZag((Integer) value));
+		} else if (type == Float.class) {
+			output.writeByte(FLOAT);
+			output.writeFloat((Float) value);
+		} else if (type == Byte.class) {
+			output.writeByte(BYTE);
+			output.writeByte((Byte) value);
+		} else if (type == Short.class) {
+			output.writeByte(SHORT);
+			output.writeShort((Short) value);
+		} else if (type == Long.class) {
+			output.writeByte(LONG);
+			output.writeLong((Long) value);
+		} else if (type == Double.class) {
+			output.writeByte(DOUBLE);
+			output.writeDouble((Double) value);
+		} else if (type == Character.class) {
+			output.writeByte(CHAR);
+			output.writeChar((Character) value);
+		} else if (value instanceof Enum) {
+			output.writeByte(ENUM);
+			writeVarInt(getTypeIndex(((Enum<?>) value).getDeclaringClass()));
+			writeString(((Enum<?>) value).name());
+		} else if (type.isArray()) {
+			int length = ArrayReflection.getLength(value);
+			output.writeByte(ARRAY);
+			writeVarInt(length);
+			for (int i = 0; i < length; i++)
+				writeValue(ArrayReflection.get(value, i));
+		} else if (value instanceof Array) {
+			Array<Object> array = (Array<Object>) value;
+			Class<?> elementType = array.items.getClass().getComponentType();
+			if (type == Array.class && array.ordered && elementType == Object.class) {
+				output.writeByte(GDX_ARRAY);
+			} else {
+				output.writeByte(GDX_TYPED_ARRAY);
+				writeVarInt(getTypeIndex(type));
+				writeVarInt(getTypeIndex(elementType));
+				output.writeByte(array.ordered ? TRUE : FALSE);
+			}
+			writeVarInt(array.size);
+			for (int i = 0; i < array.size; i++)
+				writeValue(array.get(i));
+		} else if (value instanceof IntArray) {
+			checkNotSubclass(type, IntArray.class);
+			IntArray array = (IntArray) value;
+			output.writeByte(GDX_INT_ARRAY);
+			writeVarInt(array.size);
+			for (int i = 0; i < array.size; i++)
+				writeVarInt(zigZag(array.get(i)));
+		} else if (value instanceof FloatArray) {
+			checkNotSubclass(type, FloatArray.class);
+			FloatArray array = (FloatArray) value;
+			output.writeByte(GDX_FLOAT_ARRAY);
+			writeVarInt(array.size);
+			for (int i = 0; i < array.size; i++)
+				output.writeFloat(array.get(i));
+		} else if (value instanceof IntMap) {
+			checkNotSubclass(type, IntMap.class);
+			IntMap<Object> map = (IntMap<Object>) value;
+			output.writeByte(GDX_INT_MAP);
+			writeVarInt(map.size);
+			for (IntMap.Entry<Object> entry : map.entries()) {
+				writeVarInt(zigZag(entry.key));
+				writeValue(entry.value);
+			}
+		} else if (value instanceof ObjectMap) {
+			ObjectMap<Object, Object> map = (ObjectMap<Object, Object>) value;
+			if (type == ObjectMap.class) {
+				output.writeByte(GDX_OBJECT_MAP);
+			} else {
+				output.writeByte(GDX_TYPED_OBJECT_MAP);
+				writeVarInt(getTypeIndex(type));
+			}
+			writeVarInt(map.size);
+			for (ObjectMap.Entry<Object, Object> entry : map.entries()) {
+				writeValue(entry.key);
+				writeValue(entry.value);
+			}
+		} else {
+			writeObject(value, type);
+		}
+	}
+
+	private void checkNotSubclass (Class<?> type, Class<?> collectionType) {
+		if (type != collectionType) {
+			throw new SerializationException("Subclasses of " + ClassReflection.getSimpleName(collectionType)
+					+ " are not supported by binary scene format: " + type.getName());
+		}
+	}
+
+	private void writeObject (Object value, Class<?> type) throws IOException {
+		output.writeByte(OBJECT);
+		writeVarInt(getTypeIndex(type));
+		objectTypes.add(type);
+
+		try {
+			for (Field field : getFields(fieldsCache, type))
+				writeValue(field.get(value));
+		} catch (ReflectionException e) {
+			throw new SerializationException("Error writing object of type: " + ClassReflection.getSimpleName(type), e);
+		}
+	}
+
+	private void writeString (String value) throws IOException {
+		int index = stringIndices.get(value, -1);
+		if (index != -1) {
+			output.writeByte(STRING_REF);
+			writeVarInt(index);
+			return;
+		}
+
+		stringIndices.put(value, stringIndices.size);
+		output.writeByte(STRING);
+		writeRawString(value);
+	}
+
+	private void writeRawString (String value) throws IOException {
+		byte[] bytes = value.getBytes("UTF-8");
+		writeVarInt(bytes.length);
+		output.write(bytes);
+	}
+
+	private void writeVarInt (int value) throws IOException {
+		while ((value & ~0x7F) != 0) {
+			output.writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		output.writeByte(value);
+	}
+
+	private static int zigZag (int value) {
+		return (value << 1) ^ (value >> 31);
+	}
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2014-2016 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.runtime.util.binary;
+
+import java.nio.ByteBuffer;
+
+/**
+ * {@link BinaryInput} reading directly from {@link ByteBuffer}, for example from memory mapped file returned by
+ * {@link MappedFiles#map(com.badlogic.gdx.files.FileHandle)}. Buffer must use big endian byte order.
+ * @author Kotcrab
+ */
+public class ByteBufferBinaryInput implements BinaryInput {
+	private final ByteBuffer buffer;
+
+	public ByteBufferBinaryInput (ByteBuffer buffer) {
+		this.buffer = buffer;
+	}
+
+	@Override
+	public byte readByte () {
+		return buffer.get();
+	}
+
+	@Override
+	public short readShort () {
+		return buffer.getShort();
+	}
+
+	@Override
+	public char readChar () {
+		return buffer.getChar();
+	}
+
+	@Override
+	public int readInt () {
+		return buffer.getInt();
+	}
+
+	@Override
+	public long readLong () {
+		return buffer.getLong();
+	}
+
+	@Override
+	public float readFloat () {
+		return buffer.getFloat();
+	}
+
+	@Override
+	public double readDouble () {
+		return buffer.getDouble();
+	}
+
+	@Override
+	public void readBytes (byte[] bytes, int length) {
+		buffer.get(bytes, 0, length);
+	}
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2014-2016 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.runtime.util.binary;
+
+import com.badlogic.gdx.Files.FileType;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.StreamUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Utilities for memory mapping files. Not supported on GWT where {@link #map(FileHandle)} always returns null.
+ * @author Kotcrab
+ */
+public class MappedFiles {
+	private MappedFiles () {
+	}
+
+	/**
+	 * Maps entire file into memory in read only mode. Mapping is released when returned buffer is garbage collected.
+	 * @return buffer mapping file or null if file can't be mapped because it doesn't exist on file system, for example
+	 * when it is stored inside of jar or apk.
+	 */
+	public static ByteBuffer map (FileHandle file) {
+		if (file.type() == FileType.Classpath) return null;
+
+		File javaFile = file.file();
+		if (javaFile.isFile() == false) return null;
+
+		RandomAccessFile randomAccessFile = null;
+		try {
+			randomAccessFile = new RandomAccessFile(javaFile, "r");
+			FileChannel channel = randomAccessFile.getChannel();
+			return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		} catch (IOException e) {
+			throw new GdxRuntimeException("Error memory mapping file: " + file, e);
+		} finally {
+			StreamUtils.closeQuietly(randomAccessFile);
+		}
+	}
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2014-2016 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.runtime.util.binary;
+
+import com.badlogic.gdx.utils.SerializationException;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * {@link BinaryInput} reading from {@link InputStream}. Stream is read byte by byte, so it should be buffered.
+ * @author Kotcrab
+ */
+public class StreamBinaryInput implements BinaryInput {
+	private final DataInputStream input;
+
+	public StreamBinaryInput (InputStream input) {
+		this.input = new DataInputStream(input);
+	}
+
+	@Override
+	public byte readByte () {
+		try {
+			return input.readByte();
+		} catch (IOException e) {
+			throw new SerializationException(e);
+		}
+	}
+
+	@Override
+	public short readShort () {
+		try {
+			return input.readShort();
+		} catch (IOException e) {
+			throw new SerializationException(e);
+		}
+	}
+
+	@Override
+	public char readChar () {
+		try {
+			return input.readChar();
+		} catch (IOException e) {
+			throw new SerializationException(e);
+		}
+	}
+
+	@Override
+	public int readInt () {
+		try {
+			return input.readInt();
+		} catch (IOException e) {
+			throw new SerializationException(e);
+		}
+	}
+
+	@Override
+	public long readLong () {
+		try {
+			return input.readLong();
+		} catch (IOException e) {
+			throw new SerializationException(e);
+		}
+	}
+
+	@Override
+	public float readFloat () {
+		try {
+			return input.readFloat();
+		} catch (IOException e) {
+			throw new SerializationException(e);
+		}
+	}
+
+	@Override
+	public double readDouble () {
+		try {
+			return input.readDouble();
+		} catch (IOException e) {
+			throw new SerializationException(e);
+		}
+	}
+
+	@Override
+	public void readBytes (byte[] bytes, int length) {
+		try {
+			input.readFully(bytes, 0, length);
+		} catch (IOException e) {
+			throw new SerializationException(e);
+		}
+	}
+}
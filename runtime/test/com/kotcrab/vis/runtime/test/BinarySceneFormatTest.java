@@ -0,0 +1,376 @@
+/*
+ * Copyright 2014-2016 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.runtime.test;
+
+import com.artemis.Component;
+import com.badlogic.gdx.assets.loaders.BitmapFontLoader.BitmapFontParameter;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Texture.TextureFilter;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.BodyDef.BodyType;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.Json;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.JsonWriter.OutputType;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.OrderedMap;
+import com.badlogic.gdx.utils.SerializationException;
+import com.badlogic.gdx.utils.SnapshotArray;
+import com.kotcrab.vis.runtime.assets.*;
+import com.kotcrab.vis.runtime.component.*;
+import com.kotcrab.vis.runtime.component.proto.*;
+import com.kotcrab.vis.runtime.data.EntityData;
+import com.kotcrab.vis.runtime.data.LayerData;
+import com.kotcrab.vis.runtime.data.PhysicsSettings;
+import com.kotcrab.vis.runtime.data.SceneData;
+import com.kotcrab.vis.runtime.scene.LayerCordsSystem;
+import com.kotcrab.vis.runtime.scene.SceneLoader;
+import com.kotcrab.vis.runtime.scene.SceneViewport;
+import com.kotcrab.vis.runtime.util.binary.BinarySceneFormat;
+import com.kotcrab.vis.runtime.util.binary.BinarySceneReader;
+import com.kotcrab.vis.runtime.util.binary.BinarySceneWriter;
+import com.kotcrab.vis.runtime.util.binary.ByteBufferBinaryInput;
+import com.kotcrab.vis.runtime.util.binary.MappedFiles;
+import com.kotcrab.vis.runtime.util.binary.StreamBinaryInput;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.*;
+
+/**
+ * Round trip tests of binary scene format, scenes loaded from binary format must be identical to scenes loaded from JSON.
+ * @author Kotcrab
+ */
+public class BinarySceneFormatTest {
+	@Test
+	public void testEmptySceneRoundTrip () {
+		SceneData data = new SceneData();
+		data.viewport = SceneViewport.SCREEN;
+		data.physicsSettings = new PhysicsSettings();
+		data.variables = new Variables();
+		data.groupIds = new IntMap<String>();
+
+		assertSameAsJson(data);
+	}
+
+	@Test
+	public void testFullSceneRoundTrip () {
+		SceneData data = createScene();
+		SceneData binaryData = assertSameAsJson(data);
+
+		assertEquals(data.entities.size, binaryData.entities.size);
+		assertEquals("Background", binaryData.layers.get(0).name);
+		assertTrue(binaryData.layers.get(1).staticLayer);
+		assertEquals(LayerCordsSystem.SCREEN, binaryData.layers.get(1).cordsSystem);
+		assertEquals("enemies", binaryData.groupIds.get(3));
+		assertEquals(30, binaryData.physicsSettings.stepRate);
+
+		Transform transform = findComponent(binaryData.entities.get(0), Transform.class);
+		assertEquals(12.5f, transform.getX(), 0);
+		assertEquals(-3f, transform.getY(), 0);
+		assertEquals(45f, transform.getRotation(), 0);
+
+		Renderable renderable = findComponent(binaryData.entities.get(0), Renderable.class);
+		assertEquals(-7, renderable.getZIndex());
+
+		VisPolygon polygon = findComponent(binaryData.entities.get(2), VisPolygon.class);
+		assertEquals(2, polygon.faces.length);
+		assertEquals(new Vector2(1, 2), polygon.faces[1][2]);
+
+		PhysicsProperties properties = findComponent(binaryData.entities.get(2), PhysicsProperties.class);
+		assertEquals(BodyType.DynamicBody, properties.bodyType);
+		assertEquals(0x0004, properties.categoryBits);
+
+		ProtoVisText text = findComponent(binaryData.entities.get(1), ProtoVisText.class);
+		assertEquals("Zażółć gęślą jaźń\nmultiline", text.text);
+	}
+
+	@Test
+	public void testBinaryIsSmallerThanJson () {
+		SceneData data = createScene();
+		Array<EntityData> entities = new Array<EntityData>(data.entities);
+		for (int i = 0; i < 100; i++)
+			data.entities.addAll(entities);
+
+		//same settings as used by default exporter
+		Json json = SceneLoader.getJson();
+		json.setUsePrototypes(true);
+		json.setOutputType(OutputType.minimal);
+		byte[] jsonBytes = json.toJson(data).getBytes();
+		byte[] binaryBytes = writeBinary(data);
+		assertTrue("Binary: " + binaryBytes.length + ", JSON: " + jsonBytes.length, binaryBytes.length < jsonBytes.length);
+	}
+
+	@Test
+	public void testFormatDetection () throws IOException {
+		SceneData data = createScene();
+
+		File binaryFile = File.createTempFile("vis-binary-scene", ".scene");
+		File jsonFile = File.createTempFile("vis-json-scene", ".scene");
+		binaryFile.deleteOnExit();
+		jsonFile.deleteOnExit();
+
+		FileHandle binaryHandle = new FileHandle(binaryFile);
+		FileHandle jsonHandle = new FileHandle(jsonFile);
+		new BinarySceneWriter().write(data, binaryHandle);
+		jsonHandle.writeString(SceneLoader.getJson().toJson(data), false, "UTF-8");
+
+		assertTrue(BinarySceneFormat.isBinary(binaryHandle));
+		assertFalse(BinarySceneFormat.isBinary(jsonHandle));
+
+		SceneData readData = new BinarySceneReader().read(binaryHandle);
+		assertEquals(toJson(data), toJson(readData));
+	}
+
+	@Test
+	public void testMemoryMappedRead () throws IOException {
+		SceneData data = createScene();
+
+		File file = File.createTempFile("vis-mapped-scene", ".scene");
+		file.deleteOnExit();
+		FileHandle fileHandle = new FileHandle(file);
+		new BinarySceneWriter().write(data, fileHandle);
+
+		ByteBuffer buffer = MappedFiles.map(fileHandle);
+		assertNotNull(buffer);
+		SceneData readData = new BinarySceneReader().read(new ByteBufferBinaryInput(buffer));
+		assertEquals(toJson(data), toJson(readData));
+
+		assertNull(MappedFiles.map(new FileHandle(new File(file.getParentFile(), "vis-scene-that-does-not-exist"))));
+	}
+
+	@Test
+	public void testUnknownFieldsAreSkipped () {
+		SceneData data = new SceneData();
+		OldComponent oldComponent = new OldComponent();
+		oldComponent.kept = 42;
+		oldComponent.removed = "removed value";
+		oldComponent.keptAfterRemoved = 7.5f;
+		data.entities.add(new EntityData(new Array<Component>(new Component[]{oldComponent, new Transform(1, 2)})));
+
+		BinarySceneWriter writer = new BinarySceneWriter();
+		writer.register("TestComponent", OldComponent.class);
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		writer.write(data, output);
+
+		BinarySceneReader reader = new BinarySceneReader();
+		reader.register("TestComponent", NewComponent.class);
+		SceneData readData = reader.read(new StreamBinaryInput(new ByteArrayInputStream(output.toByteArray())));
+
+		NewComponent newComponent = findComponent(readData.entities.get(0), NewComponent.class);
+		assertEquals(42, newComponent.kept);
+		assertEquals(7.5f, newComponent.keptAfterRemoved, 0);
+		assertEquals("default", newComponent.added);
+		assertEquals(2f, findComponent(readData.entities.get(0), Transform.class).getY(), 0);
+	}
+
+	@Test
+	public void testCollectionSubclassesRoundTrip () {
+		CollectionsComponent component = new CollectionsComponent();
+		component.snapshotArray = new SnapshotArray<String>(new String[]{"a", "b"});
+		component.typedArray = new Array<Vector2>(Vector2.class);
+		component.typedArray.add(new Vector2(1, 2));
+		component.unorderedArray = new Array<String>(false, 4);
+		component.unorderedArray.add("x");
+		OrderedMap<String, Integer> orderedMap = new OrderedMap<String, Integer>();
+		orderedMap.put("c", 3);
+		orderedMap.put("a", 1);
+		orderedMap.put("b", 2);
+		component.orderedMap = orderedMap;
+
+		SceneData data = new SceneData();
+		data.entities.add(entity(component));
+		CollectionsComponent read = findComponent(readBinary(writeBinary(data)).entities.get(0), CollectionsComponent.class);
+
+		assertEquals(SnapshotArray.class, read.snapshotArray.getClass());
+		assertEquals(new Array<String>(new String[]{"a", "b"}), read.snapshotArray);
+
+		assertEquals(Vector2[].class, read.typedArray.items.getClass());
+		assertEquals(new Vector2(1, 2), read.typedArray.first());
+
+		assertFalse(read.unorderedArray.ordered);
+		assertEquals("x", read.unorderedArray.first());
+
+		assertEquals(OrderedMap.class, read.orderedMap.getClass());
+		assertEquals(new Array<String>(new String[]{"c", "a", "b"}), ((OrderedMap<String, Integer>) read.orderedMap).orderedKeys());
+		assertEquals(Integer.valueOf(2), read.orderedMap.get("b"));
+	}
+
+	@Test(expected = SerializationException.class)
+	public void testUnsupportedCollectionSubclassIsRejected () {
+		CollectionsComponent component = new CollectionsComponent();
+		component.intArray = new IntArray() {
+		};
+
+		SceneData data = new SceneData();
+		data.entities.add(entity(component));
+		writeBinary(data);
+	}
+
+	private SceneData createScene () {
+		SceneData data = new SceneData();
+		data.viewport = SceneViewport.FIT;
+		data.width = 800;
+		data.height = 480;
+		data.pixelsPerUnit = 100;
+		data.textureAtlasPath = "gfx/textures.atlas";
+
+		data.physicsSettings = new PhysicsSettings(true, 0, -10, true);
+		data.physicsSettings.stepRate = 30;
+
+		ObjectMap<String, String> sceneVariables = new ObjectMap<String, String>();
+		sceneVariables.put("difficulty", "hard");
+		sceneVariables.put("music", "true");
+		data.variables = new Variables(sceneVariables);
+
+		data.groupIds = new IntMap<String>();
+		data.groupIds.put(0, "player");
+		data.groupIds.put(3, "enemies");
+
+		data.layers.add(new LayerData(LayerCordsSystem.WORLD, "Background", 0));
+		LayerData uiLayer = new LayerData(LayerCordsSystem.SCREEN, "UI", 1);
+		uiLayer.staticLayer = true;
+		data.layers.add(uiLayer);
+
+		ProtoVisSprite sprite = new ProtoVisSprite();
+		sprite.width = 64;
+		sprite.height = 32;
+		sprite.flipX = true;
+		VisGroup group = new VisGroup();
+		group.groupIds.add(0);
+		group.groupIds.add(3);
+		data.entities.add(entity(new Transform(12.5f, -3, 2, 2, 45), new Origin(32, 16), new Tint(new Color(0.5f, 0.25f, 1, 0.75f)),
+				new Layer(0), new Renderable(-7), new VisID("player"), group, sprite,
+				new AssetReference(new TextureRegionAsset("gfx/player.png")), new Invisible()));
+
+		ProtoVisText text = new ProtoVisText();
+		text.text = "Zażółć gęślą jaźń\nmultiline";
+		text.isUsesDistanceField = true;
+		BitmapFontParameter fontParameter = new BitmapFontParameter();
+		fontParameter.minFilter = TextureFilter.Linear;
+		fontParameter.magFilter = TextureFilter.Linear;
+		data.entities.add(entity(new Transform(), new Origin(), new Tint(), new Layer(1), new Renderable(),
+				new VisID(), text, new AssetReference(new BmpFontAsset("font/arial.fnt", fontParameter)),
+				new ProtoShader(new ShaderAsset("shader/blur.vert", "shader/blur.frag"))));
+
+		PhysicsProperties physicsProperties = new PhysicsProperties();
+		physicsProperties.bodyType = BodyType.DynamicBody;
+		physicsProperties.categoryBits = 0x0004;
+		physicsProperties.maskBits = -2;
+		VisPolygon polygon = new VisPolygon();
+		polygon.faces = new Vector2[][]{
+				{new Vector2(0, 0), new Vector2(1, 0), new Vector2(0, 1)},
+				{new Vector2(1, 0), new Vector2(1, 1), new Vector2(1, 2)}};
+		ProtoVisSpriter spriter = new ProtoVisSpriter();
+		spriter.scale = 0.5f;
+		spriter.defaultAnimation = 2;
+		ObjectMap<String, String> entityVariables = new ObjectMap<String, String>();
+		entityVariables.put("health", "100");
+		data.entities.add(entity(new Transform(5, 5), new Origin(), new Layer(0), new Renderable(3), physicsProperties, polygon,
+				spriter, new AssetReference(new SpriterAsset("spriter/hero.scml", 1.5f)), new Variables(entityVariables)));
+
+		data.entities.add(entity(new Transform(), new ProtoVisMusic(), new AssetReference(new MusicAsset("music/theme.ogg"))));
+		data.entities.add(entity(new Transform(), new ProtoVisSound(), new AssetReference(new SoundAsset("sfx/hit.wav"))));
+		data.entities.add(entity(new Transform(), new ProtoVisParticle(), new AssetReference(new ParticleAsset("particle/fire.p"))));
+		data.entities.add(entity(new Transform(), new Point(), new AssetReference(new TtfFontAsset("font/arial.ttf", 24)),
+				new AssetReference(new AtlasRegionAsset("gfx/other.atlas", "region"))));
+
+		return data;
+	}
+
+	private EntityData entity (Component... components) {
+		return new EntityData(new Array<Component>(components));
+	}
+
+	/** @return scene data read back from binary format */
+	private SceneData assertSameAsJson (SceneData data) {
+		Json json = SceneLoader.getJson();
+		SceneData jsonData = json.fromJson(SceneData.class, json.toJson(data));
+		SceneData binaryData = readBinary(writeBinary(data));
+
+		String expected = toJson(jsonData);
+		assertEquals(expected, toJson(binaryData));
+		assertEquals(toJson(data), expected);
+		return binaryData;
+	}
+
+	private byte[] writeBinary (SceneData data) {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		new BinarySceneWriter().write(data, output);
+		return output.toByteArray();
+	}
+
+	private SceneData readBinary (byte[] bytes) {
+		return new BinarySceneReader().read(new StreamBinaryInput(new ByteArrayInputStream(bytes)));
+	}
+
+	/** Serializes all fields including default ones, used to compare scenes */
+	private String toJson (SceneData data) {
+		Json json = SceneLoader.getJson();
+		json.setUsePrototypes(false);
+		//by default IntArray is serialized with its backing array, capacity of array may differ after reading
+		json.setSerializer(IntArray.class, new Json.Serializer<IntArray>() {
+			@Override
+			public void write (Json json, IntArray array, Class knownType) {
+				json.writeValue(array.toArray());
+			}
+
+			@Override
+			public IntArray read (Json json, JsonValue jsonData, Class type) {
+				throw new UnsupportedOperationException();
+			}
+		});
+		return json.prettyPrint(data);
+	}
+
+	private <T extends Component> T findComponent (EntityData entityData, Class<T> type) {
+		for (Component component : entityData.components) {
+			if (type.isInstance(component)) return type.cast(component);
+		}
+
+		fail("Component not found: " + type.getSimpleName());
+		return null;
+	}
+
+	public static class OldComponent extends Component {
+		public int kept;
+		public String removed;
+		public float keptAfterRemoved;
+	}
+
+	public static class CollectionsComponent extends Component {
+		public Array<String> snapshotArray;
+		public Array<Vector2> typedArray;
+		public Array<String> unorderedArray;
+		public ObjectMap<String, Integer> orderedMap;
+		public IntArray intArray;
+	}
+
+	public static class NewComponent extends Component {
+		public int kept;
+		public float keptAfterRemoved;
+		public String added = "default";
+	}
+}
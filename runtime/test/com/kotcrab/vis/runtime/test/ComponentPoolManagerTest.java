@@ -0,0 +1,332 @@
+/*
+ * Copyright 2014-2016 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.runtime.test;
+
+import com.artemis.ComponentMapper;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.BitmapFontLoader.BitmapFontParameter;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Pixmap.Format;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.TextureData;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFont.BitmapFontData;
+import com.badlogic.gdx.graphics.g2d.BitmapFont.Glyph;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+import com.kotcrab.vis.runtime.RuntimeConfiguration;
+import com.kotcrab.vis.runtime.assets.BmpFontAsset;
+import com.kotcrab.vis.runtime.assets.TextureRegionAsset;
+import com.kotcrab.vis.runtime.component.AssetReference;
+import com.kotcrab.vis.runtime.component.Tint;
+import com.kotcrab.vis.runtime.component.Transform;
+import com.kotcrab.vis.runtime.component.VisSprite;
+import com.kotcrab.vis.runtime.component.VisText;
+import com.kotcrab.vis.runtime.component.proto.ProtoVisSprite;
+import com.kotcrab.vis.runtime.component.proto.ProtoVisText;
+import com.kotcrab.vis.runtime.system.ComponentPoolManager;
+import com.kotcrab.vis.runtime.system.inflater.SpriteInflater;
+import com.kotcrab.vis.runtime.system.inflater.TextInflater;
+import com.kotcrab.vis.runtime.util.EntityEngine;
+import com.kotcrab.vis.runtime.util.EntityEngineConfiguration;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests of {@link ComponentPoolManager}, components of deleted entities must be reused only if they were obtained from pool
+ * and reused sprites and texts must keep their own buffers. Tests don't have OpenGL context, GL calls made by textures are
+ * ignored.
+ * @author Kotcrab
+ */
+public class ComponentPoolManagerTest {
+	private static final String ATLAS_PATH = "gfx/atlas.atlas";
+	private static final String FONT_PATH = "font/font.fnt";
+
+	private EntityEngine engine;
+	private ComponentPoolManager poolManager;
+
+	private ComponentMapper<VisSprite> spriteCm;
+	private ComponentMapper<VisText> textCm;
+
+	private Texture texture;
+	private TextureRegion firstRegion;
+	private TextureRegion secondRegion;
+	private BitmapFont font;
+
+	@Before
+	public void setUp () {
+		Gdx.gl = Gdx.gl20 = createNoOpGL();
+		texture = new Texture(new NoOpTextureData(64, 64));
+		firstRegion = new TextureRegion(texture, 0, 0, 16, 16);
+		secondRegion = new TextureRegion(texture, 16, 0, 32, 16);
+		font = createFont(texture);
+
+		TextureAtlas atlas = new TextureAtlas();
+		atlas.addRegion("first", firstRegion);
+		atlas.addRegion("second", secondRegion);
+
+		TestAssetManager manager = new TestAssetManager();
+		manager.add(ATLAS_PATH, TextureAtlas.class, atlas);
+		manager.add(FONT_PATH, BitmapFont.class, font);
+
+		RuntimeConfiguration configuration = new RuntimeConfiguration();
+		EntityEngineConfiguration config = new EntityEngineConfiguration();
+		poolManager = new ComponentPoolManager();
+		config.setSystem(poolManager);
+		config.setSystem(new SpriteInflater(configuration, manager, ATLAS_PATH));
+		config.setSystem(new TextInflater(configuration, manager, 1));
+		engine = new EntityEngine(config);
+
+		spriteCm = engine.getMapper(VisSprite.class);
+		textCm = engine.getMapper(VisText.class);
+	}
+
+	@After
+	public void tearDown () {
+		texture.dispose();
+		Gdx.gl = Gdx.gl20 = null;
+	}
+
+	@Test
+	public void testInflatedSpriteIsObtainedFromPool () {
+		int first = createSprite("first");
+		engine.process();
+		VisSprite sprite = spriteCm.get(first);
+		TextureRegion region = sprite.getRegion();
+
+		engine.delete(first);
+		engine.process();
+		engine.process();
+		assertEquals(1, poolManager.getFreeCount(VisSprite.class));
+
+		int second = createSprite("second");
+		engine.process();
+		assertSame(sprite, spriteCm.get(second));
+		assertSame(region, sprite.getRegion());
+		assertEquals(16, region.getRegionX());
+		assertEquals(32, region.getRegionWidth());
+		assertEquals(0, poolManager.getFreeCount(VisSprite.class));
+	}
+
+	@Test
+	public void testInflatedTextIsObtainedFromPool () {
+		int first = createText("ab");
+		engine.process();
+		VisText text = textCm.get(first);
+		BitmapFontCache cache = text.getCache();
+
+		engine.delete(first);
+		engine.process();
+		engine.process();
+		assertEquals(1, poolManager.getFreeCount(VisText.class));
+
+		int second = createText("ba");
+		engine.process();
+		assertSame(text, textCm.get(second));
+		assertSame(cache, text.getCache());
+		assertEquals("ba", text.getText());
+		assertTrue(text.isDirty());
+		assertEquals(0, poolManager.getFreeCount(VisText.class));
+	}
+
+	@Test
+	public void testSpriteRegionIsSetInPlace () {
+		VisSprite sprite = new VisSprite(firstRegion);
+		TextureRegion region = sprite.getRegion();
+		assertNotSame(firstRegion, region);
+
+		sprite.setRegion(secondRegion);
+		assertSame(region, sprite.getRegion());
+		assertEquals(16, region.getRegionX());
+		assertEquals(32, region.getRegionWidth());
+		assertEquals(secondRegion.getU2(), region.getU2(), 0);
+		assertEquals(0, firstRegion.getRegionX());
+	}
+
+	@Test
+	public void testTextKeepsCacheWhenReused () {
+		VisText text = new VisText(font, "ab");
+		text.updateCache(Color.WHITE);
+		text.updateWorldVertices();
+		BitmapFontCache cache = text.getCache();
+		float[] vertices = cache.getVertices(0);
+
+		text.reset();
+		assertEquals(0, cache.getVertexCount(0));
+
+		text.init(font, "ba");
+		text.updateCache(Color.WHITE);
+		text.updateWorldVertices();
+		assertSame(cache, text.getCache());
+		assertSame(vertices, cache.getVertices(0));
+		assertEquals(2 * 20, cache.getVertexCount(0));
+
+		text.init(createFont(texture), "ab");
+		assertNotSame(cache, text.getCache());
+	}
+
+	@Test
+	public void testNotPooledComponentsAreNotReused () {
+		int entity = engine.create();
+		engine.edit(entity).add(new Transform(5, 5));
+		int replaced = engine.create();
+		poolManager.create(replaced, Tint.class);
+		engine.process();
+
+		engine.edit(replaced).add(new Tint());
+		engine.delete(entity);
+		engine.delete(replaced);
+		engine.process();
+		engine.process();
+
+		assertEquals(0, poolManager.getFreeCount(Transform.class));
+		assertEquals(0, poolManager.getFreeCount(Tint.class));
+	}
+
+	private int createSprite (String regionName) {
+		int entityId = engine.create();
+		engine.edit(entityId)
+				.add(new ProtoVisSprite())
+				.add(new AssetReference(new TextureRegionAsset(regionName + ".png")));
+		return entityId;
+	}
+
+	private int createText (String str) {
+		ProtoVisText protoText = new ProtoVisText();
+		protoText.text = str;
+
+		int entityId = engine.create();
+		engine.edit(entityId)
+				.add(protoText)
+				.add(new AssetReference(new BmpFontAsset(FONT_PATH, new BitmapFontParameter())));
+		return entityId;
+	}
+
+	private static BitmapFont createFont (Texture texture) {
+		BitmapFontData data = new BitmapFontData();
+		data.lineHeight = 10;
+		data.capHeight = 8;
+		data.down = -10;
+
+		for (char ch = 'a'; ch <= 'b'; ch++) {
+			Glyph glyph = new Glyph();
+			glyph.id = ch;
+			glyph.srcX = (ch - 'a') * 8;
+			glyph.srcY = 32;
+			glyph.width = 8;
+			glyph.height = 10;
+			glyph.xadvance = 9;
+			data.setGlyph(ch, glyph);
+		}
+
+		return new BitmapFont(data, Array.with(new TextureRegion(texture)), false);
+	}
+
+	private static GL20 createNoOpGL () {
+		return (GL20) Proxy.newProxyInstance(GL20.class.getClassLoader(), new Class[]{GL20.class}, new InvocationHandler() {
+			@Override
+			public Object invoke (Object proxy, Method method, Object[] args) {
+				Class<?> type = method.getReturnType();
+				if (type == int.class) return 0;
+				if (type == boolean.class) return false;
+				if (type == float.class) return 0f;
+				return null;
+			}
+		});
+	}
+
+	private static class TestAssetManager extends AssetManager {
+		public <T> void add (String fileName, Class<T> type, T asset) {
+			addAsset(fileName, type, asset);
+		}
+	}
+
+	private static class NoOpTextureData implements TextureData {
+		private final int width;
+		private final int height;
+
+		public NoOpTextureData (int width, int height) {
+			this.width = width;
+			this.height = height;
+		}
+
+		@Override
+		public TextureDataType getType () {
+			return TextureDataType.Custom;
+		}
+
+		@Override
+		public boolean isPrepared () {
+			return true;
+		}
+
+		@Override
+		public void prepare () {
+		}
+
+		@Override
+		public Pixmap consumePixmap () {
+			return null;
+		}
+
+		@Override
+		public boolean disposePixmap () {
+			return false;
+		}
+
+		@Override
+		public void consumeCustomData (int target) {
+		}
+
+		@Override
+		public int getWidth () {
+			return width;
+		}
+
+		@Override
+		public int getHeight () {
+			return height;
+		}
+
+		@Override
+		public Format getFormat () {
+			return Format.RGBA8888;
+		}
+
+		@Override
+		public boolean useMipMaps () {
+			return false;
+		}
+
+		@Override
+		public boolean isManaged () {
+			return false;
+		}
+	}
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2014-2016 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.runtime.test;
+
+import com.artemis.utils.IntBag;
+import com.kotcrab.vis.runtime.util.EntityIndex;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests of {@link EntityIndex} used by {@link com.kotcrab.vis.runtime.system.VisIDManager} and
+ * {@link com.kotcrab.vis.runtime.system.VisGroupManager}.
+ * @author Kotcrab
+ */
+public class EntityIndexTest {
+	@Test
+	public void testAddIgnoresDuplicates () {
+		EntityIndex index = new EntityIndex();
+		index.add(3, 10);
+		index.add(3, 10);
+		index.add(3, 11);
+
+		assertEquals(2, index.size(3));
+		assertTrue(index.contains(3, 10));
+		assertTrue(index.contains(3, 11));
+		assertFalse(index.contains(0, 10));
+		assertNull(index.get(0));
+	}
+
+	@Test
+	public void testSwapRemoveKeepsPositions () {
+		EntityIndex index = new EntityIndex();
+		for (int i = 0; i < 5; i++)
+			index.add(0, i);
+
+		assertTrue(index.remove(0, 1));
+		assertFalse(index.remove(0, 1));
+		assertTrue(index.remove(0, 4));
+		assertTrue(index.remove(0, 0));
+
+		IntBag bag = index.get(0);
+		assertEquals(2, bag.size());
+		assertTrue(bag.contains(2));
+		assertTrue(bag.contains(3));
+
+		assertTrue(index.remove(0, 3));
+		assertTrue(index.remove(0, 2));
+		assertNull(index.get(0));
+		assertEquals(0, index.size(0));
+	}
+
+	@Test
+	public void testEntityUnderMultipleHandles () {
+		EntityIndex index = new EntityIndex();
+		index.add(0, 7);
+		index.add(1, 7);
+		index.add(1, 8);
+
+		index.remove(1, 7);
+		assertTrue(index.contains(0, 7));
+		assertFalse(index.contains(1, 7));
+		assertEquals(8, index.get(1).get(0));
+
+		index.clear();
+		assertNull(index.get(0));
+		assertNull(index.get(1));
+	}
+}
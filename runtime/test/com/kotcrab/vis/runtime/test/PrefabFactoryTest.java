@@ -0,0 +1,158 @@
+/*
+ * Copyright 2014-2016 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.runtime.test;
+
+import com.artemis.Component;
+import com.artemis.ComponentMapper;
+import com.badlogic.gdx.utils.Array;
+import com.kotcrab.vis.runtime.RuntimeConfiguration;
+import com.kotcrab.vis.runtime.component.*;
+import com.kotcrab.vis.runtime.data.EntityData;
+import com.kotcrab.vis.runtime.scene.Prefab;
+import com.kotcrab.vis.runtime.system.ComponentPoolManager;
+import com.kotcrab.vis.runtime.system.PrefabFactory;
+import com.kotcrab.vis.runtime.system.PrefabFactory.ComponentCopier;
+import com.kotcrab.vis.runtime.util.EntityEngine;
+import com.kotcrab.vis.runtime.util.EntityEngineConfiguration;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests of {@link PrefabFactory}, entities created from prefab must have their own copies of prefab components.
+ * @author Kotcrab
+ */
+public class PrefabFactoryTest {
+	private EntityEngine engine;
+	private PrefabFactory factory;
+
+	private Transform prefabTransform;
+	private VisGroup prefabGroup;
+	private PhysicsProperties prefabPhysics;
+
+	@Before
+	public void setUp () {
+		createEngine(null);
+	}
+
+	private void createEngine (ComponentPoolManager poolManager) {
+		EntityEngineConfiguration config = new EntityEngineConfiguration();
+		factory = new PrefabFactory(new RuntimeConfiguration(), null, 100);
+		if (poolManager != null) config.setSystem(poolManager);
+		config.setSystem(factory);
+		engine = new EntityEngine(config);
+
+		prefabTransform = new Transform(1, 2);
+		prefabGroup = new VisGroup();
+		prefabGroup.groupIds.add(4);
+		prefabPhysics = new PhysicsProperties();
+		prefabPhysics.friction = 0.25f;
+
+		Array<Component> components = new Array<Component>();
+		components.add(prefabTransform);
+		components.add(new Tint().set(1, 0, 0, 1));
+		components.add(new Renderable(3));
+		components.add(new Layer(1));
+		components.add(new VisID("enemy"));
+		components.add(prefabGroup);
+		components.add(prefabPhysics);
+		factory.register("enemy", new Prefab(new EntityData(components), null));
+	}
+
+	@Test
+	public void testCreatedEntitiesHaveOwnComponents () {
+		int first = factory.create("enemy", 10, 20);
+		int second = factory.create("enemy");
+		engine.process();
+
+		ComponentMapper<Transform> transformCm = engine.getMapper(Transform.class);
+		ComponentMapper<Tint> tintCm = engine.getMapper(Tint.class);
+		ComponentMapper<VisGroup> groupCm = engine.getMapper(VisGroup.class);
+
+		assertEquals(10, transformCm.get(first).getX(), 0);
+		assertEquals(20, transformCm.get(first).getY(), 0);
+		assertEquals(1, transformCm.get(second).getX(), 0);
+		assertEquals(2, transformCm.get(second).getY(), 0);
+		assertEquals(1, prefabTransform.getX(), 0);
+		assertNotSame(prefabTransform, transformCm.get(second));
+
+		assertNotSame(tintCm.get(first).getTint(), tintCm.get(second).getTint());
+		assertEquals(0, tintCm.get(second).getTint().g, 0);
+
+		assertEquals(3, engine.getMapper(Renderable.class).get(first).getZIndex());
+		assertEquals(1, engine.getMapper(Layer.class).get(first).getLayerId());
+		assertEquals("enemy", engine.getMapper(VisID.class).get(second).id);
+
+		groupCm.get(first).groupIds.add(5);
+		assertEquals(1, groupCm.get(second).groupIds.size);
+		assertEquals(1, prefabGroup.groupIds.size);
+
+		PhysicsProperties physics = engine.getMapper(PhysicsProperties.class).get(second);
+		assertNotSame(prefabPhysics, physics);
+		assertEquals(0.25f, physics.friction, 0);
+	}
+
+	@Test
+	public void testPooledComponentsAreReused () {
+		ComponentPoolManager poolManager = new ComponentPoolManager();
+		createEngine(poolManager);
+		ComponentMapper<Transform> transformCm = engine.getMapper(Transform.class);
+		ComponentMapper<Tint> tintCm = engine.getMapper(Tint.class);
+
+		int first = factory.create("enemy", 10, 20);
+		engine.process();
+		Transform transform = transformCm.get(first);
+		Tint tint = tintCm.get(first);
+		transform.setRotation(45);
+
+		engine.delete(first);
+		engine.process();
+		engine.process();
+		assertEquals(1, poolManager.getFreeCount(Transform.class));
+		assertEquals(1, poolManager.getFreeCount(Tint.class));
+
+		int second = factory.create("enemy");
+		engine.process();
+		assertSame(transform, transformCm.get(second));
+		assertSame(tint, tintCm.get(second));
+		assertEquals(1, transform.getX(), 0);
+		assertEquals(2, transform.getY(), 0);
+		assertEquals(0, transform.getRotation(), 0);
+		assertEquals(0, tint.getTint().g, 0);
+		assertEquals(3, engine.getMapper(Renderable.class).get(second).getZIndex());
+		assertEquals("enemy", engine.getMapper(VisID.class).get(second).id);
+		assertEquals(0, poolManager.getFreeCount(Transform.class));
+	}
+
+	@Test
+	public void testCustomCopier () {
+		factory.registerCopier(VisID.class, new ComponentCopier<VisID>() {
+			@Override
+			public void copy (VisID source, VisID target) {
+				target.id = source.id + "-copy";
+			}
+		});
+		factory.register("enemy2", new Prefab(new EntityData(Array.<Component>with(new VisID("enemy"))), null));
+
+		int entity = factory.create("enemy2");
+		assertEquals("enemy-copy", engine.getMapper(VisID.class).get(entity).id);
+		assertTrue(factory.isRegistered("enemy"));
+		factory.unregister("enemy");
+		assertFalse(factory.isRegistered("enemy"));
+	}
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2014-2016 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.runtime.test;
+
+import com.kotcrab.vis.runtime.spriter.*;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests that {@link StreamingSCMLReader} produces the same data as {@link SCMLReader} and that data survives round trip
+ * through binary cache format. Data is compared using its binary form which includes every parsed value.
+ * @author Kotcrab
+ */
+public class SpriterBinaryDataTest {
+	private static final String SCML = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+			"<spriter_data scml_version=\"1.0\" generator=\"BrashMonkey Spriter\" generator_version=\"r5\">\n" +
+			"  <folder id=\"0\">\n" +
+			"    <file id=\"0\" name=\"body.png\" width=\"64\" height=\"32\" pivot_x=\"0.25\" pivot_y=\"0.75\"/>\n" +
+			"    <file id=\"1\" name=\"arm.png\" width=\"16\" height=\"48\"/>\n" +
+			"  </folder>\n" +
+			"  <folder id=\"1\" name=\"alt\"><file id=\"0\" name=\"alt/body.png\" width=\"60\" height=\"30\"/></folder>\n" +
+			"  <entity id=\"0\" name=\"entity\">\n" +
+			"    <obj_info name=\"bone\" type=\"bone\" w=\"100\" h=\"10\"/>\n" +
+			"    <obj_info name=\"hit\" type=\"box\" w=\"20\" h=\"20\"/>\n" +
+			"    <obj_info type=\"sprite\"><frames><i folder=\"0\" file=\"0\"/><i folder=\"0\" file=\"1\"/></frames></obj_info>\n" +
+			"    <character_map id=\"0\" name=\"alt\">\n" +
+			"      <map folder=\"0\" file=\"0\" target_folder=\"1\" target_file=\"0\"/>\n" +
+			"    </character_map>\n" +
+			"    <animation id=\"0\" name=\"walk\" length=\"1000\" interval=\"100\">\n" +
+			"      <mainline>\n" +
+			"        <key id=\"0\" curve_type=\"quadratic\" c1=\"0.5\">\n" +
+			"          <bone_ref id=\"0\" timeline=\"0\" key=\"0\"/>\n" +
+			"          <object_ref id=\"0\" parent=\"0\" timeline=\"1\" key=\"0\" z_index=\"1\"/>\n" +
+			"          <object_ref id=\"1\" timeline=\"2\" key=\"0\" z_index=\"0\"/>\n" +
+			"        </key>\n" +
+			"        <key id=\"1\" time=\"500\">\n" +
+			"          <object_ref id=\"0\" parent=\"0\" timeline=\"1\" key=\"1\" z_index=\"0\"/>\n" +
+			"          <bone_ref id=\"0\" timeline=\"0\" key=\"1\"/>\n" +
+			"        </key>\n" +
+			"      </mainline>\n" +
+			"      <timeline id=\"0\" name=\"bone\" object_type=\"bone\">\n" +
+			"        <key id=\"0\" spin=\"-1\"><bone x=\"10\" y=\"5\"/></key>\n" +
+			"        <key id=\"1\" time=\"500\" curve_type=\"bezier\" c1=\"0.1\" c4=\"0.4\"><bone x=\"20\" angle=\"45\"/></key>\n" +
+			"      </timeline>\n" +
+			"      <timeline id=\"1\" name=\"body\">\n" +
+			"        <key id=\"0\"><object folder=\"0\" file=\"0\" x=\"5\" a=\"0.5\"/></key>\n" +
+			"        <key id=\"1\" time=\"500\"><object folder=\"0\" file=\"1\" x=\"15\" angle=\"90\" pivot_x=\"0.1\"/></key>\n" +
+			"      </timeline>\n" +
+			"      <timeline id=\"2\" name=\"hit\" object_type=\"box\"><key id=\"0\"><object x=\"1\" y=\"2\"/></key></timeline>\n" +
+			"      <eventline id=\"0\" name=\"event\"><key id=\"0\" time=\"100\"/></eventline>\n" +
+			"      <meta><varline id=\"0\" def=\"0\"><key id=\"0\" val=\"1\"/></varline></meta>\n" +
+			"    </animation>\n" +
+			"    <animation id=\"1\" name=\"idle\" length=\"200\" looping=\"false\">\n" +
+			"      <mainline><key id=\"0\"><object_ref id=\"0\" timeline=\"0\" key=\"0\" z_index=\"0\"/></key></mainline>\n" +
+			"      <timeline id=\"0\" name=\"unlisted\"><key id=\"0\"><object folder=\"1\" file=\"0\"/></key></timeline>\n" +
+			"    </animation>\n" +
+			"  </entity>\n" +
+			"</spriter_data>\n";
+
+	@Test
+	public void testStreamingReaderMatchesSCMLReader () throws IOException {
+		Data expected = new SCMLReader(SCML).getData();
+		Data actual = new StreamingSCMLReader(SCML).getData();
+		assertArrayEquals(write(expected, 0), write(actual, 0));
+		assertEquals(expected.toString(), actual.toString());
+	}
+
+	@Test
+	public void testBinaryRoundTrip () throws IOException {
+		byte[] bytes = write(new StreamingSCMLReader(SCML).getData(), 42);
+		Data data = new BinaryDataReader().read(new ByteArrayInputStream(bytes), 42);
+
+		assertNotNull(data);
+		assertArrayEquals(bytes, write(data, 42));
+		assertEquals(60, data.getEntity(0).getAnimation("idle").getTimeline(0).objectInfo.size.width, 0);
+		assertFalse(data.getEntity(0).getAnimation("idle").looping);
+	}
+
+	@Test
+	public void testOutdatedCacheIsIgnored () throws IOException {
+		byte[] bytes = write(new StreamingSCMLReader(SCML).getData(), 42);
+		assertNull(new BinaryDataReader().read(new ByteArrayInputStream(bytes), 43));
+	}
+
+	private byte[] write (Data data, long checksum) throws IOException {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		new BinaryDataWriter().write(data, checksum, output);
+		return output.toByteArray();
+	}
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2014-2016 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kotcrab.vis.runtime.test;
+
+import com.kotcrab.vis.runtime.spriter.*;
+import com.kotcrab.vis.runtime.spriter.Timeline.Key.Bone;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.*;
+
+/**
+ * Regression test for allocations in Spriter {@link Player} update path. Updating, drawing and calculating bounds of
+ * players must not allocate after warm up.
+ * @author Kotcrab
+ */
+public class SpriterPlayerAllocationTest {
+	private static final String SCML = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+			"<spriter_data scml_version=\"1.0\" generator=\"BrashMonkey Spriter\" generator_version=\"r5\">\n" +
+			"  <folder id=\"0\">\n" +
+			"    <file id=\"0\" name=\"body.png\" width=\"64\" height=\"32\" pivot_x=\"0\" pivot_y=\"1\"/>\n" +
+			"  </folder>\n" +
+			"  <entity id=\"0\" name=\"entity\">\n" +
+			"    <obj_info name=\"bone\" type=\"bone\" w=\"100\" h=\"10\"/>\n" +
+			"    <animation id=\"0\" name=\"walk\" length=\"1000\" interval=\"100\">\n" +
+			"      <mainline>\n" +
+			"        <key id=\"0\">\n" +
+			"          <bone_ref id=\"0\" timeline=\"0\" key=\"0\"/>\n" +
+			"          <object_ref id=\"0\" parent=\"0\" timeline=\"1\" key=\"0\" z_index=\"0\"/>\n" +
+			"        </key>\n" +
+			"        <key id=\"1\" time=\"500\">\n" +
+			"          <bone_ref id=\"0\" timeline=\"0\" key=\"1\"/>\n" +
+			"          <object_ref id=\"0\" parent=\"0\" timeline=\"1\" key=\"1\" z_index=\"0\"/>\n" +
+			"        </key>\n" +
+			"      </mainline>\n" +
+			"      <timeline id=\"0\" name=\"bone\" object_type=\"bone\">\n" +
+			"        <key id=\"0\"><bone x=\"10\" y=\"5\" angle=\"0\"/></key>\n" +
+			"        <key id=\"1\" time=\"500\"><bone x=\"20\" y=\"5\" angle=\"45\"/></key>\n" +
+			"      </timeline>\n" +
+			"      <timeline id=\"1\" name=\"body\">\n" +
+			"        <key id=\"0\"><object folder=\"0\" file=\"0\" x=\"5\" y=\"0\"/></key>\n" +
+			"        <key id=\"1\" time=\"500\"><object folder=\"0\" file=\"0\" x=\"15\" y=\"10\" angle=\"90\"/></key>\n" +
+			"      </timeline>\n" +
+			"    </animation>\n" +
+			"  </entity>\n" +
+			"</spriter_data>\n";
+
+	private static final int PLAYERS = 300;
+	//measured code must not be compiled yet, escape analysis of optimizing compiler could hide short lived allocations
+	private static final int WARM_UP_FRAMES = 3;
+	private static final int MEASURED_FRAMES = 3;
+
+	private com.sun.management.ThreadMXBean threadBean;
+
+	private Player[] players;
+	private CountingDrawer drawer;
+
+	@Before
+	public void setUp () {
+		Assume.assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+		threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		Assume.assumeTrue(threadBean.isThreadAllocatedMemorySupported());
+		threadBean.setThreadAllocatedMemoryEnabled(true);
+
+		Data data = new SCMLReader(SCML).getData();
+		players = new Player[PLAYERS];
+		for (int i = 0; i < PLAYERS; i++) {
+			Player player = new Player(data.getEntity(0));
+			player.setPosition(i, i);
+			player.speed = 15 + i % 5;
+			player.addListener(new EmptyListener());
+			player.attachments.add(new EmptyAttachment(player.getBone("bone")));
+			players[i] = player;
+		}
+
+		drawer = new CountingDrawer();
+	}
+
+	@Test
+	public void testUpdateDoesNotAllocate () {
+		for (int i = 0; i < WARM_UP_FRAMES; i++)
+			frame();
+
+		long threadId = Thread.currentThread().getId();
+		long before = threadBean.getThreadAllocatedBytes(threadId);
+		for (int i = 0; i < MEASURED_FRAMES; i++)
+			frame();
+		long allocated = threadBean.getThreadAllocatedBytes(threadId) - before;
+
+		assertTrue(drawer.drawnObjects > 0);
+		//small tolerance for allocations made by measurement itself
+		assertTrue("Player update path allocated " + allocated + " bytes", allocated < 1024);
+	}
+
+	@Test
+	public void testBoundsAreCachedUntilUpdate () {
+		Player player = players[0];
+		Rectangle bounds = player.getBoundingRectangle(null);
+		float width = bounds.size.width;
+		assertSame(bounds, player.getBoundingRectangle(null));
+		assertEquals(width, player.getBoundingRectangle(null).size.width, 0);
+
+		player.setTime(400);
+		player.update();
+		assertNotEquals(width, player.getBoundingRectangle(null).size.width, 0.0001f);
+	}
+
+	private void frame () {
+		for (Player player : players) {
+			player.update();
+			player.getBoundingRectangle(null);
+			drawer.draw(player);
+		}
+	}
+
+	private static class CountingDrawer extends Drawer<Object> {
+		int drawnObjects;
+
+		public CountingDrawer () {
+			super(null);
+		}
+
+		@Override
+		public void setColor (float r, float g, float b, float a) {
+		}
+
+		@Override
+		public void line (float x1, float y1, float x2, float y2) {
+		}
+
+		@Override
+		public void rectangle (float x, float y, float width, float height) {
+		}
+
+		@Override
+		public void circle (float x, float y, float radius) {
+		}
+
+		@Override
+		public void draw (Timeline.Key.Object object) {
+			drawnObjects++;
+		}
+	}
+
+	private static class EmptyListener implements Player.PlayerListener {
+		@Override
+		public void animationFinished (Animation animation) {
+		}
+
+		@Override
+		public void animationChanged (Animation oldAnim, Animation newAnim) {
+		}
+
+		@Override
+		public void preProcess (Player player) {
+		}
+
+		@Override
+		public void postProcess (Player player) {
+		}
+
+		@Override
+		public void mainlineKeyChanged (Mainline.Key prevKey, Mainline.Key newKey) {
+		}
+	}
+
+	private static class EmptyAttachment extends Player.Attachment {
+		public EmptyAttachment (Bone parent) {
+			super(parent);
+		}
+
+		@Override
+		protected void setPosition (float x, float y) {
+		}
+
+		@Override
+		protected void setScale (float xscale, float yscale) {
+		}
+
+		@Override
+		protected void setAngle (float angle) {
+		}
+	}
+}